@@ -0,0 +1,51 @@
+package uwu.openjfx.combo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uwu.openjfx.MainApp;
+import uwu.openjfx.components.ComboManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attack registration in both combo systems. ComboManager cycles through a pattern that
+ * completes a combo every third attack. SimpleComboSystem only gets light attacks: a
+ * finished combo stores its multiplier in the FXGL world properties, which need a running
+ * game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ComboBenchmark {
+
+    private static final String[] PATTERN = {"light", "light", "heavy"};
+
+    private ComboManager comboManager;
+    private SimpleComboSystem comboSystem;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        MainApp.setIsTesting(true);
+        SimpleComboSystem.setTesting(true);
+        comboManager = new ComboManager();
+        comboSystem = SimpleComboSystem.getInstance();
+    }
+
+    @Benchmark
+    public double registerAttack() {
+        comboManager.registerAttack(PATTERN[next++ % PATTERN.length]);
+        return comboManager.getDamageMultiplier();
+    }
+
+    @Benchmark
+    public int addAttack() {
+        comboSystem.addAttack("light");
+        return comboSystem.getComboCountProperty().get();
+    }
+}
@@ -0,0 +1,44 @@
+package uwu.openjfx.components;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uwu.openjfx.MainApp;
+import uwu.openjfx.core.GameConstants;
+import uwu.openjfx.time.GameScheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One hit on an enemy: block roll, damage, kill statistics and the invulnerability timer.
+ * The scheduler is ticked with every hit, otherwise the invulnerability timers would pile
+ * up in the wheel; the enemy never dies, dying spawns drops through FXGL.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CreatureBenchmark {
+
+    private EnemyComponent enemy;
+
+    // a fresh enemy per iteration, one point per hit keeps it alive for 2^31 hits
+    @Setup(Level.Iteration)
+    public void setUp() {
+        MainApp.setIsTesting(true);
+        GameScheduler.get().clear();
+        enemy = new EnemyComponent(Integer.MAX_VALUE, "zombie_40x40.png", 40, 40);
+    }
+
+    @Benchmark
+    public int deductHealth() {
+        enemy.deductHealth(1, PlayerComponent.getAttackPower(), enemy.getBlockProbability(),
+            enemy.getArmorStat(), PlayerComponent.getPiercePow());
+        GameScheduler.get().update(GameConstants.Timing.UPDATE_INTERVAL);
+        return enemy.getHealthPoints();
+    }
+}
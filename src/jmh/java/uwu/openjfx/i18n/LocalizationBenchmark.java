@@ -0,0 +1,40 @@
+package uwu.openjfx.i18n;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * String lookups the HUD and menus make every frame. A missing key is measured on its
+ * own: it costs a MissingResourceException.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LocalizationBenchmark {
+
+    private LocalizationManager localization;
+
+    @Setup
+    public void setUp() {
+        localization = LocalizationManager.getInstance();
+        localization.setLocale(new Locale("ru"));
+    }
+
+    @Benchmark
+    public String getString() {
+        return localization.getString("game.ui.health");
+    }
+
+    @Benchmark
+    public String getStringMissing() {
+        return localization.getString("game.ui.no_such_key");
+    }
+}
@@ -0,0 +1,61 @@
+package uwu.openjfx.leaderboard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gold update of a player already on the board, the call PlayerComponent makes whenever
+ * gold changes, and the rank lookup of a player; a kiosk board holds 100k players. Saving
+ * happens behind the update on the leaderboard writer thread, at most once per interval.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LeaderboardBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int entries;
+
+    private LeaderboardManager leaderboard;
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // written as one file and loaded, adding 10k entries one by one saves 10k times
+        List<LeaderboardEntry> board = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            board.add(new LeaderboardEntry("player" + i, random.nextInt(10_000), 1, i));
+        }
+        Path directory = Files.createTempDirectory("leaderboard-bench");
+        new ObjectMapper().writeValue(directory.resolve("leaderboard.json").toFile(), board);
+        leaderboard = new LeaderboardManager(directory, entries);
+    }
+
+    @Benchmark
+    public int updatePlayerEntry() {
+        String name = "player" + random.nextInt(entries);
+        leaderboard.updatePlayerEntry(name, random.nextInt(10_000), 2, 60);
+        return leaderboard.getSize();
+    }
+
+    @Benchmark
+    public int playerPosition() {
+        return leaderboard.getPlayerPosition("player" + random.nextInt(entries));
+    }
+}
@@ -0,0 +1,41 @@
+package uwu.openjfx.map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uwu.openjfx.MainApp;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Map generation at the start of a run. Generation stops early once the boss room is far
+ * enough from the start, so the large sizes measure how soon that happens as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameMapBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int rooms;
+
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        MainApp.setIsTesting(true); // room types are picked without FXGL properties
+    }
+
+    @Benchmark
+    public GameMap generateRooms() {
+        GameMap map = new GameMap(rooms);
+        map.setRandomSeed(seed++);
+        map.generateRooms();
+        return map;
+    }
+}
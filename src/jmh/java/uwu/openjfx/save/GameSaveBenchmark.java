@@ -0,0 +1,54 @@
+package uwu.openjfx.save;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autosave written and read back, with a save the size of a mid-game run.
+ * The saves go to the user.home the jmh task points into the build directory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameSaveBenchmark {
+
+    private static final int VISITED_ROOMS = 20;
+
+    private GameSaveManager saveManager;
+    private GameSaveData saveData;
+
+    @Setup
+    public void setUp() {
+        saveManager = GameSaveManager.getInstance();
+        saveData = new GameSaveData();
+        saveData.setPlayerLevel(7);
+        saveData.setPlayerHealth(14);
+        saveData.setPlayerMaxHealth(20);
+        saveData.setGold(1234);
+        saveData.setPlayTime(1800);
+        saveData.setPlayerPosition(new GameSaveData.Position(480, 320));
+        saveData.setCurrentRoomId("3,-2");
+        for (int i = 0; i < VISITED_ROOMS; i++) {
+            GameSaveData.RoomState room = new GameSaveData.RoomState();
+            room.setVisited(true);
+            room.setCleared(i % 3 != 0);
+            for (int enemy = 0; enemy < 6; enemy++) {
+                room.getEnemiesDefeated().put("enemy" + enemy, enemy % 2 == 0);
+            }
+            saveData.getVisitedRooms().put(i + "," + (i % 5), room);
+        }
+    }
+
+    @Benchmark
+    public GameSaveData saveLoadRoundTrip() {
+        saveManager.autoSave(saveData);
+        return saveManager.loadAutoSave();
+    }
+}
@@ -0,0 +1,71 @@
+package uwu.openjfx.save;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON against the binary codec on a 100-room map, in memory so the disk does not hide the
+ * difference.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SaveCodecBenchmark {
+
+    private static final int VISITED_ROOMS = 100;
+
+    @Param({"binary", "json"})
+    private String format;
+
+    private SaveCodec codec;
+    private GameSaveData saveData;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        codec = "json".equals(format) ? new JsonSaveCodec() : new BinarySaveCodec();
+        saveData = new GameSaveData();
+        saveData.setSaveTime(LocalDateTime.of(2024, 1, 1, 12, 0));
+        saveData.setPlayerLevel(7);
+        saveData.setPlayerHealth(14);
+        saveData.setPlayerMaxHealth(20);
+        saveData.setGold(1234);
+        saveData.setPlayTime(1800);
+        saveData.setPlayerPosition(new GameSaveData.Position(480, 320));
+        saveData.setCurrentRoomId("3,-2");
+        for (int i = 0; i < VISITED_ROOMS; i++) {
+            GameSaveData.RoomState room = new GameSaveData.RoomState();
+            room.setVisited(true);
+            room.setCleared(i % 3 != 0);
+            for (int enemy = 0; enemy < 6; enemy++) {
+                room.getEnemiesDefeated().put("enemy" + enemy, enemy % 2 == 0);
+            }
+            saveData.getVisitedRooms().put((i % 10) + "," + (i / 10), room);
+        }
+        encoded = save();
+    }
+
+    @Benchmark
+    public byte[] save() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.write(saveData, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public GameSaveData load() throws IOException {
+        return codec.read(new ByteArrayInputStream(encoded));
+    }
+}
@@ -26,6 +26,9 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class CreatureFactory implements EntityFactory {
+    public static final int PLAYER_HEALTH = 20; // 20 HP = 4 сердца (хардкор, но не слишком сложно)
+    private static final String FINAL_BOSS_FILE = "ForestGuardian_96x96.png";
+
     @Spawns("player")
     public Entity newPlayer(SpawnData data) {
         PhysicsComponent physics = new PhysicsComponent();
@@ -36,7 +39,7 @@ public class CreatureFactory implements EntityFactory {
         // this avoids player sticking to walls
         physics.setFixtureDef(new FixtureDef().friction(0.0f));
 
-        PlayerComponent playerComponent = new PlayerComponent(20); // 20 HP = 4 сердца (хардкор, но не слишком сложно)
+        PlayerComponent playerComponent = new PlayerComponent(PLAYER_HEALTH);
 
         return FXGL.entityBuilder(data)
                 .type(RoyalType.PLAYER)
@@ -63,21 +66,8 @@ public class CreatureFactory implements EntityFactory {
         } else {
             minionFileName = "zombie_40x40.png"; // Default fallback
         }
-        String type = "melee";
-        if (minionFileName.equals("ice_zombie_40x40.png")
-                || minionFileName.equals("necromancer_32x40.png")
-                || minionFileName.equals("zombie_40x40.png")
-                || minionFileName.equals("wogol_36x45.png")
-                || minionFileName.equals("orc_shaman_36x45.png")) {
-            type = "ranged";
-        }
         List<Integer> widthHeight = parseSizes(minionFileName);
-        EnemyComponent enemyComponent = new EnemyComponent(
-                50, "creatures/minions/normal/" + minionFileName,
-                widthHeight.get(0), widthHeight.get(1), 8, "small", type);
-        enemyComponent.applyDifficulty(GameEnvironment.get().getDifficultyService().getEnemyHealthMultiplier());
-
-        enemyComponent.setDieBehavior(new DropCoinBehavior(1, 5));
+        EnemyComponent enemyComponent = newMinionComponent(minionFileName);
 
         return FXGL.entityBuilder(data)
                 .type(RoyalType.ENEMY)
@@ -98,8 +88,7 @@ public class CreatureFactory implements EntityFactory {
     @Spawns("eliteMinion")
     public Entity newEliteMinion(SpawnData data) {
         Entity minion = newMinion(data);
-        minion.getComponent(EnemyComponent.class).setHealthPoints(100);
-        minion.getComponent(EnemyComponent.class).setSpeed(30); // Уменьшил с 60 до 30
+        makeElite(minion.getComponent(EnemyComponent.class));
         ColorAdjust colorAdjust = new ColorAdjust();
         colorAdjust.setHue(0.5);
         minion.getViewComponent().setOpacity(0.8);
@@ -115,12 +104,7 @@ public class CreatureFactory implements EntityFactory {
         List<String> minionList = FXGL.geto("forestMinionList");
         String minionFileName = minionList.get(FXGL.random(0, minionList.size() - 1));
         List<Integer> widthHeight = parseSizes(minionFileName);
-        EnemyComponent enemyComponent = new EnemyComponent(
-                60,
-                "creatures/minions/forest/" + minionFileName,
-                widthHeight.get(0), widthHeight.get(1));
-        enemyComponent.applyDifficulty(GameEnvironment.get().getDifficultyService().getEnemyHealthMultiplier());
-        enemyComponent.setDieBehavior(new DropCoinBehavior(1, 5));
+        EnemyComponent enemyComponent = newForestMinionComponent(minionFileName);
 
         // Ent has too much empty space at top
         int startingY = minionFileName.startsWith("Ent") ? 18 : 21;
@@ -151,12 +135,8 @@ public class CreatureFactory implements EntityFactory {
         String miniBossFileName = minionList.get(FXGL.random(0, minionList.size() - 1));
         List<Integer> widthHeight = parseSizes(miniBossFileName);
 
-        DropItemComponent dropItemWhenDie = new DropItemComponent(Arrays.asList("Heart"));
-        EnemyComponent enemyComponent = new EnemyComponent(150, 
-                "creatures/miniBoss/" + miniBossFileName,
-                widthHeight.get(0), widthHeight.get(1), 8, "miniboss", "melee");
-        enemyComponent.applyDifficulty(GameEnvironment.get().getDifficultyService().getEnemyHealthMultiplier());
-        enemyComponent.setDieBehavior(dropItemWhenDie);
+        EnemyComponent enemyComponent = newMiniBossComponent(miniBossFileName);
+        DropItemComponent dropItemWhenDie = (DropItemComponent) enemyComponent.getDieBehavior();
 
         return FXGL.entityBuilder(data)
                 .type(RoyalType.ENEMY)
@@ -181,13 +161,8 @@ public class CreatureFactory implements EntityFactory {
         physics.setBodyType(BodyType.DYNAMIC);
         physics.setFixtureDef(new FixtureDef().friction(1.0f));
 
-        String bossFileName = "ForestGuardian_96x96.png";
-        List<Integer> widthHeight = parseSizes(bossFileName);
-
-        BossComponent bossComponent = new BossComponent(
-                300, "creatures/boss/" + bossFileName,
-                widthHeight.get(0), widthHeight.get(1), 8, "melee");
-        bossComponent.applyDifficulty(GameEnvironment.get().getDifficultyService().getEnemyHealthMultiplier());
+        List<Integer> widthHeight = parseSizes(FINAL_BOSS_FILE);
+        BossComponent bossComponent = newFinalBossComponent();
 
         return FXGL.entityBuilder(data)
                 .type(RoyalType.ENEMY)
@@ -245,7 +220,69 @@ public class CreatureFactory implements EntityFactory {
                 .build();
     }
 
-    private List<Integer> parseSizes(String fileName) {
+    /*
+        The components below carry the stats of each enemy. They are shared with the
+        headless simulation, which builds the same enemies without physics or views.
+     */
+    public static EnemyComponent newMinionComponent(String minionFileName) {
+        String type = "melee";
+        if (minionFileName.equals("ice_zombie_40x40.png")
+                || minionFileName.equals("necromancer_32x40.png")
+                || minionFileName.equals("zombie_40x40.png")
+                || minionFileName.equals("wogol_36x45.png")
+                || minionFileName.equals("orc_shaman_36x45.png")) {
+            type = "ranged";
+        }
+        List<Integer> widthHeight = parseSizes(minionFileName);
+        EnemyComponent enemyComponent = new EnemyComponent(
+                50, "creatures/minions/normal/" + minionFileName,
+                widthHeight.get(0), widthHeight.get(1), 8, "small", type);
+        enemyComponent.applyDifficulty(GameEnvironment.get().getDifficultyService().getEnemyHealthMultiplier());
+
+        enemyComponent.setDieBehavior(new DropCoinBehavior(1, 5));
+        return enemyComponent;
+    }
+
+    // call after the component was added to its entity, onAdded resets the speed
+    public static void makeElite(EnemyComponent enemyComponent) {
+        enemyComponent.setHealthPoints(100);
+        enemyComponent.setSpeed(30); // Уменьшил с 60 до 30
+    }
+
+    public static EnemyComponent newForestMinionComponent(String minionFileName) {
+        List<Integer> widthHeight = parseSizes(minionFileName);
+        EnemyComponent enemyComponent = new EnemyComponent(
+                60,
+                "creatures/minions/forest/" + minionFileName,
+                widthHeight.get(0), widthHeight.get(1));
+        enemyComponent.applyDifficulty(GameEnvironment.get().getDifficultyService().getEnemyHealthMultiplier());
+        enemyComponent.setDieBehavior(new DropCoinBehavior(1, 5));
+        return enemyComponent;
+    }
+
+    public static EnemyComponent newMiniBossComponent(String miniBossFileName) {
+        List<Integer> widthHeight = parseSizes(miniBossFileName);
+
+        DropItemComponent dropItemWhenDie = new DropItemComponent(Arrays.asList("Heart"));
+        EnemyComponent enemyComponent = new EnemyComponent(150, 
+                "creatures/miniBoss/" + miniBossFileName,
+                widthHeight.get(0), widthHeight.get(1), 8, "miniboss", "melee");
+        enemyComponent.applyDifficulty(GameEnvironment.get().getDifficultyService().getEnemyHealthMultiplier());
+        enemyComponent.setDieBehavior(dropItemWhenDie);
+        return enemyComponent;
+    }
+
+    public static BossComponent newFinalBossComponent() {
+        List<Integer> widthHeight = parseSizes(FINAL_BOSS_FILE);
+
+        BossComponent bossComponent = new BossComponent(
+                300, "creatures/boss/" + FINAL_BOSS_FILE,
+                widthHeight.get(0), widthHeight.get(1), 8, "melee");
+        bossComponent.applyDifficulty(GameEnvironment.get().getDifficultyService().getEnemyHealthMultiplier());
+        return bossComponent;
+    }
+
+    public static List<Integer> parseSizes(String fileName) {
         List<Integer> widthHeight = new ArrayList<>();
         String pattern = "(\\d+)x(\\d+)";
         Pattern r = Pattern.compile(pattern);
@@ -14,9 +14,18 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.util.Duration;
+import uwu.openjfx.components.PlayerComponent;
+import uwu.openjfx.core.GameEnvironment;
 import uwu.openjfx.i18n.EnhancedLocalizationManager;
+import uwu.openjfx.leaderboard.LeaderboardManager;
+import uwu.openjfx.leaderboard.RunHistory;
+import uwu.openjfx.leaderboard.RunRecord;
+import uwu.openjfx.map.GameMap;
+import uwu.openjfx.progression.SimpleProgression;
+import uwu.openjfx.save.GameSaveService;
 import uwu.openjfx.ui.LocalizedText;
 import uwu.openjfx.ui.LocalizedButton;
+import uwu.openjfx.utils.GameLogger;
 
 
 
@@ -50,6 +59,33 @@ public class DieScreenMenu extends FXGLMenu {
     @Override
     public void onCreate() {
         animation.start();
+        // забег окончен: итог в таблице лидеров пишем сразу, не ждём интервала
+        LeaderboardManager.getInstance().flushSoon();
+        recordRun();
+    }
+
+    /**
+     * Записать оконченный забег в историю забегов
+     */
+    private void recordRun() {
+        try {
+            String playerName = PlayerComponent.getPlayerName() != null
+                    ? PlayerComponent.getPlayerName() : "Игрок";
+            String weapon = PlayerComponent.getCurrentWeapon() != null
+                    ? PlayerComponent.getCurrentWeapon().getClass().getSimpleName() : "none";
+            GameMap gameMap = FXGL.geto("gameMap");
+            RunHistory.getInstance().record(new RunRecord(
+                    playerName,
+                    PlayerComponent.getGold(),
+                    SimpleProgression.getInstance().getLevel(),
+                    GameSaveService.getInstance().getTotalPlayTime(),
+                    GameEnvironment.get().getDifficultyService().getActiveDifficulty(),
+                    weapon,
+                    gameMap != null ? gameMap.getSeed() : 0,
+                    System.currentTimeMillis() / 1000));
+        } catch (Exception e) {
+            GameLogger.warn("Не удалось записать забег в историю: " + e.getMessage());
+        }
     }
 
     protected void onUpdate(double tpf) {
@@ -13,8 +13,10 @@ import javafx.scene.input.MouseButton;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
 import uwu.openjfx.map.GameMap;
+import uwu.openjfx.map.RoomFlowField;
 import uwu.openjfx.behaviors.Interactable;
 import uwu.openjfx.collision.*;
+import uwu.openjfx.components.AILevelOfDetail;
 import uwu.openjfx.components.PlayerComponent;
 import uwu.openjfx.components.PlayerManager;
 import uwu.openjfx.events.InteractEvent;
@@ -28,9 +30,12 @@ import uwu.openjfx.weapons.*;
 import uwu.openjfx.integration.GameIntegration;
 import uwu.openjfx.i18n.LocalizationManager;
 import uwu.openjfx.hud.ModernGameHUD;
+import uwu.openjfx.profiling.FlightRecording;
+import uwu.openjfx.profiling.FrameProfiler;
+import uwu.openjfx.save.SaveExitService;
+import uwu.openjfx.time.GameScheduler;
 import uwu.openjfx.utils.GameLogger;
 
-import java.io.File;
 import java.util.*;
 
 import static com.almasb.fxgl.dsl.FXGL.getAppHeight;
@@ -86,6 +91,8 @@ public class MainApp extends GameApplication {
         settings.setEnabledMenuItems(EnumSet.of(MenuItem.EXTRA));
         // Улучшенная обработка ошибок
         settings.setProfilingEnabled(false);
+        // финальное сохранение при выходе, FXGL ждёт его в onExit
+        settings.addEngineService(SaveExitService.class);
         //settings.setDeveloperMenuEnabled(true);
         //settings.setApplicationMode(ApplicationMode.DEVELOPER);
     }
@@ -125,6 +132,10 @@ public class MainApp extends GameApplication {
         // Инициализируем модульную архитектуру
         initializeModules();
 
+        // Задачи сущности отменяются, когда она покидает мир
+        getGameWorld().removeWorldListener(GameScheduler.get());
+        getGameWorld().addWorldListener(GameScheduler.get());
+
         // Инициализация систем улучшений (совместимость)
         try {
             Class<?> gameIntegrationClass = Class.forName("uwu.openjfx.integration.GameIntegration");
@@ -208,7 +219,8 @@ public class MainApp extends GameApplication {
         // Используем AssetModule вместо прямого обращения к файлам
         loadAssetsThroughModule();
         gameMap = new GameMap(10);
-        // gameMap.setRandomSeed(63);
+        // зерно выбирается до генерации, чтобы карту забега можно было повторить по истории
+        gameMap.setRandomSeed(System.nanoTime());
         gameMap.generateRooms();
         set("gameMap", gameMap);
         set("curRoom", gameMap.getInitialRoom());
@@ -338,6 +350,17 @@ public class MainApp extends GameApplication {
         FXGL.getPhysicsWorld().addCollisionHandler(new PlayerSmashedGroundCollisionHandler());
     }
 
+    @Override
+    protected void onUpdate(double tpf) {
+        FrameProfiler profiler = FrameProfiler.get();
+        profiler.beginFrame();
+        AILevelOfDetail.get().beginFrame();
+        long started = profiler.start();
+        GameScheduler.get().update(tpf);
+        profiler.stop(FrameProfiler.Section.TIMERS, started);
+        RoomFlowField.get().update();
+    }
+
     @Override
     protected void initUI() {
         ModernGameHUD.init(player);
@@ -345,42 +368,19 @@ public class MainApp extends GameApplication {
 
 
     public void loadEnemiesAsset() {
-        normalMinionList = new ArrayList<>();
-        File dir = new File("src/main/resources/assets/textures/creatures/minions/normal");
-        File[] normalFiles = dir.listFiles();
-        if (normalFiles != null) {
-            for (File file : normalFiles) {
-                if (file.getName().endsWith(".png")) {
-                    normalMinionList.add(file.getName());
-                }
-            }
-        }
+        // через ResourceManager: каталога src/main/resources в релизе нет
+        ResourceManager resources = ResourceManager.getInstance();
+        normalMinionList = resources.listResourcesByExtension(
+            "assets/textures/creatures/minions/normal", "png");
         set("normalMinionList", normalMinionList);
 
-        forestMinionList = new ArrayList<>();
-        dir = new File("src/main/resources/assets/textures/creatures/minions/forest");
-        File[] forestFiles = dir.listFiles();
-        if (forestFiles != null) {
-            for (File file : forestFiles) {
-                if (file.getName().endsWith(".png")) {
-                    forestMinionList.add(file.getName());
-                }
-            }
-        }
+        forestMinionList = resources.listResourcesByExtension(
+            "assets/textures/creatures/minions/forest", "png");
         set("forestMinionList", forestMinionList);
 
-        miniBossList = new ArrayList<>();
-        dir = new File("src/main/resources/assets/textures/creatures/miniBoss");
-        File[] bossFiles = dir.listFiles();
-        if (bossFiles != null) {
-            for (File file : bossFiles) {
-                if (file.getName().endsWith(".png")) {
-                    miniBossList.add(file.getName());
-                }
-            }
-        }
+        miniBossList = resources.listResourcesByExtension(
+            "assets/textures/creatures/miniBoss", "png");
         set("miniBossList", miniBossList);
-
     }
 
     public void initItemsNameAssetMappingAndWeaponsList() {
@@ -396,16 +396,10 @@ public class MainApp extends GameApplication {
 
 
         weaponsSet = new HashSet<>();
-        File dir = new File("src/main/resources/assets/textures/ui/inventory/");
-        File[] inventoryFiles = dir.listFiles();
-        if (inventoryFiles != null) {
-            for (File file : inventoryFiles) {
-                if (file.getName().endsWith(".png")) {
-                    weaponsSet.add(file.getName().replace(".png", ""));
-                    itemNameAssetMap.put(file.getName().replace(".png", ""),
-                            "ui/inventory/" + file.getName());
-                }
-            }
+        for (String file : ResourceManager.getInstance().listResourcesByExtension(
+                "assets/textures/ui/inventory", "png")) {
+            weaponsSet.add(file.replace(".png", ""));
+            itemNameAssetMap.put(file.replace(".png", ""), "ui/inventory/" + file);
         }
 
         set("weaponsSet", weaponsSet);
@@ -415,17 +409,14 @@ public class MainApp extends GameApplication {
 
     public void loadRoomAsset() {
         roomTypeList = new ArrayList<>();
-        File dir = new File("src/main/resources/assets/levels/tmx");
-        File[] roomFiles = dir.listFiles();
-        if (roomFiles != null) {
-            for (File file : roomFiles) {
-                if (file.getName().endsWith(".tmx") && !file.getName().equals("initialRoom.tmx")
-                        && !file.getName().equals("bossRoom.tmx")
-                        && !file.getName().equals("challengeRoom.tmx")
-                        && !file.getName().equals("finalWinRoom.tmx")
-                        && !file.getName().equals("weaponsShowcaseRoom.tmx")) {
-                    roomTypeList.add(file.getName().replaceAll(".tmx", ""));
-                }
+        for (String file : ResourceManager.getInstance().listResourcesByExtension(
+                "assets/levels/tmx", "tmx")) {
+            if (!file.equals("initialRoom.tmx")
+                    && !file.equals("bossRoom.tmx")
+                    && !file.equals("challengeRoom.tmx")
+                    && !file.equals("finalWinRoom.tmx")
+                    && !file.equals("weaponsShowcaseRoom.tmx")) {
+                roomTypeList.add(file.replace(".tmx", ""));
             }
         }
         set("roomTypeList", roomTypeList);
@@ -457,6 +448,9 @@ public class MainApp extends GameApplication {
             }
         }
 
+        // --jfr: непрерывная запись JFR, дамп из DevTools или при выходе
+        FlightRecording.startIfRequested(args);
+
         // Стандартный запуск игры
         launch(args);
     }
@@ -58,9 +58,6 @@ public class WeaponFactory implements EntityFactory {
 
     @Spawns("rangedArrowHitBox")
     public Entity newRangedArrowHitBox(SpawnData data) {
-        int topBotOffset = data.get("topBotOffset");
-        int leftOffset = data.get("leftOffset");
-        int rightOffset = data.get("rightOffset");
         int frameWidth = data.get("frameWidth");
         int frameHeight = data.get("frameHeight");
         Point2D dir = data.get("dir");
@@ -73,20 +70,10 @@ public class WeaponFactory implements EntityFactory {
         boolean isMagic = data.get("isMagic");
         double attackDamage = data.get("damage");
 
-        double widthHitBox = (frameWidth - rightOffset) - leftOffset;
-        double heightHitBox = (frameHeight - topBotOffset) - topBotOffset;
-        double newCenterXOffset = leftOffset;
-        double newCenterYOffset = topBotOffset;
         return FXGL.entityBuilder(data)
                 .type(RoyalType.PLAYERATTACK)
                 .view("weapons/" + weapon + ".png")
-                .bbox(new HitBox(
-                        new Point2D(
-                                newCenterXOffset,
-                                newCenterYOffset),
-                        BoundingShape.box(
-                                widthHitBox,
-                                heightHitBox)))
+                .bbox(newProjectileHitBox(data))
                 .with(new ProjectileAnimationComponent(
                         weapon, duration, frameWidth, frameHeight, fpr, isArrow, isMagic))
                 .with(new AttackDamageComponent(ultimateActive, attackDamage))
@@ -97,9 +84,6 @@ public class WeaponFactory implements EntityFactory {
 
     @Spawns("rangedMagicHitBox")
     public Entity newRangedMagicHitBox(SpawnData data) {
-        int topBotOffset = data.get("topBotOffset");
-        int leftOffset = data.get("leftOffset");
-        int rightOffset = data.get("rightOffset");
         int frameWidth = data.get("frameWidth");
         int frameHeight = data.get("frameHeight");
         Point2D dir = data.get("dir");
@@ -113,19 +97,9 @@ public class WeaponFactory implements EntityFactory {
         double attackDamage = data.get("damage");
         RoyalType type = data.get("royalType");
 
-        double widthHitBox = (frameWidth - rightOffset) - leftOffset;
-        double heightHitBox = (frameHeight - topBotOffset) - topBotOffset;
-        double newCenterXOffset = leftOffset;
-        double newCenterYOffset = topBotOffset;
         return FXGL.entityBuilder(data)
                 .type(type)
-                .bbox(new HitBox(
-                        new Point2D(
-                                newCenterXOffset,
-                                newCenterYOffset),
-                        BoundingShape.box(
-                                widthHitBox,
-                                heightHitBox)))
+                .bbox(newProjectileHitBox(data))
                 .with(new ProjectileAnimationComponent(
                         weapon, duration, frameWidth, frameHeight, fpr, isArrow, isMagic))
                 .with(new AttackDamageComponent(ultimateActive, attackDamage))
@@ -163,4 +137,24 @@ public class WeaponFactory implements EntityFactory {
                 .build();
     }
     // endregion
+
+    /*
+        Builds the hitbox shared by arrows and magic spells. The offsets shrink the
+        original frameWidth x frameHeight frame so that only the visible part of the
+        projectile collides. Also used by ProjectilePool when a pooled projectile is
+        reinitialized for a new shot.
+     */
+    public static HitBox newProjectileHitBox(SpawnData data) {
+        int topBotOffset = data.get("topBotOffset");
+        int leftOffset = data.get("leftOffset");
+        int rightOffset = data.get("rightOffset");
+        int frameWidth = data.get("frameWidth");
+        int frameHeight = data.get("frameHeight");
+
+        double widthHitBox = (frameWidth - rightOffset) - leftOffset;
+        double heightHitBox = (frameHeight - topBotOffset) - topBotOffset;
+        return new HitBox(
+                new Point2D(leftOffset, topBotOffset),
+                BoundingShape.box(widthHitBox, heightHitBox));
+    }
 }
@@ -4,6 +4,7 @@ import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.entity.Entity;
 import com.almasb.fxgl.entity.components.IDComponent;
 import uwu.openjfx.map.Room;
+import uwu.openjfx.profiling.SpawnBatchEvent;
 
 public class SpawnMinionsBehavior implements Behavior {
     private int numberOfMinions;
@@ -16,6 +17,8 @@ public class SpawnMinionsBehavior implements Behavior {
 
     @Override
     public void act(Entity entity) {
+        SpawnBatchEvent event = new SpawnBatchEvent();
+        event.begin();
         Room curRoom = FXGL.geto("curRoom");
         for (int i = 0; i < numberOfMinions; ++i) {
             Entity enemy = FXGL.spawn(category, entity.getX() + FXGL.random(-180, 180),
@@ -24,5 +27,6 @@ public class SpawnMinionsBehavior implements Behavior {
             enemy.addComponent(idComponent);
             curRoom.setEntityData(idComponent.getId(), "isAlive", 1);
         }
+        event.record("summon", category, numberOfMinions);
     }
 }
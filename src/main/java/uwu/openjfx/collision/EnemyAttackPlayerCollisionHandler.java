@@ -6,6 +6,8 @@ import com.almasb.fxgl.physics.CollisionHandler;
 import uwu.openjfx.RoyalType;
 import uwu.openjfx.behaviors.HasLife;
 import uwu.openjfx.components.PlayerComponent;
+import uwu.openjfx.pool.ProjectilePool;
+import uwu.openjfx.profiling.FrameProfiler;
 
 /*
     This class is responsible for the hitbox of the enemy's attack touching the player.
@@ -17,10 +19,11 @@ public class EnemyAttackPlayerCollisionHandler extends CollisionHandler  {
 
     @Override
     public void onCollisionBegin(Entity enemyWeapon, Entity player) {
+        long started = FrameProfiler.get().start();
         HasLife playerComponent = player.getComponent(PlayerComponent.class);
         if (enemyWeapon != null && !playerComponent.isInvulnerable()
             && enemyWeapon.hasComponent(ProjectileComponent.class)) {
-            enemyWeapon.removeFromWorld();
+            ProjectilePool.get().recycle(enemyWeapon);
         }
         if (!playerComponent.isInvulnerable()) {
             playerComponent.deductHealth(1, 1, 0, 1, 0);
@@ -28,5 +31,6 @@ public class EnemyAttackPlayerCollisionHandler extends CollisionHandler  {
                 com.almasb.fxgl.dsl.FXGL.getGameScene().getViewport().shakeTranslational(5);
             }
         }
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 }
@@ -5,6 +5,8 @@ import com.almasb.fxgl.physics.CollisionHandler;
 import uwu.openjfx.RoyalType;
 import uwu.openjfx.components.ExplosionAtDistComponent;
 import uwu.openjfx.components.ProjectileAnimationComponent;
+import uwu.openjfx.pool.ProjectilePool;
+import uwu.openjfx.profiling.FrameProfiler;
 
 /*
     This class is responsible for when a projectile touches a door.
@@ -16,6 +18,7 @@ public class EnemyProjDoorCollisionHandler extends CollisionHandler {
     }
 
     public void onCollisionBegin(Entity weapon, Entity wall) {
+        long started = FrameProfiler.get().start();
         if (weapon.hasComponent(ProjectileAnimationComponent.class)) {
             if (weapon.getComponent(ProjectileAnimationComponent.class).getIsMagic()
                 || weapon.hasComponent(ExplosionAtDistComponent.class)) {
@@ -23,8 +26,9 @@ public class EnemyProjDoorCollisionHandler extends CollisionHandler {
                     && weapon.getComponent(ExplosionAtDistComponent.class).getExplodeColl()) {
                     weapon.getComponent(ExplosionAtDistComponent.class).explode();
                 }
-                weapon.removeFromWorld();
+                ProjectilePool.get().recycle(weapon);
             }
         }
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 }
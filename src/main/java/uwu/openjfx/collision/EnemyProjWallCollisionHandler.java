@@ -8,6 +8,8 @@ import uwu.openjfx.RoyalType;
 import uwu.openjfx.components.ExplosionAtDistComponent;
 import uwu.openjfx.components.ProjectileAnimationComponent;
 import uwu.openjfx.components.RicochetComponent;
+import uwu.openjfx.pool.ProjectilePool;
+import uwu.openjfx.profiling.FrameProfiler;
 
 /*
     This class is responsible for when a projectile touches a wall.
@@ -19,6 +21,7 @@ public class EnemyProjWallCollisionHandler extends CollisionHandler {
     }
 
     public void onCollisionBegin(Entity weapon, Entity wall) {
+        long started = FrameProfiler.get().start();
         if (weapon.hasComponent(ProjectileAnimationComponent.class)
             && !weapon.hasComponent(RicochetComponent.class)) {
             if (weapon.getComponent(ProjectileAnimationComponent.class).getIsMagic()
@@ -27,7 +30,7 @@ public class EnemyProjWallCollisionHandler extends CollisionHandler {
                     && weapon.getComponent(ExplosionAtDistComponent.class).getExplodeColl()) {
                     weapon.getComponent(ExplosionAtDistComponent.class).explode();
                 }
-                weapon.removeFromWorld();
+                ProjectilePool.get().recycle(weapon);
             }
         } else if (weapon.hasComponent(RicochetComponent.class)) {
             weapon.getComponent(RicochetComponent.class).incrementWallHit();
@@ -36,5 +39,6 @@ public class EnemyProjWallCollisionHandler extends CollisionHandler {
                 -pc.getDirection().getX() + .4 * Math.signum(pc.getDirection().getX()),
                 -pc.getDirection().getY() + .4 * Math.signum(pc.getDirection().getY())));
         }
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 }
@@ -10,6 +10,8 @@ import uwu.openjfx.components.EnemyComponent;
 import uwu.openjfx.components.ExplosionAtDistComponent;
 import uwu.openjfx.components.PlayerComponent;
 import uwu.openjfx.components.BossComponent;
+import uwu.openjfx.pool.ProjectilePool;
+import uwu.openjfx.profiling.FrameProfiler;
 
 public class PlayerAttackEnemyCollisionHandler extends CollisionHandler  {
     public PlayerAttackEnemyCollisionHandler() {
@@ -18,23 +20,24 @@ public class PlayerAttackEnemyCollisionHandler extends CollisionHandler  {
 
     @Override
     public void onCollisionBegin(Entity weapon, Entity enemy) {
-        if (((weapon.hasComponent(ProjectileComponent.class))
+        long started = FrameProfiler.get().start();
+        // оба условия считаются до recycle: пул ставит снаряд на паузу при парковке
+        boolean finished = ((weapon.hasComponent(ProjectileComponent.class))
             && (weapon.hasComponent(AttackDamageComponent.class))
             && (!weapon.getComponent(ProjectileComponent.class).isPaused())
             && (!weapon.getComponent(AttackDamageComponent.class).isActive()))
             || ((!weapon.hasComponent(ProjectileComponent.class))
             && (weapon.hasComponent(AttackDamageComponent.class))
-            && (!weapon.getComponent(AttackDamageComponent.class).isActive()))) {
-            if (weapon.hasComponent(ExplosionAtDistComponent.class)
-                && weapon.getComponent(ExplosionAtDistComponent.class).getExplodeColl()) {
-                weapon.getComponent(ExplosionAtDistComponent.class).explode();
-            }
-            weapon.removeFromWorld();
+            && (!weapon.getComponent(AttackDamageComponent.class).isActive()));
+        boolean dealsDamage = ((weapon.hasComponent(ProjectileComponent.class))
+            && (!weapon.getComponent(ProjectileComponent.class).isPaused()))
+            || (!weapon.hasComponent(ProjectileComponent.class));
+        if (finished && weapon.hasComponent(ExplosionAtDistComponent.class)
+            && weapon.getComponent(ExplosionAtDistComponent.class).getExplodeColl()) {
+            weapon.getComponent(ExplosionAtDistComponent.class).explode();
         }
 
-        if (((weapon.hasComponent(ProjectileComponent.class))
-            && (!weapon.getComponent(ProjectileComponent.class).isPaused()))
-            || (!weapon.hasComponent(ProjectileComponent.class))) {
+        if (dealsDamage) {
             EnemyComponent enemyComponent;
             if (enemy.hasComponent(BossComponent.class)) {
                 enemyComponent = enemy.getComponent(BossComponent.class);
@@ -56,10 +59,16 @@ public class PlayerAttackEnemyCollisionHandler extends CollisionHandler  {
                 enemyComponent.getArmorStat(),
                 PlayerComponent.getPiercePow());
         }
+
+        if (finished) {
+            ProjectilePool.get().recycle(weapon);
+        }
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 
     @Override
     public void onCollision(Entity weapon, Entity enemy) {
+        long started = FrameProfiler.get().start();
         if (weapon.hasComponent(DamageOverTimeComponent.class)) {
             EnemyComponent enemyComponent = enemy.getComponent(EnemyComponent.class);
             enemyComponent.turnSpriteRed();
@@ -72,5 +81,6 @@ public class PlayerAttackEnemyCollisionHandler extends CollisionHandler  {
                     PlayerComponent.getPiercePow());
             }
         }
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 }
@@ -6,6 +6,7 @@ import com.almasb.fxgl.physics.CollisionHandler;
 import uwu.openjfx.MainApp;
 import uwu.openjfx.RoyalType;
 import uwu.openjfx.behaviors.CanOnlyInteractOnce;
+import uwu.openjfx.profiling.FrameProfiler;
 
 public class PlayerChestCollisionHandler extends CollisionHandler {
 
@@ -16,6 +17,7 @@ public class PlayerChestCollisionHandler extends CollisionHandler {
 
     @Override
     public void onCollision(Entity player, Entity chest) {
+        long started = FrameProfiler.get().start();
         CanOnlyInteractOnce chestComponent = chest.getObject("chestComponent");
         if ((MainApp.isIsTesting() || FXGL.getb("Fpressed"))
                 && !chestComponent.hasInteractedBefore()) {
@@ -24,5 +26,6 @@ public class PlayerChestCollisionHandler extends CollisionHandler {
                 FXGL.play("ui/chest.wav");
             }
         }
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 }
@@ -7,6 +7,7 @@ import uwu.openjfx.MainApp;
 import uwu.openjfx.RoyalType;
 import uwu.openjfx.components.CoinComponent;
 import uwu.openjfx.components.PlayerComponent;
+import uwu.openjfx.profiling.FrameProfiler;
 
 public class PlayerCoinCollisionHandler extends CollisionHandler {
     public PlayerCoinCollisionHandler() {
@@ -15,6 +16,7 @@ public class PlayerCoinCollisionHandler extends CollisionHandler {
 
     @Override
     public void onCollisionBegin(Entity player, Entity coin) {
+        long started = FrameProfiler.get().start();
         CoinComponent coinComponent = coin.getComponent(CoinComponent.class);
         PlayerComponent.addGold(coinComponent.getValue());
         if (!MainApp.isIsTesting()) {
@@ -23,5 +25,6 @@ public class PlayerCoinCollisionHandler extends CollisionHandler {
             FXGL.play("ui/coin2.wav");
         }
         coin.removeFromWorld();
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 }
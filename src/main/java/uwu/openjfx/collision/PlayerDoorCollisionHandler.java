@@ -10,6 +10,7 @@ import uwu.openjfx.map.Room;
 import uwu.openjfx.RoyalType;
 import uwu.openjfx.UI;
 import uwu.openjfx.components.PlayerComponent;
+import uwu.openjfx.core.GameConstants;
 import uwu.openjfx.hud.ModernGameHUD;
 import uwu.openjfx.input.TeleportToBossRoom;
 
@@ -77,17 +78,14 @@ public class PlayerDoorCollisionHandler extends CollisionHandler {
             } else {
                 if (gameMap.getBossRoom() != null
                         && newRoom.getCoordinate().equals(gameMap.getBossRoom().getCoordinate())) {
-                    int challengeRoomsVisited = 0;
-                    for (Room room : gameMap.getRooms().values()) {
-                        if (room.getRoomType().equals("challengeRoom") && room.visited()) {
-                            ++challengeRoomsVisited;
-                        }
-                    }
+                    int challengeRoomsVisited = gameMap.countVisited("challengeRoom");
+                    int challengeRoomsNeeded = GameConstants.Map.CHALLENGE_ROOMS_BEFORE_BOSS;
 
-                    if (challengeRoomsVisited < 2) {
+                    if (challengeRoomsVisited < challengeRoomsNeeded) {
                         FXGL.getDialogService().showMessageBox(
                                 "Hmmm .... I feel like I haven't visited enough challenge "
-                                    + "rooms.\n Let's find " + (2 - challengeRoomsVisited)
+                                    + "rooms.\n Let's find "
+                                    + (challengeRoomsNeeded - challengeRoomsVisited)
                                     + " more challenge rooms before proceeding!",
                             () -> { });
                     } else {
@@ -10,6 +10,7 @@ import uwu.openjfx.RoyalType;
 import uwu.openjfx.hud.ModernGameHUD;
 import uwu.openjfx.components.PlayerComponent;
 import uwu.openjfx.items.Item;
+import uwu.openjfx.profiling.FrameProfiler;
 import uwu.openjfx.weapons.*;
 import uwu.openjfx.utils.GameLogger;
 
@@ -22,6 +23,7 @@ public class PlayerDroppedItemCollisionHandler extends CollisionHandler {
 
     @Override
     public void onCollision(Entity player, Entity itemEntity) {
+        long started = FrameProfiler.get().start();
         if (MainApp.isIsTesting() || FXGL.getb("Epressed")) {
             String itemName = itemEntity.getString("name");
             GameLogger.gameplay("Player picks up " + itemName);
@@ -93,5 +95,6 @@ public class PlayerDroppedItemCollisionHandler extends CollisionHandler {
                 }
             }
         }
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 }
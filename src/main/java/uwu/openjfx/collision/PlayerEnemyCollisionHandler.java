@@ -7,6 +7,7 @@ import uwu.openjfx.MainApp;
 import uwu.openjfx.RoyalType;
 import uwu.openjfx.components.EnemyComponent;
 import uwu.openjfx.components.PlayerComponent;
+import uwu.openjfx.profiling.FrameProfiler;
 
 /*
     This class is responsible for handling player TOUCHING enemy collision.
@@ -29,7 +30,9 @@ public class PlayerEnemyCollisionHandler extends CollisionHandler {
         super(RoyalType.PLAYER, RoyalType.ENEMY);
     }
 
-    protected void onCollisionBegin(Entity player, Entity enemy) {
+    @Override
+    public void onCollisionBegin(Entity player, Entity enemy) {
+        long started = FrameProfiler.get().start();
         enemyComponent = enemy.getComponent(EnemyComponent.class);
 
         /*
@@ -41,9 +44,11 @@ public class PlayerEnemyCollisionHandler extends CollisionHandler {
             equilibriumX = false;
             equilibriumY = false;
         }
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 
     public void onCollision(Entity player, Entity enemy) {
+        long started = FrameProfiler.get().start();
         playerComponent = player.getComponent(PlayerComponent.class);
         if (!playerComponent.isInvulnerable()) {
             playerComponent.deductHealth(1, 1, 0, 1, 0);
@@ -64,6 +69,7 @@ public class PlayerEnemyCollisionHandler extends CollisionHandler {
                 velocityNormalizeVal = 10.0; // Fixed: was Integer.MAX_VALUE causing overflow
             }
         }
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 
     private void reachEquilibrium() {
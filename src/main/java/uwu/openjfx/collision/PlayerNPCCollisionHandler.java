@@ -5,6 +5,7 @@ import com.almasb.fxgl.entity.Entity;
 import com.almasb.fxgl.physics.CollisionHandler;
 import uwu.openjfx.RoyalType;
 import uwu.openjfx.events.InteractEvent;
+import uwu.openjfx.profiling.FrameProfiler;
 
 public class PlayerNPCCollisionHandler extends CollisionHandler {
     public PlayerNPCCollisionHandler() {
@@ -13,8 +14,10 @@ public class PlayerNPCCollisionHandler extends CollisionHandler {
 
     @Override
     public void onCollision(Entity player, Entity npc) {
+        long started = FrameProfiler.get().start();
         if (FXGL.getb("Fpressed")) {
             FXGL.getEventBus().fireEvent(new InteractEvent(InteractEvent.NPC, npc));
         }
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 }
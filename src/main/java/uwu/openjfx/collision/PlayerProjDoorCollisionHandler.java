@@ -1,14 +1,16 @@
 package uwu.openjfx.collision;
 
-import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.dsl.components.ProjectileComponent;
 import com.almasb.fxgl.entity.Entity;
 import com.almasb.fxgl.entity.components.IrremovableComponent;
 import com.almasb.fxgl.physics.CollisionHandler;
-import javafx.util.Duration;
 import uwu.openjfx.RoyalType;
+import uwu.openjfx.core.GameConstants;
 import uwu.openjfx.components.ExplosionAtDistComponent;
 import uwu.openjfx.components.ProjectileAnimationComponent;
+import uwu.openjfx.pool.ProjectilePool;
+import uwu.openjfx.profiling.FrameProfiler;
+import uwu.openjfx.time.GameScheduler;
 
 /*
     This class is responsible for when a projectile touches a door.
@@ -20,6 +22,7 @@ public class PlayerProjDoorCollisionHandler extends CollisionHandler {
     }
 
     public void onCollisionBegin(Entity weapon, Entity door) {
+        long started = FrameProfiler.get().start();
         if (weapon.hasComponent(ProjectileAnimationComponent.class)) {
             if (weapon.getComponent(ProjectileAnimationComponent.class).getIsArrow()) {
                 weapon.getComponent(ProjectileComponent.class).pause();
@@ -30,21 +33,33 @@ public class PlayerProjDoorCollisionHandler extends CollisionHandler {
                     && weapon.getComponent(ExplosionAtDistComponent.class).getExplodeColl()) {
                     weapon.getComponent(ExplosionAtDistComponent.class).explode();
                 }
-                weapon.removeFromWorld();
+                ProjectilePool.get().recycle(weapon);
             }
         }
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 
     protected void onCollision(Entity weapon, Entity door) {
-        if (weapon != null) {
-            FXGL.getGameTimer().runAtInterval(() -> {
-                if (weapon.hasComponent(IrremovableComponent.class)) {
-                    weapon.removeComponent(IrremovableComponent.class);
-                }
-                if (weapon.isActive()) {
-                    weapon.removeFromWorld();
-                }
-            }, Duration.seconds(1));
+        long started = FrameProfiler.get().start();
+        try {
+            if (ProjectilePool.get().expireIn(
+                weapon, GameConstants.Projectiles.STUCK_IN_DOOR_LIFETIME)) {
+                return;
+            }
+            // onCollision runs every frame of contact, schedule the removal only once
+            if (weapon != null && !GameScheduler.get().hasPending(weapon)) {
+                GameScheduler.get().after(weapon,
+                    GameConstants.Projectiles.STUCK_IN_DOOR_LIFETIME, () -> {
+                    if (weapon.hasComponent(IrremovableComponent.class)) {
+                        weapon.removeComponent(IrremovableComponent.class);
+                    }
+                    if (weapon.isActive()) {
+                        ProjectilePool.get().recycle(weapon);
+                    }
+                });
+            }
+        } finally {
+            FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
         }
     }
 }
@@ -5,11 +5,14 @@ import com.almasb.fxgl.dsl.components.ProjectileComponent;
 import com.almasb.fxgl.entity.Entity;
 import com.almasb.fxgl.entity.components.IrremovableComponent;
 import com.almasb.fxgl.physics.CollisionHandler;
-import javafx.util.Duration;
 import uwu.openjfx.MainApp;
 import uwu.openjfx.RoyalType;
+import uwu.openjfx.core.GameConstants;
 import uwu.openjfx.components.ExplosionAtDistComponent;
 import uwu.openjfx.components.ProjectileAnimationComponent;
+import uwu.openjfx.pool.ProjectilePool;
+import uwu.openjfx.profiling.FrameProfiler;
+import uwu.openjfx.time.GameScheduler;
 
 /*
     This class is responsible for when a projectile touches a wall.
@@ -21,6 +24,7 @@ public class PlayerProjWallCollisionHandler extends CollisionHandler {
     }
 
     public void onCollisionBegin(Entity weapon, Entity wall) {
+        long started = FrameProfiler.get().start();
         if (weapon.hasComponent(ProjectileAnimationComponent.class)) {
             if (weapon.getComponent(ProjectileAnimationComponent.class).getIsArrow()) {
                 weapon.getComponent(ProjectileComponent.class).pause();
@@ -36,21 +40,33 @@ public class PlayerProjWallCollisionHandler extends CollisionHandler {
                     && weapon.getComponent(ExplosionAtDistComponent.class).getExplodeColl()) {
                     weapon.getComponent(ExplosionAtDistComponent.class).explode();
                 }
-                weapon.removeFromWorld();
+                ProjectilePool.get().recycle(weapon);
             }
         }
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 
     protected void onCollision(Entity weapon, Entity wall) {
-        if (weapon != null) {
-            FXGL.getGameTimer().runAtInterval(() -> {
-                if (weapon.hasComponent(IrremovableComponent.class)) {
-                    weapon.removeComponent(IrremovableComponent.class);
-                }
-                if (weapon.isActive()) {
-                    weapon.removeFromWorld();
-                }
-            }, Duration.seconds(3));
+        long started = FrameProfiler.get().start();
+        try {
+            if (ProjectilePool.get().expireIn(
+                weapon, GameConstants.Projectiles.STUCK_IN_WALL_LIFETIME)) {
+                return;
+            }
+            // onCollision runs every frame of contact, schedule the removal only once
+            if (weapon != null && !GameScheduler.get().hasPending(weapon)) {
+                GameScheduler.get().after(weapon,
+                    GameConstants.Projectiles.STUCK_IN_WALL_LIFETIME, () -> {
+                    if (weapon.hasComponent(IrremovableComponent.class)) {
+                        weapon.removeComponent(IrremovableComponent.class);
+                    }
+                    if (weapon.isActive()) {
+                        ProjectilePool.get().recycle(weapon);
+                    }
+                });
+            }
+        } finally {
+            FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
         }
     }
 }
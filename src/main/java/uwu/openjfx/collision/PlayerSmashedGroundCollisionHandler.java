@@ -7,6 +7,7 @@ import javafx.animation.Timeline;
 import uwu.openjfx.RoyalType;
 import uwu.openjfx.behaviors.HasLife;
 import uwu.openjfx.components.PlayerComponent;
+import uwu.openjfx.profiling.FrameProfiler;
 
 /*
     This class is responsible for the collision interaction between player and a smashed ground
@@ -20,6 +21,7 @@ public class PlayerSmashedGroundCollisionHandler extends CollisionHandler {
 
     @Override
     public void onCollisionBegin(Entity ground, Entity player) {
+        long started = FrameProfiler.get().start();
         if (!hasAlreadyBeenHit) {
             HasLife playerComponent = player.getComponent(PlayerComponent.class);
             if (!playerComponent.isInvulnerable()) {
@@ -31,15 +33,20 @@ public class PlayerSmashedGroundCollisionHandler extends CollisionHandler {
             );
             hitResetTimeline.play();
         }
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 
     @Override
     public void onCollision(Entity ground, Entity player) {
+        long started = FrameProfiler.get().start();
         player.getComponent(PlayerComponent.class).setSpeed(60);
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 
     @Override
     public void onCollisionEnd(Entity ground, Entity player) {
+        long started = FrameProfiler.get().start();
         player.getComponent(PlayerComponent.class).setSpeed(170);
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 }
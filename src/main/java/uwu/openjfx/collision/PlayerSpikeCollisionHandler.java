@@ -5,6 +5,7 @@ import com.almasb.fxgl.physics.CollisionHandler;
 import uwu.openjfx.RoyalType;
 import uwu.openjfx.components.PlayerComponent;
 import uwu.openjfx.components.SpikeComponent;
+import uwu.openjfx.profiling.FrameProfiler;
 
 public class PlayerSpikeCollisionHandler extends CollisionHandler {
     public PlayerSpikeCollisionHandler() {
@@ -13,6 +14,7 @@ public class PlayerSpikeCollisionHandler extends CollisionHandler {
 
     @Override
     protected void onCollision(Entity player, Entity spike) {
+        long started = FrameProfiler.get().start();
         SpikeComponent spikeComponent = spike.getComponent(SpikeComponent.class);
         if (spikeComponent.isActive()) {
             PlayerComponent playerComponent = player.getComponent(PlayerComponent.class);
@@ -20,5 +22,6 @@ public class PlayerSpikeCollisionHandler extends CollisionHandler {
                 playerComponent.deductHealth(1, 1, 0, 1, 0);
             }
         }
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 }
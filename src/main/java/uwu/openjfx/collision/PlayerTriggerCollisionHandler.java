@@ -5,6 +5,7 @@ import com.almasb.fxgl.entity.Entity;
 import com.almasb.fxgl.physics.CollisionHandler;
 import uwu.openjfx.RoyalType;
 import uwu.openjfx.components.TrapComponent;
+import uwu.openjfx.profiling.FrameProfiler;
 
 import java.util.List;
 
@@ -16,6 +17,7 @@ public class PlayerTriggerCollisionHandler extends CollisionHandler {
 
     @Override
     protected void onCollisionBegin(Entity player, Entity trapTrigger) {
+        long started = FrameProfiler.get().start();
         // for trap that you only need to collide with it
         if (!trapTrigger.getComponent(TrapComponent.class).needToPressUse()) {
             int trapGroupId = trapTrigger.getProperties().getInt("groupId");
@@ -27,10 +29,12 @@ public class PlayerTriggerCollisionHandler extends CollisionHandler {
             }
             trapTrigger.getComponent(TrapComponent.class).trigger();
         }
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 
     @Override
     protected void onCollision(Entity player, Entity trapTrigger) {
+        long started = FrameProfiler.get().start();
         if (trapTrigger.getComponent(TrapComponent.class).needToPressUse()
                 && FXGL.getb("Fpressed")) {
             int trapGroupId = trapTrigger.getProperties().getInt("groupId");
@@ -42,5 +46,6 @@ public class PlayerTriggerCollisionHandler extends CollisionHandler {
             }
             trapTrigger.getComponent(TrapComponent.class).trigger();
         }
+        FrameProfiler.get().stop(FrameProfiler.Section.COLLISION, started);
     }
 }
@@ -0,0 +1,142 @@
+package uwu.openjfx.components;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import uwu.openjfx.core.GameConstants;
+
+import java.util.Arrays;
+
+/**
+ * Level of detail for enemy AI.
+ * Enemies near the player think every frame, enemies further away but still on
+ * screen think every few frames, and enemies beyond the viewport (plus a margin)
+ * only wake up now and then to check whether the player came closer.
+ * Every enemy gets a bucket when it is added, and a reduced or dormant enemy only
+ * runs on frames that belong to its bucket, so the work is spread evenly over the
+ * frames instead of every distant enemy thinking on the same one.
+ */
+public final class AILevelOfDetail {
+
+    public enum Tier {
+        FULL,
+        REDUCED,
+        DORMANT
+    }
+
+    private static final AILevelOfDetail INSTANCE = new AILevelOfDetail(
+        GameConstants.Enemy.LOD_FULL_RADIUS,
+        GameConstants.UI.WINDOW_WIDTH / 2 + GameConstants.Enemy.LOD_DORMANT_MARGIN,
+        GameConstants.UI.WINDOW_HEIGHT / 2 + GameConstants.Enemy.LOD_DORMANT_MARGIN,
+        GameConstants.Enemy.LOD_REDUCED_BUCKETS,
+        GameConstants.Enemy.LOD_DORMANT_BUCKETS);
+
+    private final double fullRadius;
+    private final double dormantHalfWidth;
+    private final double dormantHalfHeight;
+    private final int reducedBuckets;
+    private final int dormantBuckets;
+
+    private long frame;
+    private int nextBucket;
+    private final int[] counts = new int[Tier.values().length];
+    private final int[] lastCounts = new int[Tier.values().length];
+    private int skipped;
+    private int lastSkipped;
+
+    AILevelOfDetail(double fullRadius, double dormantHalfWidth, double dormantHalfHeight,
+                    int reducedBuckets, int dormantBuckets) {
+        this.fullRadius = fullRadius;
+        this.dormantHalfWidth = dormantHalfWidth;
+        this.dormantHalfHeight = dormantHalfHeight;
+        this.reducedBuckets = Math.max(1, reducedBuckets);
+        this.dormantBuckets = Math.max(1, dormantBuckets);
+    }
+
+    @SuppressFBWarnings(value = "MS_EXPOSE_REP", justification = "AILevelOfDetail is a process-wide singleton")
+    public static AILevelOfDetail get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts a new frame. Called once per frame before the entities update.
+     */
+    public void beginFrame() {
+        frame++;
+        System.arraycopy(counts, 0, lastCounts, 0, counts.length);
+        Arrays.fill(counts, 0);
+        lastSkipped = skipped;
+        skipped = 0;
+    }
+
+    /**
+     * @return bucket for a newly added enemy, handed out round-robin
+     */
+    public int nextBucket() {
+        return nextBucket++ & Integer.MAX_VALUE;
+    }
+
+    /**
+     * @param dx   player x minus enemy x
+     * @param dy   player y minus enemy y
+     * @param dist distance between them
+     * @return tier of an enemy at that offset from the player
+     */
+    public Tier tierOf(double dx, double dy, double dist) {
+        if (Math.abs(dx) > dormantHalfWidth || Math.abs(dy) > dormantHalfHeight) {
+            return Tier.DORMANT;
+        }
+        return dist <= fullRadius ? Tier.FULL : Tier.REDUCED;
+    }
+
+    /**
+     * @param tier   current tier of the enemy
+     * @param bucket bucket of the enemy
+     * @return true if the enemy should run its update this frame
+     */
+    public boolean isDue(Tier tier, int bucket) {
+        boolean due;
+        switch (tier) {
+        case REDUCED:
+            due = (frame + bucket) % reducedBuckets == 0;
+            break;
+        case DORMANT:
+            due = (frame + bucket) % dormantBuckets == 0;
+            break;
+        default:
+            due = true;
+        }
+        if (!due) {
+            skipped++;
+        }
+        return due;
+    }
+
+    /**
+     * Records that an enemy of the tier ran its update this frame.
+     *
+     * @param tier tier the enemy ended up in
+     */
+    public void countUpdate(Tier tier) {
+        counts[tier.ordinal()]++;
+    }
+
+    public int getLastCount(Tier tier) {
+        return lastCounts[tier.ordinal()];
+    }
+
+    public int getLastSkipped() {
+        return lastSkipped;
+    }
+
+    /**
+     * Short summary of the previous frame for DevTools and logs.
+     *
+     * @return human readable counters
+     */
+    public String getStats() {
+        return String.format(
+            "full=%d reduced=%d dormant=%d skipped=%d (buckets %d/%d, full radius %.0f)",
+            lastCounts[Tier.FULL.ordinal()], lastCounts[Tier.REDUCED.ordinal()],
+            lastCounts[Tier.DORMANT.ordinal()], lastSkipped,
+            reducedBuckets, dormantBuckets, fullRadius);
+    }
+}
@@ -1,8 +1,11 @@
 package uwu.openjfx.components;
 
-import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.entity.component.Component;
 import com.almasb.fxgl.entity.Entity;
+import uwu.openjfx.core.GameConstants;
+import uwu.openjfx.spatial.SpatialIndex;
+
+import java.util.List;
 import java.util.Random;
 
 /**
@@ -292,12 +295,9 @@ public class AdaptiveAI extends Component {
     }
 
     private int countNearbyAllies() {
-        // Подсчет врагов в радиусе 200 пикселей
-        return (int) FXGL.getGameWorld().getEntitiesInRange(
-            getEntity().getBoundingBoxComponent().range(200, 200)
-        ).stream()
-        .filter(e -> e.getComponent(EnemyComponent.class) != null && e != getEntity())
-        .count();
+        // Подсчет врагов в радиусе 200 пикселей через пространственный индекс
+        return SpatialIndex.get().countAlliesWithin(
+            getEntity(), GameConstants.Spatial.ALLY_RADIUS);
     }
 
     private boolean isPlayerUsingRangedWeapon() {
@@ -402,15 +402,9 @@ public class AdaptiveAI extends Component {
     }
 
     private Entity findNearestAlly() {
-        return FXGL.getGameWorld().getEntitiesInRange(
-            getEntity().getBoundingBoxComponent().range(300, 300)
-        ).stream()
-        .filter(e -> e.getComponent(EnemyComponent.class) != null && e != getEntity())
-        .min((e1, e2) -> Double.compare(
-            e1.getPosition().distance(getEntity().getPosition()),
-            e2.getPosition().distance(getEntity().getPosition())
-        ))
-        .orElse(null);
+        List<Entity> allies = SpatialIndex.get().nearestAllies(
+            getEntity(), 1, GameConstants.Spatial.ALLY_SEARCH_RADIUS);
+        return allies.isEmpty() ? null : allies.get(0);
     }
 
     private void moveWithRotation(double rotationSpeed, double tpf) {
@@ -4,7 +4,6 @@ import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.entity.Entity;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import javafx.beans.property.IntegerProperty;
-import javafx.beans.property.SimpleIntegerProperty;
 import uwu.openjfx.MainApp;
 import uwu.openjfx.RoyalType;
 import uwu.openjfx.UI;
@@ -16,14 +15,12 @@ import static com.almasb.fxgl.dsl.FXGLForKtKt.loopBGM;
 
 // Todo: add more boss behavior here
 public class BossComponent extends EnemyComponent {
-    private static final IntegerProperty bossHealthProperty = new SimpleIntegerProperty();
-
     public BossComponent(int healthPoints, String assetName, int width, int height, int frames,
                          String fighterClass) {
         super(healthPoints, assetName, width, height, frames, "finalboss", fighterClass);
         // setDieBehavior(new WinWhenDie());
         setDieBehavior(new DoNothing());
-        bossHealthProperty.set(healthPoints);
+        setBossHealthProperty(healthPoints);
     }
 
     @Override
@@ -51,10 +48,10 @@ public class BossComponent extends EnemyComponent {
 
     @SuppressFBWarnings(value = "MS_EXPOSE_REP", justification = "UI bindings require direct access to boss health property.")
     public static IntegerProperty getBossHealthProperty() {
-        return bossHealthProperty;
+        return PlayerComponent.state().getBossHealth();
     }
 
     public static void setBossHealthProperty(int bossHealthProperty) {
-        BossComponent.bossHealthProperty.set(bossHealthProperty);
+        PlayerComponent.state().getBossHealth().set(bossHealthProperty);
     }
 }
@@ -1,12 +1,12 @@
 package uwu.openjfx.components;
 
-import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.entity.component.Component;
 import com.almasb.fxgl.texture.AnimatedTexture;
 import com.almasb.fxgl.texture.AnimationChannel;
 import javafx.geometry.Point2D;
 import javafx.util.Duration;
 import uwu.openjfx.MainApp;
+import uwu.openjfx.visual.TextureAtlas;
 
 public class CoinComponent extends Component {
 
@@ -18,7 +18,7 @@ public class CoinComponent extends Component {
     public CoinComponent(int value) {
         this.value = value;
         if (!MainApp.isIsTesting()) {
-            animIdle = new AnimationChannel(FXGL.image("coin_16x16.png"), 4,
+            animIdle = TextureAtlas.get().channel("coin_16x16.png", 4,
                     16, 16, Duration.seconds(0.5), 0, 3);
             texture = new AnimatedTexture(animIdle);
             texture.loop();
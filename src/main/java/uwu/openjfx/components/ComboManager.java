@@ -1,10 +1,10 @@
 package uwu.openjfx.components;
 
 import com.almasb.fxgl.entity.component.Component;
+import uwu.openjfx.time.GameScheduler;
+
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
 
 /**
  * Компонент для управления комбо-системой
@@ -43,7 +43,7 @@ public class ComboManager extends Component {
      * Зарегистрировать новую атаку для комбо-системы
      */
     public void registerAttack(String attackType) {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = now();
         
         // Проверяем таймаут комбо
         if (currentTime - lastAttackTime > comboTimeout) {
@@ -135,7 +135,7 @@ public class ComboManager extends Component {
         }
         
         // Снижаем множитель со временем
-        long timeSinceLastAttack = System.currentTimeMillis() - lastAttackTime;
+        long timeSinceLastAttack = now() - lastAttackTime;
         if (timeSinceLastAttack > comboTimeout / 2) {
             comboMultiplier = Math.max(1.0, comboMultiplier * 0.9);
             if (comboMultiplier <= 1.0) {
@@ -216,6 +216,13 @@ public class ComboManager extends Component {
         // для отображения множителя над персонажем
     }
     
+    /*
+        Игровое время в миллисекундах: окно комбо не истекает, пока игра на паузе
+     */
+    private long now() {
+        return (long) (GameScheduler.get().getTime() * 1000);
+    }
+
     @Override
     public void onUpdate(double tpf) {
         // Обновляем множитель со временем
@@ -9,6 +9,7 @@ import uwu.openjfx.MainApp;
 import uwu.openjfx.behaviors.Behavior;
 import uwu.openjfx.behaviors.DoNothing;
 import uwu.openjfx.behaviors.HasLife;
+import uwu.openjfx.time.GameScheduler;
 
 import java.util.Timer;
 
@@ -83,11 +84,10 @@ public class CreatureComponent extends Component implements HasLife {
 
     private void invulnerability() {
         isInvulnerable = true;
-        // Fixed: Use FXGL game timer instead of unbounded Timer to prevent memory leaks
         // Исправлено: При HP = 5, неуязвимость сокращена с 2000мс до 500мс для баланса
-        com.almasb.fxgl.dsl.FXGL.getGameTimer().runOnceAfter(() -> {
-            isInvulnerable = false;
-        }, javafx.util.Duration.millis(!(this instanceof EnemyComponent) ? 500 : 100));
+        // game time, so it also runs out in the headless simulation
+        GameScheduler.get().after(getEntity(), !(this instanceof EnemyComponent) ? 0.5 : 0.1,
+            () -> isInvulnerable = false);
     }
 
     @Override
@@ -16,14 +16,22 @@ import javafx.geometry.Point2D;
 import javafx.scene.paint.Color;
 import javafx.util.Duration;
 import uwu.openjfx.MainApp;
+import uwu.openjfx.map.FlowField;
 import uwu.openjfx.map.Room;
+import uwu.openjfx.map.RoomFlowField;
 import uwu.openjfx.RoyalType;
+import uwu.openjfx.core.GameConstants;
 import uwu.openjfx.utils.EntityCleanup;
 import uwu.openjfx.integration.GameIntegration;
-
-import java.util.Timer;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import uwu.openjfx.pool.ProjectilePool;
+import uwu.openjfx.profiling.BossTransformEvent;
+import uwu.openjfx.profiling.FrameProfiler;
+import uwu.openjfx.profiling.SpawnBatchEvent;
+import uwu.openjfx.spatial.SpatialIndex;
+import uwu.openjfx.time.GameScheduler;
+import uwu.openjfx.time.TimerHandle;
+import uwu.openjfx.visual.AnimationCache;
+import uwu.openjfx.visual.AnimationSet;
 
 import static com.almasb.fxgl.dsl.FXGL.spawn;
 
@@ -68,6 +76,10 @@ public class EnemyComponent extends CreatureComponent {
     protected boolean startShrink = false;
     private double scaler = 1.0;
     private LocalTimer moveTimer;
+    private TimerHandle stunTimer;
+    private TimerHandle kiteRerollTimer;
+    private AILevelOfDetail.Tier lodTier = AILevelOfDetail.Tier.FULL;
+    private int lodBucket;
 
     private static final double PLAYER_HIT_BOX_OFFSET_X = 3;
     private static final double PLAYER_HIT_BOX_OFFSET_Y = 15;
@@ -94,19 +106,22 @@ public class EnemyComponent extends CreatureComponent {
         this.fighterClass = fighterClass;
 
         if (!MainApp.isIsTesting()) {
-            animIdle = new AnimationChannel(FXGL.image(assetName), frames,
-                width, height, Duration.seconds(0.5), 0, frames / 2 - 1);
-            animWalk = new AnimationChannel(FXGL.image(assetName), frames,
-                width, height, Duration.seconds(0.5), frames / 2, frames - 1);
-            animMeleeAttack = new AnimationChannel(FXGL.image(assetName), frames,
-                width, height, Duration.seconds((double) attackDuration / 1000),
-                frames / 2, frames / 2);
+            loadAnimations(frames);
 
             texture = new AnimatedTexture(animIdle);
             texture.loop();
         }
     }
 
+    private void loadAnimations(int frames) {
+        // Shared between every creature using the same sprite sheet
+        AnimationSet animations = AnimationCache.get().creature(assetName, frames,
+            width, height, (double) attackDuration / 1000);
+        animIdle = animations.getIdle();
+        animWalk = animations.getWalk();
+        animMeleeAttack = animations.getAttack();
+    }
+
     public void applyDifficulty(double healthMultiplier) {
         if (healthMultiplier <= 0) {
             return;
@@ -159,13 +174,30 @@ public class EnemyComponent extends CreatureComponent {
 
             moveTimer = FXGL.newLocalTimer();
             moveTimer.capture();
+            SpatialIndex.get().trackEnemy(entity);
+            lodBucket = AILevelOfDetail.get().nextBucket();
         } else {
             entity.setProperty("isDead", false);
         }
     }
 
+    @Override
+    public void onRemoved() {
+        SpatialIndex.get().untrackEnemy(entity);
+    }
+
     @Override
     public void onUpdate(double tpf) {
+        AILevelOfDetail lod = AILevelOfDetail.get();
+        if (!lod.isDue(lodTier, lodBucket)) {
+            return;
+        }
+        long started = FrameProfiler.get().start();
+        think(lod);
+        FrameProfiler.get().stop(FrameProfiler.Section.AI, started);
+    }
+
+    private void think(AILevelOfDetail lod) {
         if (type.equals("finalboss")) {
             if (getFighterClass().equals("melee") && getHealthPoints() <= 50 && !prepAttack) {
                 // Fixed: Transform first, then adjust health for new form
@@ -184,7 +216,7 @@ public class EnemyComponent extends CreatureComponent {
                     9, "ranged");
             }
         }
-        Entity player = FXGL.geto("player");
+        Entity player = SpatialIndex.get().getPlayer();
         playerX = player.getX() + PLAYER_HIT_BOX_OFFSET_X + (PLAYER_HIT_BOX_WIDTH / 2);
         playerY = player.getY() + PLAYER_HIT_BOX_OFFSET_Y + (PLAYER_HIT_BOX_HEIGHT / 2);
         enemyX = getEntity().getX() + getEntity().getWidth() / 2;
@@ -197,6 +229,13 @@ public class EnemyComponent extends CreatureComponent {
         if (dist > 150) {
             playerLeavesRadius = true;
         }
+        lodTier = isBusy() ? AILevelOfDetail.Tier.FULL
+            : lod.tierOf(playerX - enemyX, playerY - enemyY, dist);
+        lod.countUpdate(lodTier);
+        if (lodTier == AILevelOfDetail.Tier.DORMANT) {
+            stop(); // далеко за экраном: стоим и ждем игрока
+            return;
+        }
         moveToPlayer();
         if (kiting) {
             kitePlayer();
@@ -211,10 +250,6 @@ public class EnemyComponent extends CreatureComponent {
         if (isStunned) {
             normalizeVelocityX();
             normalizeVelocityY();
-            Timeline stunTimeline = new Timeline(
-                new KeyFrame(javafx.util.Duration.millis(1500), e -> isStunned = false)
-            );
-            stunTimeline.play();
         }
 
         if (prepAttack && (physics.getVelocityX() != 0 || physics.getVelocityY() != 0)) {
@@ -260,18 +295,48 @@ public class EnemyComponent extends CreatureComponent {
         }
     }
 
-    private void moveToPlayer() {
-        int attackDist;
-        int moveDist;
+    /*
+        Attacks, stuns and the boss always run at full rate, whatever the distance.
+     */
+    private boolean isBusy() {
+        return type.equals("finalboss") || prepAttack || startAttacking || startShrink
+            || isStunned || overDrive || attackCD;
+    }
+
+    /**
+     * @return distance to the player under which the enemy attacks
+     */
+    public int getAttackDistance() {
+        if (!fighterClass.equals("melee")) {
+            return GameConstants.Enemy.RANGED_ATTACK_DIST;
+        }
+        return type.equals("finalboss")
+            ? GameConstants.Enemy.BOSS_MELEE_ATTACK_DIST : GameConstants.Enemy.MELEE_ATTACK_DIST;
+    }
+
+    /**
+     * @return distance to the player under which the enemy chases them
+     */
+    public int getMoveDistance() {
         if (type.equals("finalboss")) {
-            attackDist = fighterClass.equals("melee") ? 150 : 300;
-            moveDist = 2000;
-        } else {
-            attackDist = fighterClass.equals("melee") ? 120 : 300;
-            moveDist = fighterClass.equals("melee") ? 300 : 500;
+            return GameConstants.Enemy.BOSS_MOVE_DIST;
         }
-        double reactionTime = type.equals("finalboss") ? 0.25 : 1;
-        if (moveTimer.elapsed(Duration.seconds(reactionTime)) && !isStunned) {
+        return fighterClass.equals("melee")
+            ? GameConstants.Enemy.MELEE_MOVE_DIST : GameConstants.Enemy.RANGED_MOVE_DIST;
+    }
+
+    /**
+     * @return seconds between two decisions of moveToPlayer
+     */
+    public double getReactionTime() {
+        return type.equals("finalboss")
+            ? GameConstants.Enemy.BOSS_REACTION_TIME : GameConstants.Enemy.REACTION_TIME;
+    }
+
+    private void moveToPlayer() {
+        int attackDist = getAttackDistance();
+        int moveDist = getMoveDistance();
+        if (moveTimer.elapsed(Duration.seconds(getReactionTime())) && !isStunned) {
             if (fighterClass.equals("melee")) { 
                 if (dist < attackDist && !attackCD) { 
                     playerLeavesRadius = false;
@@ -282,10 +347,8 @@ public class EnemyComponent extends CreatureComponent {
                             isHammerSmashing = true;
                             stop();
                             texture.playAnimationChannel(animMeleeAttack);
-                            Timeline ultimateTimeline = new Timeline(
-                                new KeyFrame(javafx.util.Duration.millis(ULTIMATE_DURATION), e -> startAttacking = true)
-                            );
-                            ultimateTimeline.play();
+                            GameScheduler.get().after(entity, ULTIMATE_DURATION / 1000.0,
+                                () -> startAttacking = true);
                             hammerUltimatePrepAttack();
                         } else {
                             initiateAutoAttack();
@@ -294,11 +357,7 @@ public class EnemyComponent extends CreatureComponent {
                         initiateAutoAttack();
                     }
                 } else if (dist < moveDist && !prepAttack) { 
-                    double xDir = playerX - enemyX > 0 ? 1 : -1;
-                    double yDir = playerY - enemyY > 0 ? 1 : -1;
-                    physics.setVelocityX(speed * xDir);
-                    physics.setVelocityY(speed * yDir);
-                    entity.setScaleX(xDir);
+                    chasePlayer();
                 } else {
                     stop();
                 }
@@ -330,10 +389,8 @@ public class EnemyComponent extends CreatureComponent {
                                     isRicochetFiring = true;
                                     ricochetCounter++;
                                 }
-                                Timeline ultimateTimeline2 = new Timeline(
-                                    new KeyFrame(javafx.util.Duration.millis(ULTIMATE_DURATION), e -> startAttacking = true)
-                                );
-                                ultimateTimeline2.play();
+                                GameScheduler.get().after(entity, ULTIMATE_DURATION / 1000.0,
+                                    () -> startAttacking = true);
                             } else {
                                 initiateAutoAttack();
                             }
@@ -345,11 +402,7 @@ public class EnemyComponent extends CreatureComponent {
                         kiting = true;
                     }
                 } else if (dist < moveDist && !prepAttack) {
-                    double xDir = playerX - enemyX > 0 ? 1 : -1;
-                    double yDir = playerY - enemyY > 0 ? 1 : -1;
-                    physics.setVelocityX(speed * xDir);
-                    physics.setVelocityY(speed * yDir);
-                    entity.setScaleX(xDir);
+                    chasePlayer();
                 } else {
                     stop();
                 }
@@ -358,6 +411,25 @@ public class EnemyComponent extends CreatureComponent {
         }
     }
 
+    /*
+        Walks along the room's flow field so that walls are walked around instead of
+        into. Falls back to heading straight at the player on the player's own tile
+        or when no path exists.
+     */
+    private void chasePlayer() {
+        double xDir = playerX - enemyX > 0 ? 1 : -1;
+        double yDir = playerY - enemyY > 0 ? 1 : -1;
+        int step = RoomFlowField.get().directionFrom(enemyX, enemyY);
+        if (step >= 0) {
+            physics.setVelocityX(speed * FlowField.stepX(step));
+            physics.setVelocityY(speed * FlowField.stepY(step));
+        } else {
+            physics.setVelocityX(speed * xDir);
+            physics.setVelocityY(speed * yDir);
+        }
+        entity.setScaleX(xDir);
+    }
+
     public void normalizeVelocityX() {
         if (physics.getVelocityX() != 0) {
             if (physics.getVelocityX() > 0) {
@@ -397,6 +469,8 @@ public class EnemyComponent extends CreatureComponent {
     public void knockBackFromPlayer() {
         if (physics != null && !type.equals("finalboss")) {
             isStunned = true;
+            stunTimer = GameScheduler.get().restart(stunTimer, entity, 1.5,
+                () -> isStunned = false);
             double knockBackPower = 400;
             double adjacent = (getEntity().getX() + ((double) width) / 2) - playerX;
             double opposite = (getEntity().getY() + ((double) height) / 2) - playerY;
@@ -452,12 +526,16 @@ public class EnemyComponent extends CreatureComponent {
             double xPow = dir.toPoint2D().getX() * speed;
             double yPow = dir.toPoint2D().getY() * speed;
             physics.setLinearVelocity(xPow, yPow);
-            FXGL.getGameTimer().runAtInterval(() -> {
-                kiteBack = false;
-                kiteCircular = false;
-            }, Duration.seconds(1));
+            // one reroll timer per enemy, not a new interval every frame
+            if (kiteRerollTimer == null || !kiteRerollTimer.isPending()) {
+                kiteRerollTimer = GameScheduler.get().every(entity, 1, () -> {
+                    kiteBack = false;
+                    kiteCircular = false;
+                });
+            }
             if (dist >= 300) {
                 kiting = false;
+                kiteRerollTimer.cancel();
                 stop();
             }
         }
@@ -525,10 +603,7 @@ public class EnemyComponent extends CreatureComponent {
         isHammerSmashing = false;
         isMagic360Firing = false;
         isRicochetFiring = false;
-        Timeline cooldownTimeline = new Timeline(
-            new KeyFrame(javafx.util.Duration.millis(attackBreaktime), e -> attackCD = false)
-        );
-        cooldownTimeline.play();
+        GameScheduler.get().after(entity, attackBreaktime / 1000.0, () -> attackCD = false);
     }
 
     private void initiateAutoAttack() {
@@ -563,16 +638,7 @@ public class EnemyComponent extends CreatureComponent {
                 magicHB.setScaleX(-1.5);
             }
         }
-        Timer t = new java.util.Timer();
-        t.schedule(
-            new java.util.TimerTask() {
-                @Override
-                public void run() {
-                    startAttacking = true;
-                    t.cancel();
-                }
-            }, attackDuration
-        );
+        GameScheduler.get().after(entity, attackDuration / 1000.0, () -> startAttacking = true);
     }
 
     public void rangedAttack() {
@@ -591,10 +657,10 @@ public class EnemyComponent extends CreatureComponent {
         double centerX = ((double) (leftOffset + (frameWidth - rightOffset)) / 2);
         double centerY = ((double) (topBottomOffset + (frameHeight - topBottomOffset)) / 2);
 
-        int speed = 200; // Уменьшил скорость снарядов для лучшего баланса
+        int speed = GameConstants.Enemy.FIREBALL_SPEED;
 
         entity.setScaleX(playerX - enemyX > 0 ? 1 : -1);
-        Entity magicRegAutoHB = spawn("rangedMagicHitBox",
+        Entity magicRegAutoHB = ProjectilePool.get().spawn("rangedMagicHitBox",
             new SpawnData(
                 enemyX, enemyY).
                 put("dir", dir.toPoint2D()).
@@ -802,8 +868,10 @@ public class EnemyComponent extends CreatureComponent {
             angles[i] = new Vec2(new Point2D(x, y));
             angle += angleIncrementer;
         }
+        SpawnBatchEvent batch = new SpawnBatchEvent();
+        batch.begin();
         for (Vec2 vec : angles) {
-            Entity rangedHitBox = spawn("rangedMagicHitBox",
+            Entity rangedHitBox = ProjectilePool.get().spawn("rangedMagicHitBox",
                 new SpawnData(
                     enemyX, enemyY).
                     put("dir", vec.toPoint2D()).
@@ -828,6 +896,7 @@ public class EnemyComponent extends CreatureComponent {
                 new Point2D(centerX, ((double) (frameHeight)) / 2));
             rangedHitBox.setZIndex(5);
         }
+        batch.record(type, "rangedMagicHitBox", angles.length);
     }
 
     private void magicUltimateRicochetPrepAttack() {
@@ -874,7 +943,7 @@ public class EnemyComponent extends CreatureComponent {
         int speed = 200; // Уменьшил скорость снарядов для лучшего баланса
 
         entity.setScaleX(playerX - enemyX > 0 ? 1 : -1);
-        Entity rangedHitBox = spawn("rangedMagicHitBox",
+        Entity rangedHitBox = ProjectilePool.get().spawn("rangedMagicHitBox",
             new SpawnData(
                 enemyX, enemyY).
                 put("dir", dir.toPoint2D()).
@@ -991,13 +1060,9 @@ public class EnemyComponent extends CreatureComponent {
         this.fighterClass = fighterClass;
 
         if (!MainApp.isIsTesting()) {
-            animIdle = new AnimationChannel(FXGL.image(assetName), frames,
-                width, height, Duration.seconds(0.5), 0, frames / 2 - 1);
-            animWalk = new AnimationChannel(FXGL.image(assetName), frames,
-                width, height, Duration.seconds(0.5), frames / 2, frames - 1);
-            animMeleeAttack = new AnimationChannel(FXGL.image(assetName), frames,
-                width, height, Duration.seconds((double) attackDuration / 1000),
-                frames / 2, frames / 2);
+            BossTransformEvent event = new BossTransformEvent();
+            event.begin();
+            loadAnimations(frames);
             getEntity().getBoundingBoxComponent().clearHitBoxes();
             getEntity().getBoundingBoxComponent().addHitBox(new HitBox(
                 new Point2D(
@@ -1011,6 +1076,7 @@ public class EnemyComponent extends CreatureComponent {
             speed = 40; // Уменьшил с 80 до 40
             attackDuration = 1100;
             attackBreaktime = 2000;
+            event.record(type, fighterClass, assetName);
         } else {
             return "transformed";
         }
@@ -1034,9 +1100,7 @@ public class EnemyComponent extends CreatureComponent {
             javafx.scene.effect.ColorAdjust colorAdjust = new javafx.scene.effect.ColorAdjust();
             colorAdjust.setBrightness(0.5);
             texture.setEffect(colorAdjust);
-            com.almasb.fxgl.dsl.FXGL.getGameTimer().runOnceAfter(() -> {
-                texture.setEffect(null);
-            }, javafx.util.Duration.seconds(0.1));
+            GameScheduler.get().after(entity, 0.1, () -> texture.setEffect(null));
         }
     }
     public void move(double dx, double dy) {
@@ -1059,4 +1123,24 @@ public class EnemyComponent extends CreatureComponent {
     public void setSpeed(int speed) {
         this.speed = speed;
     }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    public int getAttackDuration() {
+        return attackDuration;
+    }
+
+    public int getAttackBreaktime() {
+        return attackBreaktime;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
 }
\ No newline at end of file
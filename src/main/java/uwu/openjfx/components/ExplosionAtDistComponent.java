@@ -9,6 +9,9 @@ import uwu.openjfx.weapons.Bow2;
 import uwu.openjfx.weapons.MagicStaff0;
 import uwu.openjfx.weapons.MagicStaff1;
 import uwu.openjfx.utils.EntityCleanup;
+import uwu.openjfx.pool.ProjectilePool;
+import uwu.openjfx.core.GameConstants;
+import uwu.openjfx.spatial.SpatialIndex;
 
 import static com.almasb.fxgl.dsl.FXGL.spawn;
 
@@ -34,7 +37,7 @@ public class ExplosionAtDistComponent extends Component {
             double y = getEntity().getY() - origDist.getY();
             if (Math.sqrt(x * x + y * y) > 250) {
                 explode();
-                getEntity().removeFromWorld();
+                ProjectilePool.get().recycle(getEntity());
             }
         }
     }
@@ -94,6 +97,14 @@ public class ExplosionAtDistComponent extends Component {
             orangeNova.setScaleY(3);
         }
 
+        // The AOE hitbox only damages enemies, skip it when none can reach it
+        // before it is removed, including the ones that walk or are knocked into it
+        double centerX = getEntity().getX() - 55 + (double) hitBoxWidth / 2;
+        double reach = Math.hypot(hitBoxWidth, hitBoxHeight) / 2
+            + GameConstants.Spatial.ENTITY_MARGIN + GameConstants.Spatial.AOE_TRAVEL_MARGIN;
+        if (SpatialIndex.get().countEnemiesWithin(centerX, getEntity().getY(), reach) == 0) {
+            return;
+        }
         explosionHitBox = spawn("meleeSwordHitBox",
             new SpawnData(getEntity().getX() - 55,
                 getEntity().getY() - ((double) hitBoxHeight / 2)).
@@ -11,6 +11,7 @@ import javafx.util.Duration;
 import uwu.openjfx.MainApp;
 import uwu.openjfx.UI;
 import uwu.openjfx.behaviors.GameOverWhenDie;
+import uwu.openjfx.core.GameEnvironment;
 import uwu.openjfx.weapons.Weapon;
 import uwu.openjfx.integration.IntegrationHelpers;
 import uwu.openjfx.integration.GameIntegration;
@@ -18,7 +19,6 @@ import uwu.openjfx.leaderboard.LeaderboardManager;
 import uwu.openjfx.progression.SimpleProgression;
 import uwu.openjfx.utils.GameLogger;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import javafx.animation.Animation;
@@ -41,13 +41,7 @@ public class PlayerComponent extends CreatureComponent {
     private AnimationChannel animIdle; // idle player anim
     private AnimationChannel animWalk; // walk player anim
 
-    private static Weapon currentWeapon; // Player's current weapon
-    private static final List<Weapon> weaponInventoryList = new ArrayList<>();
-    private static double attackPower = 1; // Player attack power based on power buff or normal
-    private static int piercePow = 1; // Player pierces through blocks if 0
-    private static boolean isAttackPowerBuffed = false; // player has drank a rage potion recently
-    private static int attackPowerBuffDuration = 300; // how long attack power buff lasts / 60 sec
-    private static boolean isChanneling = false; // if player is channeling (fire breath)
+    // weapon, buffs, gold and statistics of the run are in PlayerState, see state()
 
     private double currMouseX; // mouse input for x
     private double currMouseY; // mouse input for y
@@ -60,17 +54,6 @@ public class PlayerComponent extends CreatureComponent {
     private boolean ultimateActivated = false; // Player is using ultimate
     private boolean ultimateCD = false; // how long until Player can activate Ultimate again
 
-    // Todo: char state class?
-    private static String playerName;
-    private static String gameDifficulty;
-    private static int monstersKilled;
-    private static double damageDealt;
-
-    // Todo: inventory-esque things, move?
-    private static int gold;
-    private static int healthPotAmount;
-    private static int ragePotAmount;
-
     public PlayerComponent(int maxHealthPoints) {
         super(maxHealthPoints, maxHealthPoints, new GameOverWhenDie());
 
@@ -126,14 +109,14 @@ public class PlayerComponent extends CreatureComponent {
 
         //region Player performs attack
         if (startAttack && getEntity() != null) { // Player performs the actual attack
-            currentWeapon.attack(getEntity(), currMouseX, currMouseY);
+            getCurrentWeapon().attack(getEntity(), currMouseX, currMouseY);
             prepAttack = false;
             startAttack = false;
-            if (!isChanneling) {
+            if (!isChanneling()) {
                 ultimateActivated = false;
             }
         }
-        if (currentWeapon.getClass().getName().contains("MagicStaff")) {
+        if (getCurrentWeapon().getClass().getName().contains("MagicStaff")) {
             if (isChanneling()) {
                 speed = 120; // Скорость при использовании магии (снижена, но играбельно)
             } else {
@@ -144,11 +127,12 @@ public class PlayerComponent extends CreatureComponent {
 
         // Убрал бонус скорости от комбо для лучшего баланса
 
-        if (isAttackPowerBuffed) {
-            attackPowerBuffDuration--;
-            if (attackPowerBuffDuration <= 0) {
-                attackPowerBuffDuration = 300;
-                isAttackPowerBuffed = false;
+        PlayerState state = state();
+        if (state.isAttackPowerBuffed()) {
+            state.setAttackPowerBuffDuration(state.getAttackPowerBuffDuration() - 1);
+            if (state.getAttackPowerBuffDuration() <= 0) {
+                state.setAttackPowerBuffDuration(300);
+                state.setIsAttackPowerBuffed(false);
             }
         }
         if (isInvulnerable()) {
@@ -251,6 +235,7 @@ public class PlayerComponent extends CreatureComponent {
 
     // region Player Attack functions
     public void autoAttack(boolean ultimateActivated) {
+        Weapon currentWeapon = getCurrentWeapon();
         if (currentWeapon == null) {
             GameLogger.warn("Cannot attack - no weapon equipped");
             return;
@@ -298,15 +283,16 @@ public class PlayerComponent extends CreatureComponent {
     }
 
     public static void channelAttack() {
-        isChanneling = true;
+        PlayerState state = state();
+        state.setChanneling(true);
         Timeline channelTimeline = new Timeline(
-            new KeyFrame(javafx.util.Duration.millis(2000), e -> isChanneling = false)
+            new KeyFrame(javafx.util.Duration.millis(2000), e -> state.setChanneling(false))
         );
         channelTimeline.play();
     }
 
     public static boolean isChanneling() {
-        return isChanneling;
+        return state().isChanneling();
     }
 
     public boolean getUltimateCD() {
@@ -327,52 +313,45 @@ public class PlayerComponent extends CreatureComponent {
     }
 
     public static void setIsAttackPowerBuffed(boolean buffed) {
-        isAttackPowerBuffed = buffed;
-        piercePow = 0;
-        attackPower = 1.5;
+        PlayerState state = state();
+        state.setIsAttackPowerBuffed(buffed);
+        state.setPiercePow(0);
+        state.setAttackPower(1.5);
     }
 
     public static double getAttackPower() {
-        return attackPower;
+        return state().getAttackPower();
     }
 
     public static void setPiercePow(int pierce) {
-        piercePow = pierce;
+        state().setPiercePow(pierce);
     }
 
     public static int getPiercePow() {
-        return piercePow;
+        return state().getPiercePow();
     }
     // endregion
 
     // region Player Weapon
     public static void setCurrentWeapon(Weapon weapon) {
-        currentWeapon = weapon;
+        state().setCurrentWeapon(weapon);
         if (weapon != null) {
-            uwu.openjfx.hud.ModernGameHUD.setWeaponProperty(currentWeapon.getWeaponSprite());
+            uwu.openjfx.hud.ModernGameHUD.setWeaponProperty(weapon.getWeaponSprite());
         } else {
             uwu.openjfx.hud.ModernGameHUD.setWeaponProperty(FXGL.texture("ui/transparent.png").getImage());
         }
     }
 
     public static Weapon getCurrentWeapon() {
-        return currentWeapon;
+        return state().getCurrentWeapon();
     }
 
     public static List<Weapon> getWeaponInventoryList() {
-        return Collections.unmodifiableList(weaponInventoryList);
+        return Collections.unmodifiableList(state().getWeaponInventoryList());
     }
 
     public static void addWeaponToInventory(Weapon weapon) {
-        if (weapon == null) {
-            return;
-        }
-        for (Weapon playerWeapon : weaponInventoryList) {
-            if (playerWeapon.getClass().equals(weapon.getClass())) {
-                return;
-            }
-        }
-        weaponInventoryList.add(weapon);
+        state().addWeaponToInventory(weapon);
     }
 
     // endregion
@@ -386,12 +365,12 @@ public class PlayerComponent extends CreatureComponent {
                 currentGold = FXGL.geti("coin");
             } catch (Exception e) {
                 // Если не удалось получить, используем статическое поле
-                currentGold = PlayerComponent.gold;
+                currentGold = state().getGold();
             }
 
             int newGold = currentGold + gold;
 
-            PlayerComponent.gold = newGold;
+            state().setGold(newGold);
 
             // Обновляем FXGL переменную (синхронизация с UI)
             FXGL.set("coin", newGold);
@@ -407,11 +386,7 @@ public class PlayerComponent extends CreatureComponent {
             updateLeaderboard();
 
             // Проверяем достижения при получении золота
-            try {
-                uwu.openjfx.achievements.SimpleAchievements.getInstance().checkAchievements();
-            } catch (Exception e) {
-                // Игнорируем ошибки, если система достижений не инициализирована
-            }
+            checkAchievements();
         } catch (Exception e) {
             System.err.println("❌ КРИТИЧЕСКАЯ ОШИБКА в addGold(): " + e.getMessage());
             e.printStackTrace();
@@ -419,8 +394,8 @@ public class PlayerComponent extends CreatureComponent {
     }
 
     public static void setGold(int gold) {
-        System.out.println("💰 Устанавливаем монеты: " + PlayerComponent.gold + " → " + gold);
-        PlayerComponent.gold = gold;
+        System.out.println("💰 Устанавливаем монеты: " + state().getGold() + " → " + gold);
+        state().setGold(gold);
         FXGL.set("coin", gold); // Синхронизация с FXGL и UI
 
         // Синхронизация с ModernGameHUD
@@ -435,13 +410,16 @@ public class PlayerComponent extends CreatureComponent {
     }
 
     public static int getGold() {
-        return gold;
+        return state().getGold();
     }
 
     /**
      * Обновить запись в таблице лидеров
      */
     private static void updateLeaderboard() {
+        if (GameEnvironment.get().isIsolated()) {
+            return; // headless-прогон не игрок таблицы
+        }
         try {
             String playerName = getPlayerName() != null ? getPlayerName() : "Игрок";
             int currentGold = getGold();
@@ -479,19 +457,19 @@ public class PlayerComponent extends CreatureComponent {
 
     // region Player Name & Game Misc.
     public static String getPlayerName() {
-        return playerName;
+        return state().getPlayerName();
     }
 
     public static void setPlayerName(String playerName) {
-        PlayerComponent.playerName = playerName;
+        state().setPlayerName(playerName);
     }
 
     public static String getGameDifficulty() {
-        return gameDifficulty;
+        return state().getGameDifficulty();
     }
 
     public static void setGameDifficulty(String gameDifficulty) {
-        PlayerComponent.gameDifficulty = gameDifficulty;
+        state().setGameDifficulty(gameDifficulty);
     }
 
     public void setMousePosition(double mouseXPos, double mouseYPos) {
@@ -500,13 +478,29 @@ public class PlayerComponent extends CreatureComponent {
     }
 
     public static int getMonstersKilled() {
-        return monstersKilled;
+        return state().getMonstersKilled();
     }
 
     public static void addToMonstersKilled() {
-        monstersKilled++;
-        
+        state().addToMonstersKilled();
+
         // Проверяем достижения при убийстве монстров
+        checkAchievements();
+    }
+
+    public static double getDamageDealt() {
+        return state().getDamageDealt();
+    }
+
+    public static void addToDamageDealt(double damageDone) {
+        state().addToDamageDealt(damageDone);
+    }
+
+    /* Достижения принадлежат профилю игрока, у headless-прогонов его нет. */
+    private static void checkAchievements() {
+        if (GameEnvironment.get().isIsolated()) {
+            return;
+        }
         try {
             uwu.openjfx.achievements.SimpleAchievements.getInstance().checkAchievements();
         } catch (Exception e) {
@@ -514,12 +508,11 @@ public class PlayerComponent extends CreatureComponent {
         }
     }
 
-    public static double getDamageDealt() {
-        return damageDealt;
-    }
-
-    public static void addToDamageDealt(double damageDone) {
-        damageDealt += damageDone;
+    /**
+     * @return state of the run in the current GameEnvironment
+     */
+    public static PlayerState state() {
+        return GameEnvironment.get().getPlayerState();
     }
     
     /**
@@ -559,19 +552,7 @@ public class PlayerComponent extends CreatureComponent {
      * Безопасный сброс всех игровых данных
      */
     public static void resetAllGameData() {
-        playerName = null;
-        gameDifficulty = null;
-        gold = 0;
-        healthPotAmount = 0;
-        ragePotAmount = 0;
-        monstersKilled = 0;
-        damageDealt = 0.0;
-        attackPower = 1;
-        piercePow = 1;
-        isAttackPowerBuffed = false;
-        isChanneling = false;
-        currentWeapon = null;
-        weaponInventoryList.clear();
+        state().resetAllGameData();
     }
     
     // endregion
@@ -1,19 +1,26 @@
 package uwu.openjfx.components;
 
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import uwu.openjfx.weapons.Weapon;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
 
 /**
- * Thread-safe player state management.
- * Replaces static fields in PlayerComponent to prevent memory leaks and race conditions.
+ * Player state of the current run behind PlayerComponent's (and the boss health behind
+ * BossComponent's) static methods. It is held by the GameEnvironment, so a headless run
+ * on a bound thread has its own and neither sees nor resets the game's.
  */
 public class PlayerState {
-    // Weapon and inventory
+    // Weapon and inventory, in pickup order
     private Weapon currentWeapon;
-    private final ConcurrentMap<Class<? extends Weapon>, Weapon> weaponInventory;
+    private final Map<Class<? extends Weapon>, Weapon> weaponInventory;
+
+    // Boss health the HUD binds to
+    private final IntegerProperty bossHealth = new SimpleIntegerProperty();
 
     // Combat stats
     private double attackPower = 1;
@@ -44,7 +51,7 @@ public class PlayerState {
     private int ragePotAmount = 0;
 
     public PlayerState() {
-        this.weaponInventory = new ConcurrentHashMap<>();
+        this.weaponInventory = new LinkedHashMap<>();
     }
 
     // Weapon methods
@@ -71,6 +78,11 @@ public class PlayerState {
         return weaponInventory.containsKey(weaponClass);
     }
 
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "UI bindings require direct access to boss health property.")
+    public IntegerProperty getBossHealth() {
+        return bossHealth;
+    }
+
     // Combat methods
     public double getAttackPower() {
         return attackPower;
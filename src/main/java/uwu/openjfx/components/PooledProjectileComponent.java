@@ -0,0 +1,69 @@
+package uwu.openjfx.components;
+
+import com.almasb.fxgl.entity.component.Component;
+import uwu.openjfx.pool.ProjectilePool;
+
+/*
+    This class marks a projectile as owned by the ProjectilePool.
+    It does the following:
+    - Remembers which pool bucket the projectile belongs to
+    - Counts how long the projectile has been flying and returns it to the pool
+    once its lifetime expires (arrows flying out of the room, stuck arrows, etc.)
+ */
+public class PooledProjectileComponent extends Component {
+    private final String poolKey;
+    private double lifetime;
+    private double age;
+    private long epoch;
+    private boolean inFlight;
+
+    public PooledProjectileComponent(String poolKey, double lifetime, long epoch) {
+        this.poolKey = poolKey;
+        activate(lifetime, epoch);
+    }
+
+    @Override
+    public void onUpdate(double tpf) {
+        if (!inFlight) {
+            return;
+        }
+        age += tpf;
+        if (age >= lifetime) {
+            ProjectilePool.get().recycle(entity);
+        }
+    }
+
+    /*
+        Called every time the projectile is handed out by the pool.
+     */
+    public void activate(double lifetime, long epoch) {
+        this.lifetime = lifetime;
+        this.epoch = epoch;
+        this.age = 0;
+        this.inFlight = true;
+    }
+
+    public void deactivate() {
+        inFlight = false;
+    }
+
+    /*
+        Shortens the remaining lifetime, e.g. an arrow stuck in a wall disappears
+        a few seconds after it hits.
+     */
+    public void expireIn(double seconds) {
+        lifetime = Math.min(lifetime, age + seconds);
+    }
+
+    public String getPoolKey() {
+        return poolKey;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public boolean isInFlight() {
+        return inFlight;
+    }
+}
@@ -1,12 +1,11 @@
 package uwu.openjfx.components;
 
-import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.entity.component.Component;
 import com.almasb.fxgl.texture.AnimatedTexture;
 import com.almasb.fxgl.texture.AnimationChannel;
 import javafx.geometry.Point2D;
-import javafx.util.Duration;
 import uwu.openjfx.MainApp;
+import uwu.openjfx.visual.AnimationCache;
 
 /*
     This class is responsible for ANY projectile animation.
@@ -33,9 +32,8 @@ public class ProjectileAnimationComponent extends Component {
         // parameter duration: tells us how long the charge-up of the attack is
         // parameter fpr: frames per row
         if (!MainApp.isIsTesting()) {
-            AnimationChannel animAttack = new AnimationChannel(
-                    FXGL.image("weapons/" + weapon + ".png"), fpr,
-                    fw, fh, Duration.millis(duration), 0, fpr - 1);
+            AnimationChannel animAttack = AnimationCache.get().projectile(
+                    weapon, fpr, fw, fh, duration).getAttack();
             texture = new AnimatedTexture(animAttack);
             texture.loop();
         }
@@ -44,6 +42,22 @@ public class ProjectileAnimationComponent extends Component {
         this.isMagic = isMagic;
     }
 
+    /*
+        Swaps the animation of an already built projectile. Used by ProjectilePool so a
+        parked projectile can be reused for a new shot without building a new texture.
+     */
+    public void reset(String weapon, int duration, int fw, int fh, int fpr,
+                      boolean isArrow, boolean isMagic) {
+        if (!MainApp.isIsTesting() && texture != null) {
+            AnimationChannel animAttack = AnimationCache.get().projectile(
+                    weapon, fpr, fw, fh, duration).getAttack();
+            texture.loopAnimationChannel(animAttack);
+        }
+
+        this.isArrow = isArrow;
+        this.isMagic = isMagic;
+    }
+
     @Override
     public void onAdded() {
         if (!MainApp.isIsTesting()) {
@@ -1,6 +1,7 @@
 package uwu.openjfx.components;
 
 import com.almasb.fxgl.entity.component.Component;
+import uwu.openjfx.pool.ProjectilePool;
 
 public class RicochetComponent extends Component {
     private int wallHits = 0;
@@ -8,7 +9,7 @@ public class RicochetComponent extends Component {
     @Override
     public void onUpdate(double tpf) {
         if (wallHits >= 10 && getEntity() != null) {
-            getEntity().removeFromWorld();
+            ProjectilePool.get().recycle(getEntity());
         }
     }
 
@@ -3,6 +3,7 @@ package uwu.openjfx.components;
 import com.almasb.fxgl.entity.component.Component;
 import javafx.util.Duration;
 import uwu.openjfx.components.CreatureComponent;
+import uwu.openjfx.profiling.FrameProfiler;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
@@ -177,6 +178,7 @@ public class StatusEffectComponent extends Component {
      */
     @Override
     public void onUpdate(double deltaTime) {
+        long started = FrameProfiler.get().start();
         List<String> expiredEffects = new ArrayList<>();
         
         for (String effectId : activeEffects.keySet()) {
@@ -198,6 +200,7 @@ public class StatusEffectComponent extends Component {
         
         // Удаляем истекшие эффекты
         expiredEffects.forEach(activeEffects::remove);
+        FrameProfiler.get().stop(FrameProfiler.Section.STATUS_EFFECTS, started);
     }
     
     /**
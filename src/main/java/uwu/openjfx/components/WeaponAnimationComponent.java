@@ -1,11 +1,11 @@
 package uwu.openjfx.components;
 
-import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.entity.component.Component;
 import com.almasb.fxgl.texture.AnimatedTexture;
 import com.almasb.fxgl.texture.AnimationChannel;
 import javafx.geometry.Point2D;
-import javafx.util.Duration;
+import uwu.openjfx.visual.AnimationCache;
+import uwu.openjfx.visual.AnimationSet;
 
 /*
     This class is responsible for ANY weapon animation.
@@ -33,12 +33,10 @@ public class WeaponAnimationComponent extends Component {
             ghostFrame = true;
             return;
         }
-        AnimationChannel animAttack = new AnimationChannel(
-            FXGL.image("weapons/" + weapon + ".png"), fpr,
-            frameWidth, frameHeight, Duration.millis(duration), 0, fpr - 1);
-        AnimationChannel idle = new AnimationChannel(
-            FXGL.image("weapons/" + weapon + ".png"), fpr,
-            frameWidth, frameHeight, Duration.millis(duration), fpr, fpr);
+        AnimationSet animations = AnimationCache.get().weapon(
+            weapon, fpr, frameWidth, frameHeight, duration);
+        AnimationChannel animAttack = animations.getAttack();
+        AnimationChannel idle = animations.getIdle();
 
         texture = new AnimatedTexture(animAttack);
         texture.playAnimationChannel(animAttack);
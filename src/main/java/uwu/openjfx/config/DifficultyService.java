@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 
 public final class DifficultyService {
 
@@ -50,6 +51,10 @@ public final class DifficultyService {
         return activeDifficulty;
     }
 
+    public Set<String> getDifficultyIds() {
+        return difficulties.keySet();
+    }
+
     public double getEnemyHealthMultiplier() {
         DifficultyStats stats = difficulties.get(activeDifficulty);
         return stats != null ? stats.getEnemyHealthMultiplier() : 1.0;
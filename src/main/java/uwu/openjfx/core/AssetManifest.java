@@ -0,0 +1,174 @@
+package uwu.openjfx.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of every file under assets/, generated at build time by the generateAssetManifest
+ * Gradle task into the {@value #RESOURCE} resource. Each line is
+ * {@code path<TAB>type<TAB>bytes<TAB>width<TAB>height}; width and height come from the
+ * {@code _WxH} part of the file name (0 when there is none). Reading it replaces opening the
+ * JAR and enumerating every entry: lookups by path or by directory are single hash lookups.
+ */
+public final class AssetManifest {
+
+    public static final String RESOURCE = "asset-manifest.tsv";
+
+    private static final AssetManifest EMPTY = new AssetManifest(false);
+
+    /**
+     * One file of the manifest.
+     */
+    public static final class Asset {
+        private final String path;
+        private final String type;
+        private final long bytes;
+        private final int width;
+        private final int height;
+
+        Asset(String path, String type, long bytes, int width, int height) {
+            this.path = path;
+            this.type = type;
+            this.bytes = bytes;
+            this.width = width;
+            this.height = height;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getName() {
+            return path.substring(path.lastIndexOf('/') + 1);
+        }
+
+        /**
+         * @return extension without the dot, e.g. "png"
+         */
+        public String getType() {
+            return type;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public boolean hasSize() {
+            return width > 0 && height > 0;
+        }
+    }
+
+    private final Map<String, Asset> assets = new HashMap<>();
+    private final Map<String, List<String>> directories = new HashMap<>();
+    private final boolean loaded;
+
+    private AssetManifest(boolean loaded) {
+        this.loaded = loaded;
+    }
+
+    /**
+     * @param loader class loader to look the manifest up in
+     * @return the manifest, or an empty one that is not {@link #isLoaded() loaded} when the
+     *         resource is missing (e.g. run from an IDE without Gradle) or unreadable
+     */
+    public static AssetManifest load(ClassLoader loader) {
+        try (InputStream in = loader.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                GameLogger.warning("ResourceManager",
+                    "No " + RESOURCE + ", listing resources directly");
+                return EMPTY;
+            }
+            return read(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException e) {
+            GameLogger.warning("ResourceManager", "Broken " + RESOURCE + ": " + e.getMessage());
+            return EMPTY;
+        }
+    }
+
+    /**
+     * @param reader manifest text; lines starting with # are comments
+     * @return the parsed manifest
+     * @throws IOException if reading fails or a line is malformed
+     */
+    public static AssetManifest read(Reader reader) throws IOException {
+        AssetManifest manifest = new AssetManifest(true);
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int number = 0;
+        while ((line = lines.readLine()) != null) {
+            number++;
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t", -1);
+            if (fields.length != 5) {
+                throw new IOException(
+                    "line " + number + ": expected 5 fields, got " + fields.length);
+            }
+            try {
+                manifest.add(new Asset(fields[0], fields[1], Long.parseLong(fields[2]),
+                    Integer.parseInt(fields[3]), Integer.parseInt(fields[4])));
+            } catch (NumberFormatException e) {
+                throw new IOException("line " + number + ": " + e.getMessage(), e);
+            }
+        }
+        manifest.directories.replaceAll((directory, names) -> Collections.unmodifiableList(names));
+        return manifest;
+    }
+
+    private void add(Asset asset) {
+        assets.put(asset.getPath(), asset);
+        int slash = asset.getPath().lastIndexOf('/');
+        String directory = slash < 0 ? "" : asset.getPath().substring(0, slash);
+        directories.computeIfAbsent(directory, d -> new ArrayList<>()).add(asset.getName());
+    }
+
+    /**
+     * @return false when the manifest resource was not found and callers must list resources
+     *         themselves
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return assets.size();
+    }
+
+    /**
+     * @param path normalized resource path, e.g. "assets/textures/items/healthPotion.png"
+     * @return the asset, or null if the manifest has no such file
+     */
+    public Asset get(String path) {
+        return assets.get(path);
+    }
+
+    public boolean contains(String path) {
+        return assets.containsKey(path);
+    }
+
+    /**
+     * @param directory normalized directory, without the trailing slash
+     * @return names of the files directly in the directory, in manifest order; empty if none
+     */
+    public List<String> list(String directory) {
+        return directories.getOrDefault(directory, Collections.emptyList());
+    }
+}
@@ -0,0 +1,229 @@
+package uwu.openjfx.core;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Backend of {@link GameLogger}: log calls only fill a slot of a {@link LogRing}; one daemon
+ * drain thread formats the events and writes them to the log file and the console in batches,
+ * one flush per batch.
+ * <p>
+ * When the ring is full, events below WARNING are dropped at once and counted, so the game
+ * thread never waits for the disk because of debug output. WARNING and above wake the drain
+ * thread and wait up to {@link GameConstants.Logging#BACKPRESSURE_MILLIS} for a free slot
+ * before they are dropped too.
+ */
+final class AsyncLogWriter {
+
+    private static final DateTimeFormatter TIMESTAMP =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final LogRing ring;
+    private final long backpressureNanos;
+    private final Writer file;
+    private final PrintStream console;
+    private final GameLogger.Level consoleLevel;
+    private final Thread drain;
+    private volatile boolean running = true;
+
+    // метрики
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder waited = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    /**
+     * @param capacity          ring slots
+     * @param backpressureMillis how long WARNING and above wait for a slot
+     * @param file              log file, null for console only
+     * @param console           console stream
+     * @param consoleLevel      lowest level that also goes to the console
+     */
+    AsyncLogWriter(int capacity, long backpressureMillis, Writer file, PrintStream console,
+                   GameLogger.Level consoleLevel) {
+        this.ring = new LogRing(capacity);
+        this.backpressureNanos = TimeUnit.MILLISECONDS.toNanos(backpressureMillis);
+        this.file = file;
+        this.console = console;
+        this.consoleLevel = consoleLevel;
+        this.drain = new Thread(this::run, "log-drain");
+        drain.setDaemon(true);
+        drain.start();
+    }
+
+    /**
+     * Queues an event; any thread.
+     *
+     * @return false if it was dropped
+     */
+    boolean log(GameLogger.Level level, String category, String message, Object[] args,
+                Throwable thrown) {
+        LogRing.Event event = ring.claim();
+        if (event == null && level.getValue() >= GameLogger.Level.WARNING.getValue()) {
+            event = awaitSlot();
+        }
+        if (event == null) {
+            dropped.increment();
+            return false;
+        }
+        event.millis = System.currentTimeMillis();
+        event.level = level;
+        event.category = category;
+        event.message = message;
+        event.args = args;
+        event.thrown = thrown;
+        ring.publish(event);
+        enqueued.increment();
+        if (level.getValue() >= GameLogger.Level.WARNING.getValue()) {
+            // важное не ждёт следующего пробуждения
+            LockSupport.unpark(drain);
+        }
+        return true;
+    }
+
+    /* Обратное давление: будим поток записи и ждём места, но не дольше порога. */
+    private LogRing.Event awaitSlot() {
+        waited.increment();
+        long deadline = System.nanoTime() + backpressureNanos;
+        LogRing.Event event;
+        while ((event = ring.claim()) == null && System.nanoTime() < deadline && running) {
+            LockSupport.unpark(drain);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+        return event;
+    }
+
+    /**
+     * Writes what is queued, flushes and closes the file.
+     *
+     * @param millis how long to wait for the drain thread
+     */
+    void close(long millis) {
+        running = false;
+        LockSupport.unpark(drain);
+        try {
+            drain.join(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    String getStats() {
+        return String.format("capacity=%d enqueued=%d written=%d batches=%d dropped=%d waited=%d",
+            ring.capacity(), enqueued.sum(), written.sum(), batches.sum(), dropped.sum(),
+            waited.sum());
+    }
+
+    // region Drain
+    private void run() {
+        StringBuilder fileBatch = new StringBuilder(8192);
+        StringBuilder consoleBatch = new StringBuilder(1024);
+        StringBuilder line = new StringBuilder(256);
+        int batchSize = GameConstants.Logging.DRAIN_BATCH;
+        while (true) {
+            int count = 0;
+            LogRing.Event event;
+            while (count < batchSize && (event = ring.peek()) != null) {
+                line.setLength(0);
+                try {
+                    format(event, line);
+                } catch (RuntimeException e) {
+                    // чужой toString() не должен остановить поток записи
+                    line.append("[").append(event.category).append("] ").append(event.message)
+                        .append(" (format failed: ").append(e).append(')')
+                        .append(System.lineSeparator());
+                }
+                fileBatch.append(line);
+                if (event.level.getValue() >= consoleLevel.getValue()) {
+                    consoleBatch.append(line);
+                }
+                ring.release(event);
+                count++;
+            }
+            if (count > 0) {
+                write(fileBatch, consoleBatch);
+                written.add(count);
+                batches.increment();
+            } else if (!running) {
+                break;
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                console.println("[CONSOLE] Failed to close log file: " + e.getMessage());
+            }
+        }
+    }
+
+    private void write(StringBuilder fileBatch, StringBuilder consoleBatch) {
+        if (file != null && fileBatch.length() > 0) {
+            try {
+                file.append(fileBatch);
+                file.flush();
+            } catch (IOException e) {
+                console.println("[CONSOLE] Failed to write log file: " + e.getMessage());
+            }
+        }
+        if (consoleBatch.length() > 0) {
+            console.print(consoleBatch);
+            console.flush();
+        }
+        fileBatch.setLength(0);
+        consoleBatch.setLength(0);
+    }
+
+    /* Форматирование только здесь, в потоке записи. */
+    static void format(LogRing.Event event, StringBuilder out) {
+        out.append('[');
+        TIMESTAMP.formatTo(Instant.ofEpochMilli(event.millis), out);
+        out.append("] [").append(event.level.name()).append("] [").append(event.category)
+            .append("] ");
+        appendMessage(event.message, event.args, out);
+        out.append(System.lineSeparator());
+        if (event.thrown != null) {
+            StringWriter trace = new StringWriter();
+            event.thrown.printStackTrace(new PrintWriter(trace));
+            out.append(trace);
+        }
+    }
+
+    /* Подстановка аргументов на место {} по порядку, как в SLF4J. */
+    static void appendMessage(String message, Object[] args, StringBuilder out) {
+        if (message == null) {
+            out.append("null");
+            return;
+        }
+        if (args == null || args.length == 0) {
+            out.append(message);
+            return;
+        }
+        int from = 0;
+        int arg = 0;
+        int at;
+        while (arg < args.length && (at = message.indexOf("{}", from)) >= 0) {
+            out.append(message, from, at).append(args[arg++]);
+            from = at + 2;
+        }
+        out.append(message, from, message.length());
+    }
+    // endregion
+}
@@ -0,0 +1,227 @@
+package uwu.openjfx.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.zip.CRC32C;
+
+/**
+ * Crash-safe file writes. Content is serialized into a pooled direct buffer, written to a
+ * temp file next to the target, forced to disk and moved over the target in one step, so a
+ * reader sees either the old file or the new one, never half of each.
+ * <p>
+ * Files written by {@link #write} end with a 12 byte trailer: payload length, CRC32C of the
+ * payload and a magic number. {@link #isComplete} checks a file by its size and trailer alone,
+ * {@link #read} also verifies the checksum. Files without a trailer, written before it
+ * existed, are read as they are.
+ */
+public final class DurableFile {
+
+    /**
+     * Serializes the content of a file.
+     */
+    @FunctionalInterface
+    public interface Content {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private static final int MAGIC = 0x5244434B; // "RDCK"
+    private static final int TRAILER = Integer.BYTES * 3;
+
+    // Пул direct-буферов: сериализация не выделяет память на каждую запись
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    private static final int MAX_POOLED_CAPACITY = 4 * 1024 * 1024;
+    private static final int MAX_POOLED = 4;
+    private static final ConcurrentLinkedDeque<ByteBuffer> POOL = new ConcurrentLinkedDeque<>();
+
+    private DurableFile() {
+    }
+
+    /**
+     * Atomically replaces the target with the content and a checksum trailer.
+     *
+     * @param target  file to write
+     * @param content serializer of the payload
+     * @throws IOException if serializing or writing fails; the target is then left as it was
+     */
+    public static void write(Path target, Content content) throws IOException {
+        BufferOutputStream out = new BufferOutputStream(acquire());
+        try {
+            content.writeTo(out);
+            ByteBuffer buffer = out.reserve(TRAILER);
+            int length = buffer.position();
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.duplicate().flip());
+            buffer.putInt(length).putInt((int) crc.getValue()).putInt(MAGIC);
+            buffer.flip();
+            replace(target, buffer);
+        } finally {
+            release(out.buffer);
+        }
+    }
+
+    /**
+     * Atomically replaces the target with the bytes as they are, without a trailer.
+     *
+     * @param target  file to write
+     * @param content bytes from position to limit, consumed
+     * @throws IOException if writing fails; the target is then left as it was
+     */
+    public static void replace(Path target, ByteBuffer content) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(target);
+    }
+
+    /**
+     * O(1) check that the last write of the file finished: the trailer is there and the size
+     * matches the length it records. Does not read the payload.
+     *
+     * @param file file to check
+     * @return false for missing, torn or trailer-less files
+     */
+    public static boolean isComplete(Path file) {
+        return checksum(file) >= 0;
+    }
+
+    /**
+     * CRC32C of the payload as the trailer records it, read in O(1) like
+     * {@link #isComplete}.
+     *
+     * @param file file to check
+     * @return the checksum, -1 for missing, torn or trailer-less files
+     */
+    public static long checksum(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < TRAILER) {
+                return -1;
+            }
+            ByteBuffer trailer = ByteBuffer.allocate(TRAILER);
+            while (trailer.hasRemaining()) {
+                if (channel.read(trailer, size - TRAILER + trailer.position()) < 0) {
+                    return -1;
+                }
+            }
+            trailer.flip();
+            int length = trailer.getInt();
+            int checksum = trailer.getInt();
+            if (trailer.getInt() != MAGIC || length != size - TRAILER) {
+                return -1;
+            }
+            return Integer.toUnsignedLong(checksum);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Reads the payload of a file and verifies its checksum.
+     *
+     * @param file file to read
+     * @return the payload; the whole file if it has no trailer
+     * @throws IOException if reading fails or the checksum does not match
+     */
+    public static InputStream read(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length < TRAILER) {
+            return new ByteArrayInputStream(bytes);
+        }
+        ByteBuffer trailer = ByteBuffer.wrap(bytes, bytes.length - TRAILER, TRAILER);
+        int length = trailer.getInt();
+        int checksum = trailer.getInt();
+        if (trailer.getInt() != MAGIC) {
+            return new ByteArrayInputStream(bytes);
+        }
+        if (length != bytes.length - TRAILER) {
+            throw new IOException("File is incomplete: " + file.getFileName());
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, length);
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Checksum mismatch: " + file.getFileName());
+        }
+        return new ByteArrayInputStream(bytes, 0, length);
+    }
+
+    /* Без fsync каталога переименование может не пережить отключение питания. */
+    private static void forceDirectory(Path target) {
+        Path directory = target.toAbsolutePath().getParent();
+        if (directory == null || Platform.isWindows()) {
+            // Windows не открывает каталоги как файлы, там move уже надёжен
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            GameLogger.debug("DurableFile", "Directory fsync unsupported: " + e.getMessage());
+        }
+    }
+
+    private static ByteBuffer acquire() {
+        ByteBuffer buffer = POOL.pollFirst();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(INITIAL_CAPACITY);
+    }
+
+    private static void release(ByteBuffer buffer) {
+        if (buffer.capacity() <= MAX_POOLED_CAPACITY && POOL.size() < MAX_POOLED) {
+            buffer.clear();
+            POOL.offerFirst(buffer);
+        }
+    }
+
+    /* Растущий поток поверх direct-буфера из пула. */
+    private static final class BufferOutputStream extends OutputStream {
+        private ByteBuffer buffer;
+
+        BufferOutputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) {
+            reserve(1).put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            reserve(length).put(bytes, offset, length);
+        }
+
+        ByteBuffer reserve(int extra) {
+            if (buffer.remaining() < extra) {
+                long needed = (long) buffer.position() + extra;
+                if (needed > Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("File content too large: " + needed);
+                }
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8,
+                    Math.max(needed, buffer.capacity() * 2L));
+                ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+                buffer.flip();
+                grown.put(buffer);
+                release(buffer);
+                buffer = grown;
+            }
+            return buffer;
+        }
+    }
+}
@@ -43,6 +43,16 @@ public final class GameConstants {
         public static final double KNOCKBACK_FORCE = 150.0;
     }
 
+    // === Пул снарядов ===
+    public static class Projectiles {
+        public static final int POOL_MAX_IDLE_PER_KEY = 64;
+        public static final double LIFETIME = 5.0; // секунды полета до возврата в пул
+        public static final double STUCK_IN_WALL_LIFETIME = 3.0;
+        public static final double STUCK_IN_DOOR_LIFETIME = 1.0;
+        public static final double PARK_X = -10000.0;
+        public static final double PARK_Y = -10000.0;
+    }
+
     // === Параметры врагов ===
     public static class Enemy {
         public static final double DEFAULT_SPEED = 60.0;
@@ -56,6 +66,31 @@ public final class GameConstants {
         public static final int FINAL_BOSS_HEALTH = 50;
         public static final double DEFAULT_ATTACK_RANGE = 100.0;
         public static final double DETECTION_RANGE = 200.0;
+        // Дистанции EnemyComponent.moveToPlayer: атаковать и преследовать
+        public static final int MELEE_ATTACK_DIST = 120;
+        public static final int BOSS_MELEE_ATTACK_DIST = 150;
+        public static final int RANGED_ATTACK_DIST = 300;
+        public static final int MELEE_MOVE_DIST = 300;
+        public static final int RANGED_MOVE_DIST = 500;
+        public static final int BOSS_MOVE_DIST = 2000;
+        public static final double REACTION_TIME = 1.0; // сек между решениями
+        public static final double BOSS_REACTION_TIME = 0.25;
+        public static final int FIREBALL_SPEED = 200; // снаряд rangedAttack
+        public static final int ELITE_CHANCE = 10; // % вместо врага комнаты - элитный миньон
+        // Уровни детализации AI: полный, сниженный и спящий
+        public static final double LOD_FULL_RADIUS = 320.0;
+        public static final double LOD_DORMANT_MARGIN = 160.0; // за краем экрана
+        public static final int LOD_REDUCED_BUCKETS = 2; // думает раз в 2 кадра
+        public static final int LOD_DORMANT_BUCKETS = 8; // просыпается раз в 8 кадров
+    }
+
+    // === Пространственный индекс ===
+    public static class Spatial {
+        public static final double CELL_SIZE = 128.0; // 4 тайла
+        public static final double ENTITY_MARGIN = 64.0; // запас на половину размера врага
+        public static final double AOE_TRAVEL_MARGIN = 40.0; // отбрасывание за 100 мс взрыва
+        public static final double ALLY_RADIUS = 200.0;
+        public static final double ALLY_SEARCH_RADIUS = 300.0;
     }
 
     // === Параметры оружия ===
@@ -108,9 +143,37 @@ public final class GameConstants {
     public static class Save {
         public static final long AUTO_SAVE_INTERVAL = 300000; // 5 минут
         public static final int MAX_SAVE_SLOTS = 10;
-        public static final String SAVE_FILE_EXTENSION = ".json";
+        public static final String SAVE_FILE_EXTENSION = ".sav"; // BinarySaveCodec
         public static final String AUTO_SAVE_PREFIX = "autosave_";
         public static final String QUICK_SAVE_PREFIX = "quicksave_";
+        public static final int JOURNAL_COMPACT_RECORDS = 64; // дельт до нового снимка
+        public static final int JOURNAL_COMPACT_RATIO = 2; // или журнал больше снимка в N раз
+        public static final int WRITER_QUEUE_CAPACITY = 4; // слотов ждут записи одновременно
+        public static final long SHUTDOWN_TIMEOUT = 5000; // ожидание записи при выходе
+    }
+
+    // === Таблица лидеров ===
+    public static class Leaderboard {
+        public static final long FLUSH_INTERVAL = 10000; // не чаще раза в 10 секунд
+        public static final long FLUSH_TIMEOUT = 5000; // ожидание записи при выходе
+        public static final int MAX_ENTRIES = 100_000; // записей в таблице общих киосков
+    }
+
+    // === Логирование ===
+    public static class Logging {
+        public static final int RING_CAPACITY = 8192; // событий ждут записи одновременно
+        public static final int DRAIN_BATCH = 512; // событий на одну запись в файл
+        public static final long BACKPRESSURE_MILLIS = 20; // WARNING+ ждут места в кольце
+        public static final long CLOSE_TIMEOUT = 2000; // дописывание при выходе
+    }
+
+    // === Профилирование ===
+    public static class Profiling {
+        public static final boolean ENABLED = true; // два вызова nanoTime на замер
+        public static final long DUMP_INTERVAL = 60000; // отчёт в файл раз в минуту
+        public static final String DUMP_FILE = "frame-profile.txt"; // в каталоге логов
+        public static final long JFR_MAX_AGE = 600000; // --jfr держит последние 10 минут
+        public static final long JFR_MAX_SIZE = 64L * 1024 * 1024; // и не больше 64 МБ
     }
 
     // === UI параметры ===
@@ -137,6 +200,9 @@ public final class GameConstants {
         public static final int IDLE_END_FRAME = 3;
         public static final int WALK_START_FRAME = 4;
         public static final int WALK_END_FRAME = 7;
+        public static final int CACHE_CAPACITY = 128; // наборов анимаций в AnimationCache
+        public static final int ATLAS_PAGE_SIZE = 2048; // страница атласа, пикселей по стороне
+        public static final int ATLAS_PADDING = 2; // пустых пикселей между регионами
     }
 
     // === Параметры прогрессии ===
@@ -174,6 +240,7 @@ public final class GameConstants {
         public static final double ROOM_WIDTH = 32.0 * 30;
         public static final double ROOM_HEIGHT = 32.0 * 20;
         public static final int TILE_SIZE = 32;
+        public static final int CHALLENGE_ROOMS_BEFORE_BOSS = 2; // посетить до входа к боссу
     }
 
     // === Звуковые параметры ===
@@ -187,6 +254,14 @@ public final class GameConstants {
         public static final String MENU_TRACK = "MainMenu.mp3";
     }
 
+    // === Headless-симуляция ===
+    public static class Sim {
+        public static final double TICK = 1.0 / 60.0; // тот же шаг, что и у игры
+        public static final long MAX_TICKS = 60L * 60 * 30; // 30 минут игрового времени
+        public static final double DOOR_REACH = 12; // насколько близко подойти к двери
+        public static final int SWEEP_RUNS = 100; // прогонов на сложность и оружие
+    }
+
     // === Тайминги ===
     public static class Timing {
         public static final double UPDATE_INTERVAL = 1.0 / 60.0; // 60 FPS
@@ -194,6 +269,8 @@ public final class GameConstants {
         public static final double INVISIBLE_DURATION = 2.0;
         public static final double STUN_DURATION = 1.0;
         public static final double CHEST_OPEN_DURATION = 0.5;
+        public static final int SCHEDULER_SLOT_BITS = 6; // 64 слота на уровень
+        public static final int SCHEDULER_LEVELS = 4; // 2^24 тиков, ~77 часов при 60 FPS
     }
 
     // === Строковые константы ===
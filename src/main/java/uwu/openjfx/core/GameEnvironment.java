@@ -1,6 +1,7 @@
 package uwu.openjfx.core;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import uwu.openjfx.components.PlayerState;
 import uwu.openjfx.config.DifficultyService;
 import uwu.openjfx.config.WeaponBalanceService;
 
@@ -12,19 +13,48 @@ import java.util.Random;
  */
 public final class GameEnvironment {
 
-    private static final GameEnvironment INSTANCE = new GameEnvironment();
+    private static final GameEnvironment INSTANCE = new GameEnvironment(false);
+    // своё окружение у потоков параллельных headless-прогонов
+    private static final ThreadLocal<GameEnvironment> THREAD_ENVIRONMENT = new ThreadLocal<>();
 
     private final Random sharedRandom = new Random();
     private final WeaponBalanceService weaponBalanceService = new WeaponBalanceService();
     private final DifficultyService difficultyService = new DifficultyService();
+    private final PlayerState playerState = new PlayerState();
+    private final boolean isolated;
     private boolean testing;
 
-    private GameEnvironment() {
+    private GameEnvironment(boolean isolated) {
+        this.isolated = isolated;
     }
 
     @SuppressFBWarnings(value = "MS_EXPOSE_REP", justification = "GameEnvironment is a process-wide singleton")
     public static GameEnvironment get() {
-        return INSTANCE;
+        GameEnvironment own = THREAD_ENVIRONMENT.get();
+        return own != null ? own : INSTANCE;
+    }
+
+    /**
+     * Gives the calling thread an environment of its own (testing flag, Random, difficulty
+     * and weapon services, player state) until {@link #unbindThread()}, so parallel headless
+     * runs do not share the session of the game.
+     *
+     * @return the thread's environment, created on the first call
+     */
+    public static GameEnvironment bindThread() {
+        GameEnvironment own = THREAD_ENVIRONMENT.get();
+        if (own == null) {
+            own = new GameEnvironment(true);
+            THREAD_ENVIRONMENT.set(own);
+        }
+        return own;
+    }
+
+    /**
+     * Returns the calling thread to the process-wide environment.
+     */
+    public static void unbindThread() {
+        THREAD_ENVIRONMENT.remove();
     }
 
     @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "Shared Random provides deterministic behavior across systems.")
@@ -41,6 +71,19 @@ public final class GameEnvironment {
         return difficultyService;
     }
 
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "Player state is shared by the components of one run.")
+    public PlayerState getPlayerState() {
+        return playerState;
+    }
+
+    /**
+     * @return true for the environment of a bound thread: its runs have no player profile,
+     *         so they do not unlock achievements or update the leaderboard
+     */
+    public boolean isIsolated() {
+        return isolated;
+    }
+
     public boolean isTesting() {
         return testing;
     }
@@ -1,23 +1,29 @@
 package uwu.openjfx.core;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringWriter;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.logging.*;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Централизованная система логирования для игры
  * Поддерживает консольный вывод и запись в файл
+ * <p>
+ * Единый фасад для обоих логгеров игры (uwu.openjfx.utils.GameLogger пишет сюда же).
+ * Уровень проверяется до всякой работы, сообщения параметризуются через {} и форматируются
+ * уже в потоке записи {@link AsyncLogWriter}: вызов на игровом потоке только занимает слот
+ * в кольцевом буфере. Одно- и двухаргументные перегрузки не создают массив varargs, пока
+ * уровень выключен. Аргументы превращаются в строки позже, поэтому передавать стоит значения,
+ * которые после вызова не меняются.
  */
 public class GameLogger {
-    private static final ConcurrentMap<String, Logger> loggers = new ConcurrentHashMap<>();
-    private static final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final String LOG_FILE = "royal-demons.log";
+
+    private static volatile Level threshold = Level.INFO;
+    private static volatile AsyncLogWriter writer;
+    private static boolean shutdownHookInstalled;
 
     // Уровни логирования
     public enum Level {
@@ -34,111 +40,108 @@ public class GameLogger {
         }
     }
 
-    // Создать логгер для категории
-    public static Logger getLogger(String category) {
-        return loggers.computeIfAbsent(category, GameLogger::createLogger);
+    // Проверка уровня: дорогие аргументы стоит собирать только под ней
+    public static boolean isEnabled(Level level) {
+        return level.value >= threshold.value;
     }
 
-    // Создать логгер
-    private static Logger createLogger(String category) {
-        Logger logger = Logger.getLogger("RoyalDemons." + category);
-        logger.setUseParentHandlers(false);
-
-        // Создаем форматировщик
-        Formatter formatter = createFormatter();
-
-        // Консольный обработчик
-        ConsoleHandler consoleHandler = new ConsoleHandler();
-        consoleHandler.setFormatter(formatter);
-        consoleHandler.setLevel(java.util.logging.Level.INFO);
-        logger.addHandler(consoleHandler);
+    // Логирование отладки
+    public static void debug(String category, String message) {
+        if (isEnabled(Level.DEBUG)) {
+            log(Level.DEBUG, category, message, null, null);
+        }
+    }
 
-        // Файловый обработчик
-        try {
-            File logDir = new File(Platform.getGameLogsDirectory());
-            if (!logDir.exists() && !logDir.mkdirs()) {
-                consoleHandler.getFormatter().format(new LogRecord(java.util.logging.Level.WARNING,
-                    "Failed to create log directory: " + logDir.getAbsolutePath()));
-            } else {
-                File logFile = new File(logDir, "royal-demons.log");
-
-                FileHandler fileHandler = new FileHandler(logFile.getAbsolutePath(), true);
-                fileHandler.setFormatter(formatter);
-                fileHandler.setLevel(java.util.logging.Level.ALL);
-                logger.addHandler(fileHandler);
-            }
-        } catch (IOException e) {
-            consoleHandler.getFormatter().format(new LogRecord(java.util.logging.Level.WARNING,
-                "Failed to create file handler: " + e.getMessage()));
+    public static void debug(String category, String message, Object arg) {
+        if (isEnabled(Level.DEBUG)) {
+            log(Level.DEBUG, category, message, new Object[] {arg}, null);
         }
+    }
 
-        logger.setLevel(java.util.logging.Level.ALL);
-        return logger;
+    public static void debug(String category, String message, Object arg1, Object arg2) {
+        if (isEnabled(Level.DEBUG)) {
+            log(Level.DEBUG, category, message, new Object[] {arg1, arg2}, null);
+        }
     }
 
-    // Создать форматировщик
-    private static Formatter createFormatter() {
-        return new Formatter() {
-            @Override
-            public String format(LogRecord record) {
-                String timestamp = dateFormat.format(new Date(record.getMillis()));
-                String level = record.getLevel().getName();
-                String category = record.getLoggerName().replace("RoyalDemons.", "");
-                String message = record.getMessage();
+    public static void debug(String category, String message, Object... args) {
+        if (isEnabled(Level.DEBUG)) {
+            log(Level.DEBUG, category, message, args, null);
+        }
+    }
 
-                if (record.getThrown() != null) {
-                    StringWriter sw = new StringWriter();
-                    PrintWriter pw = new PrintWriter(sw);
-                    record.getThrown().printStackTrace(pw);
-                    message += "\n" + sw.toString();
-                }
+    // Информационное логирование
+    public static void info(String category, String message) {
+        if (isEnabled(Level.INFO)) {
+            log(Level.INFO, category, message, null, null);
+        }
+    }
 
-                return String.format("[%s] [%s] [%s] %s%n",
-                    timestamp, level, category, message);
-            }
-        };
+    public static void info(String category, String message, Object arg) {
+        if (isEnabled(Level.INFO)) {
+            log(Level.INFO, category, message, new Object[] {arg}, null);
+        }
     }
 
-    // Логирование отладки
-    public static void debug(String category, String message) {
-        Logger logger = getLogger(category);
-        logger.log(java.util.logging.Level.FINE, message);
+    public static void info(String category, String message, Object arg1, Object arg2) {
+        if (isEnabled(Level.INFO)) {
+            log(Level.INFO, category, message, new Object[] {arg1, arg2}, null);
+        }
     }
 
-    // Информационное логирование
-    public static void info(String category, String message) {
-        Logger logger = getLogger(category);
-        logger.log(java.util.logging.Level.INFO, message);
+    public static void info(String category, String message, Object... args) {
+        if (isEnabled(Level.INFO)) {
+            log(Level.INFO, category, message, args, null);
+        }
     }
 
     // Логирование геймплея
     public static void gameplay(String category, String message) {
-        Logger logger = getLogger(category);
-        logger.log(java.util.logging.Level.CONFIG, message);
+        if (isEnabled(Level.GAMEPLAY)) {
+            log(Level.GAMEPLAY, category, message, null, null);
+        }
+    }
+
+    public static void gameplay(String category, String message, Object... args) {
+        if (isEnabled(Level.GAMEPLAY)) {
+            log(Level.GAMEPLAY, category, message, args, null);
+        }
     }
 
     // Предупреждение
     public static void warning(String category, String message) {
-        Logger logger = getLogger(category);
-        logger.log(java.util.logging.Level.WARNING, message);
+        if (isEnabled(Level.WARNING)) {
+            log(Level.WARNING, category, message, null, null);
+        }
+    }
+
+    public static void warning(String category, String message, Object... args) {
+        if (isEnabled(Level.WARNING)) {
+            log(Level.WARNING, category, message, args, null);
+        }
     }
 
     // Ошибка
     public static void error(String category, String message) {
-        Logger logger = getLogger(category);
-        logger.log(java.util.logging.Level.SEVERE, message);
+        if (isEnabled(Level.ERROR)) {
+            log(Level.ERROR, category, message, null, null);
+        }
     }
 
     // Ошибка с исключением
     public static void error(String category, String message, Throwable throwable) {
-        Logger logger = getLogger(category);
-        logger.log(java.util.logging.Level.SEVERE, message, throwable);
+        if (isEnabled(Level.ERROR)) {
+            log(Level.ERROR, category, message, null, throwable);
+        }
     }
 
     // Системное логирование
     public static void system(String message) {
-        Logger logger = getLogger("System");
-        logger.log(java.util.logging.Level.SEVERE, "[SYSTEM] " + message);
+        log(Level.SYSTEM, "System", message, null, null);
+    }
+
+    public static void system(String message, Object... args) {
+        log(Level.SYSTEM, "System", message, args, null);
     }
 
     // Логирование в консоль (без категории)
@@ -146,45 +149,79 @@ public class GameLogger {
         System.out.println("[CONSOLE] " + message);
     }
 
-    // Очистить все логгеры
+    // Дописать очередь и закрыть файл; следующий вызов откроет его снова
     public static void shutdown() {
-        for (Logger logger : loggers.values()) {
-            for (Handler handler : logger.getHandlers()) {
-                handler.close();
-            }
+        AsyncLogWriter current;
+        synchronized (GameLogger.class) {
+            current = writer;
+            writer = null;
+        }
+        if (current != null) {
+            current.close(GameConstants.Logging.CLOSE_TIMEOUT);
         }
-        loggers.clear();
     }
 
     // Настройка глобального уровня логирования
     public static void setGlobalLevel(Level level) {
-        java.util.logging.Level javaLevel = mapLevel(level);
-        Logger globalLogger = Logger.getLogger("uwu.openjfx");
-        globalLogger.setLevel(javaLevel);
-
-        // Устанавливаем уровень для всех существующих логгеров
-        for (Logger logger : loggers.values()) {
-            logger.setLevel(javaLevel);
-            for (Handler handler : logger.getHandlers()) {
-                handler.setLevel(javaLevel);
-            }
-        }
+        threshold = level;
+    }
+
+    public static Level getGlobalLevel() {
+        return threshold;
+    }
+
+    // Счётчики очереди: принято, записано, пачек, отброшено
+    public static String getStats() {
+        AsyncLogWriter current = writer;
+        return current != null ? current.getStats() : "stopped";
     }
 
-    // Маппинг нашего Level на java.util.logging.Level
-    private static java.util.logging.Level mapLevel(Level level) {
-        return switch (level) {
-            case DEBUG -> java.util.logging.Level.FINE;
-            case INFO -> java.util.logging.Level.INFO;
-            case GAMEPLAY -> java.util.logging.Level.CONFIG;
-            case WARNING -> java.util.logging.Level.WARNING;
-            case ERROR -> java.util.logging.Level.SEVERE;
-            case SYSTEM -> java.util.logging.Level.SEVERE;
-        };
+    public static long getDroppedCount() {
+        AsyncLogWriter current = writer;
+        return current != null ? current.getDropped() : 0;
     }
 
     // Получить директорию логов
     public static String getLogDirectory() {
         return Platform.getGameLogsDirectory();
     }
+
+    private static void log(Level level, String category, String message, Object[] args,
+                            Throwable throwable) {
+        AsyncLogWriter current = writer;
+        if (current == null) {
+            current = start();
+        }
+        current.log(level, category, message, args, throwable);
+    }
+
+    private static synchronized AsyncLogWriter start() {
+        if (writer == null) {
+            writer = new AsyncLogWriter(GameConstants.Logging.RING_CAPACITY,
+                GameConstants.Logging.BACKPRESSURE_MILLIS, openLogFile(), System.out, Level.INFO);
+            if (!shutdownHookInstalled) {
+                // поток записи - демон: при выходе дописываем очередь сами
+                shutdownHookInstalled = true;
+                Runtime.getRuntime().addShutdownHook(
+                    new Thread(GameLogger::shutdown, "log-shutdown"));
+            }
+        }
+        return writer;
+    }
+
+    // Файл лога; без него пишем только в консоль
+    private static Writer openLogFile() {
+        File logDir = new File(Platform.getGameLogsDirectory());
+        if (!logDir.exists() && !logDir.mkdirs()) {
+            console("Failed to create log directory: " + logDir.getAbsolutePath());
+            return null;
+        }
+        try {
+            return Files.newBufferedWriter(new File(logDir, LOG_FILE).toPath(),
+                StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            console("Failed to open log file: " + e.getMessage());
+            return null;
+        }
+    }
 }
@@ -0,0 +1,108 @@
+package uwu.openjfx.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring of log events for many producers and one consumer. Every slot has a
+ * sequence number that says whose turn it is: a producer claims the next slot with one CAS on
+ * the tail, fills the preallocated event and publishes it by advancing the slot's sequence;
+ * the single consumer reads published slots in order and hands them back. Logging allocates
+ * no event objects, and a full ring fails the claim at once instead of blocking.
+ */
+final class LogRing {
+
+    private final Event[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // только поток-потребитель
+
+    /**
+     * @param capacity slots, rounded up to a power of two
+     */
+    LogRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        slots = new Event[size];
+        sequences = new AtomicLongArray(size);
+        mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Event();
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Claims the next slot; the caller fills it and must {@link #publish} it.
+     *
+     * @return the event to fill, null if the ring is full
+     */
+    Event claim() {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    Event event = slots[index];
+                    event.position = position;
+                    return event;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // слот ещё не освобождён потребителем: кольцо полно
+                return null;
+            } else {
+                // другой производитель успел раньше
+                position = tail.get();
+            }
+        }
+    }
+
+    void publish(Event event) {
+        sequences.set((int) event.position & mask, event.position + 1);
+    }
+
+    /**
+     * Consumer only.
+     *
+     * @return the oldest published event, null if there is none yet
+     */
+    Event peek() {
+        int index = (int) head & mask;
+        return sequences.get(index) == head + 1 ? slots[index] : null;
+    }
+
+    /**
+     * Consumer only: hands the event returned by {@link #peek} back to the producers.
+     */
+    void release(Event event) {
+        event.clear();
+        sequences.set((int) head & mask, head + slots.length);
+        head++;
+    }
+
+    /**
+     * One log call. Arguments stay unformatted until the drain thread writes them.
+     */
+    static final class Event {
+        long millis;
+        GameLogger.Level level;
+        String category;
+        String message;
+        Object[] args;
+        Throwable thrown;
+        private long position;
+
+        private void clear() {
+            category = null;
+            message = null;
+            args = null;
+            thrown = null;
+        }
+    }
+}
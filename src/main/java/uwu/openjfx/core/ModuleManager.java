@@ -1,6 +1,7 @@
 package uwu.openjfx.core;
 
 import com.almasb.fxgl.dsl.FXGL;
+import uwu.openjfx.profiling.ModuleInitEvent;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -87,6 +88,8 @@ public class ModuleManager {
      */
     private void initializeModule(GameModule module) throws GameModule.ModuleException {
         String moduleName = module.getName();
+        ModuleInitEvent event = new ModuleInitEvent();
+        event.begin();
 
         try {
             module.setState(GameModule.ModuleState.INITIALIZING);
@@ -99,8 +102,10 @@ public class ModuleManager {
             initializationOrder.add(moduleName);
 
             GameLogger.info("ModuleManager", "Module initialized: " + moduleName);
+            event.record(moduleName, module.getVersion(), true);
 
         } catch (Exception e) {
+            event.record(moduleName, module.getVersion(), false);
             module.setState(GameModule.ModuleState.ERROR);
             module.onError(e);
             throw new GameModule.ModuleException("Failed to initialize module: " + moduleName, e);
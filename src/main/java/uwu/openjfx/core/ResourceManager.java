@@ -11,13 +11,21 @@ import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
 /**
- * Менеджер ресурсов - кроссплатформенная загрузка ресурсов из JAR и файловой системы
+ * Менеджер ресурсов - кроссплатформенная загрузка ресурсов из JAR и файловой системы.
+ * Файлы assets/ ищутся по манифесту, собранному при сборке (см. {@link AssetManifest}),
+ * без обхода JAR; без манифеста - прежний обход JAR или каталога.
  */
 public class ResourceManager {
 
+    private static final String ASSETS_PREFIX = "assets/";
+
     private static ResourceManager instance;
 
-    private ResourceManager() {}
+    private final AssetManifest manifest;
+
+    private ResourceManager() {
+        manifest = AssetManifest.load(getClass().getClassLoader());
+    }
 
     public static ResourceManager getInstance() {
         if (instance == null) {
@@ -57,14 +65,44 @@ public class ResourceManager {
      * Проверить существование ресурса
      */
     public boolean resourceExists(String path) {
+        String normalizedPath = normalizeResourcePath(path);
+        if (coveredByManifest(normalizedPath)) {
+            return manifest.contains(normalizedPath);
+        }
         return getResource(path) != null;
     }
 
+    /**
+     * Сведения о файле из манифеста: размер в байтах и размеры кадра из имени (_WxH)
+     *
+     * @return null, если файла нет в манифесте или манифест не собран
+     */
+    public AssetManifest.Asset getAsset(String path) {
+        return manifest.get(normalizeResourcePath(path));
+    }
+
+    public AssetManifest getManifest() {
+        return manifest;
+    }
+
+    /* Манифест перечисляет все файлы assets/, остальное (config/, i18n/) ищем как раньше. */
+    private boolean coveredByManifest(String normalizedPath) {
+        return manifest.isLoaded() && normalizedPath.startsWith(ASSETS_PREFIX);
+    }
+
     /**
      * Получить список всех ресурсов в директории (работает из JAR!)
      */
     public List<String> listResources(String directory) {
-        List<String> resources = new ArrayList<>();
+        String normalizedDirectory = normalizeResourcePath(directory);
+        if (!normalizedDirectory.endsWith("/")) {
+            normalizedDirectory += "/";
+        }
+        if (coveredByManifest(normalizedDirectory)) {
+            // копия: вызывающие фильтруют список на месте
+            return new ArrayList<>(manifest.list(
+                normalizedDirectory.substring(0, normalizedDirectory.length() - 1)));
+        }
 
         try {
             String path = directory.startsWith("/") ? directory.substring(1) : directory;
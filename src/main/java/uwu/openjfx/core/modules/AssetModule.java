@@ -56,7 +56,7 @@ public class AssetModule implements GameModule {
     }
 
     /**
-     * Загрузить списки ресурсов из classpath
+     * Загрузить списки ресурсов (из манифеста ассетов, без обхода JAR)
      */
     private void loadAssetLists() {
         // Загружаем оружие из инвентаря
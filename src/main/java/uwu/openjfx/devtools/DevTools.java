@@ -1,9 +1,22 @@
 package uwu.openjfx.devtools;
 
 import uwu.openjfx.core.*;
+import uwu.openjfx.pool.ProjectilePool;
+import uwu.openjfx.components.AILevelOfDetail;
+import uwu.openjfx.map.RoomFlowField;
+import uwu.openjfx.map.RoomTemplateCache;
+import uwu.openjfx.profiling.FlightRecording;
+import uwu.openjfx.profiling.FrameProfiler;
+import uwu.openjfx.spatial.SpatialIndex;
+import uwu.openjfx.time.GameScheduler;
+import uwu.openjfx.visual.AnimationCache;
+import uwu.openjfx.visual.TextureAtlas;
 import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.entity.Entity;
 import com.almasb.fxgl.entity.components.ViewComponent;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.geometry.Point2D;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -16,7 +29,9 @@ import javafx.scene.layout.Priority;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.scene.text.Font;
+import javafx.util.Duration;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -25,6 +40,8 @@ import java.util.Map;
 public class DevTools {
     private Stage devToolsWindow;
     private boolean isVisible = false;
+    private Label profilerLabel;
+    private Timeline profilerRefresh;
 
     public DevTools() {
         // Создаем окно разработчика
@@ -62,6 +79,10 @@ public class DevTools {
         VBox testButtonsBox = createTestButtonsSection();
         mainContainer.getChildren().add(testButtonsBox);
 
+        // Профилировщик кадра
+        VBox profilerBox = createProfilerSection();
+        mainContainer.getChildren().add(profilerBox);
+
         // Логирование
         VBox loggingBox = createLoggingSection();
         mainContainer.getChildren().add(loggingBox);
@@ -111,6 +132,46 @@ public class DevTools {
         memoryLabel.setStyle("-fx-text-fill: white;");
         section.getChildren().add(memoryLabel);
 
+        Label poolLabel = new Label("Projectile pool: " + ProjectilePool.get().getStats());
+        poolLabel.setStyle("-fx-text-fill: white;");
+        poolLabel.setWrapText(true);
+        section.getChildren().add(poolLabel);
+
+        Label animationLabel = new Label("Animation cache: " + AnimationCache.get().getStats());
+        animationLabel.setStyle("-fx-text-fill: white;");
+        animationLabel.setWrapText(true);
+        section.getChildren().add(animationLabel);
+
+        Label atlasLabel = new Label("Texture atlas: " + TextureAtlas.get().getStats());
+        atlasLabel.setStyle("-fx-text-fill: white;");
+        atlasLabel.setWrapText(true);
+        section.getChildren().add(atlasLabel);
+
+        Label roomLabel = new Label("Room templates: " + RoomTemplateCache.get().getStats());
+        roomLabel.setStyle("-fx-text-fill: white;");
+        roomLabel.setWrapText(true);
+        section.getChildren().add(roomLabel);
+
+        Label schedulerLabel = new Label("Scheduler: " + GameScheduler.get().getStats());
+        schedulerLabel.setStyle("-fx-text-fill: white;");
+        schedulerLabel.setWrapText(true);
+        section.getChildren().add(schedulerLabel);
+
+        Label spatialLabel = new Label("Spatial index: " + SpatialIndex.get().getStats());
+        spatialLabel.setStyle("-fx-text-fill: white;");
+        spatialLabel.setWrapText(true);
+        section.getChildren().add(spatialLabel);
+
+        Label lodLabel = new Label("AI LOD: " + AILevelOfDetail.get().getStats());
+        lodLabel.setStyle("-fx-text-fill: white;");
+        lodLabel.setWrapText(true);
+        section.getChildren().add(lodLabel);
+
+        Label flowLabel = new Label("Flow field: " + RoomFlowField.get().getStats());
+        flowLabel.setStyle("-fx-text-fill: white;");
+        flowLabel.setWrapText(true);
+        section.getChildren().add(flowLabel);
+
         return section;
     }
 
@@ -188,6 +249,65 @@ public class DevTools {
         return section;
     }
 
+    /**
+     * Создать секцию профилировщика: перцентили кадра и подсистем, обновляются раз в секунду
+     */
+    private VBox createProfilerSection() {
+        VBox section = new VBox(5);
+        section.setStyle("-fx-border-color: #555; -fx-border-width: 1; -fx-padding: 10;");
+
+        Label sectionTitle = new Label("Frame Profiler");
+        sectionTitle.setStyle("-fx-font-weight: bold; -fx-text-fill: #00ff00;");
+        section.getChildren().add(sectionTitle);
+
+        profilerLabel = new Label(FrameProfiler.get().report());
+        profilerLabel.setStyle(
+            "-fx-text-fill: #cccccc; -fx-font-family: monospace; -fx-font-size: 11px;");
+        section.getChildren().add(profilerLabel);
+
+        CheckBox enabledCheck = new CheckBox("Enabled");
+        enabledCheck.setSelected(FrameProfiler.get().isEnabled());
+        enabledCheck.setOnAction(e -> FrameProfiler.get().setEnabled(enabledCheck.isSelected()));
+        enabledCheck.setStyle("-fx-text-fill: white;");
+
+        Button resetButton = new Button("Reset");
+        resetButton.setOnAction(e -> {
+            FrameProfiler.get().reset();
+            refreshProfiler();
+        });
+
+        Button dumpButton = new Button("Dump to file");
+        dumpButton.setOnAction(e -> {
+            FrameProfiler.get().dumpSoon();
+            GameLogger.info("DevTools", "Frame profile written to {}",
+                GameLogger.getLogDirectory());
+        });
+
+        // запись JFR идёт только при запуске с --jfr
+        Button flightButton = new Button("Dump flight recording");
+        flightButton.setDisable(!FlightRecording.isRunning());
+        flightButton.setOnAction(e -> {
+            try {
+                GameLogger.info("DevTools", "Flight recording written to {}",
+                    FlightRecording.dump());
+            } catch (IOException ex) {
+                GameLogger.warning("DevTools", "Flight recording dump failed: {}", ex.getMessage());
+            }
+        });
+
+        HBox controls = new HBox(10, enabledCheck, resetButton, dumpButton, flightButton);
+        section.getChildren().add(controls);
+
+        profilerRefresh = new Timeline(new KeyFrame(Duration.seconds(1), e -> refreshProfiler()));
+        profilerRefresh.setCycleCount(Animation.INDEFINITE);
+
+        return section;
+    }
+
+    private void refreshProfiler() {
+        profilerLabel.setText(FrameProfiler.get().report());
+    }
+
     /**
      * Создать секцию настроек логирования
      */
@@ -236,6 +356,8 @@ public class DevTools {
      */
     public void show() {
         if (!isVisible) {
+            refreshProfiler();
+            profilerRefresh.play();
             devToolsWindow.show();
             isVisible = true;
             GameLogger.system("DevTools opened");
@@ -247,6 +369,7 @@ public class DevTools {
      */
     public void hide() {
         if (isVisible) {
+            profilerRefresh.stop();
             devToolsWindow.hide();
             isVisible = false;
             GameLogger.system("DevTools closed");
@@ -308,6 +431,10 @@ public class DevTools {
         try {
             ResourceManager resourceManager = ResourceManager.getInstance();
             GameLogger.info("DevTools", "=== Resource Test ===");
+            AssetManifest manifest = resourceManager.getManifest();
+            GameLogger.info("DevTools", manifest.isLoaded()
+                ? "Asset manifest: " + manifest.size() + " files"
+                : "Asset manifest: not built, listing resources directly");
 
             // Тестируем загрузку различных ресурсов
             String[] testResources = {
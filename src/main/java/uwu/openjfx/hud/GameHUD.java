@@ -10,6 +10,7 @@ import javafx.scene.text.Text;
 import uwu.openjfx.components.PlayerComponent;
 import uwu.openjfx.i18n.LocalizationManager;
 import uwu.openjfx.progression.SimpleProgression;
+import uwu.openjfx.visual.TextureAtlas;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -50,7 +51,7 @@ public class GameHUD {
         List<Texture> hearts = new ArrayList<>();
         // HP игрока: 20 (1 сердце = 5 HP) = 4 сердца
         for (int i = 0; i < playerComponent.getMaxHealthPoints() / 5; i++) {
-            Texture heart = FXGL.texture("items/ui_heart_full_32x32.png");
+            Texture heart = TextureAtlas.get().texture("items/ui_heart_full_32x32.png");
             hearts.add(heart);
             healthBar.getChildren().add(heart);
         }
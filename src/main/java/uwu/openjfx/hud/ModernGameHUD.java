@@ -23,6 +23,7 @@ import javafx.util.Duration;
 import uwu.openjfx.MainApp;
 import uwu.openjfx.components.PlayerComponent;
 import uwu.openjfx.combo.SimpleComboSystem;
+import uwu.openjfx.profiling.FrameProfiler;
 import uwu.openjfx.progression.SimpleProgression;
 
 import java.lang.ref.WeakReference;
@@ -126,6 +127,7 @@ public class ModernGameHUD {
 
         // Цвет здоровья при изменении
         playerComponent.getHealthIntegerProperty().addListener((obs, oldVal, newVal) -> {
+            long started = FrameProfiler.get().start();
             double percentage = newVal.doubleValue() / playerComponent.getMaxHealthPoints();
             if (percentage > 0.6) {
                 healthBar.getInnerBar().setFill(Color.rgb(255, 255, 255));
@@ -136,6 +138,7 @@ public class ModernGameHUD {
                 healthBar.getInnerBar().setFill(Color.rgb(255, 0, 0));
                 animateWarning(healthBar);
             }
+            FrameProfiler.get().stop(FrameProfiler.Section.HUD, started);
         });
 
         healthContainer.getChildren().addAll(heartIcon, healthBar, healthText);
@@ -187,11 +190,13 @@ public class ModernGameHUD {
 
             // Обновляем максимальный опыт при изменении уровня
             levelProperty.addListener((obs, oldVal, newVal) -> {
+                long started = FrameProfiler.get().start();
                 int newLevel = newVal.intValue();
                 int maxExp = newLevel * 100; // Level 1 = 100, Level 2 = 200, etc.
                 System.out.println("🎮 HUD: Уровень изменился! " + oldVal + " → " + newLevel + ", Макс. опыт: " + maxExp);
                 maxExpProperty.set(maxExp);
                 expBar.setMaxValue(maxExp);
+                FrameProfiler.get().stop(FrameProfiler.Section.HUD, started);
             });
 
             // Инициализируем максимальный опыт для ТЕКУЩЕГО уровня (нужно для следующего уровня)
@@ -288,17 +293,21 @@ public class ModernGameHUD {
     private static void setupAnimations(PlayerComponent playerComponent) {
         // Анимация пульсации при низком здоровье
         playerComponent.getHealthIntegerProperty().addListener((obs, oldVal, newVal) -> {
+            long started = FrameProfiler.get().start();
             double percentage = newVal.doubleValue() / playerComponent.getMaxHealthPoints();
             if (percentage < 0.3) {
                 animatePulse(healthContainer);
             }
+            FrameProfiler.get().stop(FrameProfiler.Section.HUD, started);
         });
 
         // Анимация появления комбо
         SimpleComboSystem.getInstance().getComboCountProperty().addListener((obs, oldVal, newVal) -> {
+            long started = FrameProfiler.get().start();
             if (newVal.intValue() > oldVal.intValue()) {
                 animateCombo(comboText);
             }
+            FrameProfiler.get().stop(FrameProfiler.Section.HUD, started);
         });
     }
 
@@ -18,10 +18,10 @@ import org.jetbrains.annotations.NotNull;
 import uwu.openjfx.components.PlayerComponent;
 import uwu.openjfx.weapons.Weapon;
 import uwu.openjfx.utils.GameLogger;
+import uwu.openjfx.visual.TextureAtlas;
 
 import java.util.List;
 
-import static com.almasb.fxgl.dsl.FXGLForKtKt.getAssetLoader;
 import static com.almasb.fxgl.dsl.FXGLForKtKt.getUIFactoryService;
 
 public class ShowInventoryAction extends UserAction {
@@ -72,7 +72,7 @@ public class ShowInventoryAction extends UserAction {
                 Text text = FXGL.getUIFactoryService().newText(selectedWeapon.getDescription());
                 text.setWrappingWidth(200);
 
-                Texture weaponIcon = getAssetLoader().loadTexture(selectedWeapon.
+                Texture weaponIcon = TextureAtlas.get().texture(selectedWeapon.
                     getWeaponIconPath());
                 VBox descriptionAndIcon = new VBox(weaponIcon, text);
                 descriptionAndIcon.setAlignment(Pos.TOP_CENTER);
@@ -116,8 +116,8 @@ public class ShowInventoryAction extends UserAction {
                 borderPanes[r][c].setPrefWidth(96);
                 borderPanes[r][c].setPrefHeight(96);
                 if (r * cols + c < playerWeaponList.size()) {
-                    borderPanes[r][c].setCenter(getAssetLoader()
-                            .loadTexture(playerWeaponList.get(r * cols + c)
+                    borderPanes[r][c].setCenter(TextureAtlas.get()
+                            .texture(playerWeaponList.get(r * cols + c)
                                     .getWeaponIconPath()));
                     borderPanes[r][c].getProperties()
                             .put("item", playerWeaponList.get(r * cols + c));
@@ -1,38 +1,65 @@
 package uwu.openjfx.leaderboard;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import uwu.openjfx.core.DurableFile;
+import uwu.openjfx.core.GameConstants;
 import uwu.openjfx.utils.GameLogger;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.Collectors;
 
 /**
  * Менеджер таблицы лидеров
  * Управляет рейтингами игроков по количеству собранных монет
+ * <p>
+ * Записи лежат в {@link RankedTree} по убыванию монет (при равенстве выше та, что появилась
+ * раньше) и в индексе по имени игрока, по одной записи на игрока. Добавление, обновление,
+ * место игрока и топ-N стоят O(log n), так что таблица держит и 100k+ записей общих киосков.
+ * <p>
+ * Изменения пишутся на диск не сразу, а через {@link LeaderboardWriter}: не чаще раза
+ * в {@link GameConstants.Leaderboard#FLUSH_INTERVAL}, в фоновом виртуальном потоке и только
+ * если таблица действительно изменилась. Конец забега и выход из игры дописывают остаток.
  */
 public class LeaderboardManager {
     private static final String LEADERBOARD_FILE = "leaderboard.json";
     private static final String LEADERBOARD_DIRECTORY =
             System.getProperty("user.home") + "/.royal-demons";
-    private static final int MAX_ENTRIES = 100; // Максимум записей в таблице
 
     private static LeaderboardManager instance;
 
-    // Thread-safe коллекция для записей
-    private final List<LeaderboardEntry> entries;
+    // Записи в порядке рейтинга и индекс по имени; доступ только под монитором менеджера
+    private final RankedTree<Slot> ranking = new RankedTree<>(Slot.ORDER);
+    private final Map<String, Slot> byName = new HashMap<>();
+    private long nextSequence;
+    private long totalGold;
     private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int maxEntries;
+    private final LeaderboardWriter writer;
 
     private LeaderboardManager() {
-        this.entries = new CopyOnWriteArrayList<>();
-        this.objectMapper = new ObjectMapper()
-                .enable(SerializationFeature.INDENT_OUTPUT);
+        this(Paths.get(LEADERBOARD_DIRECTORY), GameConstants.Leaderboard.MAX_ENTRIES);
+    }
+
+    /**
+     * Отдельная таблица в своей директории (для бенчмарков и тестов)
+     */
+    LeaderboardManager(Path directory, int maxEntries) {
+        this(directory, maxEntries, GameConstants.Leaderboard.FLUSH_INTERVAL);
+    }
+
+    LeaderboardManager(Path directory, int maxEntries, long flushIntervalMillis) {
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+        // без отступов: файл читает игра, а не человек, и он втрое меньше
+        this.objectMapper = new ObjectMapper();
+        this.writer = new LeaderboardWriter(directory.resolve(LEADERBOARD_FILE),
+                flushIntervalMillis, Thread.ofVirtual().name("leaderboard-writer").factory(),
+                this::serialize);
 
         loadLeaderboard();
     }
@@ -40,6 +67,10 @@ public class LeaderboardManager {
     public static synchronized LeaderboardManager getInstance() {
         if (instance == null) {
             instance = new LeaderboardManager();
+            // поток записи виртуальный и не держит JVM: остаток дописываем при выходе
+            LeaderboardManager manager = instance;
+            Runtime.getRuntime().addShutdownHook(
+                    new Thread(manager::shutdown, "leaderboard-shutdown"));
         }
         return instance;
     }
@@ -49,149 +80,169 @@ public class LeaderboardManager {
      */
     private void loadLeaderboard() {
         try {
-            Path leaderboardPath = Paths.get(LEADERBOARD_DIRECTORY, LEADERBOARD_FILE);
-            File file = leaderboardPath.toFile();
-
-            if (file.exists()) {
-                LeaderboardEntry[] loadedEntries = objectMapper.readValue(file, LeaderboardEntry[].class);
-                entries.addAll(Arrays.asList(loadedEntries));
-
-                // Сортируем при загрузке
-                Collections.sort(entries);
-                GameLogger.info("Загружено " + entries.size() + " записей таблицы лидеров");
+            Path leaderboardPath = directory.resolve(LEADERBOARD_FILE);
+
+            if (Files.exists(leaderboardPath)) {
+                LeaderboardEntry[] loadedEntries;
+                try (InputStream in = DurableFile.read(leaderboardPath)) {
+                    loadedEntries = objectMapper.readValue(in, LeaderboardEntry[].class);
+                }
+                // Файл уже отсортирован; стабильная сортировка лишь страхует старые файлы,
+                // из повторов одного игрока остаётся лучшая запись
+                Arrays.sort(loadedEntries);
+                for (LeaderboardEntry entry : loadedEntries) {
+                    if (!byName.containsKey(entry.getPlayerName())) {
+                        insert(entry);
+                    }
+                }
+                trim();
+                GameLogger.info("Загружено {} записей таблицы лидеров", ranking.size());
             } else {
                 GameLogger.info("Файл таблицы лидеров не найден, создаём новый");
-                saveLeaderboard(); // Создаём пустой файл
+                writer.changed(); // Создаём пустой файл
             }
         } catch (IOException e) {
             GameLogger.error("Ошибка загрузки таблицы лидеров: " + e.getMessage());
             // Создаём новую пустую таблицу
-            saveLeaderboard();
+            writer.changed();
         }
     }
 
     /**
-     * Сохранить таблицу лидеров в файл
+     * Сохранить таблицу лидеров в файл сейчас и дождаться записи.
+     * Не под монитором: сериализация в потоке записи сама его берёт
      */
     public void saveLeaderboard() {
-        try {
-            // Создаём директорию если не существует
-            Path dirPath = Paths.get(LEADERBOARD_DIRECTORY);
-            if (!Files.exists(dirPath)) {
-                Files.createDirectories(dirPath);
-            }
+        writer.changed();
+        if (!writer.flush(GameConstants.Leaderboard.FLUSH_TIMEOUT)) {
+            GameLogger.warn("Таблица лидеров не сохранена за "
+                    + GameConstants.Leaderboard.FLUSH_TIMEOUT + " мс");
+        }
+    }
 
-            // Сортируем перед сохранением
-            Collections.sort(entries);
+    /**
+     * Записать накопленные изменения, не дожидаясь конца интервала (конец забега)
+     */
+    public void flushSoon() {
+        writer.requestFlush();
+    }
 
-            Path filePath = Paths.get(LEADERBOARD_DIRECTORY, LEADERBOARD_FILE);
-            objectMapper.writeValue(filePath.toFile(), entries);
+    /**
+     * Дописать изменения и остановить поток записи (выход из игры)
+     */
+    public void shutdown() {
+        if (!writer.close(GameConstants.Leaderboard.FLUSH_TIMEOUT)) {
+            GameLogger.warn("Таблица лидеров не успела сохраниться при выходе");
+        }
+    }
 
-            GameLogger.debug("Таблица лидеров сохранена");
-        } catch (IOException e) {
-            GameLogger.error("Ошибка сохранения таблицы лидеров: " + e.getMessage());
+    /* Копия записей под монитором, JSON уже без него: игра не ждёт сериализации. */
+    private byte[] serialize() throws IOException {
+        List<LeaderboardEntry> copy;
+        synchronized (this) {
+            copy = new ArrayList<>(ranking.size());
+            for (Slot slot : ranking.head(ranking.size())) {
+                copy.add(snapshot(slot.entry));
+            }
         }
+        return objectMapper.writeValueAsBytes(copy);
     }
 
     /**
-     * Добавить новую запись в таблицу лидеров
+     * Добавить результат в таблицу лидеров. У игрока одна запись: если она уже есть,
+     * остаётся лучший из двух результатов
      */
-    public void addEntry(String playerName, int maxGold, int playerLevel, long playTimeSeconds) {
-        // Создаём новую запись
-        LeaderboardEntry newEntry = new LeaderboardEntry(playerName, maxGold, playerLevel, playTimeSeconds);
-
-        // Добавляем в коллекцию
-        entries.add(newEntry);
+    public synchronized void addEntry(String playerName, int maxGold, int playerLevel, long playTimeSeconds) {
+        Slot existing = byName.get(playerName);
+        if (existing != null) {
+            if (maxGold > existing.entry.getMaxGold()) {
+                update(existing, maxGold, playerLevel, playTimeSeconds);
+                GameLogger.info("Улучшен результат в таблице лидеров: {} - {} монет, уровень {}", playerName, maxGold, playerLevel);
+            }
+            return;
+        }
 
-        // Сортируем
-        Collections.sort(entries);
+        insert(new LeaderboardEntry(playerName, maxGold, playerLevel, playTimeSeconds));
 
-        // Убираем лишние записи если их больше MAX_ENTRIES
-        if (entries.size() > MAX_ENTRIES) {
-            entries.subList(MAX_ENTRIES, entries.size()).clear();
-        }
+        // Убираем лишние записи если их больше maxEntries
+        trim();
 
-        // Сохраняем в файл
-        saveLeaderboard();
+        // Сохраняем в файл (отложенно, вместе с соседними изменениями)
+        writer.changed();
 
-        GameLogger.info("Добавлена запись в таблицу лидеров: " + playerName + " - " + maxGold + " монет, уровень " + playerLevel);
+        GameLogger.info("Добавлена запись в таблицу лидеров: {} - {} монет, уровень {}", playerName, maxGold, playerLevel);
     }
 
     /**
      * Обновить запись для игрока - всегда обновляем с текущими монетами
      */
-    public void updatePlayerEntry(String playerName, int currentGold, int playerLevel, long playTimeSeconds) {
-        System.out.println("🔍 Ищем запись игрока: " + playerName);
+    public synchronized void updatePlayerEntry(String playerName, int currentGold, int playerLevel, long playTimeSeconds) {
+        GameLogger.debug("🔍 Ищем запись игрока: {}", playerName);
 
         // Ищем существующую запись для этого игрока
-        Optional<LeaderboardEntry> existingEntry = entries.stream()
-                .filter(entry -> playerName.equals(entry.getPlayerName()))
-                .findFirst();
+        Slot existing = byName.get(playerName);
 
-        if (existingEntry.isPresent()) {
-            LeaderboardEntry entry = existingEntry.get();
-            System.out.println("📝 Найдена запись игрока. Старый максимум: " + entry.getMaxGold() +
-                              ", Новые монеты: " + currentGold);
+        if (existing != null) {
+            LeaderboardEntry entry = existing.entry;
+            if (entry.getMaxGold() == currentGold && entry.getPlayerLevel() == playerLevel) {
+                // таймер PlayerComponent зовёт нас каждые 5 секунд: без изменений ничего не пишем
+                return;
+            }
+            GameLogger.debug("📝 Найдена запись игрока. Старый максимум: {}, Новые монеты: {}",
+                    entry.getMaxGold(), currentGold);
 
             // ВСЕГДА обновляем с текущими монетами (для отображения текущего прогресса)
-            System.out.println("✅ Обновляем запись с текущими монетами!");
-
-            entry.setMaxGold(currentGold);
-            entry.setPlayerLevel(playerLevel);
-            entry.setPlayTimeSeconds(playTimeSeconds);
-            entry.setAchievedAt(new java.util.Date().toString());
+            GameLogger.debug("✅ Обновляем запись с текущими монетами!");
 
-            // НЕ ПЕРЕСОРТИРУЕМ здесь - сортировка нужна только при добавлении/удалении
-            // Collections.sort(entries);
+            update(existing, currentGold, playerLevel, playTimeSeconds);
 
-            GameLogger.info("Обновлён результат игрока " + playerName + ": " + currentGold + " монет");
-            saveLeaderboard();
+            GameLogger.info("Обновлён результат игрока {}: {} монет", playerName, currentGold);
         } else {
             // Если записи нет, добавляем новую
-            System.out.println("➕ Запись не найдена, добавляем новую: " + currentGold + " монет");
+            GameLogger.debug("➕ Запись не найдена, добавляем новую: {} монет", currentGold);
             addEntry(playerName, currentGold, playerLevel, playTimeSeconds);
         }
     }
 
     /**
-     * Получить топ N записей
+     * Получить топ N записей (копии: записи таблицы - ключи дерева рейтинга)
      */
-    public List<LeaderboardEntry> getTopEntries(int count) {
-        if (entries.isEmpty()) {
+    public synchronized List<LeaderboardEntry> getTopEntries(int count) {
+        if (ranking.size() == 0) {
             return Collections.emptyList();
         }
 
-        return entries.stream()
-                .limit(count)
-                .collect(Collectors.toList());
+        List<LeaderboardEntry> top = new ArrayList<>();
+        for (Slot slot : ranking.head(count)) {
+            top.add(snapshot(slot.entry));
+        }
+        return top;
     }
 
     /**
      * Получить позицию игрока в таблице
      */
-    public int getPlayerPosition(String playerName) {
-        for (int i = 0; i < entries.size(); i++) {
-            if (playerName.equals(entries.get(i).getPlayerName())) {
-                return i + 1; // Позиция начинается с 1
-            }
+    public synchronized int getPlayerPosition(String playerName) {
+        Slot slot = byName.get(playerName);
+        if (slot == null) {
+            return -1; // Игрок не найден в таблице
         }
-        return -1; // Игрок не найден в таблице
+        return ranking.rankOf(slot) + 1; // Позиция начинается с 1
     }
 
     /**
-     * Получить запись игрока
+     * Получить запись игрока (копию)
      */
-    public Optional<LeaderboardEntry> getPlayerEntry(String playerName) {
-        return entries.stream()
-                .filter(entry -> playerName.equals(entry.getPlayerName()))
-                .findFirst();
+    public synchronized Optional<LeaderboardEntry> getPlayerEntry(String playerName) {
+        Slot slot = byName.get(playerName);
+        return slot == null ? Optional.empty() : Optional.of(snapshot(slot.entry));
     }
 
     /**
-     * Получить все записи
+     * Получить все записи (копии)
      */
-    public List<LeaderboardEntry> getAllEntries() {
-        return new ArrayList<>(entries);
+    public synchronized List<LeaderboardEntry> getAllEntries() {
+        return getTopEntries(ranking.size());
     }
 
     /**
@@ -205,32 +256,29 @@ public class LeaderboardManager {
     /**
      * Получить статистику таблицы
      */
-    public Map<String, Object> getStatistics() {
+    public synchronized Map<String, Object> getStatistics() {
         Map<String, Object> stats = new HashMap<>();
 
-        stats.put("totalEntries", entries.size());
-        stats.put("maxEntries", MAX_ENTRIES);
+        stats.put("totalEntries", ranking.size());
+        stats.put("maxEntries", maxEntries);
 
-        if (!entries.isEmpty()) {
-            stats.put("topGold", entries.get(0).getMaxGold());
-            stats.put("topPlayer", entries.get(0).getPlayerName());
+        if (ranking.size() > 0) {
+            LeaderboardEntry top = ranking.get(0).entry;
+            stats.put("topGold", top.getMaxGold());
+            stats.put("topPlayer", top.getPlayerName());
 
-            int totalGold = entries.stream()
-                    .mapToInt(LeaderboardEntry::getMaxGold)
-                    .sum();
+            // сумма ведётся при каждом изменении, long: у 100k игроков int переполнится
             stats.put("totalGoldAllPlayers", totalGold);
 
-            double averageGold = entries.stream()
-                    .mapToInt(LeaderboardEntry::getMaxGold)
-                    .average()
-                    .orElse(0.0);
+            double averageGold = (double) totalGold / ranking.size();
             stats.put("averageGold", Math.round(averageGold * 100.0) / 100.0);
         } else {
             stats.put("topGold", 0);
             stats.put("topPlayer", "N/A");
-            stats.put("totalGoldAllPlayers", 0);
+            stats.put("totalGoldAllPlayers", 0L);
             stats.put("averageGold", 0.0);
         }
+        stats.put("persistence", writer.getStats());
 
         return stats;
     }
@@ -238,23 +286,79 @@ public class LeaderboardManager {
     /**
      * Очистить таблицу лидеров (для тестирования)
      */
-    public void clearLeaderboard() {
-        entries.clear();
-        saveLeaderboard();
+    public synchronized void clearLeaderboard() {
+        ranking.clear();
+        byName.clear();
+        totalGold = 0;
+        writer.changed();
         GameLogger.info("Таблица лидеров очищена");
     }
 
     /**
      * Получить размер таблицы
      */
-    public int getSize() {
-        return entries.size();
+    public synchronized int getSize() {
+        return ranking.size();
     }
 
     /**
      * Проверить пуста ли таблица
      */
-    public boolean isEmpty() {
-        return entries.isEmpty();
+    public synchronized boolean isEmpty() {
+        return ranking.size() == 0;
+    }
+
+    // region Ranking
+    private void insert(LeaderboardEntry entry) {
+        Slot slot = new Slot(entry, nextSequence++);
+        ranking.add(slot);
+        byName.put(entry.getPlayerName(), slot);
+        totalGold += entry.getMaxGold();
+    }
+
+    /* Монеты меняют место в дереве: вынимаем запись, меняем и кладём обратно. */
+    private void update(Slot slot, int gold, int playerLevel, long playTimeSeconds) {
+        writer.changed();
+        ranking.remove(slot);
+        totalGold += gold - slot.entry.getMaxGold();
+        slot.entry.setMaxGold(gold);
+        slot.entry.setPlayerLevel(playerLevel);
+        slot.entry.setPlayTimeSeconds(playTimeSeconds);
+        slot.entry.setAchievedAt(new java.util.Date().toString());
+        ranking.add(slot);
+    }
+
+    /* Вытесняем худшие записи сверх maxEntries. */
+    private void trim() {
+        while (ranking.size() > maxEntries) {
+            Slot last = ranking.get(ranking.size() - 1);
+            ranking.remove(last);
+            byName.remove(last.entry.getPlayerName());
+            totalGold -= last.entry.getMaxGold();
+        }
+    }
+    // endregion
+
+    /* Изменения снимка не сдвигают запись в дереве мимо update(). */
+    private static LeaderboardEntry snapshot(LeaderboardEntry entry) {
+        LeaderboardEntry snapshot = new LeaderboardEntry(entry.getPlayerName(),
+                entry.getMaxGold(), entry.getPlayerLevel(), entry.getPlayTimeSeconds());
+        snapshot.setAchievedAt(entry.getAchievedAt());
+        return snapshot;
+    }
+
+    /* Запись и порядковый номер её появления: разводит равные по монетам записи. */
+    private static final class Slot {
+        static final Comparator<Slot> ORDER = Comparator
+                .comparing((Slot slot) -> slot.entry)
+                .thenComparingLong(slot -> slot.sequence);
+
+        private final LeaderboardEntry entry;
+        private final long sequence;
+
+        Slot(LeaderboardEntry entry, long sequence) {
+            this.entry = entry;
+            this.sequence = sequence;
+        }
     }
 }
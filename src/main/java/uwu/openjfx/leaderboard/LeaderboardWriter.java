@@ -0,0 +1,262 @@
+package uwu.openjfx.leaderboard;
+
+import uwu.openjfx.core.DurableFile;
+import uwu.openjfx.profiling.LeaderboardFlushEvent;
+import uwu.openjfx.utils.GameLogger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-behind persistence of the leaderboard. Changes only bump a counter; a writer thread
+ * writes the board at most once per interval however many changes came in, and skips the
+ * write when the serialized board is byte for byte what is already on disk. Game over asks
+ * for an early write, shutdown waits for the last one.
+ */
+final class LeaderboardWriter {
+
+    /**
+     * Serializes the current board, on the writer thread.
+     */
+    @FunctionalInterface
+    interface Source {
+        byte[] serialize() throws IOException;
+    }
+
+    private final Path file;
+    private final long intervalNanos;
+    private final Source source;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changedCondition = lock.newCondition();
+    private final Condition flushedCondition = lock.newCondition();
+    private final Thread thread;
+
+    // changes - номер последнего изменения, taken - взятого в запись, flushed - записанного
+    private long changes;
+    private long taken;
+    private long flushed;
+    private long lastFlushNanos;
+    private boolean urgent;
+    private boolean closed;
+
+    // метрики
+    private long flushes;
+    private long bytesWritten;
+    private long coalesced;
+    private long unchanged;
+    private long failures;
+
+    // что сейчас на диске: длина и CRC32C, -1 пока ничего не записано
+    private int lastLength = -1;
+    private long lastChecksum = -1;
+
+    /**
+     * @param file           leaderboard file
+     * @param intervalMillis minimum time between two writes
+     * @param threads        creates the writer thread
+     * @param source         serializes the board
+     */
+    LeaderboardWriter(Path file, long intervalMillis, ThreadFactory threads, Source source) {
+        this.file = file;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.source = source;
+        this.lastFlushNanos = System.nanoTime() - intervalNanos;
+        this.thread = threads.newThread(this::run);
+        thread.start();
+    }
+
+    /**
+     * Records a change of the board; it is written with the next batch.
+     */
+    void changed() {
+        lock.lock();
+        try {
+            changes++;
+            changedCondition.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes pending changes now instead of at the end of the interval, without waiting.
+     */
+    void requestFlush() {
+        lock.lock();
+        try {
+            if (changes > flushed) {
+                urgent = true;
+                changedCondition.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes pending changes now and waits for the write.
+     *
+     * @param millis how long to wait
+     * @return true if every change made before the call is on disk or needed no write
+     */
+    boolean flush(long millis) {
+        lock.lock();
+        try {
+            long target = changes;
+            if (flushed >= target) {
+                return true;
+            }
+            urgent = true;
+            changedCondition.signal();
+            long remaining = TimeUnit.MILLISECONDS.toNanos(millis);
+            while (flushed < target && remaining > 0 && thread.isAlive()) {
+                remaining = flushedCondition.awaitNanos(remaining);
+            }
+            return flushed >= target;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes pending changes and stops the thread.
+     *
+     * @param millis how long to wait for the last write
+     * @return true if the thread has finished
+     */
+    boolean close(long millis) {
+        lock.lock();
+        try {
+            closed = true;
+            changedCondition.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            thread.join(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !thread.isAlive();
+    }
+
+    String getStats() {
+        lock.lock();
+        try {
+            return String.format("pending=%d flushes=%d bytes=%d coalesced=%d unchanged=%d "
+                + "failures=%d", changes - flushed, flushes, bytesWritten, coalesced, unchanged,
+                failures);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            long batchEnd;
+            lock.lock();
+            try {
+                while (changes == taken && !closed) {
+                    changedCondition.awaitUninterruptibly();
+                }
+                if (changes == taken) {
+                    return;
+                }
+                // копим изменения до конца интервала, если запись не нужна раньше
+                long remaining = lastFlushNanos + intervalNanos - System.nanoTime();
+                while (!urgent && !closed && remaining > 0) {
+                    try {
+                        remaining = changedCondition.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        remaining = 0;
+                    }
+                }
+                batchEnd = changes;
+                coalesced += batchEnd - taken - 1;
+                taken = batchEnd;
+                urgent = false;
+            } finally {
+                lock.unlock();
+            }
+
+            boolean success = write();
+
+            lock.lock();
+            try {
+                lastFlushNanos = System.nanoTime();
+                if (success) {
+                    flushed = batchEnd;
+                } else {
+                    failures++;
+                    if (!closed) {
+                        // повторим на следующем интервале
+                        taken = flushed;
+                    }
+                }
+                flushedCondition.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /* Вне блокировки: игра продолжает менять таблицу, пока файл пишется. */
+    private boolean write() {
+        LeaderboardFlushEvent event = new LeaderboardFlushEvent();
+        event.begin();
+        try {
+            byte[] bytes = source.serialize();
+            CRC32C crc = new CRC32C();
+            crc.update(bytes);
+            long checksum = crc.getValue();
+            if (bytes.length == lastLength && checksum == lastChecksum) {
+                countUnchanged();
+                event.record(bytes.length, true, true);
+                return true;
+            }
+            Path directory = file.getParent();
+            if (directory != null && !Files.exists(directory)) {
+                Files.createDirectories(directory);
+            }
+            DurableFile.write(file, out -> out.write(bytes));
+            lastLength = bytes.length;
+            lastChecksum = checksum;
+            countFlush(bytes.length);
+            GameLogger.debug("Таблица лидеров сохранена");
+            event.record(bytes.length, false, true);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            event.record(0, false, false);
+            GameLogger.error("Ошибка сохранения таблицы лидеров: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void countFlush(int bytes) {
+        lock.lock();
+        try {
+            flushes++;
+            bytesWritten += bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void countUnchanged() {
+        lock.lock();
+        try {
+            unchanged++;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
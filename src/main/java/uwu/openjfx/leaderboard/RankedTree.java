@@ -0,0 +1,208 @@
+package uwu.openjfx.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Order-statistic treap: a sorted set where every node knows the size of its subtree, so
+ * insert, remove, rank of an element and the element at a rank all cost O(log n) expected,
+ * and the first k elements come out in O(log n + k). Elements must be distinct under the
+ * comparator, and an element's order must not change while it is in the tree: take it out,
+ * change it and add it back. Not thread-safe.
+ *
+ * @param <E> element type
+ */
+final class RankedTree<E> {
+
+    private final Comparator<? super E> order;
+    // фиксированное зерно: форма дерева (и время операций) воспроизводимы от запуска к запуску
+    private final SplittableRandom priorities = new SplittableRandom(0x5EEDL);
+    private Node<E> root;
+
+    RankedTree(Comparator<? super E> order) {
+        this.order = order;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * @param element element not in the tree yet
+     * @throws IllegalArgumentException if an equal element is already there
+     */
+    void add(E element) {
+        Node<E> node = new Node<>(element, priorities.nextInt());
+        Node<E>[] parts = split(root, element);
+        if (parts[1] != null && order.compare(first(parts[1]), element) == 0) {
+            root = merge(parts[0], parts[1]);
+            throw new IllegalArgumentException("Element already present: " + element);
+        }
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    /**
+     * @param element element to remove
+     * @return false if the tree has no equal element
+     */
+    boolean remove(E element) {
+        int sizeBefore = size(root);
+        root = remove(root, element);
+        return size(root) != sizeBefore;
+    }
+
+    /**
+     * @param element element in the tree
+     * @return its 0-based position in order, -1 if it is not there
+     */
+    int rankOf(E element) {
+        int rank = 0;
+        Node<E> node = root;
+        while (node != null) {
+            int cmp = order.compare(element, node.element);
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left);
+                if (cmp == 0) {
+                    return rank;
+                }
+                rank++;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param index 0-based position in order
+     * @return the element at that position
+     * @throws IndexOutOfBoundsException if index is not below size()
+     */
+    E get(int index) {
+        if (index < 0 || index >= size(root)) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size(root));
+        }
+        Node<E> node = root;
+        while (true) {
+            int left = size(node.left);
+            if (index < left) {
+                node = node.left;
+            } else if (index == left) {
+                return node.element;
+            } else {
+                index -= left + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * @param limit maximum number of elements
+     * @return the first elements in order
+     */
+    List<E> head(int limit) {
+        List<E> result = new ArrayList<>(Math.max(0, Math.min(limit, size(root))));
+        collect(root, result, limit);
+        return result;
+    }
+
+    void clear() {
+        root = null;
+    }
+
+    // region Treap
+    private static <E> int size(Node<E> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <E> E first(Node<E> node) {
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node.element;
+    }
+
+    /* Делит дерево на элементы меньше key и не меньше key. */
+    @SuppressWarnings("unchecked")
+    private Node<E>[] split(Node<E> node, E key) {
+        if (node == null) {
+            return (Node<E>[]) new Node[2];
+        }
+        Node<E>[] parts;
+        if (order.compare(node.element, key) < 0) {
+            parts = split(node.right, key);
+            node.right = parts[0];
+            parts[0] = node.update();
+        } else {
+            parts = split(node.left, key);
+            node.left = parts[1];
+            parts[1] = node.update();
+        }
+        return parts;
+    }
+
+    /* Все элементы left меньше всех элементов right. */
+    private static <E> Node<E> merge(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left.update();
+        }
+        right.left = merge(left, right.left);
+        return right.update();
+    }
+
+    private Node<E> remove(Node<E> node, E element) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = order.compare(element, node.element);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, element);
+        } else {
+            node.right = remove(node.right, element);
+        }
+        return node.update();
+    }
+
+    private static <E> void collect(Node<E> node, List<E> out, int limit) {
+        while (node != null && out.size() < limit) {
+            collect(node.left, out, limit);
+            if (out.size() >= limit) {
+                return;
+            }
+            out.add(node.element);
+            node = node.right;
+        }
+    }
+    // endregion
+
+    private static final class Node<E> {
+        private final E element;
+        private final int priority;
+        private Node<E> left;
+        private Node<E> right;
+        private int size = 1;
+
+        Node(E element, int priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+
+        Node<E> update() {
+            size = 1 + RankedTree.size(left) + RankedTree.size(right);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package uwu.openjfx.leaderboard;
+
+import uwu.openjfx.utils.GameLogger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only history of every finished run. The leaderboard keeps one line per player,
+ * the history keeps each run: gold, level, play time, difficulty, weapon and map seed.
+ * <p>
+ * Runs are fixed 40 byte records with their own CRC32C in {@value #RUNS_FILE}; player,
+ * difficulty and weapon names are ids into an append-only dictionary in
+ * {@value #NAMES_FILE}. Opening the history streams over it once to rebuild the running
+ * totals, skips records that fail their check and cuts off a torn tail; afterwards totals
+ * and per-difficulty averages are kept up to date on every append. A file with an unknown
+ * header, or one that could not be read, is never written to. Queries that need single runs (best of a player,
+ * percentiles) stream over read-only memory-mapped segments of the file, so the history is
+ * never loaded as objects.
+ */
+public final class RunHistory {
+
+    static final String RUNS_FILE = "runs.dat";
+    static final String NAMES_FILE = "runs.names";
+    static final int RECORD = 40;
+
+    private static final String HISTORY_DIRECTORY =
+        System.getProperty("user.home") + "/.royal-demons";
+    private static final int RUNS_MAGIC = 0x52445248; // "RDRH"
+    private static final int NAMES_MAGIC = 0x5244524E; // "RDRN"
+    private static final int VERSION = 1;
+    private static final int HEADER = Integer.BYTES * 2;
+    // 64k записей на сегмент: 2.5 МБ отображения за раз
+    private static final int SEGMENT_RECORDS = 1 << 16;
+
+    // смещения полей записи
+    private static final int FINISHED_AT = 0;
+    private static final int SEED = 8;
+    private static final int PLAY_TIME = 16;
+    private static final int GOLD = 20;
+    private static final int LEVEL = 24;
+    private static final int PLAYER = 28;
+    private static final int DIFFICULTY = 32;
+    private static final int WEAPON = 34;
+    private static final int CHECKSUM = 36;
+
+    private static RunHistory instance;
+
+    private final Path runsFile;
+    private final Path namesFile;
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private long namesLength;
+    private long runs; // целые записи
+    private long slots; // записи в файле вместе с пропущенными битыми
+    private long skipped;
+    private boolean writable;
+
+    // Нарастающие итоги: обновляются при каждой записи, запросы по ним не читают файл
+    private long totalGold;
+    private int bestGold;
+    private final Map<Integer, Totals> byDifficulty = new HashMap<>();
+
+    private RunHistory() {
+        this(Paths.get(HISTORY_DIRECTORY));
+    }
+
+    /**
+     * История в своей директории (для тестов и бенчмарков)
+     */
+    RunHistory(Path directory) {
+        this.runsFile = directory.resolve(RUNS_FILE);
+        this.namesFile = directory.resolve(NAMES_FILE);
+        try {
+            Files.createDirectories(directory);
+            loadNames();
+            loadRuns();
+            writable = true;
+        } catch (IOException e) {
+            GameLogger.error("Ошибка открытия истории забегов: " + e.getMessage());
+        }
+    }
+
+    public static synchronized RunHistory getInstance() {
+        if (instance == null) {
+            instance = new RunHistory();
+        }
+        return instance;
+    }
+
+    /**
+     * Appends a finished run and updates the running totals.
+     *
+     * @param run the run
+     * @return false if it could not be written
+     */
+    public synchronized boolean record(RunRecord run) {
+        if (!writable) {
+            // файл чужого формата или не прочитан: дописывание затёрло бы его записи
+            GameLogger.warn("История забегов не открыта, забег не записан");
+            return false;
+        }
+        try {
+            int player = idOf(run.getPlayerName());
+            int difficulty = idOf(run.getDifficulty());
+            int weapon = idOf(run.getWeapon());
+            if (difficulty > Short.MAX_VALUE || weapon > Short.MAX_VALUE) {
+                throw new IOException("Too many distinct names");
+            }
+
+            ByteBuffer record = ByteBuffer.allocate(RECORD);
+            record.putLong(FINISHED_AT, run.getFinishedAt())
+                .putLong(SEED, run.getSeed())
+                .putInt(PLAY_TIME, (int) Math.min(Integer.MAX_VALUE, run.getPlayTimeSeconds()))
+                .putInt(GOLD, run.getGold())
+                .putInt(LEVEL, run.getPlayerLevel())
+                .putInt(PLAYER, player)
+                .putShort(DIFFICULTY, (short) difficulty)
+                .putShort(WEAPON, (short) weapon);
+            record.putInt(CHECKSUM, checksum(record, 0));
+
+            try (FileChannel channel = FileChannel.open(runsFile, StandardOpenOption.WRITE)) {
+                // пишем по позиции: отрезанный при открытии хвост перезаписывается
+                long position = HEADER + slots * RECORD;
+                while (record.hasRemaining()) {
+                    position += channel.write(record, position);
+                }
+                channel.force(false);
+            }
+            slots++;
+            add(run.getGold(), difficulty);
+            return true;
+        } catch (IOException e) {
+            GameLogger.error("Ошибка записи истории забегов: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // region Queries
+    public synchronized long getRunCount() {
+        return runs;
+    }
+
+    public synchronized long getTotalGold() {
+        return totalGold;
+    }
+
+    public synchronized int getBestGold() {
+        return bestGold;
+    }
+
+    /**
+     * Average gold per run for every difficulty that has runs, from the running totals.
+     *
+     * @return difficulty key -> average gold
+     */
+    public synchronized Map<String, Double> getAverageGoldByDifficulty() {
+        Map<String, Double> averages = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Totals> item : byDifficulty.entrySet()) {
+            Totals totals = item.getValue();
+            averages.put(names.get(item.getKey()), (double) totals.gold / totals.runs);
+        }
+        return averages;
+    }
+
+    /**
+     * Best run of a player, by gold; the earliest of equal runs.
+     *
+     * @param playerName player
+     * @return the run, empty if the player has none
+     */
+    public synchronized Optional<RunRecord> getBestRun(String playerName) {
+        Integer player = ids.get(nonNull(playerName));
+        if (player == null) {
+            return Optional.empty();
+        }
+        ByteBuffer[] best = new ByteBuffer[1];
+        int[] bestAt = {-1};
+        scan((segment, offset) -> {
+            if (segment.getInt(offset + PLAYER) == player
+                    && (best[0] == null
+                        || segment.getInt(offset + GOLD) > best[0].getInt(bestAt[0] + GOLD))) {
+                best[0] = segment;
+                bestAt[0] = offset;
+            }
+        });
+        return best[0] == null ? Optional.empty() : Optional.of(decode(best[0], bestAt[0]));
+    }
+
+    /**
+     * Gold at a percentile of all runs or of one difficulty, nearest rank.
+     *
+     * @param difficulty difficulty key, null for all runs
+     * @param percentile from 0 to 1
+     * @return the gold, empty if there are no such runs
+     */
+    public synchronized OptionalInt getGoldPercentile(String difficulty, double percentile) {
+        if (percentile < 0 || percentile > 1) {
+            throw new IllegalArgumentException("Percentile out of range: " + percentile);
+        }
+        int wanted;
+        if (difficulty == null) {
+            wanted = -1;
+        } else {
+            Integer id = ids.get(difficulty);
+            if (id == null) {
+                return OptionalInt.empty();
+            }
+            wanted = id;
+        }
+        // только столбец монет: 4 байта на забег вместо объекта
+        int[][] gold = {new int[1024]};
+        int[] size = {0};
+        scan((segment, offset) -> {
+            if (wanted < 0 || segment.getShort(offset + DIFFICULTY) == wanted) {
+                if (size[0] == gold[0].length) {
+                    gold[0] = Arrays.copyOf(gold[0], size[0] * 2);
+                }
+                gold[0][size[0]++] = segment.getInt(offset + GOLD);
+            }
+        });
+        if (size[0] == 0) {
+            return OptionalInt.empty();
+        }
+        int[] sorted = Arrays.copyOf(gold[0], size[0]);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return OptionalInt.of(sorted[Math.max(0, rank - 1)]);
+    }
+
+    public synchronized String getStats() {
+        return String.format("runs=%d skipped=%d names=%d totalGold=%d bestGold=%d", runs,
+            skipped, names.size(), totalGold, bestGold);
+    }
+    // endregion
+
+    // region Storage
+    /* Каждую целую запись по очереди, сегментами отображённого в память файла. */
+    private void scan(Visitor visitor) {
+        if (runs == 0) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(runsFile, StandardOpenOption.READ)) {
+            for (long first = 0; first < slots; first += SEGMENT_RECORDS) {
+                int count = (int) Math.min(SEGMENT_RECORDS, slots - first);
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY,
+                    HEADER + first * RECORD, (long) count * RECORD);
+                for (int i = 0; i < count; i++) {
+                    // битые записи проверяем, только если они были при открытии
+                    if (skipped == 0 || isValid(segment, i * RECORD)) {
+                        visitor.visit(segment, i * RECORD);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            GameLogger.error("Ошибка чтения истории забегов: " + e.getMessage());
+        }
+    }
+
+    private void loadRuns() throws IOException {
+        if (!Files.exists(runsFile) || Files.size(runsFile) < HEADER) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER).putInt(RUNS_MAGIC).putInt(VERSION);
+            header.flip();
+            Files.write(runsFile, header.array());
+            return;
+        }
+        long size = Files.size(runsFile);
+        try (FileChannel channel = FileChannel.open(runsFile, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER);
+            channel.read(header, 0);
+            if (header.getInt(0) != RUNS_MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Unknown run history format");
+            }
+            // итоги собираем одним проходом; битые записи пропускаем, битый хвост срезаем
+            long stored = (size - HEADER) / RECORD;
+            long invalid = 0;
+            for (long first = 0; first < stored; first += SEGMENT_RECORDS) {
+                int count = (int) Math.min(SEGMENT_RECORDS, stored - first);
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY,
+                    HEADER + first * RECORD, (long) count * RECORD);
+                for (int i = 0; i < count; i++) {
+                    int offset = i * RECORD;
+                    if (!isValid(segment, offset)) {
+                        invalid++;
+                        continue;
+                    }
+                    skipped = invalid;
+                    slots = first + i + 1;
+                    add(segment.getInt(offset + GOLD), segment.getShort(offset + DIFFICULTY));
+                }
+            }
+            if (skipped > 0) {
+                GameLogger.warn("В истории забегов пропущено битых записей: " + skipped);
+            }
+            if (size != HEADER + slots * RECORD) {
+                GameLogger.warn("История забегов обрезана до " + slots + " записей");
+                channel.truncate(HEADER + slots * RECORD);
+            }
+        }
+    }
+
+    private boolean isValid(ByteBuffer segment, int offset) {
+        return segment.getInt(offset + CHECKSUM) == checksum(segment, offset)
+            && isName(segment.getInt(offset + PLAYER))
+            && isName(segment.getShort(offset + DIFFICULTY))
+            && isName(segment.getShort(offset + WEAPON));
+    }
+
+    private boolean isName(int id) {
+        return id >= 0 && id < names.size();
+    }
+
+    private void loadNames() throws IOException {
+        if (!Files.exists(namesFile)) {
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(namesFile))) {
+                out.writeInt(NAMES_MAGIC);
+            }
+            namesLength = Integer.BYTES;
+            return;
+        }
+        byte[] bytes = Files.readAllBytes(namesFile);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (bytes.length < Integer.BYTES || in.readInt() != NAMES_MAGIC) {
+            throw new IOException("Unknown run names format");
+        }
+        namesLength = Integer.BYTES;
+        while (in.available() > 0) {
+            try {
+                String name = in.readUTF();
+                ids.put(name, names.size());
+                names.add(name);
+                namesLength = bytes.length - in.available();
+            } catch (IOException e) {
+                // недописанное имя: записи на него не ссылаются, срезаем
+                break;
+            }
+        }
+        if (namesLength != bytes.length) {
+            try (FileChannel channel = FileChannel.open(namesFile, StandardOpenOption.WRITE)) {
+                channel.truncate(namesLength);
+            }
+        }
+    }
+
+    /* Новое имя дописывается и сбрасывается на диск раньше записи, которая на него ссылается. */
+    private int idOf(String name) throws IOException {
+        String key = nonNull(name);
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new DataOutputStream(bytes).writeUTF(key);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        try (FileChannel channel = FileChannel.open(namesFile, StandardOpenOption.WRITE)) {
+            long position = namesLength;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            channel.force(false);
+            namesLength = position;
+        }
+        ids.put(key, names.size());
+        names.add(key);
+        return names.size() - 1;
+    }
+
+    private RunRecord decode(ByteBuffer segment, int offset) {
+        return new RunRecord(names.get(segment.getInt(offset + PLAYER)),
+            segment.getInt(offset + GOLD), segment.getInt(offset + LEVEL),
+            segment.getInt(offset + PLAY_TIME), names.get(segment.getShort(offset + DIFFICULTY)),
+            names.get(segment.getShort(offset + WEAPON)), segment.getLong(offset + SEED),
+            segment.getLong(offset + FINISHED_AT));
+    }
+    // endregion
+
+    private void add(int gold, int difficulty) {
+        runs++;
+        totalGold += gold;
+        bestGold = Math.max(bestGold, gold);
+        Totals totals = byDifficulty.computeIfAbsent(difficulty, id -> new Totals());
+        totals.runs++;
+        totals.gold += gold;
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, CHECKSUM));
+        return (int) crc.getValue();
+    }
+
+    private static String nonNull(String name) {
+        return name != null ? name : "";
+    }
+
+    @FunctionalInterface
+    private interface Visitor {
+        void visit(ByteBuffer segment, int offset);
+    }
+
+    private static final class Totals {
+        private long runs;
+        private long gold;
+    }
+}
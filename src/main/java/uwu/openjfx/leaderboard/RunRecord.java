@@ -0,0 +1,77 @@
+package uwu.openjfx.leaderboard;
+
+/**
+ * One finished run as the run history stores it.
+ */
+public final class RunRecord {
+
+    private final String playerName;
+    private final int gold;
+    private final int playerLevel;
+    private final long playTimeSeconds;
+    private final String difficulty;
+    private final String weapon;
+    private final long seed;
+    private final long finishedAt;
+
+    /**
+     * @param playerName      player
+     * @param gold            gold at the end of the run
+     * @param playerLevel     level at the end of the run
+     * @param playTimeSeconds length of the run
+     * @param difficulty      difficulty key
+     * @param weapon          weapon the run ended with
+     * @param seed            map seed, 0 if unknown
+     * @param finishedAt      end of the run, epoch seconds
+     */
+    public RunRecord(String playerName, int gold, int playerLevel, long playTimeSeconds,
+                     String difficulty, String weapon, long seed, long finishedAt) {
+        this.playerName = playerName;
+        this.gold = gold;
+        this.playerLevel = playerLevel;
+        this.playTimeSeconds = playTimeSeconds;
+        this.difficulty = difficulty;
+        this.weapon = weapon;
+        this.seed = seed;
+        this.finishedAt = finishedAt;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public int getGold() {
+        return gold;
+    }
+
+    public int getPlayerLevel() {
+        return playerLevel;
+    }
+
+    public long getPlayTimeSeconds() {
+        return playTimeSeconds;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public String getWeapon() {
+        return weapon;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RunRecord{name='%s', gold=%d, level=%d, time=%ds, difficulty=%s, "
+            + "weapon=%s, seed=%d}", playerName, gold, playerLevel, playTimeSeconds, difficulty,
+            weapon, seed);
+    }
+}
@@ -0,0 +1,40 @@
+package uwu.openjfx.map;
+
+/**
+ * The four doors of a room, with the step to the neighbouring room's coordinate.
+ * North is +y, as in GameMap.
+ */
+public enum Direction {
+    NORTH(0, 1, "north"),
+    EAST(1, 0, "east"),
+    SOUTH(0, -1, "south"),
+    WEST(-1, 0, "west");
+
+    // values() каждый раз копирует массив; здесь обход соседей без выделений
+    static final Direction[] ALL = values();
+
+    private final int dx;
+    private final int dy;
+    private final String name;
+
+    Direction(int dx, int dy, String name) {
+        this.dx = dx;
+        this.dy = dy;
+        this.name = name;
+    }
+
+    public int getDx() {
+        return dx;
+    }
+
+    public int getDy() {
+        return dy;
+    }
+
+    /**
+     * @return lower-case name, as used by door objects and localization keys
+     */
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,219 @@
+package uwu.openjfx.map;
+
+import java.util.Arrays;
+
+/**
+ * Flow field over the tiles of one room.
+ * A single Dijkstra pass from the target tile (the player) gives every walkable
+ * tile its path cost to the target; an enemy then only has to step to the
+ * neighbour with the lowest cost. All enemies in the room share that one pass,
+ * and it is redone only when the target moves to another tile.
+ * Moves are 8-directional, a diagonal step is only allowed when both
+ * orthogonal tiles next to it are walkable, so enemies do not cut wall corners.
+ */
+public final class FlowField {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private static final int STRAIGHT_COST = 10;
+    private static final int DIAGONAL_COST = 14;
+    // neighbour order: E, W, S, N, SE, SW, NE, NW
+    private static final int[] DX = {1, -1, 0, 0, 1, -1, 1, -1};
+    private static final int[] DY = {0, 0, 1, -1, 1, 1, -1, -1};
+
+    private final int columns;
+    private final int rows;
+    private final boolean[] blocked;
+    private final int[] cost;
+    private final long[] heap;
+    private int heapSize;
+    private int targetColumn = -1;
+    private int targetRow = -1;
+    private long recomputes;
+
+    /**
+     * @param columns number of tile columns
+     * @param rows    number of tile rows
+     * @param blocked row-major walls, true for tiles nothing can walk through
+     */
+    public FlowField(int columns, int rows, boolean[] blocked) {
+        if (columns <= 0 || rows <= 0 || blocked.length != columns * rows) {
+            throw new IllegalArgumentException("Grid size does not match the walkability map");
+        }
+        this.columns = columns;
+        this.rows = rows;
+        this.blocked = blocked.clone();
+        this.cost = new int[columns * rows];
+        // every relaxation pushes at most one entry, 8 per settled tile
+        this.heap = new long[columns * rows * 8 + 1];
+        Arrays.fill(cost, UNREACHABLE);
+    }
+
+    /**
+     * Moves the target, recomputing the field only if it changed tile.
+     *
+     * @param column target column
+     * @param row    target row
+     * @return true if the field was recomputed
+     */
+    public boolean setTarget(int column, int row) {
+        if (column == targetColumn && row == targetRow) {
+            return false;
+        }
+        targetColumn = column;
+        targetRow = row;
+        recompute();
+        return true;
+    }
+
+    /**
+     * @param column tile column
+     * @param row    tile row
+     * @return path cost to the target (10 per straight step), or UNREACHABLE
+     */
+    public int costAt(int column, int row) {
+        if (!inside(column, row)) {
+            return UNREACHABLE;
+        }
+        return cost[row * columns + column];
+    }
+
+    /**
+     * Direction of the cheapest step towards the target.
+     *
+     * @param column tile column
+     * @param row    tile row
+     * @return index into the neighbour table, or -1 on the target tile and on
+     *     tiles the target cannot be reached from
+     */
+    public int directionAt(int column, int row) {
+        int here = costAt(column, row);
+        if (here == UNREACHABLE || here == 0) {
+            return -1;
+        }
+        int best = -1;
+        int bestCost = here;
+        for (int d = 0; d < DX.length; d++) {
+            int nx = column + DX[d];
+            int ny = row + DY[d];
+            if (!canStep(column, row, d)) {
+                continue;
+            }
+            int c = cost[ny * columns + nx];
+            if (c < bestCost) {
+                bestCost = c;
+                best = d;
+            }
+        }
+        return best;
+    }
+
+    public static int stepX(int direction) {
+        return DX[direction];
+    }
+
+    public static int stepY(int direction) {
+        return DY[direction];
+    }
+
+    public boolean isBlocked(int column, int row) {
+        return !inside(column, row) || blocked[row * columns + column];
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public long getRecomputes() {
+        return recomputes;
+    }
+
+    private void recompute() {
+        recomputes++;
+        Arrays.fill(cost, UNREACHABLE);
+        heapSize = 0;
+        if (isBlocked(targetColumn, targetRow)) {
+            return; // e.g. the player is pushed into a wall tile for a frame
+        }
+
+        int start = targetRow * columns + targetColumn;
+        cost[start] = 0;
+        push(0, start);
+        while (heapSize > 0) {
+            long top = pop();
+            int c = (int) (top >>> 32);
+            int index = (int) top;
+            if (c > cost[index]) {
+                continue; // stale entry, a cheaper path was found already
+            }
+            int x = index % columns;
+            int y = index / columns;
+            for (int d = 0; d < DX.length; d++) {
+                if (!canStep(x, y, d)) {
+                    continue;
+                }
+                int next = (y + DY[d]) * columns + x + DX[d];
+                int nextCost = c + (d < 4 ? STRAIGHT_COST : DIAGONAL_COST);
+                if (nextCost < cost[next]) {
+                    cost[next] = nextCost;
+                    push(nextCost, next);
+                }
+            }
+        }
+    }
+
+    private boolean canStep(int x, int y, int d) {
+        int nx = x + DX[d];
+        int ny = y + DY[d];
+        if (isBlocked(nx, ny)) {
+            return false;
+        }
+        // diagonal: both tiles it squeezes between must be free
+        return d < 4 || (!isBlocked(nx, y) && !isBlocked(x, ny));
+    }
+
+    private boolean inside(int column, int row) {
+        return column >= 0 && row >= 0 && column < columns && row < rows;
+    }
+
+    /*
+        Binary min-heap of (cost << 32 | tile) packed into longs, no boxing.
+     */
+    private void push(int c, int index) {
+        long entry = ((long) c << 32) | index;
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= entry) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = entry;
+    }
+
+    private long pop() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+}
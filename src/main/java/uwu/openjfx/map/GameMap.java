@@ -7,34 +7,36 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import com.almasb.fxgl.entity.level.Level;
 import com.almasb.fxgl.physics.PhysicsComponent;
 import javafx.geometry.Point2D;
-import javafx.util.Pair;
 import uwu.openjfx.MainApp;
 import uwu.openjfx.RoyalType;
 import uwu.openjfx.behaviors.CanOnlyInteractOnce;
 import uwu.openjfx.components.TrapComponent;
+import uwu.openjfx.core.GameConstants;
+import uwu.openjfx.pool.ProjectilePool;
+import uwu.openjfx.profiling.FrameProfiler;
+import uwu.openjfx.profiling.RoomLoadEvent;
+import uwu.openjfx.profiling.SpawnBatchEvent;
+import uwu.openjfx.spatial.SpatialIndex;
 import uwu.openjfx.utils.GameLogger;
 import uwu.openjfx.i18n.LocalizationManager;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Random;
 
 import static com.almasb.fxgl.dsl.FXGL.geto;
-import static com.almasb.fxgl.dsl.FXGL.setLevelFromMap;
 import static com.almasb.fxgl.dsl.FXGL.random;
 import static com.almasb.fxgl.dsl.FXGL.spawn;
 import static com.almasb.fxgl.dsl.FXGLForKtKt.set;
 
 public class GameMap {
     private Random random = MainApp.getRandom();
+    private long seed; // зерно карты, пишется в историю забегов
 
     private int numOfRooms;
     private int finalBossDist;
 
-    private Map<Coordinate, Room> rooms = new HashMap<>();
+    private final RoomIndex rooms = new RoomIndex();
     private Room initialRoom;
     private Room bossRoom;
     private int maxX = 1;
@@ -42,14 +44,12 @@ public class GameMap {
     private int maxY = 1;
     private int minY = -1;
 
-    private List<Pair<Pair<Integer, Integer>, String>> directions = new ArrayList<>();
+    // координаты комнат, которые ещё предстоит создать, упакованные RoomIndex.key
+    private long[] roomsToCreate = new long[16];
+    private int roomsToCreateCount;
+    private final long[] freeNeighbours = new long[Direction.ALL.length];
 
     public GameMap(int numOfRooms) {
-        directions.add(new Pair(new Pair(0, 1), "north"));
-        directions.add(new Pair(new Pair(1, 0), "east"));
-        directions.add(new Pair(new Pair(0, -1), "south"));
-        directions.add(new Pair(new Pair(-1, 0), "west"));
-
         this.numOfRooms = numOfRooms;
         finalBossDist = 8; // Увеличиваем до 8 чтобы обеспечить расстояние > 6
 
@@ -59,11 +59,20 @@ public class GameMap {
     }
 
     public void setRandomSeed(long seed) {
+        this.seed = seed;
         random.setSeed(seed);
     }
 
+    public long getSeed() {
+        return seed;
+    }
+
     public Room getRoom(Coordinate coordinate) {
-        return rooms.get(coordinate);
+        return rooms.get(coordinate.getX(), coordinate.getY());
+    }
+
+    public Room getRoom(int x, int y) {
+        return rooms.get(x, y);
     }
 
     public int getNumOfRooms() {
@@ -80,7 +89,7 @@ public class GameMap {
     }
 
     public Map<Coordinate, Room> getRooms() {
-        return Collections.unmodifiableMap(rooms);
+        return rooms.asMap();
     }
 
     @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "Rooms are managed centrally; consumers must access shared instances.")
@@ -94,19 +103,19 @@ public class GameMap {
 
         // generate first room
         initialRoom = new Room(new Coordinate(0, 0), 4);
-        rooms.put(initialRoom.getCoordinate(), initialRoom);
-        GameLogger.system("MAP DEBUG: Generated initial room at coordinate (0, 0)");
+        rooms.put(initialRoom);
+        GameLogger.debug("MAP DEBUG: Generated initial room at coordinate (0, 0)");
 
-        List<Coordinate> roomsToCreate = new ArrayList<>();
+        roomsToCreateCount = 0;
 
         // Добавляем начальные комнаты по списку доступных направлений
-        for (Pair<Pair<Integer, Integer>, String> dir : directions) {
-            Coordinate coord = new Coordinate(dir.getKey().getKey(), dir.getKey().getValue());
-            if (!rooms.containsKey(coord)) {
-                Room room = new Room(coord);
-                rooms.put(coord, room);
-                GameLogger.system("MAP DEBUG: Generated " + dir.getValue() + " room at coordinate (" + coord.getX() + ", " + coord.getY() + ")");
-                generateAdjacentRooms(room, roomsToCreate);
+        for (Direction dir : Direction.ALL) {
+            if (!rooms.contains(dir.getDx(), dir.getDy())) {
+                Room room = new Room(new Coordinate(dir.getDx(), dir.getDy()));
+                rooms.put(room);
+                GameLogger.debug("MAP DEBUG: Generated {} room at coordinate {}",
+                        dir.getName(), room.getCoordinate());
+                generateAdjacentRooms(room);
                 numRoomsGenerated++;
                 if (room.getDistFromInitRoom() > maxDistFromInitRoom) {
                     maxDistFromInitRoom = room.getDistFromInitRoom();
@@ -116,48 +125,55 @@ public class GameMap {
         }
 
         while (numRoomsGenerated < numOfRooms && maxDistFromInitRoom < finalBossDist) {
-            if (roomsToCreate.isEmpty()) {
-                for (Room room : rooms.values()) {
-                    for (Coordinate coordinate : room.getAdjacentCoordinates()) {
-                        if (getRoom(coordinate) == null) {
-                            roomsToCreate.add(coordinate);
+            if (roomsToCreateCount == 0) {
+                for (int i = 0; i < rooms.size() && roomsToCreateCount <= 2; i++) {
+                    Coordinate coordinate = rooms.roomAt(i).getCoordinate();
+                    for (Direction dir : Direction.ALL) {
+                        int x = coordinate.getX() + dir.getDx();
+                        int y = coordinate.getY() + dir.getDy();
+                        if (!rooms.contains(x, y)) {
+                            addRoomToCreate(RoomIndex.key(x, y));
                         }
                     }
-                    if (roomsToCreate.size() > 2) {
-                        break;
-                    }
                 }
             }
 
-            if (roomsToCreate.isEmpty()) {
+            if (roomsToCreateCount == 0) {
                 break; // No more rooms to create
             }
-            Coordinate coordinate = roomsToCreate.remove(random.nextInt(roomsToCreate.size()));
-            if (getRoom(coordinate) == null) { // if the coordinate does not have a room yet
-                Room newRoom = new Room(coordinate);
-                rooms.put(coordinate, newRoom);
-                GameLogger.system("MAP DEBUG: Generated additional room at coordinate (" + coordinate.getX() + ", " + coordinate.getY() + "), total rooms: " + numRoomsGenerated);
-
-                maxX = Math.max(maxX, coordinate.getX());
-                minX = Math.min(minX, coordinate.getX());
-                maxY = Math.max(maxY, coordinate.getY());
-                minY = Math.min(minY, coordinate.getY());
+            // порядок очереди не важен: на место взятой встаёт последняя
+            int picked = random.nextInt(roomsToCreateCount);
+            long key = roomsToCreate[picked];
+            roomsToCreate[picked] = roomsToCreate[--roomsToCreateCount];
+            int x = RoomIndex.x(key);
+            int y = RoomIndex.y(key);
+            if (!rooms.contains(x, y)) { // if the coordinate does not have a room yet
+                Room newRoom = new Room(new Coordinate(x, y));
+                rooms.put(newRoom);
+                GameLogger.debug("MAP DEBUG: Generated additional room at coordinate {}, "
+                        + "total rooms: {}", newRoom.getCoordinate(), numRoomsGenerated);
+
+                maxX = Math.max(maxX, x);
+                minX = Math.min(minX, x);
+                maxY = Math.max(maxY, y);
+                minY = Math.min(minY, y);
 
                 ++numRoomsGenerated;
                 if (newRoom.getDistFromInitRoom() > maxDistFromInitRoom) {
                     maxDistFromInitRoom = newRoom.getDistFromInitRoom();
                     bossRoom = newRoom;
                 }
-                generateAdjacentRooms(newRoom, roomsToCreate);
+                generateAdjacentRooms(newRoom);
             }
         }
 
         // connect the rooms
-        GameLogger.system("MAP DEBUG: Starting room connection phase for " + rooms.size() + " rooms");
-        for (Room room : rooms.values()) {
-            connectRoomWithAdjacentRooms(room);
+        GameLogger.debug("MAP DEBUG: Starting room connection phase for {} rooms", rooms.size());
+        for (int i = 0; i < rooms.size(); i++) {
+            connectRoomWithAdjacentRooms(rooms.roomAt(i));
         }
-        GameLogger.system("MAP DEBUG: Room connection phase completed. Final boss room at: " + (bossRoom != null ? bossRoom.getCoordinate().toString() : "null"));
+        GameLogger.debug("MAP DEBUG: Room connection phase completed. Final boss room at: {}",
+                bossRoom != null ? bossRoom.getCoordinate() : null);
 
 
         initialRoom.setRoomType("initialRoom");
@@ -166,7 +182,8 @@ public class GameMap {
         } else {
             // Если bossRoom не установлен, выбираем комнату с максимальным расстоянием
             Room farthestRoom = initialRoom;
-            for (Room room : rooms.values()) {
+            for (int i = 0; i < rooms.size(); i++) {
+                Room room = rooms.roomAt(i);
                 if (room.getDistFromInitRoom() > farthestRoom.getDistFromInitRoom()) {
                     farthestRoom = room;
                 }
@@ -175,21 +192,16 @@ public class GameMap {
             bossRoom.setRoomType("bossRoom");
         }
 
-        if (!MainApp.isIsTesting()) {
-            random.setSeed(System.nanoTime());
-        }
-
         int challengeRooms = 2 + random.nextInt(2);
-        Object[] roomList = rooms.values().toArray();
         for (int i = 0; i < challengeRooms; ++i) {
             // randomly pick a room
             Room room = null;
             int attempts = 0;
             while (true) {
-                if (roomList.length == 0) {
+                if (rooms.size() == 0) {
                     break; // No rooms available
                 }
-                room = (Room) roomList[random.nextInt(roomList.length)];
+                room = rooms.roomAt(random.nextInt(rooms.size()));
                 // make sure it's not initial room or boss room or challenge room
                 if (!(room.getRoomType().equals("initialRoom")
                         || room.getRoomType().equals("bossRoom")
@@ -209,98 +221,84 @@ public class GameMap {
 
     }
 
-    private void generate4RoomsAroundInitialRoom(List<Coordinate> roomsToCreate) {
-        for (Pair<Pair<Integer, Integer>, String> dir : directions) {
-            Room room = new Room(new Coordinate(dir.getKey().getKey(), dir.getKey().getValue()));
-            rooms.put(room.getCoordinate(), room);
-            generateAdjacentRooms(room, roomsToCreate);
+    private void addRoomToCreate(long key) {
+        if (roomsToCreateCount == roomsToCreate.length) {
+            roomsToCreate = Arrays.copyOf(roomsToCreate, roomsToCreateCount * 2);
         }
+        roomsToCreate[roomsToCreateCount++] = key;
     }
 
-    private void generateAdjacentRooms(Room room, List<Coordinate> roomsToCreate) {
+    private void generateAdjacentRooms(Room room) {
         // check how many adjacent rooms already exist
-        List<Coordinate> adjacentCoordinates = room.getAdjacentCoordinates();
-        List<Coordinate> availableAdjacentCoordinates = new ArrayList<>();
-        for (Coordinate coordinate : adjacentCoordinates) {
-            if (getRoom(coordinate) == null) {
-                availableAdjacentCoordinates.add(coordinate);
+        Coordinate coordinate = room.getCoordinate();
+        int available = 0;
+        for (Direction dir : Direction.ALL) {
+            int x = coordinate.getX() + dir.getDx();
+            int y = coordinate.getY() + dir.getDy();
+            if (!rooms.contains(x, y)) {
+                freeNeighbours[available++] = RoomIndex.key(x, y);
             }
         }
 
-        if (availableAdjacentCoordinates.size() == 0) {
+        if (available == 0) {
             room.setNumAdjRooms(4);
         } else {
-            int numNewRoomsToCreate = random.nextInt(availableAdjacentCoordinates.size() + 1);
-            room.setNumAdjRooms(4 - availableAdjacentCoordinates.size() + numNewRoomsToCreate);
+            int numNewRoomsToCreate = random.nextInt(available + 1);
+            room.setNumAdjRooms(4 - available + numNewRoomsToCreate);
 
             // add new coordinates to roomsToCreate
-            for (int i = 0; i < numNewRoomsToCreate && !availableAdjacentCoordinates.isEmpty(); ++i) {
-                int randomIndex = random.nextInt(availableAdjacentCoordinates.size());
-                Coordinate newCoordinate = availableAdjacentCoordinates.get(randomIndex);
-                roomsToCreate.add(newCoordinate);
-                availableAdjacentCoordinates.remove(randomIndex);
+            for (int i = 0; i < numNewRoomsToCreate && available > 0; ++i) {
+                int randomIndex = random.nextInt(available);
+                addRoomToCreate(freeNeighbours[randomIndex]);
+                freeNeighbours[randomIndex] = freeNeighbours[--available];
             }
         }
     }
 
     public void connectRoomWithAdjacentRooms(Room room) {
-        Coordinate coordinate;
-        Room adjacentRoom;
+        Coordinate coordinate = room.getCoordinate();
         int connectionsMade = 0;
 
-        for (Pair<Pair<Integer, Integer>, String> dir : directions) {
-            coordinate = room.getCoordinate();
-            // Create a new Coordinate object for each direction to avoid reuse issues
-            Coordinate adjacentCoordinate = new Coordinate(
-                coordinate.getX() + dir.getKey().getKey(),
-                coordinate.getY() + dir.getKey().getValue()
-            );
-            adjacentRoom = rooms.get(adjacentCoordinate);
+        for (Direction dir : Direction.ALL) {
+            Room adjacentRoom = rooms.get(coordinate.getX() + dir.getDx(),
+                coordinate.getY() + dir.getDy());
             if (adjacentRoom != null) {
                 connectionsMade++;
-                GameLogger.system("MAP DEBUG: Connecting room at (" + coordinate.getX() + "," + coordinate.getY() + ") " + dir.getValue() +
-                                " to room at (" + adjacentCoordinate.getX() + "," + adjacentCoordinate.getY() + ")");
-                switch (dir.getValue()) {
-                case "north":
-                    room.setNorthRoom(adjacentRoom);
-                    adjacentRoom.setSouthRoom(room);
-                    break;
-                case "east":
-                    room.setEastRoom(adjacentRoom);
-                    adjacentRoom.setWestRoom(room);
-                    break;
-                case "south":
-                    room.setSouthRoom(adjacentRoom);
-                    adjacentRoom.setNorthRoom(room);
-                    break;
-                case "west":
-                    room.setWestRoom(adjacentRoom);
-                    adjacentRoom.setEastRoom(room);
-                    break;
-                default:
+                if (GameLogger.isDebugEnabled()) {
+                    // три аргумента - это уже массив varargs, собираем его только под уровнем
+                    GameLogger.debug("MAP DEBUG: Connecting room at {} {} to room at {}",
+                            coordinate, dir.getName(), adjacentRoom.getCoordinate());
                 }
+                room.connect(dir, adjacentRoom);
             }
         }
 
         if (connectionsMade > 0) {
-            GameLogger.system("MAP DEBUG: Room at (" + room.getCoordinate().getX() + "," + room.getCoordinate().getY() +
-                            ") has " + connectionsMade + " connections");
+            GameLogger.debug("MAP DEBUG: Room at {} has {} connections", room.getCoordinate(),
+                    connectionsMade);
         }
     }
 
     public void loadRoom(Room newRoom, String playerSpawnPosition) {
-        String roomType = newRoom.getRoomType();
-        // Use small_room_1 as fallback for defaultRoom
-        if ("defaultRoom".equals(roomType)) {
-            roomType = "small_room_1";
-        }
-        Level curLevel = setLevelFromMap("tmx/" + roomType + ".tmx");
+        long started = FrameProfiler.get().start();
+        RoomLoadEvent event = new RoomLoadEvent();
+        event.begin();
+        boolean firstVisit = !newRoom.visited();
+        int elites = 0;
+        String roomType = levelOf(newRoom.getRoomType());
+        // setLevel removes every projectile, parked ones included
+        ProjectilePool.get().clear();
+        SpatialIndex.get().clear();
+        Level curLevel = RoomTemplateCache.get().loadLevel(roomType);
+        RoomFlowField.get().bake(curLevel.getWidth(), curLevel.getHeight(),
+            curLevel.getEntities());
         for (Entity entity : curLevel.getEntities()) {
 
             if (entity.isType(RoyalType.ENEMY)) {
-                if (random(0, 100) < 10) { // 10% chance to spawn an elite minion
+                if (random(0, 100) < GameConstants.Enemy.ELITE_CHANCE) { // elite minion
                     spawn("eliteMinion", entity.getPosition());
                     entity.removeFromWorld();
+                    elites++;
                 } else {
                     IDComponent idComponent = entity.getComponent(IDComponent.class);
                     if (!newRoom.visited()) {
@@ -376,7 +374,40 @@ public class GameMap {
 
         set("curRoom", newRoom);
         set("curLevel", curLevel);
-        GameLogger.debug("New room: " + newRoom.getCoordinate());
+        GameLogger.debug("New room: {}", newRoom.getCoordinate());
+        // соседние комнаты разбираются в фоне, пока игрок в этой
+        RoomTemplateCache.get().prefetch(newRoom.getAdjacentRooms());
+        // элиты создаются вперемешку с разбором уровня, отдельной длительности у них нет;
+        // в комнате без элит событие не создаётся вовсе
+        if (elites > 0) {
+            new SpawnBatchEvent().record("room load", "eliteMinion", elites);
+        }
+        event.record(roomType, newRoom.getCoordinate(), curLevel.getEntities().size(), firstVisit);
+        FrameProfiler.get().stop(FrameProfiler.Section.ROOM_LOAD, started);
+    }
+
+    /**
+     * @param roomType type of a room
+     * @return name of the .tmx level the room is built from
+     */
+    public static String levelOf(String roomType) {
+        // Use small_room_1 as fallback for defaultRoom
+        return "defaultRoom".equals(roomType) ? "small_room_1" : roomType;
+    }
+
+    /**
+     * @param roomType type of room to count
+     * @return number of visited rooms of that type
+     */
+    public int countVisited(String roomType) {
+        int visited = 0;
+        for (int i = 0; i < rooms.size(); i++) {
+            Room room = rooms.roomAt(i);
+            if (room.getRoomType().equals(roomType) && room.visited()) {
+                ++visited;
+            }
+        }
+        return visited;
     }
 
     public int getWidth() {
@@ -6,9 +6,7 @@ import uwu.openjfx.MainApp;
 import uwu.openjfx.utils.GameLogger;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
 
 public class Room {
@@ -27,15 +25,12 @@ public class Room {
     private Boolean visited = false;
     // set different room type based on numb of adjacent rooms
     private String roomType = "to_be_determined";
-    private Map<Integer, Map<String, Integer>> entitiesData;
-    private Map<Integer, Map<String, Integer>> droppedItemsData;
-    private Map<Integer, Map<String, Integer>> chestsData;
+    private final RoomStateTable entitiesData = new RoomStateTable();
+    private final RoomStateTable droppedItemsData = new RoomStateTable();
+    private final RoomStateTable chestsData = new RoomStateTable();
 
 
     public Room(Coordinate coordinate) {
-        entitiesData = new HashMap<>();
-        droppedItemsData = new HashMap<>();
-        chestsData = new HashMap<>();
         this.coordinate = new Coordinate(coordinate.getX(), coordinate.getY());
         if (!MainApp.isIsTesting()) {
             List<String> roomTypeList = FXGL.geto("roomTypeList");
@@ -73,49 +68,40 @@ public class Room {
     }
 
     public int getEntityData(int id, String propertyName) {
-        Map<String, Integer> entityData = entitiesData.get(id);
-        if (entityData == null) {
-            return 0;  // Default value if no data exists
-        }
-        Integer value = entityData.get(propertyName);
-        return value != null ? value : 0;
+        return entitiesData.get(id, propertyName);
     }
 
     public void setEntityData(int id, String propertyName, int val) {
-        if (entitiesData.get(id) == null) {
-            entitiesData.put(id, new HashMap<>());
-        }
-        entitiesData.get(id).put(propertyName, val);
+        entitiesData.set(id, propertyName, val);
     }
 
     public int getDroppedItemData(int id, String propertyName) {
-        return droppedItemsData.get(id).get(propertyName);
+        return droppedItemsData.get(id, propertyName);
     }
 
     public void setDroppedItemData(int id, String propertyName, int val) {
-        if (droppedItemsData.get(id) == null) {
-            droppedItemsData.put(id, new HashMap<>());
-        }
-        droppedItemsData.get(id).put(propertyName, val);
+        droppedItemsData.set(id, propertyName, val);
     }
 
     public int getChestsData(int id, String propertyName) {
-        return chestsData.get(id).get(propertyName);
+        return chestsData.get(id, propertyName);
     }
 
     public void setChestData(int id, String propertyName, int val) {
-        if (chestsData.get(id) == null) {
-            chestsData.put(id, new HashMap<>());
-        }
-        chestsData.get(id).put(propertyName, val);
+        chestsData.set(id, propertyName, val);
+    }
+
+    /**
+     * @return enemies of the room still alive, counted as their isAlive flags change
+     */
+    public int getEnemiesRemaining() {
+        return entitiesData.countNonZero("isAlive");
     }
 
     public Boolean enemiesCleared() {
         // May not work if we have ally creatures
-        for (Map<String, Integer> data : entitiesData.values()) {
-            if (data.get("isAlive") != null && data.get("isAlive") == 1) {
-                return false;
-            }
+        if (getEnemiesRemaining() > 0) {
+            return false;
         }
         GameLogger.gameplay("Enemies cleared!");
         return true;
@@ -187,6 +173,33 @@ public class Room {
         this.numAdjRooms = numAdjRooms;
     }
 
+    /**
+     * Links this room and the other one through the door in the given direction, both ways.
+     *
+     * @param direction door of this room
+     * @param neighbour room behind it
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Room graph shares neighbor instances.")
+    public void connect(Direction direction, Room neighbour) {
+        switch (direction) {
+        case NORTH:
+            northRoom = neighbour;
+            neighbour.southRoom = this;
+            break;
+        case EAST:
+            eastRoom = neighbour;
+            neighbour.westRoom = this;
+            break;
+        case SOUTH:
+            southRoom = neighbour;
+            neighbour.northRoom = this;
+            break;
+        default:
+            westRoom = neighbour;
+            neighbour.eastRoom = this;
+        }
+    }
+
     public List<Room> getAdjacentRooms() {
         ArrayList<Room> adjacentRooms = new ArrayList<>();
         adjacentRooms.add(getNorthRoom());
@@ -0,0 +1,125 @@
+package uwu.openjfx.map;
+
+import com.almasb.fxgl.entity.Entity;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import uwu.openjfx.RoyalType;
+import uwu.openjfx.core.GameConstants;
+import uwu.openjfx.spatial.SpatialIndex;
+
+import java.util.List;
+
+/**
+ * Flow field of the current room, shared by every enemy in it.
+ * The walkability grid is baked once per room from the walls and doors that
+ * StructureFactory spawned out of the .tmx level, and the field is pointed at
+ * the player's tile every frame (which only costs something when the tile changed).
+ */
+public final class RoomFlowField {
+
+    private static final RoomFlowField INSTANCE = new RoomFlowField();
+    // a wall that only touches a tile border does not block that tile
+    private static final double EDGE_EPSILON = 0.5;
+
+    private FlowField field;
+
+    private RoomFlowField() {
+    }
+
+    @SuppressFBWarnings(value = "MS_EXPOSE_REP", justification = "RoomFlowField is a process-wide singleton")
+    public static RoomFlowField get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Builds the walkability grid of a freshly loaded room.
+     *
+     * @param width    level width in pixels
+     * @param height   level height in pixels
+     * @param entities entities of the level
+     */
+    public void bake(int width, int height, List<Entity> entities) {
+        int tile = GameConstants.Map.TILE_SIZE;
+        int columns = Math.max(1, (width + tile - 1) / tile);
+        int rows = Math.max(1, (height + tile - 1) / tile);
+        boolean[] blocked = new boolean[columns * rows];
+
+        for (Entity entity : entities) {
+            if (!entity.isType(RoyalType.WALL) && !entity.isType(RoyalType.PPWall)
+                && !entity.isType(RoyalType.DOOR)) {
+                continue;
+            }
+            block(blocked, columns, entity.getX(), entity.getY(),
+                entity.getWidth(), entity.getHeight());
+        }
+        field = new FlowField(columns, rows, blocked);
+    }
+
+    /*
+        Marks every tile the rectangle overlaps, used for the .tmx objects by RoomLayout too.
+     */
+    static void block(boolean[] blocked, int columns, double x, double y,
+                      double width, double height) {
+        int tile = GameConstants.Map.TILE_SIZE;
+        int rows = blocked.length / columns;
+        int minX = (int) Math.floor((x + EDGE_EPSILON) / tile);
+        int maxX = (int) Math.floor((x + width - EDGE_EPSILON) / tile);
+        int minY = (int) Math.floor((y + EDGE_EPSILON) / tile);
+        int maxY = (int) Math.floor((y + height - EDGE_EPSILON) / tile);
+        if (maxX < 0 || maxY < 0 || minX >= columns || minY >= rows) {
+            return;
+        }
+        for (int row = Math.max(0, minY); row <= Math.min(rows - 1, maxY); row++) {
+            for (int col = Math.max(0, minX); col <= Math.min(columns - 1, maxX); col++) {
+                blocked[row * columns + col] = true;
+            }
+        }
+    }
+
+    /**
+     * Points the field at the player's current tile. Called once per frame.
+     */
+    public void update() {
+        if (field == null) {
+            return;
+        }
+        Entity player = SpatialIndex.get().getPlayer();
+        if (player == null) {
+            return;
+        }
+        field.setTarget(tileOf(player.getX() + player.getWidth() / 2),
+            tileOf(player.getY() + player.getHeight() / 2));
+    }
+
+    /**
+     * Direction of the next step from a point towards the player.
+     *
+     * @param x point x in room coordinates
+     * @param y point y in room coordinates
+     * @return neighbour index usable with {@link FlowField#stepX(int)} /
+     *     {@link FlowField#stepY(int)}, or -1 if there is no field, the point is on
+     *     the player's tile or the player cannot be reached from it
+     */
+    public int directionFrom(double x, double y) {
+        if (field == null) {
+            return -1;
+        }
+        return field.directionAt(tileOf(x), tileOf(y));
+    }
+
+    /**
+     * Short summary for DevTools and logs.
+     *
+     * @return human readable counters
+     */
+    public String getStats() {
+        if (field == null) {
+            return "not baked";
+        }
+        return String.format("grid=%dx%d recomputes=%d",
+            field.getColumns(), field.getRows(), field.getRecomputes());
+    }
+
+    private static int tileOf(double coordinate) {
+        return (int) Math.floor(coordinate / GameConstants.Map.TILE_SIZE);
+    }
+}
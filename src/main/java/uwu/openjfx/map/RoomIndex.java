@@ -0,0 +1,225 @@
+package uwu.openjfx.map;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Rooms of a map by coordinate. The coordinate is packed into a long (x in the high half,
+ * y in the low half) and looked up in an open-addressing table, so probing a neighbour
+ * does not create a Coordinate. Rooms are kept in insertion order, which is the order
+ * {@link #roomAt(int)} and {@link #asMap()} iterate in.
+ * <p>
+ * Rooms are only added, never removed. Not thread-safe.
+ */
+public final class RoomIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys = new long[INITIAL_CAPACITY * 2];
+    // индекс комнаты + 1, 0 - свободная ячейка
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+    private Room[] rooms = new Room[INITIAL_CAPACITY];
+    private int size;
+    private final Map<Coordinate, Room> view = new MapView();
+
+    /**
+     * @param x column of the room
+     * @param y row of the room
+     * @return the coordinate packed into a long
+     */
+    public static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    public static int x(long key) {
+        return (int) (key >> 32);
+    }
+
+    public static int y(long key) {
+        return (int) key;
+    }
+
+    /**
+     * @param x column
+     * @param y row
+     * @return the room there, or null
+     */
+    public Room get(int x, int y) {
+        int index = find(key(x, y));
+        return index < 0 ? null : rooms[index];
+    }
+
+    public boolean contains(int x, int y) {
+        return find(key(x, y)) >= 0;
+    }
+
+    /**
+     * Adds the room at its own coordinate, replacing a room already there.
+     *
+     * @param room room to add
+     */
+    public void put(Room room) {
+        long key = key(room.getCoordinate().getX(), room.getCoordinate().getY());
+        int index = find(key);
+        if (index >= 0) {
+            rooms[index] = room;
+            return;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        if (size == rooms.length) {
+            rooms = Arrays.copyOf(rooms, size * 2);
+        }
+        rooms[size] = room;
+        insert(key, size);
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index 0 to size() - 1, in insertion order
+     * @return the room added index-th
+     */
+    public Room roomAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Room " + index + " of " + size);
+        }
+        return rooms[index];
+    }
+
+    /**
+     * @return read-only view of the rooms by coordinate, for code that works with maps
+     */
+    public Map<Coordinate, Room> asMap() {
+        return view;
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; slots[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return slots[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(long key, int index) {
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        while (slots[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        slots[i] = index + 1;
+    }
+
+    private void rehash(int capacity) {
+        keys = new long[capacity];
+        slots = new int[capacity];
+        for (int index = 0; index < size; index++) {
+            Coordinate coordinate = rooms[index].getCoordinate();
+            insert(key(coordinate.getX(), coordinate.getY()), index);
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /*
+        Map over the index: entries are made on the fly from each room's own coordinate.
+     */
+    private final class MapView extends AbstractMap<Coordinate, Room> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Room get(Object key) {
+            if (!(key instanceof Coordinate)) {
+                return null;
+            }
+            Coordinate coordinate = (Coordinate) key;
+            return RoomIndex.this.get(coordinate.getX(), coordinate.getY());
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Collection<Room> values() {
+            return new AbstractCollection<Room>() {
+                @Override
+                public Iterator<Room> iterator() {
+                    return new Rooms<Room>() {
+                        @Override
+                        Room element(Room room) {
+                            return room;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+
+        @Override
+        public Set<Entry<Coordinate, Room>> entrySet() {
+            return new AbstractSet<Entry<Coordinate, Room>>() {
+                @Override
+                public Iterator<Entry<Coordinate, Room>> iterator() {
+                    return new Rooms<Entry<Coordinate, Room>>() {
+                        @Override
+                        Entry<Coordinate, Room> element(Room room) {
+                            return new SimpleImmutableEntry<>(room.getCoordinate(), room);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+    }
+
+    private abstract class Rooms<T> implements Iterator<T> {
+        private int next;
+
+        abstract T element(Room room);
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public T next() {
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            return element(rooms[next++]);
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package uwu.openjfx.map;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+import uwu.openjfx.core.GameConstants;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A .tmx room read without FXGL.
+ * FXGL's level loader needs the running engine and builds full entities with views;
+ * this only keeps what the objects are and where they are (spawn points, walls,
+ * doors, enemies), which is all the headless simulation and the room tools need,
+ * plus the tile layers and tilesets RoomTemplateCache draws the room from.
+ * <p>
+ * Immutable, so one parsed layout can be shared by every visit to a room type.
+ */
+public final class RoomLayout {
+
+    static final String LEVEL_DIRECTORY = "/assets/levels/tmx/";
+
+    // старшие биты gid в Tiled - флаги отражения тайла
+    private static final long FLIP_FLAGS = 0xE0000000L;
+
+    private final String name;
+    private final int width;
+    private final int height;
+    private final int tileWidth;
+    private final int tileHeight;
+    private final List<RoomObject> objects;
+    private final List<TileLayer> tileLayers;
+    private final List<Tileset> tilesets;
+
+    RoomLayout(String name, int width, int height, List<RoomObject> objects) {
+        this(name, width, height, 0, 0, objects, Collections.emptyList(),
+            Collections.emptyList());
+    }
+
+    RoomLayout(String name, int width, int height, int tileWidth, int tileHeight,
+               List<RoomObject> objects, List<TileLayer> tileLayers, List<Tileset> tilesets) {
+        this.name = name;
+        this.width = width;
+        this.height = height;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.objects = Collections.unmodifiableList(new ArrayList<>(objects));
+        this.tileLayers = Collections.unmodifiableList(new ArrayList<>(tileLayers));
+        this.tilesets = Collections.unmodifiableList(new ArrayList<>(tilesets));
+    }
+
+    /**
+     * Reads the level a room is built from.
+     *
+     * @param room the room
+     * @return its layout
+     */
+    public static RoomLayout of(Room room) {
+        return load(GameMap.levelOf(room.getRoomType()));
+    }
+
+    /**
+     * @param levelName file name of the level without the .tmx extension
+     * @return the layout of the level
+     */
+    public static RoomLayout load(String levelName) {
+        String path = LEVEL_DIRECTORY + levelName + ".tmx";
+        try (InputStream in = RoomLayout.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Level not found: " + path);
+            }
+            return parse(levelName, in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read level " + path, e);
+        }
+    }
+
+    static RoomLayout parse(String name, InputStream in) throws IOException {
+        Document document;
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            document = factory.newDocumentBuilder().parse(in);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Malformed level " + name, e);
+        }
+
+        Element map = document.getDocumentElement();
+        int columns = intAttribute(map, "width");
+        int rows = intAttribute(map, "height");
+        int tileWidth = intAttribute(map, "tilewidth");
+        int tileHeight = intAttribute(map, "tileheight");
+
+        List<RoomObject> objects = new ArrayList<>();
+        NodeList nodes = map.getElementsByTagName("object");
+        for (int i = 0; i < nodes.getLength(); i++) {
+            Element object = (Element) nodes.item(i);
+            if (object.getElementsByTagName("text").getLength() > 0) {
+                throw new IOException("Text object " + object.getAttribute("id") + " in level "
+                    + name);
+            }
+            Map<String, String> properties = new HashMap<>();
+            Map<String, String> types = new HashMap<>();
+            NodeList props = object.getElementsByTagName("property");
+            for (int j = 0; j < props.getLength(); j++) {
+                Element prop = (Element) props.item(j);
+                if ("color".equals(prop.getAttribute("type"))) {
+                    throw new IOException("Color property " + prop.getAttribute("name")
+                        + " in level " + name);
+                }
+                properties.put(prop.getAttribute("name"), prop.getAttribute("value"));
+                types.put(prop.getAttribute("name"), prop.getAttribute("type"));
+            }
+            objects.add(new RoomObject(
+                intAttribute(object, "id"),
+                object.getAttribute("name"),
+                // Tiled 1.9 пишет тип объекта в class
+                object.getAttribute("type").isEmpty() ? object.getAttribute("class")
+                    : object.getAttribute("type"),
+                doubleAttribute(object, "x"),
+                doubleAttribute(object, "y"),
+                doubleAttribute(object, "width"),
+                doubleAttribute(object, "height"),
+                doubleAttribute(object, "rotation"),
+                intAttribute(object, "gid") != 0,
+                properties,
+                types));
+        }
+
+        List<Tileset> tilesets = new ArrayList<>();
+        NodeList tilesetNodes = map.getElementsByTagName("tileset");
+        for (int i = 0; i < tilesetNodes.getLength(); i++) {
+            tilesets.add(readTileset(name, (Element) tilesetNodes.item(i)));
+        }
+
+        List<TileLayer> tileLayers = new ArrayList<>();
+        NodeList layerNodes = map.getElementsByTagName("layer");
+        for (int i = 0; i < layerNodes.getLength(); i++) {
+            tileLayers.add(readTileLayer(name, (Element) layerNodes.item(i), columns, rows));
+        }
+        return new RoomLayout(name, columns * tileWidth, rows * tileHeight, tileWidth, tileHeight,
+            objects, tileLayers, tilesets);
+    }
+
+    /* Только встроенные тайлсеты с одной картинкой и без отступов, как во всех наших уровнях. */
+    private static Tileset readTileset(String level, Element tileset) throws IOException {
+        if (!tileset.getAttribute("source").isEmpty()) {
+            throw new IOException("External tileset in level " + level);
+        }
+        if (intAttribute(tileset, "spacing") != 0 || intAttribute(tileset, "margin") != 0) {
+            throw new IOException("Tileset spacing or margin in level " + level);
+        }
+        NodeList images = tileset.getElementsByTagName("image");
+        if (images.getLength() != 1 || intAttribute(tileset, "columns") <= 0) {
+            throw new IOException("Tileset without a single image in level " + level);
+        }
+        return new Tileset(
+            intAttribute(tileset, "firstgid"),
+            intAttribute(tileset, "tilewidth"),
+            intAttribute(tileset, "tileheight"),
+            intAttribute(tileset, "columns"),
+            ((Element) images.item(0)).getAttribute("source"));
+    }
+
+    /* Слой тайлов в формате csv; номера тайлов построчно. */
+    private static TileLayer readTileLayer(String level, Element layer, int columns, int rows)
+        throws IOException {
+        NodeList data = layer.getElementsByTagName("data");
+        if (data.getLength() != 1
+            || !"csv".equals(((Element) data.item(0)).getAttribute("encoding"))) {
+            throw new IOException("Only csv tile layers are supported, level " + level);
+        }
+        if (doubleAttribute(layer, "offsetx") != 0 || doubleAttribute(layer, "offsety") != 0) {
+            throw new IOException("Tile layer offset in level " + level);
+        }
+        String[] cells = data.item(0).getTextContent().trim().split("\\s*,\\s*");
+        if (cells.length != columns * rows) {
+            throw new IOException("Tile layer " + layer.getAttribute("name") + " of level "
+                + level + " has " + cells.length + " tiles, expected " + columns * rows);
+        }
+        int[] gids = new int[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            long gid = Long.parseLong(cells[i]);
+            if ((gid & FLIP_FLAGS) != 0) {
+                throw new IOException("Flipped tiles are not supported, level " + level);
+            }
+            gids[i] = (int) gid;
+        }
+        String opacity = layer.getAttribute("opacity");
+        return new TileLayer(layer.getAttribute("name"), columns, rows, gids,
+            opacity.isEmpty() ? 1.0 : Double.parseDouble(opacity),
+            !"0".equals(layer.getAttribute("visible")));
+    }
+
+    /**
+     * @param type object type as written in Tiled, e.g. "minion" or "door"
+     * @return objects of that type in file order
+     */
+    public List<RoomObject> getObjects(String type) {
+        List<RoomObject> result = new ArrayList<>();
+        for (RoomObject object : objects) {
+            if (object.getType().equals(type)) {
+                result.add(object);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param position "north", "south", "east", "west" or "center"
+     * @return spawn point with that position, or null if the room has none
+     */
+    public RoomObject getSpawnPoint(String position) {
+        for (RoomObject point : getObjects("point")) {
+            if (position.equals(point.getProperty("position"))) {
+                return point;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds the same walkability grid as RoomFlowField does from the spawned level.
+     *
+     * @param doorsBlock false to leave door tiles walkable, for paths that lead out of the room
+     * @return a flow field without a target
+     */
+    public FlowField buildFlowField(boolean doorsBlock) {
+        int tile = GameConstants.Map.TILE_SIZE;
+        int columns = Math.max(1, (width + tile - 1) / tile);
+        int rows = Math.max(1, (height + tile - 1) / tile);
+        boolean[] blocked = new boolean[columns * rows];
+        for (RoomObject object : objects) {
+            if (object.isWall() || (doorsBlock && object.isDoor())) {
+                RoomFlowField.block(blocked, columns, object.getX(), object.getY(),
+                    object.getWidth(), object.getHeight());
+            }
+        }
+        return new FlowField(columns, rows, blocked);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public List<RoomObject> getObjects() {
+        return objects;
+    }
+
+    public int getTileWidth() {
+        return tileWidth;
+    }
+
+    public int getTileHeight() {
+        return tileHeight;
+    }
+
+    /**
+     * @return tile layers in file order, bottom first
+     */
+    public List<TileLayer> getTileLayers() {
+        return tileLayers;
+    }
+
+    public List<Tileset> getTilesets() {
+        return tilesets;
+    }
+
+    /**
+     * @param gid global tile number, not 0
+     * @return tileset the tile belongs to, or null if none does
+     */
+    public Tileset tilesetOf(int gid) {
+        Tileset result = null;
+        for (Tileset tileset : tilesets) {
+            if (tileset.getFirstGid() <= gid
+                && (result == null || tileset.getFirstGid() > result.getFirstGid())) {
+                result = tileset;
+            }
+        }
+        return result;
+    }
+
+    private static int intAttribute(Element element, String name) {
+        String value = element.getAttribute(name);
+        return value.isEmpty() ? 0 : Integer.parseInt(value);
+    }
+
+    private static double doubleAttribute(Element element, String name) {
+        String value = element.getAttribute(name);
+        return value.isEmpty() ? 0 : Double.parseDouble(value);
+    }
+
+    /**
+     * One tile layer: a grid of global tile numbers, 0 for an empty cell.
+     */
+    public static final class TileLayer {
+        private final String name;
+        private final int columns;
+        private final int rows;
+        private final int[] gids;
+        private final double opacity;
+        private final boolean visible;
+
+        TileLayer(String name, int columns, int rows, int[] gids, double opacity,
+                  boolean visible) {
+            this.name = name;
+            this.columns = columns;
+            this.rows = rows;
+            this.gids = gids.clone();
+            this.opacity = opacity;
+            this.visible = visible;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getColumns() {
+            return columns;
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public int getGid(int column, int row) {
+            return gids[row * columns + column];
+        }
+
+        public double getOpacity() {
+            return opacity;
+        }
+
+        public boolean isVisible() {
+            return visible;
+        }
+    }
+
+    /**
+     * One tileset image, cut into a grid of equal tiles.
+     */
+    public static final class Tileset {
+        private final int firstGid;
+        private final int tileWidth;
+        private final int tileHeight;
+        private final int columns;
+        private final String image;
+
+        Tileset(int firstGid, int tileWidth, int tileHeight, int columns, String image) {
+            this.firstGid = firstGid;
+            this.tileWidth = tileWidth;
+            this.tileHeight = tileHeight;
+            this.columns = columns;
+            this.image = image;
+        }
+
+        public int getFirstGid() {
+            return firstGid;
+        }
+
+        public int getTileWidth() {
+            return tileWidth;
+        }
+
+        public int getTileHeight() {
+            return tileHeight;
+        }
+
+        public int getColumns() {
+            return columns;
+        }
+
+        /**
+         * @return image file relative to the level directory
+         */
+        public String getImage() {
+            return image;
+        }
+
+        public int tileX(int gid) {
+            return (gid - firstGid) % columns * tileWidth;
+        }
+
+        public int tileY(int gid) {
+            return (gid - firstGid) / columns * tileHeight;
+        }
+    }
+
+    /**
+     * One object of an object layer.
+     */
+    public static final class RoomObject {
+        private final int id;
+        private final String name;
+        private final String type;
+        private final double x;
+        private final double y;
+        private final double width;
+        private final double height;
+        private final double rotation;
+        private final boolean tileObject;
+        private final Map<String, String> properties;
+        private final Map<String, String> propertyTypes;
+
+        RoomObject(int id, String type, double x, double y, double width, double height,
+                   Map<String, String> properties) {
+            this(id, "", type, x, y, width, height, 0, false, properties,
+                Collections.emptyMap());
+        }
+
+        RoomObject(int id, String name, String type, double x, double y, double width,
+                   double height, double rotation, boolean tileObject,
+                   Map<String, String> properties, Map<String, String> propertyTypes) {
+            this.id = id;
+            this.name = name;
+            this.type = type;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.rotation = rotation;
+            this.tileObject = tileObject;
+            this.properties = Collections.unmodifiableMap(new HashMap<>(properties));
+            this.propertyTypes = Collections.unmodifiableMap(new HashMap<>(propertyTypes));
+        }
+
+        /**
+         * @return true for the object types StructureFactory turns into WALL or PPWall
+         */
+        public boolean isWall() {
+            return type.equals("wall") || type.equals("projectile-penetrable-wall");
+        }
+
+        public boolean isDoor() {
+            return type.equals("door");
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return true if the object is drawn with a tile of a tileset
+         */
+        public boolean isTileObject() {
+            return tileObject;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public double getX() {
+            return x;
+        }
+
+        public double getY() {
+            return y;
+        }
+
+        public double getWidth() {
+            return width;
+        }
+
+        public double getHeight() {
+            return height;
+        }
+
+        /**
+         * @return clockwise rotation in degrees around the top-left corner, as set in Tiled
+         */
+        public double getRotation() {
+            return rotation;
+        }
+
+        public String getProperty(String key) {
+            return properties.get(key);
+        }
+
+        public Set<String> getPropertyNames() {
+            return properties.keySet();
+        }
+
+        /**
+         * @param key property name
+         * @return the property typed as FXGL reads it: Integer, Float, Boolean or String
+         */
+        public Object getValue(String key) {
+            String value = properties.get(key);
+            if (value == null) {
+                return null;
+            }
+            switch (propertyTypes.getOrDefault(key, "")) {
+            case "int":
+                return Integer.valueOf(value);
+            case "float":
+                return Float.valueOf(value);
+            case "bool":
+                return Boolean.valueOf(value);
+            default:
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package uwu.openjfx.map;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Per-room state of the room's entities, e.g. "isAlive" of every enemy or "picked" of every
+ * dropped item. Entity ids (Tiled object ids, or 5000+ for summoned minions) are mapped to
+ * dense slots; each property is a column over the slots, kept as a bitset while it only
+ * holds 0 and 1 and widened to an int array once it holds anything else. Every column also
+ * counts its non-zero slots, so "how many enemies are alive" is a field read.
+ * <p>
+ * Reading a property that was never set gives 0. FX thread only.
+ * <p>
+ * The tables are not written to saves. GameSaveService saves only the player, and loading a
+ * save does not rebuild the map that the room keys of GameSaveData.visitedRooms refer to,
+ * so room state would have nothing to be restored into.
+ */
+public final class RoomStateTable {
+
+    private static final int NO_SLOT = -1;
+    private static final int INITIAL_SLOTS = 16;
+
+    // открытая адресация id -> слот; в slotOf хранится слот + 1, 0 - свободная ячейка
+    private int[] keys;
+    private int[] slotOf;
+    private int[] ids = new int[INITIAL_SLOTS];
+    private int size;
+
+    private String[] names = new String[0];
+    private Column[] columns = new Column[0];
+
+    public RoomStateTable() {
+        keys = new int[INITIAL_SLOTS * 2];
+        slotOf = new int[INITIAL_SLOTS * 2];
+    }
+
+    /*
+        One property over all slots: which slots have it, its 0/1 values, and the wider
+        values once some slot holds something other than 0 or 1.
+     */
+    private static final class Column {
+        private final BitSet present = new BitSet();
+        private final BitSet bits = new BitSet();
+        private int[] values;
+        private int nonZero;
+
+        int get(int slot) {
+            if (values != null) {
+                return slot < values.length ? values[slot] : 0;
+            }
+            return bits.get(slot) ? 1 : 0;
+        }
+
+        void set(int slot, int value) {
+            int old = get(slot);
+            if (values == null && value != 0 && value != 1) {
+                values = new int[Math.max(INITIAL_SLOTS, slot + 1)];
+                for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                    values[i] = 1;
+                }
+                bits.clear();
+            }
+            if (values != null) {
+                if (slot >= values.length) {
+                    values = Arrays.copyOf(values, Math.max(values.length * 2, slot + 1));
+                }
+                values[slot] = value;
+            } else {
+                bits.set(slot, value == 1);
+            }
+            present.set(slot);
+            nonZero += (value != 0 ? 1 : 0) - (old != 0 ? 1 : 0);
+        }
+    }
+
+    /**
+     * @param id       entity id
+     * @param property property name, e.g. "isAlive"
+     * @return the value, 0 if it was never set
+     */
+    public int get(int id, String property) {
+        int slot = find(id);
+        Column column = column(property, false);
+        return slot == NO_SLOT || column == null ? 0 : column.get(slot);
+    }
+
+    /**
+     * @param id       entity id
+     * @param property property name, e.g. "isAlive"
+     * @param value    new value
+     */
+    public void set(int id, String property, int value) {
+        column(property, true).set(slotFor(id), value);
+    }
+
+    /**
+     * @param id       entity id
+     * @param property property name
+     * @return true if the property was set for that entity
+     */
+    public boolean has(int id, String property) {
+        int slot = find(id);
+        Column column = column(property, false);
+        return slot != NO_SLOT && column != null && column.present.get(slot);
+    }
+
+    /**
+     * @param property property name
+     * @return number of entities whose property is not 0
+     */
+    public int countNonZero(String property) {
+        Column column = column(property, false);
+        return column == null ? 0 : column.nonZero;
+    }
+
+    /**
+     * @return number of entities with any property set
+     */
+    public int size() {
+        return size;
+    }
+
+    /* Колонок несколько штук на комнату, линейный поиск быстрее хеша. */
+    private Column column(String property, boolean create) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(property)) {
+                return columns[i];
+            }
+        }
+        if (!create) {
+            return null;
+        }
+        names = Arrays.copyOf(names, names.length + 1);
+        columns = Arrays.copyOf(columns, columns.length + 1);
+        names[names.length - 1] = property;
+        columns[columns.length - 1] = new Column();
+        return columns[columns.length - 1];
+    }
+
+    private int find(int id) {
+        int mask = keys.length - 1;
+        for (int i = mix(id) & mask; slotOf[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == id) {
+                return slotOf[i] - 1;
+            }
+        }
+        return NO_SLOT;
+    }
+
+    private int slotFor(int id) {
+        int slot = find(id);
+        if (slot != NO_SLOT) {
+            return slot;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        slot = size++;
+        ids[slot] = id;
+        insert(id, slot);
+        return slot;
+    }
+
+    private void insert(int id, int slot) {
+        int mask = keys.length - 1;
+        int i = mix(id) & mask;
+        while (slotOf[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = id;
+        slotOf[i] = slot + 1;
+    }
+
+    private void rehash(int capacity) {
+        keys = new int[capacity];
+        slotOf = new int[capacity];
+        for (int slot = 0; slot < size; slot++) {
+            insert(ids[slot], slot);
+        }
+    }
+
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
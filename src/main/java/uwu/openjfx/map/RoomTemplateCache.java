@@ -0,0 +1,258 @@
+package uwu.openjfx.map;
+
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.SpawnData;
+import com.almasb.fxgl.entity.components.IDComponent;
+import com.almasb.fxgl.entity.level.Level;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import uwu.openjfx.utils.GameLogger;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.almasb.fxgl.dsl.FXGL.getGameWorld;
+import static com.almasb.fxgl.dsl.FXGL.setLevelFromMap;
+
+/**
+ * Parsed .tmx rooms, each read once per process. There are only about ten room types, yet
+ * every door used to re-parse the level's XML on the FX thread during the fade. Now the
+ * rooms next to the one the player entered are parsed (and their tileset images decoded)
+ * on a background thread, and {@link #loadLevel(String)} only draws the tile layers and
+ * spawns the objects of the ready {@link RoomLayout}.
+ * <p>
+ * Levels using .tmx features the templates do not cover (external tilesets, tile objects,
+ * text objects, non-csv layers, ...) are loaded by FXGL as before.
+ */
+public final class RoomTemplateCache {
+
+    private static final RoomTemplateCache INSTANCE = new RoomTemplateCache();
+
+    private final Map<String, CompletableFuture<RoomLayout>> templates =
+        new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Image>> tilesets = new ConcurrentHashMap<>();
+    private final ExecutorService prefetcher =
+        Executors.newSingleThreadExecutor(Thread.ofVirtual().name("room-prefetch").factory());
+    private final AtomicLong prefetched = new AtomicLong();
+    private final AtomicLong parsedOnLoad = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    private RoomTemplateCache() {
+    }
+
+    @SuppressFBWarnings(value = "MS_EXPOSE_REP", justification = "RoomTemplateCache is a process-wide singleton")
+    public static RoomTemplateCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts parsing the levels of the given rooms in the background.
+     *
+     * @param rooms rooms the player may enter next; nulls are skipped
+     */
+    public void prefetch(Collection<Room> rooms) {
+        for (Room room : rooms) {
+            if (room == null) {
+                continue;
+            }
+            String levelName = GameMap.levelOf(room.getRoomType());
+            CompletableFuture<RoomLayout> future = new CompletableFuture<>();
+            if (templates.putIfAbsent(levelName, future) == null) {
+                prefetcher.execute(() -> parse(levelName, future));
+            }
+        }
+    }
+
+    /**
+     * Builds the level from its template and makes it the current level, like
+     * setLevelFromMap("tmx/" + levelName + ".tmx") does. FX thread only.
+     *
+     * @param levelName file name of the level without the .tmx extension
+     * @return the new current level
+     */
+    public Level loadLevel(String levelName) {
+        Level level = null;
+        try {
+            level = build(template(levelName));
+        } catch (IOException | RuntimeException e) {
+            GameLogger.warn("Room template {} unusable, loading it with FXGL: {}", levelName,
+                e.getMessage());
+        }
+        if (level == null) {
+            fallbacks.incrementAndGet();
+            return setLevelFromMap("tmx/" + levelName + ".tmx");
+        }
+        getGameWorld().setLevel(level);
+        return level;
+    }
+
+    /**
+     * @param levelName file name of the level without the .tmx extension
+     * @return the parsed level, waiting for its prefetch or parsing it now if there was none
+     * @throws IOException if the level cannot be read
+     */
+    public RoomLayout template(String levelName) throws IOException {
+        CompletableFuture<RoomLayout> future = templates.get(levelName);
+        if (future != null) {
+            prefetched.incrementAndGet();
+        } else {
+            CompletableFuture<RoomLayout> mine = new CompletableFuture<>();
+            future = templates.putIfAbsent(levelName, mine);
+            if (future == null) {
+                future = mine;
+                parsedOnLoad.incrementAndGet();
+                parse(levelName, mine);
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /* Разбор уровня и декодирование его тайлсетов; ошибка тоже запоминается. */
+    private void parse(String levelName, CompletableFuture<RoomLayout> future) {
+        try {
+            RoomLayout layout = RoomLayout.load(levelName);
+            for (RoomLayout.Tileset tileset : layout.getTilesets()) {
+                tileset(tileset);
+            }
+            future.complete(layout);
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e.getCause() instanceof IOException ? e.getCause() : e);
+        }
+    }
+
+    /* Декодирует тот, чья заявка попала в карту, и не под её блокировкой, остальные ждут. */
+    private Image tileset(RoomLayout.Tileset tileset) {
+        String source = tileset.getImage();
+        CompletableFuture<Image> future = tilesets.get(source);
+        if (future == null) {
+            CompletableFuture<Image> mine = new CompletableFuture<>();
+            future = tilesets.putIfAbsent(source, mine);
+            if (future == null) {
+                future = mine;
+                decode(source, mine);
+            }
+        }
+        return future.join();
+    }
+
+    private static void decode(String source, CompletableFuture<Image> future) {
+        try {
+            URL url = RoomTemplateCache.class.getResource(RoomLayout.LEVEL_DIRECTORY + source);
+            if (url == null) {
+                future.completeExceptionally(
+                    new IllegalArgumentException("Tileset not found: " + source));
+                return;
+            }
+            Image image = new Image(url.toExternalForm());
+            if (image.isError()) {
+                future.completeExceptionally(image.getException());
+            } else {
+                future.complete(image);
+            }
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /* Слои тайлов идут первыми, под объектами, как у TMXLevelLoader. */
+    private Level build(RoomLayout layout) throws IOException {
+        for (RoomLayout.RoomObject object : layout.getObjects()) {
+            if (object.isTileObject()) {
+                throw new IOException("tile object " + object.getId());
+            }
+        }
+        List<Entity> entities = new ArrayList<>();
+        for (RoomLayout.TileLayer layer : layout.getTileLayers()) {
+            Entity entity = new Entity();
+            ImageView view = new ImageView(draw(layout, layer));
+            view.setOpacity(layer.getOpacity());
+            view.setVisible(layer.isVisible());
+            entity.getViewComponent().addChild(view);
+            entities.add(entity);
+        }
+        for (RoomLayout.RoomObject object : layout.getObjects()) {
+            entities.add(spawn(object));
+        }
+        return new Level(layout.getWidth(), layout.getHeight(), entities);
+    }
+
+    private WritableImage draw(RoomLayout layout, RoomLayout.TileLayer layer) {
+        WritableImage image = new WritableImage(Math.max(1, layout.getWidth()),
+            Math.max(1, layout.getHeight()));
+        PixelWriter writer = image.getPixelWriter();
+        for (int row = 0; row < layer.getRows(); row++) {
+            for (int column = 0; column < layer.getColumns(); column++) {
+                int gid = layer.getGid(column, row);
+                RoomLayout.Tileset tileset = gid == 0 ? null : layout.tilesetOf(gid);
+                if (tileset == null) {
+                    continue;
+                }
+                PixelReader reader = tileset(tileset).getPixelReader();
+                // тайл выше клетки карты выравнивается по её нижнему краю, как в Tiled
+                int x = column * layout.getTileWidth();
+                int y = (row + 1) * layout.getTileHeight() - tileset.getTileHeight();
+                int width = Math.min(tileset.getTileWidth(), layout.getWidth() - x);
+                int height = Math.min(tileset.getTileHeight(), layout.getHeight() - y);
+                if (y >= 0 && width > 0 && height > 0) {
+                    writer.setPixels(x, y, width, height, reader, tileset.tileX(gid),
+                        tileset.tileY(gid));
+                }
+            }
+        }
+        return image;
+    }
+
+    /* Те же шаги, что у TMXLevelLoader: данные появления, свойства сущности, ID и положение. */
+    private static Entity spawn(RoomLayout.RoomObject object) {
+        // FXGL читает координаты и размеры объекта как целые
+        SpawnData data = new SpawnData((int) object.getX(), (int) object.getY());
+        data.put("name", object.getName());
+        data.put("type", object.getType());
+        data.put("class", object.getType());
+        data.put("width", (int) object.getWidth());
+        data.put("height", (int) object.getHeight());
+        data.put("rotation", (float) object.getRotation());
+        data.put("id", object.getId());
+        // объекты-тайлы загружает FXGL, здесь gid всегда 0
+        data.put("gid", 0);
+        for (String key : object.getPropertyNames()) {
+            data.put(key, object.getValue(key));
+        }
+        Entity entity = getGameWorld().create(object.getType(), data);
+        data.getData().forEach(entity::setProperty);
+        entity.addComponent(new IDComponent(object.getName(), object.getId()));
+        entity.setPosition(data.getX(), data.getY());
+        entity.setRotation((float) object.getRotation());
+        return entity;
+    }
+
+    /**
+     * @return counters for DevTools: templates, lookups that found the level already parsed or
+     *         being prefetched, lookups that had to parse it on the spot, and FXGL fallbacks
+     */
+    public String getStats() {
+        return String.format("templates=%d prefetched=%d parsedOnLoad=%d fallbacks=%d",
+            templates.size(), prefetched.get(), parsedOnLoad.get(), fallbacks.get());
+    }
+}
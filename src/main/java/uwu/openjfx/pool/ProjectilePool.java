@@ -0,0 +1,282 @@
+package uwu.openjfx.pool;
+
+import com.almasb.fxgl.dsl.FXGL;
+import com.almasb.fxgl.dsl.components.ProjectileComponent;
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.SpawnData;
+import com.almasb.fxgl.entity.component.Component;
+import com.almasb.fxgl.entity.components.CollidableComponent;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import javafx.geometry.Point2D;
+import uwu.openjfx.MainApp;
+import uwu.openjfx.RoyalType;
+import uwu.openjfx.WeaponFactory;
+import uwu.openjfx.components.AttackDamageComponent;
+import uwu.openjfx.components.ExplosionAtDistComponent;
+import uwu.openjfx.components.PooledProjectileComponent;
+import uwu.openjfx.components.ProjectileAnimationComponent;
+import uwu.openjfx.components.RicochetComponent;
+import uwu.openjfx.core.GameConstants;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pool of "rangedArrowHitBox" / "rangedMagicHitBox" projectiles.
+ * Instead of building a new entity for every shot, a projectile that hit a wall,
+ * a door or a creature is parked (hidden, not collidable, not moving) and
+ * reinitialized from the next shot's SpawnData. Projectiles are bucketed by
+ * spawn name, sprite and RoyalType so the static view of an arrow stays valid.
+ * Parked projectiles are dropped on every room load, since setLevelFromMap
+ * removes them from the world anyway.
+ */
+public final class ProjectilePool {
+
+    private static final ProjectilePool INSTANCE = new ProjectilePool();
+
+    /*
+        Components that weapons attach to a projectile after spawning it.
+        They belong to a single shot and are stripped before reuse.
+     */
+    private static final List<Class<? extends Component>> TRANSIENT_COMPONENTS = List.of(
+        ExplosionAtDistComponent.class, RicochetComponent.class);
+
+    private final Map<String, ArrayDeque<Entity>> idle = new HashMap<>();
+    private long epoch;
+    private int inUse;
+    private int highWater;
+    private long hits;
+    private long misses;
+    private long recycled;
+    private long discarded;
+
+    private ProjectilePool() {
+    }
+
+    @SuppressFBWarnings(value = "MS_EXPOSE_REP", justification = "ProjectilePool is a process-wide singleton")
+    public static ProjectilePool get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Drop-in replacement for spawn("rangedArrowHitBox" / "rangedMagicHitBox", data).
+     *
+     * @param spawnName name of the WeaponFactory spawner
+     * @param data      spawn data of the shot
+     * @return a projectile in flight, either reused or freshly built
+     */
+    public Entity spawn(String spawnName, SpawnData data) {
+        if (MainApp.isIsTesting()) {
+            return FXGL.spawn(spawnName, data);
+        }
+
+        String key = keyOf(spawnName, data);
+        Entity projectile = pollIdle(key);
+        if (projectile != null) {
+            hits++;
+            reinitialize(projectile, data);
+        } else {
+            misses++;
+            projectile = FXGL.spawn(spawnName, data);
+            projectile.addComponent(new PooledProjectileComponent(
+                key, GameConstants.Projectiles.LIFETIME, epoch));
+        }
+
+        inUse++;
+        highWater = Math.max(highWater, inUse);
+        return projectile;
+    }
+
+    /**
+     * Returns a projectile to the pool. Entities that were not spawned through
+     * the pool (melee hitboxes, test entities) are simply removed from the world.
+     *
+     * @param projectile the projectile that finished its flight
+     */
+    public void recycle(Entity projectile) {
+        if (projectile == null) {
+            return;
+        }
+        if (!projectile.hasComponent(PooledProjectileComponent.class)) {
+            projectile.removeFromWorld();
+            return;
+        }
+
+        PooledProjectileComponent pooled = projectile.getComponent(PooledProjectileComponent.class);
+        if (!pooled.isInFlight()) {
+            return; // already parked, e.g. it touched two walls in the same frame
+        }
+        pooled.deactivate();
+        if (pooled.getEpoch() == epoch) {
+            inUse = Math.max(0, inUse - 1);
+        }
+
+        if (pooled.getEpoch() != epoch || !projectile.isActive()) {
+            discarded++;
+            projectile.removeFromWorld();
+            return;
+        }
+        ArrayDeque<Entity> bucket =
+            idle.computeIfAbsent(pooled.getPoolKey(), k -> new ArrayDeque<>());
+        if (bucket.size() >= GameConstants.Projectiles.POOL_MAX_IDLE_PER_KEY) {
+            discarded++;
+            projectile.removeFromWorld();
+            return;
+        }
+
+        park(projectile);
+        bucket.push(projectile);
+        recycled++;
+    }
+
+    /**
+     * Shortens the lifetime of a pooled projectile, otherwise does nothing.
+     *
+     * @param projectile the projectile
+     * @param seconds    seconds until it is returned to the pool
+     * @return true if the projectile is pooled and will expire on its own
+     */
+    public boolean expireIn(Entity projectile, double seconds) {
+        if (projectile == null || !projectile.hasComponent(PooledProjectileComponent.class)) {
+            return false;
+        }
+        projectile.getComponent(PooledProjectileComponent.class).expireIn(seconds);
+        return true;
+    }
+
+    /**
+     * Forgets all parked projectiles. Called before a new room is loaded.
+     */
+    public void clear() {
+        idle.clear();
+        epoch++;
+        inUse = 0;
+    }
+
+    private Entity pollIdle(String key) {
+        ArrayDeque<Entity> bucket = idle.get(key);
+        while (bucket != null && !bucket.isEmpty()) {
+            Entity candidate = bucket.pop();
+            if (candidate.isActive()) {
+                return candidate;
+            }
+            discarded++;
+        }
+        return null;
+    }
+
+    private void park(Entity projectile) {
+        projectile.getComponent(ProjectileComponent.class).pause();
+        for (Class<? extends Component> type : TRANSIENT_COMPONENTS) {
+            if (projectile.hasComponent(type)) {
+                projectile.getComponent(type).pause();
+            }
+        }
+        projectile.getComponent(CollidableComponent.class).setValue(false);
+        projectile.getViewComponent().setVisible(false);
+        projectile.setPosition(GameConstants.Projectiles.PARK_X, GameConstants.Projectiles.PARK_Y);
+    }
+
+    private void reinitialize(Entity projectile, SpawnData data) {
+        for (Class<? extends Component> type : TRANSIENT_COMPONENTS) {
+            if (projectile.hasComponent(type)) {
+                projectile.removeComponent(type);
+            }
+        }
+
+        projectile.setPosition(data.getX(), data.getY());
+        projectile.setScaleX(1);
+        projectile.setScaleY(1);
+        projectile.getBoundingBoxComponent().clearHitBoxes();
+        projectile.getBoundingBoxComponent().addHitBox(WeaponFactory.newProjectileHitBox(data));
+
+        String weapon = data.get("weapon");
+        int duration = data.get("duration");
+        int frameWidth = data.get("frameWidth");
+        int frameHeight = data.get("frameHeight");
+        int fpr = data.get("fpr");
+        boolean isArrow = data.get("isArrow");
+        boolean isMagic = data.get("isMagic");
+        projectile.getComponent(ProjectileAnimationComponent.class).reset(
+            weapon, duration, frameWidth, frameHeight, fpr, isArrow, isMagic);
+
+        boolean ultimateActive = data.get("ultimateActive");
+        double attackDamage = data.get("damage");
+        AttackDamageComponent damage = projectile.getComponent(AttackDamageComponent.class);
+        damage.setActive(ultimateActive);
+        damage.setAttackDamage(attackDamage);
+
+        Point2D dir = data.get("dir");
+        int speed = data.get("speed");
+        ProjectileComponent projectileComponent =
+            projectile.getComponent(ProjectileComponent.class);
+        projectileComponent.setSpeed(speed);
+        projectileComponent.setDirection(dir);
+        projectileComponent.resume();
+
+        projectile.getComponent(CollidableComponent.class).setValue(true);
+        projectile.getViewComponent().setVisible(true);
+        projectile.getComponent(PooledProjectileComponent.class).activate(
+            GameConstants.Projectiles.LIFETIME, epoch);
+    }
+
+    private static String keyOf(String spawnName, SpawnData data) {
+        String weapon = data.get("weapon");
+        RoyalType type = data.hasKey("royalType") ? data.get("royalType") : RoyalType.PLAYERATTACK;
+        return spawnName + "|" + weapon + "|" + type;
+    }
+
+    /**
+     * @return current pool generation; projectiles tagged with an older one are not reused
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public int getHighWater() {
+        return highWater;
+    }
+
+    public int getInUse() {
+        return inUse;
+    }
+
+    public long getRecycled() {
+        return recycled;
+    }
+
+    public long getDiscarded() {
+        return discarded;
+    }
+
+    public int getIdleCount() {
+        int count = 0;
+        for (ArrayDeque<Entity> bucket : idle.values()) {
+            count += bucket.size();
+        }
+        return count;
+    }
+
+    /**
+     * Short summary of the pool counters for DevTools and logs.
+     *
+     * @return human readable counters
+     */
+    public String getStats() {
+        long total = hits + misses;
+        double hitRate = total == 0 ? 0 : (double) hits / total * 100;
+        return String.format(
+            "hits=%d misses=%d (%.1f%% hit) inUse=%d highWater=%d idle=%d discarded=%d",
+            hits, misses, hitRate, inUse, highWater, getIdleCount(), discarded);
+    }
+}
@@ -0,0 +1,37 @@
+package uwu.openjfx.profiling;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event around EnemyComponent.transformBoss: new animations, hit box and texture.
+ */
+@SuppressFBWarnings(value = "URF_UNREAD_FIELD", justification = "JFR reads the fields on commit")
+@Name("uwu.openjfx.BossTransform")
+@Label("Boss Transform")
+@Category({"Royal Demons", "Entities"})
+@Description("A boss switching to its next phase")
+public final class BossTransformEvent extends Event {
+
+    @Label("Boss Type")
+    private String bossType;
+
+    @Label("Fighter Class")
+    private String fighterClass;
+
+    @Label("Asset")
+    private String asset;
+
+    public void record(String bossType, String fighterClass, String asset) {
+        if (shouldCommit()) {
+            this.bossType = bossType;
+            this.fighterClass = fighterClass;
+            this.asset = asset;
+            commit();
+        }
+    }
+}
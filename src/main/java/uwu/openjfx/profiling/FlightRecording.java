@@ -0,0 +1,118 @@
+package uwu.openjfx.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import uwu.openjfx.core.GameConstants;
+import uwu.openjfx.core.Platform;
+import uwu.openjfx.utils.GameLogger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * Continuous Java Flight Recorder recording, started with the {@value #FLAG} launcher flag
+ * ({@code gradle run -Pjfr}). It uses the JDK "default" settings (about 1% overhead) plus the
+ * game's own events, and keeps only the last {@link GameConstants.Profiling#JFR_MAX_AGE} on
+ * disk as a ring buffer. After a hitch, {@link #dump()} (DevTools) writes what is in the buffer
+ * to the log directory; the buffer is also dumped when the game exits.
+ */
+public final class FlightRecording {
+
+    public static final String FLAG = "--jfr";
+
+    private static final DateTimeFormatter FILE_TIME =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+    private static final Class<?>[] GAME_EVENTS = {
+        RoomLoadEvent.class, SpawnBatchEvent.class, SaveEvent.class,
+        LeaderboardFlushEvent.class, BossTransformEvent.class, ModuleInitEvent.class
+    };
+
+    private static Recording recording;
+
+    private FlightRecording() {
+    }
+
+    /**
+     * Starts the recording if the flag is among the arguments.
+     *
+     * @param args command line
+     * @return true if a recording is running afterwards
+     */
+    public static boolean startIfRequested(String[] args) {
+        if (Arrays.asList(args).contains(FLAG)) {
+            start(Paths.get(Platform.getGameLogsDirectory()),
+                Duration.ofMillis(GameConstants.Profiling.JFR_MAX_AGE),
+                GameConstants.Profiling.JFR_MAX_SIZE);
+        }
+        return isRunning();
+    }
+
+    /**
+     * @param directory where dumps go
+     * @param maxAge    how far back the ring buffer reaches
+     * @param maxSize   bytes the ring buffer may take on disk
+     */
+    public static synchronized void start(Path directory, Duration maxAge, long maxSize) {
+        if (recording != null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Recording started = new Recording(Configuration.getConfiguration("default"));
+            for (Class<?> event : GAME_EVENTS) {
+                started.enable(event.asSubclass(jdk.jfr.Event.class)).withoutThreshold();
+            }
+            started.setName("royal-demons");
+            started.setToDisk(true);
+            started.setMaxAge(maxAge);
+            started.setMaxSize(maxSize);
+            started.setDumpOnExit(true);
+            started.setDestination(directory.resolve("royal-demons-exit.jfr"));
+            started.start();
+            recording = started;
+            GameLogger.system("Flight recording started, dumps go to {}", directory);
+        } catch (IOException | ParseException | RuntimeException e) {
+            // без JFR игра работает как обычно
+            GameLogger.warn("Flight recording not started: {}", e.toString());
+        }
+    }
+
+    public static synchronized boolean isRunning() {
+        return recording != null;
+    }
+
+    /**
+     * Copies the ring buffer into a new file in the log directory.
+     *
+     * @return the dump, or null if no recording is running
+     * @throws IOException if the dump cannot be written
+     */
+    public static synchronized Path dump() throws IOException {
+        if (recording == null) {
+            return null;
+        }
+        Path target = recording.getDestination().resolveSibling(
+            "royal-demons-" + LocalDateTime.now().format(FILE_TIME) + ".jfr");
+        recording.dump(target);
+        GameLogger.info("Flight recording dumped to {}", target);
+        return target;
+    }
+
+    /**
+     * Stops the recording without the exit dump.
+     */
+    public static synchronized void stop() {
+        if (recording != null) {
+            recording.setDumpOnExit(false);
+            recording.close();
+            recording = null;
+        }
+    }
+}
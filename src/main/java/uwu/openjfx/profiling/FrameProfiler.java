@@ -0,0 +1,256 @@
+package uwu.openjfx.profiling;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import uwu.openjfx.core.DurableFile;
+import uwu.openjfx.core.GameConstants;
+import uwu.openjfx.core.Platform;
+import uwu.openjfx.utils.GameLogger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Always-on frame profiler. Ticked from MainApp.onUpdate, it records the time between frames
+ * and, for every named section, the time spent in it during the frame (the sum over all calls,
+ * e.g. over every enemy's AI). Each goes into a {@link LatencyHistogram}, so memory stays fixed
+ * however long the game runs, and p50/p95/p99/max are available at any time through
+ * {@link #snapshot}, the DevTools panel and a report file rewritten every
+ * {@link GameConstants.Profiling#DUMP_INTERVAL}.
+ * <p>
+ * A measurement is {@code long t = start(); ... stop(section, t);} - two nanoTime calls and no
+ * allocation. Times are inclusive: a room loaded from a door collision counts for both.
+ * Frames further apart than {@link #MAX_FRAME_GAP_NANOS} are pauses (menus, dialogs) and are
+ * counted as gaps instead of frames. Game thread only.
+ */
+public final class FrameProfiler {
+
+    public enum Section {
+        FRAME("Frame"),
+        AI("AI"),
+        COLLISION("Collision"),
+        HUD("HUD"),
+        STATUS_EFFECTS("Status effects"),
+        TIMERS("Timers"),
+        ROOM_LOAD("Room load");
+
+        private final String title;
+
+        Section(String title) {
+            this.title = title;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+    }
+
+    static final long MAX_FRAME_GAP_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long OFF = 0;
+    private static final Section[] SECTIONS = Section.values();
+    private static final DateTimeFormatter DUMP_TIME =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final FrameProfiler INSTANCE = new FrameProfiler(
+        GameConstants.Profiling.ENABLED, GameConstants.Profiling.DUMP_INTERVAL);
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[SECTIONS.length];
+    private final long[] frameNanos = new long[SECTIONS.length];
+    private final int[] frameCalls = new int[SECTIONS.length];
+    private final long[] calls = new long[SECTIONS.length];
+    private final long dumpIntervalNanos;
+
+    private boolean enabled;
+    private long frameStart = OFF;
+    private long gaps;
+    private long nextDump = OFF;
+
+    FrameProfiler(boolean enabled, long dumpIntervalMillis) {
+        this.enabled = enabled;
+        this.dumpIntervalNanos = TimeUnit.MILLISECONDS.toNanos(dumpIntervalMillis);
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    @SuppressFBWarnings(value = "MS_EXPOSE_REP", justification = "FrameProfiler is a process-wide singleton")
+    public static FrameProfiler get() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return start mark for {@link #stop}; 0 while profiling is off
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : OFF;
+    }
+
+    /**
+     * Adds the time since the mark to the section's total for this frame.
+     *
+     * @param section what was measured
+     * @param started mark returned by {@link #start}
+     */
+    public void stop(Section section, long started) {
+        if (started != OFF) {
+            add(section, System.nanoTime() - started);
+        }
+    }
+
+    void add(Section section, long nanos) {
+        frameNanos[section.ordinal()] += nanos;
+        frameCalls[section.ordinal()]++;
+    }
+
+    /**
+     * Closes the previous frame and starts a new one. Called once per frame.
+     */
+    public void beginFrame() {
+        if (enabled) {
+            beginFrame(System.nanoTime());
+        }
+    }
+
+    void beginFrame(long now) {
+        if (frameStart != OFF) {
+            long interval = now - frameStart;
+            if (interval > MAX_FRAME_GAP_NANOS) {
+                gaps++;
+            } else {
+                histograms[Section.FRAME.ordinal()].record(interval);
+                calls[Section.FRAME.ordinal()]++;
+            }
+        }
+        for (int i = 1; i < SECTIONS.length; i++) {
+            if (frameCalls[i] > 0) {
+                histograms[i].record(frameNanos[i]);
+                calls[i] += frameCalls[i];
+                frameNanos[i] = 0;
+                frameCalls[i] = 0;
+            }
+        }
+        frameStart = now;
+
+        if (dumpIntervalNanos > 0) {
+            if (nextDump == OFF) {
+                nextDump = now + dumpIntervalNanos;
+            } else if (now - nextDump >= 0) {
+                nextDump = now + dumpIntervalNanos;
+                dumpSoon();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        if (this.enabled != enabled) {
+            this.enabled = enabled;
+            // незакрытый кадр не считаем
+            frameStart = OFF;
+            Arrays.fill(frameNanos, 0);
+            Arrays.fill(frameCalls, 0);
+        }
+    }
+
+    /**
+     * @param section section to copy
+     * @return copy of the section's histogram: frame intervals for FRAME, time per frame
+     *         for the others
+     */
+    public LatencyHistogram snapshot(Section section) {
+        LatencyHistogram copy = new LatencyHistogram();
+        histograms[section.ordinal()].copyInto(copy);
+        return copy;
+    }
+
+    /**
+     * @param section section
+     * @return calls of the section in closed frames; frames for FRAME
+     */
+    public long getCalls(Section section) {
+        return calls[section.ordinal()];
+    }
+
+    public void reset() {
+        for (int i = 0; i < SECTIONS.length; i++) {
+            histograms[i].reset();
+            calls[i] = 0;
+            frameNanos[i] = 0;
+            frameCalls[i] = 0;
+        }
+        gaps = 0;
+        frameStart = OFF;
+    }
+
+    public String getStats() {
+        LatencyHistogram frame = histograms[Section.FRAME.ordinal()];
+        return String.format("frames=%d gaps=%d p50=%.2fms p99=%.2fms max=%.2fms",
+            frame.getCount(), gaps, millis(frame.getValueAtQuantile(0.50)),
+            millis(frame.getValueAtQuantile(0.99)), millis(frame.getMax()));
+    }
+
+    /**
+     * @return table of every section: frames it ran in, calls, p50/p95/p99/max per frame
+     */
+    public String report() {
+        StringBuilder out = new StringBuilder(1024);
+        out.append(String.format("%-15s %9s %10s %9s %9s %9s %9s%n",
+            "section", "frames", "calls", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Section section : SECTIONS) {
+            LatencyHistogram histogram = histograms[section.ordinal()];
+            out.append(String.format("%-15s %9d %10d %9.3f %9.3f %9.3f %9.3f%n",
+                section.getTitle(), histogram.getCount(), calls[section.ordinal()],
+                millis(histogram.getValueAtQuantile(0.50)),
+                millis(histogram.getValueAtQuantile(0.95)),
+                millis(histogram.getValueAtQuantile(0.99)), millis(histogram.getMax())));
+        }
+        out.append("pauses: ").append(gaps).append(System.lineSeparator());
+        return out.toString();
+    }
+
+    /**
+     * Writes the report to {@link GameConstants.Profiling#DUMP_FILE} in the log directory.
+     * The text is built here, the file is written on a virtual thread.
+     */
+    public void dumpSoon() {
+        byte[] text = dumpText().getBytes(StandardCharsets.UTF_8);
+        Path file = Paths.get(Platform.getGameLogsDirectory(), GameConstants.Profiling.DUMP_FILE);
+        Thread.ofVirtual().name("profile-dump").start(() -> {
+            try {
+                Files.createDirectories(file.getParent());
+                DurableFile.replace(file, ByteBuffer.wrap(text));
+            } catch (IOException e) {
+                GameLogger.warn("Frame profile dump failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Writes the report to the file right away.
+     *
+     * @param file target, replaced atomically
+     * @throws IOException if writing fails
+     */
+    public void dump(Path file) throws IOException {
+        DurableFile.replace(file, ByteBuffer.wrap(dumpText().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String dumpText() {
+        return "Royal Demons frame profile, " + LocalDateTime.now().format(DUMP_TIME)
+            + System.lineSeparator() + report();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,110 @@
+package uwu.openjfx.profiling;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-memory histogram of durations in nanoseconds, bucketed the way HdrHistogram does it:
+ * values below {@link #LINEAR} get a bucket each, above that every power of two is split into
+ * {@link #SUB_BUCKETS} equal buckets, so a bucket is never wider than about 3% of its values.
+ * Recording is one array increment and never allocates; the whole range up to {@link #MAX_VALUE}
+ * (about 18 minutes) fits in 1152 counters.
+ * <p>
+ * Not thread-safe: a histogram belongs to the thread that records into it.
+ */
+public final class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int LINEAR = SUB_BUCKETS << 1;
+    static final long MAX_VALUE = (1L << 40) - 1;
+    private static final int LINEAR_BITS = SUB_BUCKET_BITS + 1;
+
+    private final long[] counts = new long[indexOf(MAX_VALUE) + 1];
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * @param nanos duration; negative values count as 0, huge ones as {@link #MAX_VALUE}
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+        counts[indexOf(value)]++;
+        count++;
+        total += value;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * @param quantile 0..1, e.g. 0.99
+     * @return the largest value in the bucket that holds the quantile, never above the maximum;
+     *         0 when nothing was recorded
+     */
+    public long getValueAtQuantile(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(1.0, Math.max(0.0, quantile)) * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Copies every counter into the target, e.g. to take a snapshot for another thread.
+     */
+    public void copyInto(LatencyHistogram target) {
+        System.arraycopy(counts, 0, target.counts, 0, counts.length);
+        target.count = count;
+        target.total = total;
+        target.max = max;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    /* Номер корзины: точные значения до LINEAR, дальше SUB_BUCKETS корзин на октаву. */
+    static int indexOf(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR + (exponent - LINEAR_BITS) * SUB_BUCKETS + sub;
+    }
+
+    /* Наибольшее значение, попадающее в корзину. */
+    static long highestValueOf(int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        int octave = (index - LINEAR) / SUB_BUCKETS;
+        int sub = (index - LINEAR) % SUB_BUCKETS;
+        int shift = octave + LINEAR_BITS - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+}
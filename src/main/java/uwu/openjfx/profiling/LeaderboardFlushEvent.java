@@ -0,0 +1,42 @@
+package uwu.openjfx.profiling;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event around one write-behind flush of the leaderboard, serialization included.
+ */
+@SuppressFBWarnings(value = "URF_UNREAD_FIELD", justification = "JFR reads the fields on commit")
+@Name("uwu.openjfx.LeaderboardFlush")
+@Label("Leaderboard Flush")
+@Category({"Royal Demons", "Persistence"})
+@Description("Serializing and writing the leaderboard file")
+@StackTrace(false)
+public final class LeaderboardFlushEvent extends Event {
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    @Label("Unchanged")
+    @Description("The file already held these bytes, nothing was written")
+    private boolean unchanged;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    public void record(long bytes, boolean unchanged, boolean succeeded) {
+        if (shouldCommit()) {
+            this.bytes = bytes;
+            this.unchanged = unchanged;
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
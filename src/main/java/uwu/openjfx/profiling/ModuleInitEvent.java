@@ -0,0 +1,39 @@
+package uwu.openjfx.profiling;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event around the initialization of one GameModule.
+ */
+@SuppressFBWarnings(value = "URF_UNREAD_FIELD", justification = "JFR reads the fields on commit")
+@Name("uwu.openjfx.ModuleInit")
+@Label("Module Init")
+@Category({"Royal Demons", "Startup"})
+@Description("Initializing a game module")
+@StackTrace(false)
+public final class ModuleInitEvent extends Event {
+
+    @Label("Module")
+    private String module;
+
+    @Label("Version")
+    private String version;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    public void record(String module, String version, boolean succeeded) {
+        if (shouldCommit()) {
+            this.module = module;
+            this.version = version;
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
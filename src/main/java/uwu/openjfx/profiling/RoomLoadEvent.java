@@ -0,0 +1,43 @@
+package uwu.openjfx.profiling;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event around GameMap.loadRoom: the TMX level is parsed, its entities are created and
+ * the room state is applied to them.
+ */
+@SuppressFBWarnings(value = "URF_UNREAD_FIELD", justification = "JFR reads the fields on commit")
+@Name("uwu.openjfx.RoomLoad")
+@Label("Room Load")
+@Category({"Royal Demons", "Map"})
+@Description("Loading a room from its TMX level")
+public final class RoomLoadEvent extends Event {
+
+    @Label("Room Type")
+    private String roomType;
+
+    @Label("Coordinate")
+    private String coordinate;
+
+    @Label("Entities")
+    @Description("Entities created from the level")
+    private int entityCount;
+
+    @Label("First Visit")
+    private boolean firstVisit;
+
+    public void record(String roomType, Object coordinate, int entityCount, boolean firstVisit) {
+        if (shouldCommit()) {
+            this.roomType = roomType;
+            this.coordinate = String.valueOf(coordinate);
+            this.entityCount = entityCount;
+            this.firstVisit = firstVisit;
+            commit();
+        }
+    }
+}
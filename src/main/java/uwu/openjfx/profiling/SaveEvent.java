@@ -0,0 +1,48 @@
+package uwu.openjfx.profiling;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event around writing or reading a save: a full save, an autosave journal record or a
+ * load.
+ */
+@SuppressFBWarnings(value = "URF_UNREAD_FIELD", justification = "JFR reads the fields on commit")
+@Name("uwu.openjfx.Save")
+@Label("Save")
+@Category({"Royal Demons", "Persistence"})
+@Description("Writing or reading a save file")
+public final class SaveEvent extends Event {
+
+    public static final String SAVE = "save";
+    public static final String AUTOSAVE = "autosave";
+    public static final String LOAD = "load";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("File")
+    private String file;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    public void record(String operation, String file, long bytes, boolean succeeded) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.file = file;
+            this.bytes = bytes;
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package uwu.openjfx.profiling;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event around a loop of spawn calls: summoned minions, boss projectile rings, elites
+ * that replace room enemies.
+ */
+@SuppressFBWarnings(value = "URF_UNREAD_FIELD", justification = "JFR reads the fields on commit")
+@Name("uwu.openjfx.SpawnBatch")
+@Label("Spawn Batch")
+@Category({"Royal Demons", "Entities"})
+@Description("Several entities spawned in one go")
+@StackTrace(false)
+public final class SpawnBatchEvent extends Event {
+
+    @Label("Source")
+    private String source;
+
+    @Label("Entity Type")
+    private String entityType;
+
+    @Label("Count")
+    private int count;
+
+    public void record(String source, String entityType, int count) {
+        if (count > 0 && shouldCommit()) {
+            this.source = source;
+            this.entityType = entityType;
+            this.count = count;
+            commit();
+        }
+    }
+}
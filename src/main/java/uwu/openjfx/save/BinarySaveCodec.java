@@ -0,0 +1,773 @@
+package uwu.openjfx.save;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact save format. A file is
+ * <pre>
+ * "RDSV" schema:varint count:varint (id:varint offset:varint length:varint)*count body
+ * </pre>
+ * and the body holds the sections the table points at, offsets counted from its start.
+ * Numbers are LEB128 varints (signed ones zigzag encoded), doubles are 8 raw bytes, and every
+ * string is an index into the STRINGS section, so the room keys and enemy ids repeated over
+ * a whole map are stored once.
+ * <p>
+ * Readers skip sections they do not know and fields of missing sections keep the defaults
+ * of GameSaveData; anything else is a schema change, see SaveMigrator. A file may hold only
+ * some sections and some rooms, which is how SaveJournal stores its deltas. Maps are written
+ * in key order, so equal contents encode to equal bytes whatever order a HashMap keeps.
+ */
+public final class BinarySaveCodec implements SaveCodec {
+
+    public static final String EXTENSION = ".sav";
+
+    private static final byte[] MAGIC = {'R', 'D', 'S', 'V'};
+
+    /**
+     * Sections holding save data, which SaveJournal also writes one by one.
+     */
+    enum Section {
+        PLAYER(2), ROOMS(3), INVENTORY(4), UNLOCKS(5), FLAGS(6);
+
+        private final int id;
+
+        Section(int id) {
+            this.id = id;
+        }
+    }
+
+    // Служебные секции; номера секций не переиспользуются
+    private static final int STRINGS = 1;
+    private static final int REMOVED_ROOMS = 7;
+
+    // Типы значений в gameFlags
+    private static final int NULL = 0;
+    private static final int FALSE = 1;
+    private static final int TRUE = 2;
+    private static final int INTEGER = 3;
+    private static final int DOUBLE = 4;
+    private static final int STRING = 5;
+    private static final int LIST = 6;
+    private static final int MAP = 7;
+
+    private static final int CLEARED = 1;
+    private static final int VISITED = 2;
+
+    private static final Comparator<String> KEY_ORDER =
+        Comparator.nullsFirst(Comparator.naturalOrder());
+
+    @Override
+    public String getFileExtension() {
+        return EXTENSION;
+    }
+
+    // region Write
+    @Override
+    public void write(GameSaveData data, OutputStream out) throws IOException {
+        write(data, EnumSet.allOf(Section.class), null, Collections.emptySet(), out);
+    }
+
+    /**
+     * Writes a part of a save, read back on top of an earlier save with
+     * {@link #readInto(byte[], GameSaveData)}.
+     *
+     * @param data         save to take the sections from
+     * @param sections     sections to write
+     * @param rooms        keys of the rooms the ROOMS section holds, null for all
+     * @param removedRooms keys of rooms to drop when reading
+     * @param out          destination, left open
+     * @throws IOException if writing fails
+     */
+    void write(GameSaveData data, Set<Section> sections, Collection<String> rooms,
+               Collection<String> removedRooms, OutputStream out) throws IOException {
+        StringTable strings = new StringTable();
+        Map<Integer, Sink> parts = new LinkedHashMap<>();
+        for (Section section : sections) {
+            parts.put(section.id, writeSection(data, section, rooms, strings));
+        }
+        if (!removedRooms.isEmpty()) {
+            Sink removed = new Sink();
+            removed.varint(removedRooms.size());
+            for (String key : removedRooms) {
+                removed.varint(strings.ref(key));
+            }
+            parts.put(REMOVED_ROOMS, removed);
+        }
+        // таблица строк заполняется остальными секциями, поэтому пишется последней
+        parts.put(STRINGS, strings.write());
+        writeFile(parts, out);
+    }
+
+    /**
+     * @return standalone encoding of one section, equal for equal contents; the save time,
+     *     which differs on every save, is left out of PLAYER
+     */
+    byte[] encode(GameSaveData data, Section section) throws IOException {
+        StringTable strings = new StringTable();
+        Sink sink = section == Section.PLAYER ? writePlayer(data, false, strings)
+            : writeSection(data, section, null, strings);
+        return strings.write().concat(sink);
+    }
+
+    /**
+     * @return standalone encoding of one room, equal for equal contents
+     */
+    byte[] encode(String key, GameSaveData.RoomState room) {
+        StringTable strings = new StringTable();
+        Sink sink = new Sink();
+        writeRoom(sink, key, room, strings);
+        return strings.write().concat(sink);
+    }
+
+    private static Sink writeSection(GameSaveData data, Section section,
+                                     Collection<String> rooms, StringTable strings)
+            throws IOException {
+        switch (section) {
+        case PLAYER:
+            return writePlayer(data, true, strings);
+        case ROOMS:
+            return writeRooms(data.getVisitedRooms(), rooms, strings);
+        case INVENTORY:
+            return writeInventory(data.getInventory(), strings);
+        case UNLOCKS:
+            return writeUnlocks(data, strings);
+        default:
+            return writeFlags(data.getGameFlags(), strings);
+        }
+    }
+
+    private static void writeFile(Map<Integer, Sink> sections, OutputStream out)
+            throws IOException {
+        Sink header = new Sink();
+        header.bytes(MAGIC, MAGIC.length);
+        header.varint(SaveMigrator.CURRENT_SCHEMA);
+        header.varint(sections.size());
+        int offset = 0;
+        for (Map.Entry<Integer, Sink> section : sections.entrySet()) {
+            header.varint(section.getKey());
+            header.varint(offset);
+            header.varint(section.getValue().size());
+            offset += section.getValue().size();
+        }
+        header.writeTo(out);
+        for (Sink section : sections.values()) {
+            section.writeTo(out);
+        }
+    }
+
+    private static Sink writePlayer(GameSaveData data, boolean withSaveTime,
+                                    StringTable strings) {
+        Sink sink = new Sink();
+        sink.varint(strings.ref(data.getVersion()));
+        LocalDateTime saveTime = withSaveTime ? data.getSaveTime() : null;
+        sink.bool(saveTime != null);
+        if (saveTime != null) {
+            sink.signed(saveTime.toEpochSecond(ZoneOffset.UTC));
+            sink.varint(saveTime.getNano());
+        }
+        sink.signed(data.getPlayTime());
+        sink.signed(data.getPlayerLevel());
+        sink.signed(data.getPlayerExperience());
+        sink.signed(data.getPlayerHealth());
+        sink.signed(data.getPlayerMaxHealth());
+        GameSaveData.Position position = data.getPlayerPosition();
+        sink.bool(position != null);
+        if (position != null) {
+            sink.float64(position.getX());
+            sink.float64(position.getY());
+        }
+        sink.varint(strings.ref(data.getCurrentRoomId()));
+        sink.varint(strings.ref(data.getDifficulty()));
+        sink.signed(data.getGold());
+        return sink;
+    }
+
+    private static Sink writeRooms(Map<String, GameSaveData.RoomState> rooms,
+                                   Collection<String> keys, StringTable strings) {
+        Sink sink = new Sink();
+        if (rooms == null) {
+            sink.varint(0);
+            return sink;
+        }
+        Collection<String> written = keys == null ? sortedKeys(rooms) : keys;
+        int count = 0;
+        for (String key : written) {
+            if (rooms.get(key) != null) {
+                count++;
+            }
+        }
+        sink.varint(count);
+        for (String key : written) {
+            GameSaveData.RoomState room = rooms.get(key);
+            if (room != null) {
+                writeRoom(sink, key, room, strings);
+            }
+        }
+        return sink;
+    }
+
+    private static void writeRoom(Sink sink, String key, GameSaveData.RoomState room,
+                                  StringTable strings) {
+        sink.varint(strings.ref(key));
+        sink.varint((room.isCleared() ? CLEARED : 0) | (room.isVisited() ? VISITED : 0));
+        writeBooleans(sink, room.getEnemiesDefeated(), strings);
+        writeBooleans(sink, room.getItemsCollected(), strings);
+    }
+
+    private static Sink writeInventory(GameSaveData.InventoryState inventory,
+                                       StringTable strings) {
+        Sink sink = new Sink();
+        sink.bool(inventory != null);
+        if (inventory != null) {
+            writeIntegers(sink, inventory.getItems(), strings);
+            sink.varint(strings.ref(inventory.getCurrentWeapon()));
+            writeIntegers(sink, inventory.getPotions(), strings);
+        }
+        return sink;
+    }
+
+    private static Sink writeUnlocks(GameSaveData data, StringTable strings) {
+        Sink sink = new Sink();
+        writeBooleans(sink, data.getWeaponsUnlocked(), strings);
+        writeBooleans(sink, data.getAchievements(), strings);
+        return sink;
+    }
+
+    private static Sink writeFlags(Map<String, Object> flags, StringTable strings)
+            throws IOException {
+        Sink sink = new Sink();
+        writeValue(sink, flags == null ? new HashMap<>() : flags, strings);
+        return sink;
+    }
+
+    /* Boolean пишется как 0 (null), 1 (false) или 2 (true). */
+    private static void writeBooleans(Sink sink, Map<String, Boolean> map,
+                                      StringTable strings) {
+        if (map == null) {
+            sink.varint(0);
+            return;
+        }
+        sink.varint(map.size());
+        for (Map.Entry<String, Boolean> entry : sortedEntries(map)) {
+            sink.varint(strings.ref(entry.getKey()));
+            Boolean value = entry.getValue();
+            sink.varint(value == null ? 0 : value ? 2 : 1);
+        }
+    }
+
+    /* Integer пишется как zigzag(value) + 1, ноль оставлен для null. */
+    private static void writeIntegers(Sink sink, Map<String, Integer> map,
+                                      StringTable strings) {
+        if (map == null) {
+            sink.varint(0);
+            return;
+        }
+        sink.varint(map.size());
+        for (Map.Entry<String, Integer> entry : sortedEntries(map)) {
+            sink.varint(strings.ref(entry.getKey()));
+            Integer value = entry.getValue();
+            sink.varint(value == null ? 0 : zigzag(value) + 1);
+        }
+    }
+
+    private static void writeValue(Sink sink, Object value, StringTable strings)
+            throws IOException {
+        if (value == null) {
+            sink.varint(NULL);
+        } else if (value instanceof Boolean) {
+            sink.varint((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Integer || value instanceof Long
+            || value instanceof Short || value instanceof Byte) {
+            sink.varint(INTEGER);
+            sink.signed(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            sink.varint(DOUBLE);
+            sink.float64(((Number) value).doubleValue());
+        } else if (value instanceof String) {
+            sink.varint(STRING);
+            sink.varint(strings.ref((String) value));
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            sink.varint(LIST);
+            sink.varint(list.size());
+            for (Object item : list) {
+                writeValue(sink, item, strings);
+            }
+        } else if (value instanceof Map) {
+            Map<String, Object> map = new HashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.put(String.valueOf(entry.getKey()), entry.getValue());
+            }
+            sink.varint(MAP);
+            sink.varint(map.size());
+            for (Map.Entry<String, Object> entry : sortedEntries(map)) {
+                sink.varint(strings.ref(entry.getKey()));
+                writeValue(sink, entry.getValue(), strings);
+            }
+        } else {
+            throw new IOException("Game flag of type " + value.getClass().getName()
+                + " cannot be saved");
+        }
+    }
+
+    private static <V> List<Map.Entry<String, V>> sortedEntries(Map<String, V> map) {
+        List<Map.Entry<String, V>> entries = new ArrayList<>(map.entrySet());
+        entries.sort(Map.Entry.comparingByKey(KEY_ORDER));
+        return entries;
+    }
+
+    private static List<String> sortedKeys(Map<String, ?> map) {
+        List<String> keys = new ArrayList<>(map.keySet());
+        keys.sort(KEY_ORDER);
+        return keys;
+    }
+    // endregion
+
+    // region Read
+    @Override
+    public GameSaveData read(InputStream in) throws IOException {
+        GameSaveData data = new GameSaveData();
+        int schema = readInto(in.readAllBytes(), data);
+        return SaveMigrator.migrate(data, schema);
+    }
+
+    /**
+     * Reads the sections of a file over an existing save: rooms are added or replaced one by
+     * one, every other section replaces what it holds. Does not migrate.
+     *
+     * @param bytes whole file
+     * @param data  save to update
+     * @return schema the file was written with
+     * @throws IOException if the data is broken
+     */
+    int readInto(byte[] bytes, GameSaveData data) throws IOException {
+        Source file = new Source(bytes);
+        for (byte b : MAGIC) {
+            if (file.u8() != b) {
+                throw new IOException("Not a save file");
+            }
+        }
+        int schema = file.int32();
+        int count = file.int32();
+        // секции, которых этот код не знает, в таблицу не попадают и пропускаются
+        int[][] table = new int[REMOVED_ROOMS + 1][];
+        for (int i = 0; i < count; i++) {
+            int id = file.int32();
+            int[] location = {file.int32(), file.int32()};
+            if (id < table.length) {
+                table[id] = location;
+            }
+        }
+        int body = file.position();
+
+        // старые схемы читаются тем же кодом: новых секций в них просто нет
+        String[] strings = readStrings(section(file, body, table[STRINGS]));
+        Source player = section(file, body, table[Section.PLAYER.id]);
+        if (player != null) {
+            readPlayer(player, data, strings);
+        }
+        Source rooms = section(file, body, table[Section.ROOMS.id]);
+        if (rooms != null) {
+            readRooms(rooms, strings, data);
+        }
+        Source removed = section(file, body, table[REMOVED_ROOMS]);
+        if (removed != null && data.getVisitedRooms() != null) {
+            int size = removed.int32();
+            for (int i = 0; i < size; i++) {
+                data.getVisitedRooms().remove(string(removed, strings));
+            }
+        }
+        Source inventory = section(file, body, table[Section.INVENTORY.id]);
+        if (inventory != null) {
+            data.setInventory(inventory.bool() ? readInventory(inventory, strings)
+                : new GameSaveData.InventoryState());
+        }
+        Source unlocks = section(file, body, table[Section.UNLOCKS.id]);
+        if (unlocks != null) {
+            data.setWeaponsUnlocked(readBooleans(unlocks, strings));
+            data.setAchievements(readBooleans(unlocks, strings));
+        }
+        Source flags = section(file, body, table[Section.FLAGS.id]);
+        if (flags != null) {
+            data.setGameFlags(readFlags(flags, strings));
+        }
+        return schema;
+    }
+
+    private static Source section(Source file, int body, int[] location) throws IOException {
+        if (location == null) {
+            return null;
+        }
+        return file.slice(body + location[0], location[1]);
+    }
+
+    private static String[] readStrings(Source source) throws IOException {
+        if (source == null) {
+            return new String[0];
+        }
+        String[] strings = new String[source.int32()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = source.utf8(source.int32());
+        }
+        return strings;
+    }
+
+    private static void readPlayer(Source source, GameSaveData data, String[] strings)
+            throws IOException {
+        data.setVersion(string(source, strings));
+        if (source.bool()) {
+            long seconds = source.signed();
+            data.setSaveTime(LocalDateTime.ofEpochSecond(seconds, source.int32(),
+                ZoneOffset.UTC));
+        }
+        data.setPlayTime(source.signed());
+        data.setPlayerLevel(source.signedInt());
+        data.setPlayerExperience(source.signedInt());
+        data.setPlayerHealth(source.signedInt());
+        data.setPlayerMaxHealth(source.signedInt());
+        if (source.bool()) {
+            double x = source.float64();
+            data.setPlayerPosition(new GameSaveData.Position(x, source.float64()));
+        }
+        data.setCurrentRoomId(string(source, strings));
+        data.setDifficulty(string(source, strings));
+        data.setGold(source.signedInt());
+    }
+
+    private static void readRooms(Source source, String[] strings, GameSaveData data)
+            throws IOException {
+        int count = source.int32();
+        Map<String, GameSaveData.RoomState> rooms = data.getVisitedRooms();
+        if (rooms == null || rooms.isEmpty()) {
+            // полное сохранение: таблица сразу нужного размера, без перестроений
+            rooms = new HashMap<>(capacity(count));
+            data.setVisitedRooms(rooms);
+        }
+        for (int i = 0; i < count; i++) {
+            String key = string(source, strings);
+            int state = source.int32();
+            GameSaveData.RoomState room = new GameSaveData.RoomState();
+            room.setCleared((state & CLEARED) != 0);
+            room.setVisited((state & VISITED) != 0);
+            // свои пустые карты комнаты заполняются на месте, а не заменяются новыми
+            readBooleans(source, strings, source.int32(), room.getEnemiesDefeated());
+            readBooleans(source, strings, source.int32(), room.getItemsCollected());
+            rooms.put(key, room);
+        }
+    }
+
+    private static GameSaveData.InventoryState readInventory(Source source, String[] strings)
+            throws IOException {
+        GameSaveData.InventoryState inventory = new GameSaveData.InventoryState();
+        inventory.setItems(readIntegers(source, strings));
+        inventory.setCurrentWeapon(string(source, strings));
+        inventory.setPotions(readIntegers(source, strings));
+        return inventory;
+    }
+
+    private static Map<String, Boolean> readBooleans(Source source, String[] strings)
+            throws IOException {
+        int count = source.int32();
+        Map<String, Boolean> map = new HashMap<>(capacity(count));
+        readBooleans(source, strings, count, map);
+        return map;
+    }
+
+    private static void readBooleans(Source source, String[] strings, int count,
+                                     Map<String, Boolean> map) throws IOException {
+        for (int i = 0; i < count; i++) {
+            String key = string(source, strings);
+            int value = source.int32();
+            map.put(key, value == 0 ? null : value == 2);
+        }
+    }
+
+    private static Map<String, Integer> readIntegers(Source source, String[] strings)
+            throws IOException {
+        int count = source.int32();
+        Map<String, Integer> map = new HashMap<>(capacity(count));
+        for (int i = 0; i < count; i++) {
+            String key = string(source, strings);
+            long value = source.varint();
+            map.put(key, value == 0 ? null : Source.toInt(unzigzag(value - 1)));
+        }
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> readFlags(Source source, String[] strings)
+            throws IOException {
+        Object flags = readValue(source, strings);
+        if (!(flags instanceof Map)) {
+            throw new IOException("Broken save: game flags are not a map");
+        }
+        // на верхнем уровне HashMap, как в GameSaveData
+        return new HashMap<>((Map<String, Object>) flags);
+    }
+
+    /* Числа возвращаются теми же типами, что дал бы Jackson при чтении JSON. */
+    private static Object readValue(Source source, String[] strings) throws IOException {
+        int type = source.int32();
+        switch (type) {
+        case NULL:
+            return null;
+        case FALSE:
+            return Boolean.FALSE;
+        case TRUE:
+            return Boolean.TRUE;
+        case INTEGER:
+            long number = source.signed();
+            if (number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+                return (int) number;
+            }
+            return number;
+        case DOUBLE:
+            return source.float64();
+        case STRING:
+            return string(source, strings);
+        case LIST:
+            int size = source.int32();
+            List<Object> list = new ArrayList<>(Math.min(size, source.remaining()));
+            for (int i = 0; i < size; i++) {
+                list.add(readValue(source, strings));
+            }
+            return list;
+        case MAP:
+            int count = source.int32();
+            Map<String, Object> map = new LinkedHashMap<>(capacity(count));
+            for (int i = 0; i < count; i++) {
+                String key = string(source, strings);
+                map.put(key, readValue(source, strings));
+            }
+            return map;
+        default:
+            throw new IOException("Broken save: unknown flag type " + type);
+        }
+    }
+
+    private static String string(Source source, String[] strings) throws IOException {
+        int ref = source.int32();
+        if (ref == 0) {
+            return null;
+        }
+        if (ref > strings.length) {
+            throw new IOException("Broken save: string " + ref + " out of range");
+        }
+        return strings[ref - 1];
+    }
+
+    private static int capacity(int count) {
+        // размер в файле не проверен, не даём ему раздуть таблицу
+        return Math.min(count, 1 << 12) * 4 / 3 + 1;
+    }
+    // endregion
+
+    // region Encoding
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /* Ссылки на строки: 0 для null, иначе индекс + 1. */
+    private static final class StringTable {
+        private final Map<String, Integer> refs = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int ref(String value) {
+            if (value == null) {
+                return 0;
+            }
+            Integer ref = refs.get(value);
+            if (ref == null) {
+                values.add(value);
+                ref = values.size();
+                refs.put(value, ref);
+            }
+            return ref;
+        }
+
+        Sink write() {
+            Sink sink = new Sink();
+            sink.varint(values.size());
+            for (String value : values) {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                sink.varint(utf8.length);
+                sink.bytes(utf8, utf8.length);
+            }
+            return sink;
+        }
+    }
+
+    private static final class Sink {
+        private byte[] buffer = new byte[256];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void signed(long value) {
+            varint(zigzag(value));
+        }
+
+        void bool(boolean value) {
+            varint(value ? 1 : 0);
+        }
+
+        void float64(double value) {
+            ensure(8);
+            long bits = Double.doubleToLongBits(value);
+            for (int i = 0; i < 8; i++) {
+                buffer[size++] = (byte) (bits >>> (8 * i));
+            }
+        }
+
+        void bytes(byte[] bytes, int length) {
+            ensure(length);
+            System.arraycopy(bytes, 0, buffer, size, length);
+            size += length;
+        }
+
+        byte[] concat(Sink next) {
+            byte[] bytes = Arrays.copyOf(buffer, size + next.size);
+            System.arraycopy(next.buffer, 0, bytes, size, next.size);
+            return bytes;
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(buffer, 0, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    private static final class Source {
+        private final byte[] bytes;
+        private final int end;
+        private int position;
+
+        Source(byte[] bytes) {
+            this(bytes, 0, bytes.length);
+        }
+
+        private Source(byte[] bytes, int start, int end) {
+            this.bytes = bytes;
+            this.position = start;
+            this.end = end;
+        }
+
+        int position() {
+            return position;
+        }
+
+        int remaining() {
+            return end - position;
+        }
+
+        Source slice(int start, int length) throws IOException {
+            if (start < position || length < 0 || start > end - length) {
+                throw new IOException("Broken save: section out of bounds");
+            }
+            return new Source(bytes, start, start + length);
+        }
+
+        int u8() throws IOException {
+            if (position >= end) {
+                throw new IOException("Broken save: unexpected end of data");
+            }
+            return bytes[position++];
+        }
+
+        long varint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = u8();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Broken save: varint too long");
+        }
+
+        int int32() throws IOException {
+            long value = varint();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new IOException("Broken save: " + value + " out of range");
+            }
+            return (int) value;
+        }
+
+        long signed() throws IOException {
+            return unzigzag(varint());
+        }
+
+        int signedInt() throws IOException {
+            return toInt(signed());
+        }
+
+        static int toInt(long value) throws IOException {
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                throw new IOException("Broken save: " + value + " out of range");
+            }
+            return (int) value;
+        }
+
+        boolean bool() throws IOException {
+            return varint() != 0;
+        }
+
+        double float64() throws IOException {
+            if (remaining() < 8) {
+                throw new IOException("Broken save: unexpected end of data");
+            }
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits |= (bytes[position++] & 0xFFL) << (8 * i);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        String utf8(int length) throws IOException {
+            if (length > remaining()) {
+                throw new IOException("Broken save: unexpected end of data");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+    // endregion
+}
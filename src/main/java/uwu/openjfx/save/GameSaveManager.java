@@ -1,33 +1,46 @@
 package uwu.openjfx.save;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import uwu.openjfx.core.DurableFile;
+import uwu.openjfx.profiling.SaveEvent;
 import uwu.openjfx.utils.GameLogger;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 /**
  * Менеджер сохранения и загрузки игры
+ * <p>
+ * Saves are written with BinarySaveCodec; JSON saves of older versions still load and
+ * {@link #exportJson(String)} writes a readable copy of any save for debugging. Autosaves go
+ * to a SaveJournal, which appends only what changed since the previous autosave.
  */
 public class GameSaveManager {
     private static final String SAVE_DIRECTORY =
             System.getProperty("user.home") + "/.royal-demons/saves";
-    private static final String SAVE_FILE_EXTENSION = ".json";
+    private static final String SAVE_FILE_EXTENSION = BinarySaveCodec.EXTENSION;
+    private static final String AUTO_SAVE_NAME = "autosave";
     private static final String SAVE_VERSION = "1.0.0"; // Версия формата сохранения
 
     private static GameSaveManager instance;
     private File saveDirectory;
+    private final BinarySaveCodec codec = new BinarySaveCodec();
+    private final SaveCodec jsonCodec = new JsonSaveCodec();
+    private final SaveJournal autoSaveJournal;
+    private final SaveIndex index;
 
     private GameSaveManager() {
         initializeSaveDirectory();
+        autoSaveJournal = new SaveJournal(
+            new File(saveDirectory, AUTO_SAVE_NAME + SaveJournal.EXTENSION).toPath(), codec);
+        index = new SaveIndex(new File(saveDirectory, SaveIndex.FILE_NAME).toPath());
     }
 
     public static GameSaveManager getInstance() {
@@ -57,16 +70,20 @@ public class GameSaveManager {
      * @param saveData данные игры для сохранения
      */
     public void saveGame(GameSaveData saveData) {
+        SaveEvent event = new SaveEvent();
+        event.begin();
+        String filename = generateSaveFileName(saveData);
         try {
-            ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
-            String filename = generateSaveFileName(saveData);
             File saveFile = new File(saveDirectory, filename);
 
             saveData.setSaveTime(LocalDateTime.now());
-            mapper.writeValue(saveFile, saveData);
+            write(codec, saveData, saveFile);
+            index.put(saveFile.toPath(), saveData);
 
             GameLogger.system("Игра сохранена в файл: " + filename);
+            event.record(SaveEvent.SAVE, filename, saveFile.length(), true);
         } catch (IOException e) {
+            event.record(SaveEvent.SAVE, filename, 0, false);
             GameLogger.error("Ошибка сохранения игры: " + e.getMessage(), e);
             throw new RuntimeException("Failed to save game", e);
         }
@@ -79,18 +96,20 @@ public class GameSaveManager {
      * @return данные загруженной игры
      */
     public GameSaveData loadGame(String filename) {
+        SaveEvent event = new SaveEvent();
+        event.begin();
         try {
-            ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
             File saveFile = new File(saveDirectory, filename);
             if (!saveFile.exists()) {
                 throw new RuntimeException("Save file not found: " + filename);
             }
 
-            GameSaveData saveData = mapper.readValue(saveFile,
-                    GameSaveData.class);
+            GameSaveData saveData = read(saveFile);
             GameLogger.system("Игра загружена из файла: " + filename);
+            event.record(SaveEvent.LOAD, filename, saveFile.length(), true);
             return saveData;
         } catch (IOException e) {
+            event.record(SaveEvent.LOAD, filename, 0, false);
             GameLogger.error("Ошибка загрузки игры: " + e.getMessage(), e);
             throw new RuntimeException("Failed to load game", e);
         }
@@ -103,30 +122,19 @@ public class GameSaveManager {
      */
     public SaveSlotInfo[] getAvailableSaves() {
         File[] saveFiles = saveDirectory.listFiles((dir, name) ->
-                name.endsWith(SAVE_FILE_EXTENSION));
+                codecFor(name) != null || name.endsWith(SaveJournal.EXTENSION));
 
         if (saveFiles == null) {
             return new SaveSlotInfo[0];
         }
 
-        SaveSlotInfo[] slots = new SaveSlotInfo[saveFiles.length];
-        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
-
-        for (int i = 0; i < saveFiles.length; i++) {
-            try {
-                GameSaveData saveData = mapper.readValue(saveFiles[i],
-                        GameSaveData.class);
-                slots[i] = new SaveSlotInfo(
-                        saveFiles[i].getName(),
-                        saveData.getPlayerLevel(),
-                        saveData.getSaveTime(),
-                        saveData.getPlayTime()
-                );
-            } catch (IOException e) {
-                GameLogger.warn("Пропущен поврежденный файл сохранения: " + saveFiles[i].getName());
-                slots[i] = new SaveSlotInfo(saveFiles[i].getName(), 0, null, 0);
+        // Разбираются только сохранения, которых нет в индексе или которые изменились
+        SaveSlotInfo[] slots = index.list(saveFiles, file -> {
+            if (!validateSaveIntegrity(file)) {
+                throw new IOException("Incomplete save");
             }
-        }
+            return read(file);
+        });
 
         // Сортировка по времени последнего сохранения
         java.util.Arrays.sort(slots, (a, b) -> {
@@ -154,6 +162,7 @@ public class GameSaveManager {
     public boolean deleteSave(String filename) {
         File saveFile = new File(saveDirectory, filename);
         if (saveFile.exists() && saveFile.delete()) {
+            index.remove(filename);
             GameLogger.system("Удалено сохранение: " + filename);
             return true;
         }
@@ -166,84 +175,38 @@ public class GameSaveManager {
      * @param saveData данные игры для автосохранения
      */
     public void autoSave(GameSaveData saveData) {
+        SaveEvent event = new SaveEvent();
+        event.begin();
+        String file = autoSaveJournal.getFile().getFileName().toString();
         try {
-            ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
-            File autoSaveFile = new File(saveDirectory, "autosave" + SAVE_FILE_EXTENSION);
             saveData.setSaveTime(LocalDateTime.now());
-            mapper.writeValue(autoSaveFile, saveData);
-            GameLogger.system("Автосохранение выполнено");
+            int bytes = autoSaveJournal.append(saveData);
+            index.put(autoSaveJournal.getFile(), saveData);
+            GameLogger.system("Автосохранение выполнено (" + bytes + " байт)");
+            event.record(SaveEvent.AUTOSAVE, file, bytes, true);
         } catch (IOException e) {
+            event.record(SaveEvent.AUTOSAVE, file, 0, false);
             GameLogger.warn("Не удалось выполнить автосохранение: " + e.getMessage());
         }
     }
 
     /**
-     * Вычисляет MD5 checksum для файла
-     *
-     * @param file файл для вычисления checksum
-     * @return строка с контрольной суммой или null при ошибке
-     */
-    private String calculateChecksum(File file) {
-        try {
-            byte[] data = Files.readAllBytes(file.toPath());
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] hash = md.digest(data);
-
-            StringBuilder sb = new StringBuilder();
-            for (byte b : hash) {
-                sb.append(String.format("%02x", b));
-            }
-            return sb.toString();
-        } catch (IOException | NoSuchAlgorithmException e) {
-            GameLogger.warn("Failed to calculate checksum: " + e.getMessage());
-            return null;
-        }
-    }
-
-    /**
-     * Проверяет целостность файла сохранения
+     * Проверяет, что запись файла сохранения была завершена
      *
      * @param file файл для проверки
      * @return true если файл прошел валидацию
      */
     private boolean validateSaveIntegrity(File file) {
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            GameSaveData saveData = mapper.readValue(file, GameSaveData.class);
-
-            // Проверяем наличие обязательных полей
-            String difficulty = saveData.getDifficulty();
-            if (difficulty == null || difficulty.trim().isEmpty()) {
-                GameLogger.warn("Save file has invalid difficulty: " + file.getName());
-                return false;
-            }
-
-            int playerLevel = saveData.getPlayerLevel();
-            if (playerLevel < 0) {
-                GameLogger.warn("Save file has invalid player level: " + file.getName());
-                return false;
-            }
-
-            int gold = saveData.getGold();
-            if (gold < 0) {
-                GameLogger.warn("Save file has invalid gold amount: " + file.getName());
-                return false;
-            }
-
-            int playerHealth = saveData.getPlayerHealth();
-            int maxHealth = saveData.getPlayerMaxHealth();
-            if (playerHealth <= 0 || playerHealth > maxHealth || maxHealth <= 0) {
-                GameLogger.warn("Save file has invalid health: " + file.getName() +
-                                " (health=" + playerHealth + ", maxHealth=" + maxHealth + ")");
-                return false;
-            }
-
-            GameLogger.debug("Save file validation passed: " + file.getName());
+        if (codec != codecFor(file.getName())) {
+            // JSON-сохранения старых версий и журнал проверяются при чтении
             return true;
-        } catch (Exception e) {
-            GameLogger.warn("Failed to validate save file: " + file.getName() + " - " + e.getMessage());
+        }
+        // O(1): длина и трейлер DurableFile, без чтения и разбора файла
+        if (!DurableFile.isComplete(file.toPath())) {
+            GameLogger.warn("Save file is incomplete: " + file.getName());
             return false;
         }
+        return true;
     }
 
     /**
@@ -261,12 +224,76 @@ public class GameSaveManager {
      * @return данные автосохранения или null если файл не найден
      */
     public GameSaveData loadAutoSave() {
-        File autoSaveFile = new File(saveDirectory, "autosave" + SAVE_FILE_EXTENSION);
-        if (!autoSaveFile.exists()) {
-            return null;
+        if (Files.exists(autoSaveJournal.getFile())) {
+            return loadGame(autoSaveJournal.getFile().getFileName().toString());
+        }
+        // автосохранения старых версий: целиком в .sav или в JSON
+        for (SaveCodec candidate : new SaveCodec[] {codec, jsonCodec}) {
+            String filename = AUTO_SAVE_NAME + candidate.getFileExtension();
+            if (new File(saveDirectory, filename).exists()) {
+                return loadGame(filename);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Пишет читаемую JSON-копию сохранения рядом с ним, для отладки
+     *
+     * @param filename имя файла сохранения
+     * @return имя файла с копией
+     */
+    public String exportJson(String filename) {
+        GameSaveData saveData = loadGame(filename);
+        String exportName = filename.substring(0, filename.lastIndexOf('.'))
+            + jsonCodec.getFileExtension();
+        if (exportName.equals(filename)) {
+            throw new IllegalArgumentException("Save is already JSON: " + filename);
+        }
+        try {
+            // экспорт читает человек: обычный JSON без трейлера контрольной суммы
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(
+                    new File(saveDirectory, exportName).toPath()))) {
+                jsonCodec.write(saveData, out);
+            }
+            GameLogger.system("Сохранение экспортировано в " + exportName);
+            return exportName;
+        } catch (IOException e) {
+            GameLogger.error("Ошибка экспорта сохранения: " + e.getMessage(), e);
+            throw new RuntimeException("Failed to export save", e);
         }
+    }
+
+    private SaveCodec codecFor(String filename) {
+        if (filename.endsWith(codec.getFileExtension())) {
+            return codec;
+        }
+        if (filename.endsWith(jsonCodec.getFileExtension())) {
+            return jsonCodec;
+        }
+        return null;
+    }
+
+    private GameSaveData read(File file) throws IOException {
+        if (file.toPath().equals(autoSaveJournal.getFile())) {
+            GameSaveData saveData = autoSaveJournal.load();
+            if (saveData == null) {
+                throw new IOException("Autosave journal is empty: " + file.getName());
+            }
+            return saveData;
+        }
+        SaveCodec fileCodec = codecFor(file.getName());
+        if (fileCodec == null) {
+            throw new IOException("Unknown save format: " + file.getName());
+        }
+        try (InputStream in = DurableFile.read(file.toPath())) {
+            return fileCodec.read(in);
+        }
+    }
 
-        return loadGame("autosave" + SAVE_FILE_EXTENSION);
+    private static void write(SaveCodec fileCodec, GameSaveData saveData, File file)
+            throws IOException {
+        DurableFile.write(file.toPath(), out -> fileCodec.write(saveData, out));
     }
 
     /**
@@ -1,15 +1,20 @@
 package uwu.openjfx.save;
 
+import javafx.application.Platform;
 import uwu.openjfx.components.PlayerComponent;
 import uwu.openjfx.components.PlayerManager;
 import uwu.openjfx.core.GameConstants;
+import uwu.openjfx.time.GameScheduler;
+import uwu.openjfx.time.TimerHandle;
 import uwu.openjfx.utils.GameLogger;
 
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Улучшенный сервис для управления сохранениями в игре.
@@ -18,6 +23,11 @@ import java.util.concurrent.atomic.AtomicLong;
  * - Интеграция с новой архитектурой PlayerManager
  * - Обработка ошибок и fallback механизмы
  * - Поддержка версионирования сохранений
+ * <p>
+ * Saving is a two-stage pipeline. The game state is copied into a SaveSnapshot on the game
+ * thread, between frames; a single virtual-thread SaveWriter then builds GameSaveData and
+ * writes it. Requests for the same slot coalesce while they wait, so a burst of saves writes
+ * the latest snapshot once and the frame never waits for the disk.
  */
 public class GameSaveService {
 
@@ -25,20 +35,17 @@ public class GameSaveService {
 
     // Thread-safe поля
     private final GameSaveManager saveManager;
-    private final Timer autoSaveTimer;
+    private final SaveWriter writer;
+    private volatile TimerHandle autoSaveTimer;
     private final AtomicBoolean autoSaveEnabled = new AtomicBoolean(true);
+    private final AtomicBoolean shutDown = new AtomicBoolean(false);
     private final AtomicLong gameStartTime = new AtomicLong(System.currentTimeMillis());
     private final AtomicLong totalPlayTime = new AtomicLong(0);
-    private final AtomicBoolean isSaving = new AtomicBoolean(false);
-
-    // Кэширование данных для оптимизации
-    private volatile GameSaveData cachedSaveData;
-    private volatile long lastCacheUpdate = 0;
-    private static final long CACHE_UPDATE_INTERVAL = 1000; // 1 секунда
 
     private GameSaveService() {
         this.saveManager = GameSaveManager.getInstance();
-        this.autoSaveTimer = new Timer("AutoSaveTimer", true);
+        this.writer = new SaveWriter(GameConstants.Save.WRITER_QUEUE_CAPACITY,
+            Thread.ofVirtual().name("save-writer").factory(), this::writeSnapshot);
         this.gameStartTime.set(System.currentTimeMillis());
         startAutoSave();
     }
@@ -54,49 +61,54 @@ public class GameSaveService {
      * @return CompletableFuture с результатом сохранения
      */
     public CompletableFuture<Boolean> saveGameAsync(String saveName) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (isSaving.get()) {
-                GameLogger.warn("Save already in progress, skipping");
+        // все автосохранения пишутся в один журнал и сливаются в один слот очереди
+        String slot = saveName == null || saveName.startsWith(GameConstants.Save.AUTO_SAVE_PREFIX)
+            ? GameConstants.Save.AUTO_SAVE_PREFIX : saveName;
+        return onGameThread(this::captureSnapshot)
+            .thenCompose(snapshot -> writer.submit(slot, snapshot))
+            .exceptionally(e -> {
+                GameLogger.error("Ошибка сохранения игры: " + e.getMessage(), e);
                 return false;
-            }
-
-            isSaving.set(true);
-            try {
-                return saveGameSync(saveName);
-            } finally {
-                isSaving.set(false);
-            }
-        });
+            });
     }
 
     /**
-     * Синхронное сохранение текущего состояния игры
+     * Пишет снимок; вызывается только потоком SaveWriter
      */
-    private boolean saveGameSync(String saveName) {
-        try {
-            GameSaveData saveData = createSaveDataFromCurrentState();
-
-            // Генерируем имя файла, если не указано
-            String filename = saveName != null ? saveName : generateAutoSaveName();
-
-            // Добавляем базовую информацию
-            // saveData.setVersion(getCurrentVersion()); // Метод может не существовать
-            // saveData.setTimestamp(System.currentTimeMillis()); // Метод может не существовать
+    private boolean writeSnapshot(String slot, SaveSnapshot snapshot) {
+        GameSaveData saveData = snapshot.toSaveData();
+        if (slot.startsWith(GameConstants.Save.AUTO_SAVE_PREFIX)) {
+            saveManager.autoSave(saveData);
+        } else {
+            saveManager.saveGame(saveData);
+        }
+        GameLogger.gameplay("Игра сохранена: " + slot);
+        return true;
+    }
 
-            // Сохранение в зависимости от типа
-            if (filename.startsWith(GameConstants.Save.AUTO_SAVE_PREFIX)) {
-                saveManager.autoSave(saveData);
-            } else {
-                saveManager.saveGame(saveData);
+    /*
+     * Снимок берётся на игровом (FX) потоке между кадрами. Без JavaFX (тесты, headless)
+     * игрового потока нет, и снимок берётся там, где его попросили.
+     */
+    private static <T> CompletableFuture<T> onGameThread(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable run = () -> {
+            try {
+                result.complete(task.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
             }
-
-            GameLogger.gameplay("Игра сохранена: " + filename);
-            updateCache(saveData);
-            return true;
-        } catch (Exception e) {
-            GameLogger.error("Ошибка сохранения игры: " + e.getMessage(), e);
-            return false;
+        };
+        if (Platform.isFxApplicationThread()) {
+            run.run();
+            return result;
+        }
+        try {
+            Platform.runLater(run);
+        } catch (IllegalStateException e) {
+            run.run();
         }
+        return result;
     }
 
     /**
@@ -135,13 +147,12 @@ public class GameSaveService {
      * Создает быстрое сохранение
      */
     public CompletableFuture<Boolean> quickSave() {
-        return CompletableFuture.supplyAsync(() -> {
-            // Сохраняем только если игра идет достаточно долго
-            if (getTotalPlayTime() > 10) { // 10 секунд
-                return saveGameSync(GameConstants.Save.QUICK_SAVE_PREFIX + "1" + GameConstants.Save.SAVE_FILE_EXTENSION);
-            }
-            return false;
-        });
+        // Сохраняем только если игра идет достаточно долго
+        if (getTotalPlayTime() <= 10) { // 10 секунд
+            return CompletableFuture.completedFuture(false);
+        }
+        return saveGameAsync(GameConstants.Save.QUICK_SAVE_PREFIX + "1"
+            + GameConstants.Save.SAVE_FILE_EXTENSION);
     }
 
     /**
@@ -211,60 +222,25 @@ public class GameSaveService {
     }
 
     /**
-     * Создает данные сохранения из текущего состояния игры с улучшенной интеграцией
+     * Копирует состояние игры для сохранения; только на игровом потоке
      */
-    private GameSaveData createSaveDataFromCurrentState() {
-        // Проверяем кэш для оптимизации
-        long currentTime = System.currentTimeMillis();
-        if (cachedSaveData != null && (currentTime - lastCacheUpdate) < CACHE_UPDATE_INTERVAL) {
-            return cloneSaveData(cachedSaveData);
-        }
-
-        GameSaveData saveData = new GameSaveData();
-
+    private SaveSnapshot captureSnapshot() {
+        long playTime = getTotalPlayTime();
         try {
             // Получаем компонент игрока через PlayerManager
             PlayerComponent player = PlayerManager.getInstance().getCurrentPlayer();
 
             if (player != null) {
-                // Позиция игрока (если доступна)
-                saveData.setPlayerPosition(new GameSaveData.Position(100, 100)); // Default position
-
-                // Здоровье
-                saveData.setPlayerHealth(player.getHealthPoints());
-                saveData.setPlayerMaxHealth(player.getMaxHealthPoints());
-
-                // Базовые данные (только поддерживаемые поля)
-                // saveData.setGold(player.getGold()); // Будет добавлено если метод существует
-                // saveData.setDifficulty(player.getGameDifficulty()); // Будет добавлено если метод существует
-            } else {
-                // Значения по умолчанию если игрок не найден
-                setDefaultPlayerData(saveData);
+                // Позиция игрока пока не сохраняется: Default position
+                return new SaveSnapshot(player.getHealthPoints(), player.getMaxHealthPoints(),
+                    100, 100, playTime);
             }
-
-            // Базовая информация
-            // saveData.setPlayTime(getTotalPlayTime()); // Будет добавлено когда метод появится
-
         } catch (Exception e) {
             GameLogger.error("Ошибка при создании данных сохранения", e);
-            setDefaultPlayerData(saveData);
         }
-
-        // Кэшируем данные
-        cachedSaveData = cloneSaveData(saveData);
-        lastCacheUpdate = currentTime;
-
-        return saveData;
-    }
-
-    /**
-     * Устанавливает данные по умолчанию для игрока
-     */
-    private void setDefaultPlayerData(GameSaveData saveData) {
-        saveData.setPlayerPosition(new GameSaveData.Position(100, 100));
-        saveData.setPlayerHealth(GameConstants.Player.DEFAULT_HEALTH);
-        saveData.setPlayerMaxHealth(GameConstants.Player.DEFAULT_HEALTH);
-        // Остальные поля будут добавлены когда соответствующие методы появятся в GameSaveData
+        // Значения по умолчанию если игрок не найден
+        return new SaveSnapshot(GameConstants.Player.DEFAULT_HEALTH,
+            GameConstants.Player.DEFAULT_HEALTH, 100, 100, playTime);
     }
 
     /**
@@ -302,28 +278,31 @@ public class GameSaveService {
 
         stopAutoSave(); // Останавливаем предыдущий таймер
 
-        autoSaveTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
+        // Игровое время: пока игра на паузе или в меню, автосохранение не срабатывает
+        autoSaveTimer = GameScheduler.get().every(this,
+            GameConstants.Save.AUTO_SAVE_INTERVAL / 1000.0, () -> {
                 if (autoSaveEnabled.get()) {
                     autoSave();
                 }
-            }
-        }, GameConstants.Save.AUTO_SAVE_INTERVAL, GameConstants.Save.AUTO_SAVE_INTERVAL);
+            });
     }
 
     /**
      * Останавливает автосохранение
      */
     private void stopAutoSave() {
-        // Timer будет отменен при создании нового
+        TimerHandle timer = autoSaveTimer;
+        if (timer != null) {
+            timer.cancel();
+            autoSaveTimer = null;
+        }
     }
 
     /**
      * Выполняет автоматическое сохранение
      */
     private void autoSave() {
-        saveGameAsync(generateAutoSaveName())
+        saveGameAsync(null)
             .thenAccept(success -> {
                 if (!success) {
                     GameLogger.warn("Автосохранение не удалось");
@@ -331,13 +310,6 @@ public class GameSaveService {
             });
     }
 
-    /**
-     * Генерирует имя для автосохранения
-     */
-    private String generateAutoSaveName() {
-        return GameConstants.Save.AUTO_SAVE_PREFIX + System.currentTimeMillis() + GameConstants.Save.SAVE_FILE_EXTENSION;
-    }
-
     /**
      * Получает текущую версию системы сохранений
      */
@@ -354,38 +326,35 @@ public class GameSaveService {
     }
 
     /**
-     * Создает копию данных сохранения для кэша
-     */
-    private GameSaveData cloneSaveData(GameSaveData original) {
-        // Простое клонирование - копируем только существующие поля
-        GameSaveData clone = new GameSaveData();
-        clone.setPlayerPosition(original.getPlayerPosition());
-        clone.setPlayerHealth(original.getPlayerHealth());
-        clone.setPlayerMaxHealth(original.getPlayerMaxHealth());
-        // Остальные поля будут добавлены когда методы появятся в GameSaveData
-        return clone;
-    }
-
-    /**
-     * Обновляет кэш данных сохранения
-     */
-    private void updateCache(GameSaveData saveData) {
-        cachedSaveData = cloneSaveData(saveData);
-        lastCacheUpdate = System.currentTimeMillis();
-    }
-
-    /**
-     * Вызывается при выходе из игры
+     * Вызывается при выходе из игры (SaveExitService): делает финальное сохранение и ждёт,
+     * пока поток записи допишет очередь, но не дольше SHUTDOWN_TIMEOUT
      */
     public void shutdown() {
-        if (autoSaveTimer != null) {
-            autoSaveTimer.cancel();
+        if (!shutDown.compareAndSet(false, true)) {
+            return;
         }
-
-        // Финальное сохранение
-        quickSave().thenRun(() -> {
-            GameLogger.system("Сервис сохранений завершен");
-        });
+        stopAutoSave();
+        long deadline = System.currentTimeMillis() + GameConstants.Save.SHUTDOWN_TIMEOUT;
+        try {
+            // снимок берётся до закрытия очереди, иначе запрос на запись будет отклонён
+            quickSave().get(GameConstants.Save.SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            GameLogger.warn("Финальное сохранение не записано: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer.close();
+        try {
+            // поток записи виртуальный и не держит JVM: ждём, пока он допишет очередь
+            if (!writer.awaitTermination(Math.max(1, deadline - System.currentTimeMillis()))) {
+                GameLogger.warn("Сохранения не успели записаться при выходе");
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        GameLogger.system("Сервис сохранений завершен");
     }
 
     /**
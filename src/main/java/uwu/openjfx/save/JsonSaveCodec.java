@@ -0,0 +1,43 @@
+package uwu.openjfx.save;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * The original save format: indented JSON. Saves are binary now, this codec reads the saves
+ * of older versions and writes human-readable exports for debugging.
+ */
+public final class JsonSaveCodec implements SaveCodec {
+
+    public static final String EXTENSION = ".json";
+
+    // JavaTimeModule нужен для saveTime (LocalDateTime); потоки закрывает вызывающий
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    @Override
+    public String getFileExtension() {
+        return EXTENSION;
+    }
+
+    @Override
+    public void write(GameSaveData data, OutputStream out) throws IOException {
+        mapper.writeValue(out, data);
+    }
+
+    @Override
+    public GameSaveData read(InputStream in) throws IOException {
+        GameSaveData data = mapper.readValue(in, GameSaveData.class);
+        // JSON-сохранения старше бинарного формата, у них нулевая схема
+        return SaveMigrator.migrate(data, SaveMigrator.JSON_SCHEMA);
+    }
+}
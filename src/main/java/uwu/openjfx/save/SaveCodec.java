@@ -0,0 +1,33 @@
+package uwu.openjfx.save;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Turns GameSaveData into the bytes of a save file and back. GameSaveManager picks the codec
+ * of a file by its extension, so saves written by another codec keep loading.
+ */
+public interface SaveCodec {
+
+    /**
+     * @return extension of the files this codec writes, with the dot
+     */
+    String getFileExtension();
+
+    /**
+     * @param data save to write
+     * @param out  destination, left open
+     * @throws IOException if writing fails
+     */
+    void write(GameSaveData data, OutputStream out) throws IOException;
+
+    /**
+     * Reads a save and brings it up to the current schema.
+     *
+     * @param in source, left open
+     * @return the save
+     * @throws IOException if the data is broken or from a newer game version
+     */
+    GameSaveData read(InputStream in) throws IOException;
+}
@@ -0,0 +1,15 @@
+package uwu.openjfx.save;
+
+import com.almasb.fxgl.core.EngineService;
+
+/**
+ * Hooks the save service into FXGL's exit: the final save is taken on the game thread and
+ * the exit waits (bounded) until the writer thread has written it.
+ */
+public final class SaveExitService extends EngineService {
+
+    @Override
+    public void onExit() {
+        GameSaveService.getInstance().shutdown();
+    }
+}
@@ -0,0 +1,209 @@
+package uwu.openjfx.save;
+
+import uwu.openjfx.core.DurableFile;
+import uwu.openjfx.utils.GameLogger;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sidecar file with what the load menu shows of every save: level, save time, play time and
+ * the checksum from the save's trailer. GameSaveManager updates it on every save and delete;
+ * a slot whose file changed size, modification time or trailer behind its back, or is missing
+ * from the index, is read once and indexed again. Without an index file every slot is read once,
+ * after that listing costs a directory listing and no save is parsed.
+ */
+final class SaveIndex {
+
+    static final String FILE_NAME = "saves.index";
+
+    private static final int MAGIC = 0x52444958; // "RDIX"
+    private static final int VERSION = 1;
+
+    /**
+     * Reads a save when its index entry is missing or stale.
+     */
+    @FunctionalInterface
+    interface Loader {
+        GameSaveData load(File file) throws IOException;
+    }
+
+    private final Path file;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean loaded;
+
+    SaveIndex(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Indexes a save that was just written.
+     *
+     * @param saveFile the save
+     * @param data     what was written to it
+     */
+    synchronized void put(Path saveFile, GameSaveData data) {
+        load();
+        entries.put(saveFile.getFileName().toString(), entry(saveFile, data));
+        persist();
+    }
+
+    /**
+     * @param filename name of a deleted save
+     */
+    synchronized void remove(String filename) {
+        load();
+        if (entries.remove(filename) != null) {
+            persist();
+        }
+    }
+
+    /**
+     * Slot infos of the given save files, reading only saves the index does not cover.
+     *
+     * @param files  save files in the directory
+     * @param loader reads a save that has to be indexed
+     * @return one slot per file, in the same order
+     */
+    synchronized SaveSlotInfo[] list(File[] files, Loader loader) {
+        load();
+        boolean changed = false;
+        Set<String> present = new HashSet<>();
+        SaveSlotInfo[] slots = new SaveSlotInfo[files.length];
+        for (int i = 0; i < files.length; i++) {
+            String name = files[i].getName();
+            present.add(name);
+            Entry entry = entries.get(name);
+            if (entry == null || isStale(entry, files[i])) {
+                entry = index(files[i], loader);
+                entries.put(name, entry);
+                changed = true;
+            }
+            slots[i] = new SaveSlotInfo(name, entry.playerLevel, entry.saveTime,
+                entry.playTime);
+        }
+        changed |= entries.keySet().retainAll(present);
+        if (changed) {
+            persist();
+        }
+        return slots;
+    }
+
+    /* Размер и время изменения, а для файлов с трейлером ещё и его CRC32C: всё за O(1). */
+    private static boolean isStale(Entry entry, File saveFile) {
+        return entry.size != saveFile.length()
+            || entry.modified != saveFile.lastModified()
+            || entry.checksum >= 0 && entry.checksum != DurableFile.checksum(saveFile.toPath());
+    }
+
+    private static Entry index(File saveFile, Loader loader) {
+        try {
+            return entry(saveFile.toPath(), loader.load(saveFile));
+        } catch (IOException | RuntimeException e) {
+            GameLogger.warn("Пропущен поврежденный файл сохранения: " + saveFile.getName());
+            // запоминаем и повреждённые: до следующего изменения файла их не перечитываем
+            Entry entry = new Entry();
+            entry.size = saveFile.length();
+            entry.modified = saveFile.lastModified();
+            entry.checksum = -1;
+            return entry;
+        }
+    }
+
+    private static Entry entry(Path saveFile, GameSaveData data) {
+        Entry entry = new Entry();
+        entry.playerLevel = data.getPlayerLevel();
+        entry.saveTime = data.getSaveTime();
+        entry.playTime = data.getPlayTime();
+        File saved = saveFile.toFile();
+        entry.size = saved.length();
+        entry.modified = saved.lastModified();
+        entry.checksum = DurableFile.checksum(saveFile);
+        return entry;
+    }
+
+    // region Storage
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(DurableFile.read(file))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unknown index format");
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                Entry entry = new Entry();
+                entry.playerLevel = in.readInt();
+                if (in.readBoolean()) {
+                    long seconds = in.readLong();
+                    entry.saveTime = LocalDateTime.ofEpochSecond(seconds, in.readInt(),
+                        ZoneOffset.UTC);
+                }
+                entry.playTime = in.readLong();
+                entry.size = in.readLong();
+                entry.modified = in.readLong();
+                entry.checksum = in.readLong();
+                entries.put(name, entry);
+            }
+        } catch (IOException | RuntimeException e) {
+            // индекс восстанавливается по самим сохранениям
+            GameLogger.warn("Индекс сохранений будет перестроен: " + e.getMessage());
+            entries.clear();
+        }
+    }
+
+    private void persist() {
+        try {
+            DurableFile.write(file, stream -> {
+                DataOutputStream out = new DataOutputStream(stream);
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entries.size());
+                for (Map.Entry<String, Entry> item : entries.entrySet()) {
+                    Entry entry = item.getValue();
+                    out.writeUTF(item.getKey());
+                    out.writeInt(entry.playerLevel);
+                    out.writeBoolean(entry.saveTime != null);
+                    if (entry.saveTime != null) {
+                        out.writeLong(entry.saveTime.toEpochSecond(ZoneOffset.UTC));
+                        out.writeInt(entry.saveTime.getNano());
+                    }
+                    out.writeLong(entry.playTime);
+                    out.writeLong(entry.size);
+                    out.writeLong(entry.modified);
+                    out.writeLong(entry.checksum);
+                }
+                out.flush();
+            });
+        } catch (IOException e) {
+            // сохранения целы, при следующем открытии индекс догонит их
+            GameLogger.warn("Не удалось записать индекс сохранений: " + e.getMessage());
+        }
+    }
+    // endregion
+
+    private static final class Entry {
+        private int playerLevel;
+        private LocalDateTime saveTime;
+        private long playTime;
+        private long size;
+        private long modified;
+        private long checksum;
+    }
+}
@@ -0,0 +1,261 @@
+package uwu.openjfx.save;
+
+import uwu.openjfx.core.DurableFile;
+import uwu.openjfx.core.GameConstants;
+import uwu.openjfx.utils.GameLogger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only autosave log. The first record is a full snapshot and every later one holds
+ * only the sections and rooms that changed since the record before it, so an autosave costs
+ * bytes in proportion to what changed. Records carry their length and a CRC32C: a record cut
+ * short by a crash fails the check and is dropped on the next load, which loses that one delta
+ * and nothing before it. Once there are too many deltas, or they outgrow the snapshot, the
+ * journal is compacted into a new snapshot.
+ * <p>
+ * GameSaveService builds a new GameSaveData from the game for every autosave, so sections are
+ * dirty when their encoding differs from the one last written, not when a setter ran. The
+ * save time is not compared: it changes on every autosave and alone does not make a delta.
+ */
+final class SaveJournal {
+
+    static final String EXTENSION = ".journal";
+
+    private static final int MAGIC = 0x52444A4C; // "RDJL"
+    private static final int RECORD_HEADER = Integer.BYTES * 2; // длина и CRC32C
+    private static final Comparator<String> ROOM_ORDER =
+        Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final Path file;
+    private final BinarySaveCodec codec;
+
+    // что записано в журнал на данный момент, по секциям и по комнатам
+    private final Map<BinarySaveCodec.Section, byte[]> writtenSections =
+        new EnumMap<>(BinarySaveCodec.Section.class);
+    private final Map<String, byte[]> writtenRooms = new HashMap<>();
+    private boolean inSync;
+    private int records;
+    private long snapshotBytes;
+
+    SaveJournal(Path file, BinarySaveCodec codec) {
+        this.file = file;
+        this.codec = codec;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    /**
+     * Appends what changed since the last record, or compacts the journal into a snapshot.
+     *
+     * @param data current save
+     * @return bytes written
+     * @throws IOException if writing fails
+     */
+    synchronized int append(GameSaveData data) throws IOException {
+        if (!inSync || !Files.exists(file)
+            || records >= GameConstants.Save.JOURNAL_COMPACT_RECORDS
+            || Files.size(file) > snapshotBytes * GameConstants.Save.JOURNAL_COMPACT_RATIO) {
+            return compact(data);
+        }
+
+        Set<BinarySaveCodec.Section> dirty = EnumSet.noneOf(BinarySaveCodec.Section.class);
+        Map<BinarySaveCodec.Section, byte[]> sections = encodeSections(data);
+        for (Map.Entry<BinarySaveCodec.Section, byte[]> entry : sections.entrySet()) {
+            if (!Arrays.equals(entry.getValue(), writtenSections.get(entry.getKey()))) {
+                dirty.add(entry.getKey());
+            }
+        }
+        Map<String, byte[]> rooms = encodeRooms(data);
+        List<String> changedRooms = new ArrayList<>();
+        for (Map.Entry<String, byte[]> entry : rooms.entrySet()) {
+            if (!Arrays.equals(entry.getValue(), writtenRooms.get(entry.getKey()))) {
+                changedRooms.add(entry.getKey());
+            }
+        }
+        // комнаты дельты по порядку ключей, как и карты внутри них
+        changedRooms.sort(ROOM_ORDER);
+        Set<String> removedRooms = new TreeSet<>(ROOM_ORDER);
+        removedRooms.addAll(writtenRooms.keySet());
+        removedRooms.removeAll(rooms.keySet());
+        if (!changedRooms.isEmpty()) {
+            dirty.add(BinarySaveCodec.Section.ROOMS);
+        }
+        if (dirty.isEmpty() && removedRooms.isEmpty()) {
+            return 0;
+        }
+
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        codec.write(data, dirty, changedRooms, removedRooms, payload);
+        byte[] record = record(payload.toByteArray());
+        long size = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            // дельта на диске до того, как игра о ней забудет
+            channel.force(false);
+        } catch (IOException e) {
+            // на диске может остаться часть записи: следующий вызов пишет снимок заново
+            inSync = false;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(size);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+            }
+            throw e;
+        }
+        records++;
+        writtenSections.putAll(sections);
+        writtenRooms.keySet().removeAll(removedRooms);
+        for (String key : changedRooms) {
+            writtenRooms.put(key, rooms.get(key));
+        }
+        return record.length;
+    }
+
+    /**
+     * Replaces the journal with a single snapshot of the save.
+     *
+     * @param data current save
+     * @return bytes written
+     * @throws IOException if writing fails
+     */
+    synchronized int compact(GameSaveData data) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        codec.write(data, payload);
+        byte[] record = record(payload.toByteArray());
+
+        // снимок подменяет журнал целиком, старый журнал цел до подмены
+        DurableFile.replace(file, ByteBuffer.allocate(Integer.BYTES + record.length)
+            .putInt(MAGIC).put(record).flip());
+        remember(data, 1, record.length);
+        return Integer.BYTES + record.length;
+    }
+
+    /**
+     * Replays the snapshot and every intact delta after it. A broken tail is cut off.
+     *
+     * @return the save, null if there is no journal
+     * @throws IOException if reading fails or a record does not decode
+     */
+    synchronized GameSaveData load() throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (bytes.remaining() < Integer.BYTES || bytes.getInt() != MAGIC) {
+            GameLogger.warn("Журнал автосохранений поврежден: " + file.getFileName());
+            return null;
+        }
+
+        GameSaveData data = new GameSaveData();
+        int count = 0;
+        int oldestSchema = SaveMigrator.CURRENT_SCHEMA;
+        long firstRecord = 0;
+        CRC32C crc = new CRC32C();
+        while (bytes.remaining() >= RECORD_HEADER) {
+            int start = bytes.position();
+            int length = bytes.getInt();
+            int checksum = bytes.getInt();
+            if (length < 0 || length > bytes.remaining()) {
+                bytes.position(start);
+                break;
+            }
+            byte[] payload = new byte[length];
+            bytes.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                bytes.position(start);
+                break;
+            }
+            oldestSchema = Math.min(oldestSchema, codec.readInto(payload, data));
+            if (count++ == 0) {
+                firstRecord = RECORD_HEADER + length;
+            }
+        }
+        if (bytes.hasRemaining()) {
+            // запись, прерванная падением игры: теряется только она
+            GameLogger.warn("Журнал автосохранений обрезан на записи " + (count + 1)
+                + ", потеряно байт: " + bytes.remaining());
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(bytes.position());
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+
+        SaveMigrator.migrate(data, oldestSchema);
+        remember(data, count, firstRecord);
+        return data;
+    }
+
+    private void remember(GameSaveData data, int recordCount, long snapshotSize)
+            throws IOException {
+        writtenSections.clear();
+        writtenSections.putAll(encodeSections(data));
+        writtenRooms.clear();
+        writtenRooms.putAll(encodeRooms(data));
+        records = recordCount;
+        snapshotBytes = snapshotSize;
+        inSync = true;
+    }
+
+    /* Все секции, кроме комнат: их сравниваем по одной. */
+    private Map<BinarySaveCodec.Section, byte[]> encodeSections(GameSaveData data)
+            throws IOException {
+        Map<BinarySaveCodec.Section, byte[]> sections =
+            new EnumMap<>(BinarySaveCodec.Section.class);
+        for (BinarySaveCodec.Section section : BinarySaveCodec.Section.values()) {
+            if (section != BinarySaveCodec.Section.ROOMS) {
+                sections.put(section, codec.encode(data, section));
+            }
+        }
+        return sections;
+    }
+
+    private Map<String, byte[]> encodeRooms(GameSaveData data) {
+        Map<String, GameSaveData.RoomState> visited = data.getVisitedRooms() == null
+            ? Collections.emptyMap() : data.getVisitedRooms();
+        Map<String, byte[]> rooms = new HashMap<>();
+        for (Map.Entry<String, GameSaveData.RoomState> entry : visited.entrySet()) {
+            if (entry.getValue() != null) {
+                rooms.put(entry.getKey(), codec.encode(entry.getKey(), entry.getValue()));
+            }
+        }
+        return rooms;
+    }
+
+    private static byte[] record(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return ByteBuffer.allocate(RECORD_HEADER + payload.length)
+            .putInt(payload.length)
+            .putInt((int) crc.getValue())
+            .put(payload)
+            .array();
+    }
+}
@@ -0,0 +1,79 @@
+package uwu.openjfx.save;
+
+import java.io.IOException;
+import java.util.HashMap;
+
+/**
+ * Upgrades loaded saves to the current schema, one step per schema version.
+ * <p>
+ * Adding a field to the binary format means a new section or a new schema version: readers
+ * skip sections they do not know and leave fields of missing sections at their defaults, and
+ * a new step here fills in whatever a default cannot express.
+ */
+public final class SaveMigrator {
+
+    /** Schema of JSON saves, written before the binary format existed. */
+    public static final int JSON_SCHEMA = 0;
+    /** Schema BinarySaveCodec writes. */
+    public static final int CURRENT_SCHEMA = 1;
+
+    private SaveMigrator() {
+    }
+
+    /**
+     * @param data   freshly read save
+     * @param schema schema it was written with
+     * @return the same save, migrated in place
+     * @throws IOException if the save comes from a newer game version
+     */
+    public static GameSaveData migrate(GameSaveData data, int schema) throws IOException {
+        if (schema > CURRENT_SCHEMA) {
+            throw new IOException("Save schema " + schema + " is newer than "
+                + CURRENT_SCHEMA + ", update the game to load it");
+        }
+        if (schema < 1) {
+            fromJson(data);
+        }
+        return data;
+    }
+
+    /*
+     * 0 -> 1: JSON accepted nulls and missing fields anywhere, the binary format does not
+     * store absent collections, so they become empty ones.
+     */
+    private static void fromJson(GameSaveData data) {
+        if (data.getVisitedRooms() == null) {
+            data.setVisitedRooms(new HashMap<>());
+        }
+        data.getVisitedRooms().values().removeIf(room -> room == null);
+        for (GameSaveData.RoomState room : data.getVisitedRooms().values()) {
+            if (room.getEnemiesDefeated() == null) {
+                room.setEnemiesDefeated(new HashMap<>());
+            }
+            if (room.getItemsCollected() == null) {
+                room.setItemsCollected(new HashMap<>());
+            }
+        }
+        if (data.getInventory() == null) {
+            data.setInventory(new GameSaveData.InventoryState());
+        }
+        if (data.getInventory().getItems() == null) {
+            data.getInventory().setItems(new HashMap<>());
+        }
+        if (data.getInventory().getPotions() == null) {
+            data.getInventory().setPotions(new HashMap<>());
+        }
+        if (data.getWeaponsUnlocked() == null) {
+            data.setWeaponsUnlocked(new HashMap<>());
+        }
+        if (data.getAchievements() == null) {
+            data.setAchievements(new HashMap<>());
+        }
+        if (data.getGameFlags() == null) {
+            data.setGameFlags(new HashMap<>());
+        }
+        if (data.getDifficulty() == null) {
+            data.setDifficulty("normal");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package uwu.openjfx.save;
+
+/**
+ * What a save takes from the running game, copied on the game thread in one go. Immutable,
+ * so the writer thread turns it into GameSaveData without touching live components.
+ */
+final class SaveSnapshot {
+
+    private final int playerHealth;
+    private final int playerMaxHealth;
+    private final double playerX;
+    private final double playerY;
+    private final long playTime;
+
+    SaveSnapshot(int playerHealth, int playerMaxHealth, double playerX, double playerY,
+                 long playTime) {
+        this.playerHealth = playerHealth;
+        this.playerMaxHealth = playerMaxHealth;
+        this.playerX = playerX;
+        this.playerY = playerY;
+        this.playTime = playTime;
+    }
+
+    /**
+     * @return a new save holding the snapshot
+     */
+    GameSaveData toSaveData() {
+        GameSaveData saveData = new GameSaveData();
+        saveData.setPlayerPosition(new GameSaveData.Position(playerX, playerY));
+        saveData.setPlayerHealth(playerHealth);
+        saveData.setPlayerMaxHealth(playerMaxHealth);
+        saveData.setPlayTime(playTime);
+        return saveData;
+    }
+}
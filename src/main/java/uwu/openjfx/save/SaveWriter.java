@@ -0,0 +1,157 @@
+package uwu.openjfx.save;
+
+import uwu.openjfx.utils.GameLogger;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Second stage of the save pipeline: one writer thread and a small queue keyed by save slot.
+ * A request for a slot that is already waiting replaces its snapshot, so a burst of saves
+ * writes only the latest state once and every caller of the burst gets that write's result.
+ * Submitting never blocks: when the queue is full of other slots the request fails at once.
+ */
+final class SaveWriter {
+
+    /**
+     * Writes one snapshot to its slot, on the writer thread.
+     */
+    @FunctionalInterface
+    interface Sink {
+        boolean write(String slot, SaveSnapshot snapshot) throws Exception;
+    }
+
+    private final int capacity;
+    private final Sink sink;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition queued = lock.newCondition();
+    // слот -> последний снимок; порядок вставки = порядок записи
+    private final Map<String, Job> queue = new LinkedHashMap<>();
+    private final Thread thread;
+    private boolean closed;
+    private long written;
+    private long coalesced;
+
+    /**
+     * @param capacity slots that can wait at the same time
+     * @param threads  creates the writer thread
+     * @param sink     writes a snapshot
+     */
+    SaveWriter(int capacity, ThreadFactory threads, Sink sink) {
+        this.capacity = capacity;
+        this.sink = sink;
+        this.thread = threads.newThread(this::run);
+        thread.start();
+    }
+
+    /**
+     * @param slot     save slot, requests for the same slot coalesce
+     * @param snapshot state to save
+     * @return completes with true once the slot is written, false if it was not
+     */
+    CompletableFuture<Boolean> submit(String slot, SaveSnapshot snapshot) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        lock.lock();
+        try {
+            Job job = queue.get(slot);
+            if (job != null) {
+                job.snapshot = snapshot;
+                job.callers.add(result);
+                coalesced++;
+            } else if (closed || queue.size() >= capacity) {
+                GameLogger.warn("Очередь сохранений занята, запрос пропущен: " + slot);
+                result.complete(false);
+            } else {
+                queue.put(slot, new Job(slot, snapshot, result));
+                queued.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Writes what is queued and stops the thread.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            queued.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param millis how long to wait for the queued writes
+     * @return true if the writer thread has finished
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean awaitTermination(long millis) throws InterruptedException {
+        thread.join(millis);
+        return !thread.isAlive();
+    }
+
+    String getStats() {
+        lock.lock();
+        try {
+            return String.format("queued=%d written=%d coalesced=%d",
+                queue.size(), written, coalesced);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            Job job;
+            lock.lock();
+            try {
+                while (queue.isEmpty() && !closed) {
+                    queued.awaitUninterruptibly();
+                }
+                if (queue.isEmpty()) {
+                    return;
+                }
+                Iterator<Job> first = queue.values().iterator();
+                job = first.next();
+                first.remove();
+                written++;
+            } finally {
+                lock.unlock();
+            }
+            // снимок и список ждущих больше не меняются: job уже вне очереди
+            boolean success;
+            try {
+                success = sink.write(job.slot, job.snapshot);
+            } catch (Exception e) {
+                GameLogger.error("Ошибка записи сохранения: " + e.getMessage(), e);
+                success = false;
+            }
+            for (CompletableFuture<Boolean> caller : job.callers) {
+                caller.complete(success);
+            }
+        }
+    }
+
+    private static final class Job {
+        private final String slot;
+        private final List<CompletableFuture<Boolean>> callers = new ArrayList<>();
+        private SaveSnapshot snapshot;
+
+        Job(String slot, SaveSnapshot snapshot, CompletableFuture<Boolean> caller) {
+            this.slot = slot;
+            this.snapshot = snapshot;
+            callers.add(caller);
+        }
+    }
+}
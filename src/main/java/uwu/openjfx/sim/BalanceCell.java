@@ -0,0 +1,84 @@
+package uwu.openjfx.sim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Results of every run played with one difficulty and one weapon.
+ */
+public final class BalanceCell {
+
+    private final String difficulty;
+    private final SimWeapon weapon;
+    private final List<SimResult> results = new ArrayList<>();
+
+    BalanceCell(String difficulty, SimWeapon weapon) {
+        this.difficulty = difficulty;
+        this.weapon = weapon;
+    }
+
+    void add(SimResult result) {
+        results.add(result);
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public SimWeapon getWeapon() {
+        return weapon;
+    }
+
+    public List<SimResult> getResults() {
+        return Collections.unmodifiableList(results);
+    }
+
+    public double getWinRate() {
+        if (results.isEmpty()) {
+            return 0;
+        }
+        int wins = 0;
+        for (SimResult result : results) {
+            if (result.getOutcome() == SimResult.Outcome.WON) {
+                wins++;
+            }
+        }
+        return (double) wins / results.size();
+    }
+
+    /**
+     * @return per-run mean time to kill, runs without a kill left out, sorted
+     */
+    public double[] getTimesToKill() {
+        return results.stream().mapToDouble(SimResult::getTimeToKill)
+            .filter(value -> !Double.isNaN(value)).sorted().toArray();
+    }
+
+    /**
+     * @return damage dealt by each run, sorted
+     */
+    public double[] getDamageDealt() {
+        return results.stream().mapToDouble(SimResult::getDamageDealt).sorted().toArray();
+    }
+
+    /**
+     * Nearest-rank percentile.
+     *
+     * @param sorted   sorted values
+     * @param fraction 0.5 for the median, 0.9 for the 90th percentile
+     * @return the percentile, NaN if there are no values
+     */
+    public static double percentile(double[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    public static double mean(double[] values) {
+        return values.length == 0 ? Double.NaN : Arrays.stream(values).average().orElse(0);
+    }
+}
@@ -0,0 +1,279 @@
+package uwu.openjfx.sim;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import uwu.openjfx.core.GameConstants;
+import uwu.openjfx.core.GameEnvironment;
+import uwu.openjfx.time.GameScheduler;
+import uwu.openjfx.utils.GameLogger;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Monte-Carlo balance runs: the bot plays many seeded runs for every difficulty and weapon
+ * and the results are summed up per pair, as CSV (one row per run) and JSON (win rate,
+ * time-to-kill and damage-dealt distributions per pair).
+ * <p>
+ * Runs are spread over a fork-join pool. Every thread that plays a run gets a
+ * GameEnvironment (Random, difficulty, the player state behind PlayerComponent's and
+ * BossComponent's statics) and a GameScheduler of its own, and each run reseeds that
+ * Random with its own seed, so nothing a run rolls, counts or schedules is seen by
+ * another. Bound environments skip achievements and the leaderboard. Every pair plays
+ * the same list of seeds, so pairs differ by their configuration and not by the luck of
+ * their maps, and the numbers do not depend on the thread count. The runs are
+ * HeadlessRuntime's combat model, so the numbers rank pairs against each other rather
+ * than predict the game's win rates.
+ * <pre>
+ * gradle runBalanceSweep -PsweepArgs="--runs 200 --csv runs.csv --json balance.json"
+ * </pre>
+ */
+public final class BalanceSweep {
+
+    private final List<String> difficulties;
+    private final List<SimWeapon> weapons;
+    private final long[] seeds;
+    private final int numOfRooms;
+    private final long maxTicks;
+
+    /**
+     * @param difficulties keys in config/difficulty.json
+     * @param weapons      weapons to try
+     * @param runs         runs per difficulty and weapon
+     * @param seed         seed of the run seeds
+     * @param numOfRooms   rooms per map
+     * @param maxTicks     ticks before a run counts as timed out
+     */
+    public BalanceSweep(List<String> difficulties, List<SimWeapon> weapons, int runs,
+                        long seed, int numOfRooms, long maxTicks) {
+        this.difficulties = new ArrayList<>(difficulties);
+        this.weapons = new ArrayList<>(weapons);
+        this.seeds = new SplittableRandom(seed).longs(runs).toArray();
+        this.numOfRooms = numOfRooms;
+        this.maxTicks = maxTicks;
+    }
+
+    /**
+     * @param threads worker threads
+     * @return one cell per difficulty and weapon, in the given order
+     */
+    public List<BalanceCell> run(int threads) {
+        List<BalanceCell> cells = new ArrayList<>();
+        List<Trial> trials = new ArrayList<>();
+        for (String difficulty : difficulties) {
+            for (SimWeapon weapon : weapons) {
+                BalanceCell cell = new BalanceCell(difficulty, weapon);
+                cells.add(cell);
+                for (long runSeed : seeds) {
+                    trials.add(new Trial(cell, runSeed));
+                }
+            }
+        }
+
+        // one task per run: a run is long enough that finer tasks would gain nothing,
+        // and the pool's work stealing keeps every worker busy until the last one
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<ForkJoinTask<SimResult>> tasks = new ArrayList<>(trials.size());
+            for (Trial trial : trials) {
+                tasks.add(pool.submit(() -> play(trial)));
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                trials.get(i).cell.add(tasks.get(i).join());
+            }
+        } finally {
+            pool.shutdown();
+            // join() may have run a trial on this thread
+            GameScheduler.unbindThread();
+            GameEnvironment.unbindThread();
+        }
+        return cells;
+    }
+
+    private SimResult play(Trial trial) {
+        // once per thread; boot() reseeds the Random and clears the scheduler every run
+        GameEnvironment.bindThread();
+        GameScheduler.bindThread();
+        HeadlessRuntime sim = new HeadlessRuntime(trial.seed, numOfRooms, new BotInput());
+        sim.setMaxTicks(maxTicks);
+        sim.setDifficulty(trial.cell.getDifficulty());
+        sim.setWeapon(trial.cell.getWeapon());
+        sim.boot();
+        return sim.run();
+    }
+
+    // region Output
+    /**
+     * One row per run.
+     *
+     * @param cells sweep results
+     * @param out   destination
+     */
+    public static void writeCsv(List<BalanceCell> cells, Writer out) {
+        PrintWriter csv = new PrintWriter(out);
+        csv.println("difficulty,weapon,seed,outcome,game_seconds,rooms_entered,kills,"
+            + "time_to_kill,damage_dealt,damage_taken,swings");
+        for (BalanceCell cell : cells) {
+            for (SimResult result : cell.getResults()) {
+                csv.printf(Locale.ROOT, "%s,%s,%d,%s,%.3f,%d,%d,%s,%.1f,%d,%d%n",
+                    cell.getDifficulty(), cell.getWeapon().getConfigKey(), result.getSeed(),
+                    result.getOutcome(), result.getGameSeconds(), result.getRoomsEntered(),
+                    result.getEnemiesKilled(),
+                    Double.isNaN(result.getTimeToKill()) ? ""
+                        : String.format(Locale.ROOT, "%.3f", result.getTimeToKill()),
+                    result.getDamageDealt(), result.getDamageTaken(), result.getSwings());
+            }
+        }
+        csv.flush();
+    }
+
+    /**
+     * Distributions per difficulty and weapon.
+     *
+     * @param cells sweep results
+     * @param out   destination
+     * @throws IOException if writing fails
+     */
+    public static void writeJson(List<BalanceCell> cells, Writer out) throws IOException {
+        List<Map<String, Object>> summary = new ArrayList<>();
+        for (BalanceCell cell : cells) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("difficulty", cell.getDifficulty());
+            entry.put("weapon", cell.getWeapon().getConfigKey());
+            entry.put("runs", cell.getResults().size());
+            entry.put("winRate", cell.getWinRate());
+            entry.put("timeToKill", distribution(cell.getTimesToKill()));
+            entry.put("damageDealt", distribution(cell.getDamageDealt()));
+            summary.add(entry);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out, summary);
+    }
+
+    private static Map<String, Object> distribution(double[] sorted) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", sorted.length);
+        stats.put("mean", finite(BalanceCell.mean(sorted)));
+        stats.put("p10", finite(BalanceCell.percentile(sorted, 0.1)));
+        stats.put("p50", finite(BalanceCell.percentile(sorted, 0.5)));
+        stats.put("p90", finite(BalanceCell.percentile(sorted, 0.9)));
+        stats.put("min", sorted.length == 0 ? null : sorted[0]);
+        stats.put("max", sorted.length == 0 ? null : sorted[sorted.length - 1]);
+        return stats;
+    }
+
+    private static Double finite(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+    // endregion
+
+    /**
+     * Options: --runs, --seed, --threads, --rooms, --ticks, --difficulties and --weapons
+     * (comma separated, default all), --csv and --json (output files).
+     *
+     * @param args command line
+     * @throws IOException if an output file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        int runs = GameConstants.Sim.SWEEP_RUNS;
+        long seed = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int rooms = GameConstants.Map.ROOM_COUNT;
+        long maxTicks = GameConstants.Sim.MAX_TICKS;
+        List<String> difficulties =
+            new ArrayList<>(GameEnvironment.get().getDifficultyService().getDifficultyIds());
+        List<SimWeapon> weapons = Arrays.asList(SimWeapon.values());
+        Path csv = null;
+        Path json = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+            case "--runs":
+                runs = Integer.parseInt(value);
+                break;
+            case "--seed":
+                seed = Long.parseLong(value);
+                break;
+            case "--threads":
+                threads = Integer.parseInt(value);
+                break;
+            case "--rooms":
+                rooms = Integer.parseInt(value);
+                break;
+            case "--ticks":
+                maxTicks = Long.parseLong(value);
+                break;
+            case "--difficulties":
+                difficulties = Arrays.asList(value.split(","));
+                break;
+            case "--weapons":
+                weapons = new ArrayList<>();
+                for (String name : value.split(",")) {
+                    weapons.add(SimWeapon.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+                }
+                break;
+            case "--csv":
+                csv = Paths.get(value);
+                break;
+            case "--json":
+                json = Paths.get(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+
+        long start = System.nanoTime();
+        List<BalanceCell> cells = new BalanceSweep(difficulties, weapons, runs, seed, rooms,
+            maxTicks).run(threads);
+        GameLogger.system(String.format(Locale.ROOT,
+            "Balance sweep: %d runs on %d threads in %.1fs",
+            runs * cells.size(), threads, (System.nanoTime() - start) / 1e9));
+
+        for (BalanceCell cell : cells) {
+            GameLogger.system(String.format(Locale.ROOT,
+                "%-10s %-14s win %5.1f%%  ttk p50 %5.2fs  dealt p50 %6.0f",
+                cell.getDifficulty(), cell.getWeapon().getConfigKey(), cell.getWinRate() * 100,
+                BalanceCell.percentile(cell.getTimesToKill(), 0.5),
+                BalanceCell.percentile(cell.getDamageDealt(), 0.5)));
+        }
+        if (csv != null) {
+            try (Writer out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+                writeCsv(cells, out);
+            }
+        }
+        if (json != null) {
+            try (Writer out = Files.newBufferedWriter(json, StandardCharsets.UTF_8)) {
+                writeJson(cells, out);
+            }
+        }
+    }
+
+    private static final class Trial {
+        private final BalanceCell cell;
+        private final long seed;
+
+        Trial(BalanceCell cell, long seed) {
+            this.cell = cell;
+            this.seed = seed;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package uwu.openjfx.sim;
+
+import com.almasb.fxgl.entity.Entity;
+import uwu.openjfx.core.GameConstants;
+import uwu.openjfx.map.FlowField;
+import uwu.openjfx.map.GameMap;
+import uwu.openjfx.map.Room;
+import uwu.openjfx.map.RoomLayout;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * A simple player for soak tests and balance runs: it fights the nearest enemy until the
+ * room is clear, then heads for the nearest unexplored room, and for the boss room once
+ * enough challenge rooms were visited. Ranged weapons only shoot with a free line of sight.
+ * Paths inside a room follow a flow field over the room's walls with the doors left open.
+ */
+public final class BotInput implements SimInput {
+
+    private static final String[] DIRECTIONS = {"north", "east", "south", "west"};
+    // one tick of movement, so the bot stops on a point instead of jittering around it
+    private static final double ARRIVE_DISTANCE = 3;
+
+    private Room fieldRoom;
+    private FlowField walkField;
+
+    @Override
+    public void decide(HeadlessRuntime sim, SimIntent intent) {
+        if (sim.isSwinging()) {
+            return;
+        }
+        if (sim.getRoom() != fieldRoom) {
+            fieldRoom = sim.getRoom();
+            walkField = sim.getLayout().buildFlowField(false);
+        }
+        double px = sim.getPlayerCenterX();
+        double py = sim.getPlayerCenterY();
+
+        Entity target = null;
+        double best = Double.MAX_VALUE;
+        for (Entity enemy : sim.getEnemies()) {
+            double dist = Math.hypot(centerX(enemy) - px, centerY(enemy) - py);
+            if (dist < best) {
+                best = dist;
+                target = enemy;
+            }
+        }
+        if (target != null) {
+            if (best < sim.getWeapon().getReach()
+                && (sim.getWeapon().isMelee() || inSight(px, py, target))) {
+                intent.aimAt(centerX(target), centerY(target));
+                intent.attack();
+            } else {
+                walkTowards(intent, px, py, centerX(target), centerY(target));
+            }
+            return;
+        }
+
+        RoomLayout.RoomObject door = nextDoor(sim);
+        if (door != null) {
+            walkTowards(intent, px, py, door.getX() + door.getWidth() / 2,
+                door.getY() + door.getHeight() / 2);
+        }
+    }
+
+    private void walkTowards(SimIntent intent, double px, double py, double tx, double ty) {
+        int tile = GameConstants.Map.TILE_SIZE;
+        walkField.setTarget(tileOf(tx), tileOf(ty));
+        int step = walkField.directionAt(tileOf(px), tileOf(py));
+        if (step >= 0) {
+            // aim at the middle of the next tile, which keeps the body off the corners
+            tx = (tileOf(px) + FlowField.stepX(step) + 0.5) * tile;
+            ty = (tileOf(py) + FlowField.stepY(step) + 0.5) * tile;
+        }
+        intent.move((tx - px) / ARRIVE_DISTANCE, (ty - py) / ARRIVE_DISTANCE);
+    }
+
+    /*
+        Walks the line in quarter tiles, an arrow shot into a wall is a wasted swing.
+     */
+    private boolean inSight(double px, double py, Entity target) {
+        double dx = centerX(target) - px;
+        double dy = centerY(target) - py;
+        int samples = (int) Math.ceil(Math.hypot(dx, dy) * 4 / GameConstants.Map.TILE_SIZE);
+        for (int i = 1; i < samples; i++) {
+            double t = (double) i / samples;
+            if (walkField.isBlocked(tileOf(px + dx * t), tileOf(py + dy * t))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+        Breadth-first search over the map for the first door on the way to the goal.
+     */
+    private static RoomLayout.RoomObject nextDoor(HeadlessRuntime sim) {
+        GameMap map = sim.getGameMap();
+        boolean bossTime = map.countVisited("challengeRoom")
+            >= GameConstants.Map.CHALLENGE_ROOMS_BEFORE_BOSS;
+
+        Map<Room, String> firstStep = new HashMap<>();
+        Queue<Room> queue = new ArrayDeque<>();
+        firstStep.put(sim.getRoom(), null);
+        queue.add(sim.getRoom());
+        while (!queue.isEmpty()) {
+            Room room = queue.poll();
+            boolean goal = bossTime ? room == map.getBossRoom()
+                : !room.visited() && room != map.getBossRoom();
+            if (goal) {
+                return findDoor(sim.getLayout(), firstStep.get(room));
+            }
+            for (String direction : DIRECTIONS) {
+                Room next = HeadlessRuntime.neighbour(room, direction);
+                if (next == null || firstStep.containsKey(next)
+                    || (next == map.getBossRoom() && !bossTime)) {
+                    continue;
+                }
+                firstStep.put(next, room == sim.getRoom() ? direction : firstStep.get(room));
+                queue.add(next);
+            }
+        }
+        return null;
+    }
+
+    private static RoomLayout.RoomObject findDoor(RoomLayout layout, String direction) {
+        for (RoomLayout.RoomObject door : layout.getObjects("door")) {
+            if (direction != null && direction.equals(door.getProperty("direction"))) {
+                return door;
+            }
+        }
+        return null;
+    }
+
+    private static double centerX(Entity enemy) {
+        return enemy.getX() + enemy.getWidth() / 2;
+    }
+
+    private static double centerY(Entity enemy) {
+        return enemy.getY() + enemy.getHeight() / 2;
+    }
+
+    private static int tileOf(double coordinate) {
+        return (int) Math.floor(coordinate / GameConstants.Map.TILE_SIZE);
+    }
+}
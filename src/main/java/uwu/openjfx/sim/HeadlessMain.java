@@ -0,0 +1,97 @@
+package uwu.openjfx.sim;
+
+import uwu.openjfx.core.GameConstants;
+import uwu.openjfx.utils.GameLogger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Command line entry of the headless simulation:
+ * <pre>
+ * gradle runHeadless -PsimArgs="--seed 42 --runs 10"
+ * </pre>
+ * Options: --seed (first seed, next runs count up), --runs, --rooms, --ticks
+ * (limit per run), --weapon (a SimWeapon name), --difficulty and --script (replay a
+ * {@link ScriptedInput} file instead of the bot). Balance sweeps live in BalanceSweep.
+ */
+public final class HeadlessMain {
+
+    private HeadlessMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        long seed = 1;
+        int runs = 1;
+        int rooms = GameConstants.Map.ROOM_COUNT;
+        long maxTicks = GameConstants.Sim.MAX_TICKS;
+        SimWeapon weapon = SimWeapon.GOLDEN_SWORD_0;
+        String difficulty = "normal";
+        Path script = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+            case "--seed":
+                seed = Long.parseLong(value);
+                break;
+            case "--runs":
+                runs = Integer.parseInt(value);
+                break;
+            case "--rooms":
+                rooms = Integer.parseInt(value);
+                break;
+            case "--ticks":
+                maxTicks = Long.parseLong(value);
+                break;
+            case "--weapon":
+                weapon = SimWeapon.valueOf(value.toUpperCase(Locale.ROOT));
+                break;
+            case "--difficulty":
+                difficulty = value;
+                break;
+            case "--script":
+                script = Paths.get(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+
+        long totalTicks = 0;
+        long totalNanos = 0;
+        for (int run = 0; run < runs; run++) {
+            HeadlessRuntime sim = new HeadlessRuntime(seed + run, rooms, input(script));
+            sim.setMaxTicks(maxTicks);
+            sim.setWeapon(weapon);
+            sim.setDifficulty(difficulty);
+            sim.boot();
+            SimResult result = sim.run();
+            GameLogger.system(result.toString());
+            totalTicks += result.getTicks();
+            totalNanos += result.getWallNanos();
+        }
+        if (runs > 1 && totalNanos > 0) {
+            GameLogger.system(String.format(Locale.ROOT, "%d runs, %d ticks, %.0f ticks/s",
+                runs, totalTicks, totalTicks * 1e9 / totalNanos));
+        }
+    }
+
+    private static SimInput input(Path script) throws IOException {
+        if (script == null) {
+            return new BotInput();
+        }
+        try (Reader reader = Files.newBufferedReader(script, StandardCharsets.UTF_8)) {
+            return ScriptedInput.parse(reader);
+        }
+    }
+}
@@ -0,0 +1,839 @@
+package uwu.openjfx.sim;
+
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.physics.BoundingShape;
+import com.almasb.fxgl.physics.HitBox;
+import uwu.openjfx.CreatureFactory;
+import uwu.openjfx.MainApp;
+import uwu.openjfx.behaviors.DoNothing;
+import uwu.openjfx.collision.EnemyAttackPlayerCollisionHandler;
+import uwu.openjfx.collision.PlayerAttackEnemyCollisionHandler;
+import uwu.openjfx.collision.PlayerEnemyCollisionHandler;
+import uwu.openjfx.components.AttackDamageComponent;
+import uwu.openjfx.components.EnemyComponent;
+import uwu.openjfx.components.PlayerComponent;
+import uwu.openjfx.core.GameConstants;
+import uwu.openjfx.core.GameEnvironment;
+import uwu.openjfx.core.GameModule;
+import uwu.openjfx.core.modules.AssetModule;
+import uwu.openjfx.map.FlowField;
+import uwu.openjfx.map.GameMap;
+import uwu.openjfx.map.Room;
+import uwu.openjfx.map.RoomLayout;
+import uwu.openjfx.spatial.SpatialHash;
+import uwu.openjfx.time.GameScheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a model of the game's combat without a Stage, a scene graph or the FXGL engine.
+ * <p>
+ * It is a model, not the game loop. These parts are real:
+ * <ul>
+ * <li>the map (GameMap) and the rooms, with enemies and doors read from their .tmx
+ * object layers;</li>
+ * <li>enemy stats from CreatureFactory;</li>
+ * <li>damage and health, through the real collision handlers and the
+ * PlayerComponent/EnemyComponent in testing mode;</li>
+ * <li>timers, through the GameScheduler on a fixed 60 Hz tick.</li>
+ * </ul>
+ * These parts are replaced, so they behave differently from the game:
+ * <ul>
+ * <li>Movement. Bodies move over the room's tile grid and do not go through the physics
+ * world. There is no knockback, no push-back between enemies and no velocity ramp.</li>
+ * <li>Collisions. Overlaps of boxes come from a SpatialHash, not from the physics
+ * world.</li>
+ * <li>The enemy brain. It is a compact version of EnemyComponent.moveToPlayer: chase,
+ * wind up, strike or shoot a fireball, then cool down. Kiting, the boss hammer and
+ * magic ultimates, and the AI level of detail are not modelled. EnemyComponent.onUpdate
+ * is never called, because it drives sprites and spawns hitboxes through FXGL. The
+ * ranges, reaction times and fireball speed are read from the component and
+ * GameConstants.Enemy.</li>
+ * <li>Player weapons. They are the SimWeapon approximations of the real weapons, so
+ * ultimates, buffs and potions are not used.</li>
+ * </ul>
+ * Use it to compare configurations with each other, for example difficulties and
+ * weapons in BalanceSweep, and to catch regressions in the parts listed as real. Do not
+ * read its win rates as the win rates of the game.
+ * <p>
+ * A runtime uses the GameEnvironment (with the player state) and the GameScheduler of
+ * the thread it ticks on. To run several at once, bind each thread to its own first
+ * (see BalanceSweep).
+ */
+public final class HeadlessRuntime {
+
+    public static final double TICK = GameConstants.Sim.TICK;
+
+    // player hitbox from CreatureFactory.newPlayer
+    private static final double PLAYER_BOX_X = 3;
+    private static final double PLAYER_BOX_Y = 15;
+    private static final double PLAYER_BOX_WIDTH = 35;
+    private static final double PLAYER_BOX_HEIGHT = 40;
+    // no enemy is bigger than the 96x96 boss
+    private static final double ENEMY_REACH = 72;
+    // arrow and spell hitboxes after the offsets in Bow.attack and MagicStaff0.attack;
+    // the enemy fireball box of rangedAttack (14x24) is about as big
+    private static final double PROJECTILE_SIZE = 16;
+
+    private final long seed;
+    private final int numOfRooms;
+    private final SimInput input;
+    private final SimIntent intent = new SimIntent();
+    private final PlayerAttackEnemyCollisionHandler playerAttack =
+        new PlayerAttackEnemyCollisionHandler();
+    private final EnemyAttackPlayerCollisionHandler enemyAttack =
+        new EnemyAttackPlayerCollisionHandler();
+    private final PlayerEnemyCollisionHandler contact = new PlayerEnemyCollisionHandler();
+    private final Map<String, RoomLayout> layouts = new HashMap<>();
+    private final SpatialHash<SimEnemy> enemyHash =
+        new SpatialHash<>(GameConstants.Spatial.CELL_SIZE);
+    private final List<SimEnemy> enemies = new ArrayList<>();
+    private final List<Entity> enemyEntities = new ArrayList<>();
+    private final List<SimEnemy> found = new ArrayList<>();
+    private final List<SimProjectile> projectiles = new ArrayList<>();
+    private final List<SimProjectile> fireballs = new ArrayList<>();
+
+    private List<String> roomTypes;
+    private List<String> normalMinions;
+    private List<String> forestMinions;
+    private List<String> miniBosses;
+    private GameMap gameMap;
+    private Entity player;
+    private PlayerComponent playerComponent;
+    private Entity swordHitBox;
+    private Room room;
+    private RoomLayout layout;
+    private FlowField enemyField;
+    private FlowField walkField;
+
+    private SimWeapon weapon = SimWeapon.GOLDEN_SWORD_0;
+    private String difficulty = "normal";
+    private long maxTicks = GameConstants.Sim.MAX_TICKS;
+    private long ticks;
+    private int roomsEntered;
+    private int kills;
+    private int swings;
+    private int facing = 1;
+    private double aimX;
+    private double aimY;
+    private boolean swinging;
+    private double swingReadyAt;
+    private boolean bossKilled;
+    private double timeToKillSum;
+    private double damageDealt;
+    private int timeToKillCount;
+    private SimResult.Outcome outcome = SimResult.Outcome.RUNNING;
+    private long wallNanos;
+
+    /**
+     * @param seed       seed of the map and of every random roll in the run
+     * @param numOfRooms rooms to generate, the game uses GameConstants.Map.ROOM_COUNT
+     * @param input      who plays
+     */
+    public HeadlessRuntime(long seed, int numOfRooms, SimInput input) {
+        this.seed = seed;
+        this.numOfRooms = numOfRooms;
+        this.input = input;
+    }
+
+    /**
+     * Resets the shared game state, generates the map and enters the initial room.
+     */
+    public void boot() {
+        MainApp.setIsTesting(true); // no textures, sounds, views or FXGL services
+        MainApp.getRandom().setSeed(seed);
+        GameScheduler.get().clear();
+        PlayerComponent.resetAllGameData();
+        GameEnvironment.get().getDifficultyService().setActiveDifficulty(difficulty);
+
+        AssetModule assets = new AssetModule();
+        try {
+            assets.initialize();
+        } catch (GameModule.ModuleException e) {
+            throw new IllegalStateException("Cannot list the game assets", e);
+        }
+        // sorted, the listing order depends on the file system and the seed must not
+        roomTypes = sorted(assets.getRoomTypes());
+        normalMinions = sorted(assets.getNormalMinions());
+        forestMinions = sorted(assets.getForestMinions());
+        miniBosses = sorted(assets.getMiniBosses());
+
+        gameMap = new GameMap(numOfRooms);
+        gameMap.setRandomSeed(seed);
+        gameMap.generateRooms();
+        // outside of testing mode Room picks its own type from the FXGL property
+        for (Room generated : gameMap.getRooms().values()) {
+            if ("to_be_determined".equals(generated.getRoomType())) {
+                generated.setRoomType(pick(roomTypes, "small_room_1"));
+            }
+        }
+
+        player = new Entity();
+        playerComponent = new PlayerComponent(CreatureFactory.PLAYER_HEALTH);
+        player.addComponent(playerComponent);
+        swordHitBox = new Entity();
+        swordHitBox.addComponent(new AttackDamageComponent(true, weapon.getDamage()));
+
+        enterRoom(gameMap.getInitialRoom(), "center");
+    }
+
+    /**
+     * Ticks until the run is over.
+     *
+     * @return the outcome of the run
+     */
+    public SimResult run() {
+        return run(Long.MAX_VALUE);
+    }
+
+    /**
+     * Ticks until the run is over or the given number of ticks passed.
+     *
+     * @param limit most ticks to run
+     * @return the state of the run afterwards
+     */
+    public SimResult run(long limit) {
+        long start = System.nanoTime();
+        for (long i = 0; i < limit && outcome == SimResult.Outcome.RUNNING; i++) {
+            tick();
+        }
+        wallNanos += System.nanoTime() - start;
+        return getResult();
+    }
+
+    /**
+     * Advances the game by one fixed tick.
+     */
+    public void tick() {
+        if (outcome != SimResult.Outcome.RUNNING) {
+            return;
+        }
+        intent.reset();
+        input.decide(this, intent);
+        updatePlayer();
+
+        double px = getPlayerCenterX();
+        double py = getPlayerCenterY();
+        enemyField.setTarget(tileOf(px), tileOf(py));
+        for (SimEnemy enemy : enemies) {
+            updateEnemy(enemy, px, py);
+        }
+        touchEnemies();
+        updateProjectiles();
+        updateFireballs();
+
+        GameScheduler.get().update(TICK);
+        removeDead();
+        ticks++;
+
+        if (playerComponent.dead()) {
+            outcome = SimResult.Outcome.DIED;
+        } else if (bossKilled) {
+            outcome = SimResult.Outcome.WON;
+        } else if (ticks >= maxTicks) {
+            outcome = SimResult.Outcome.TIMED_OUT;
+        } else {
+            useDoors();
+        }
+    }
+
+    // region Player
+    private void updatePlayer() {
+        if (swinging) {
+            return; // PlayerComponent.autoAttack stops the player during the swing
+        }
+        if (intent.isAttacking() && getTime() >= swingReadyAt) {
+            startSwing();
+            return;
+        }
+        double moveX = clamp(intent.getMoveX());
+        double moveY = clamp(intent.getMoveY());
+        if (moveX != 0) {
+            facing = moveX > 0 ? 1 : -1;
+        }
+        // like the keyboard, each axis runs at full speed, diagonals are faster
+        double step = playerComponent.getSpeed() * TICK;
+        moveBox(player, PLAYER_BOX_X, PLAYER_BOX_Y, PLAYER_BOX_WIDTH, PLAYER_BOX_HEIGHT,
+            moveX * step, moveY * step, walkField);
+    }
+
+    private void startSwing() {
+        swinging = true;
+        swings++;
+        if (intent.isAiming()) {
+            facing = intent.getAimX() > player.getX() + 20 ? 1 : -1;
+            aimX = intent.getAimX();
+            aimY = intent.getAimY();
+        } else {
+            aimX = getPlayerCenterX() + facing;
+            aimY = getPlayerCenterY();
+        }
+        GameScheduler.get().after(player, weapon.getChargeUpSeconds(), this::resolveSwing);
+    }
+
+    private void resolveSwing() {
+        swinging = false;
+        swingReadyAt = getTime();
+        if (weapon.isMelee()) {
+            slash();
+        } else {
+            shoot();
+        }
+    }
+
+    /*
+        Places the slash hitbox the way the swords' attack() does and hits what it overlaps.
+     */
+    private void slash() {
+        double centerX = getPlayerCenterX() + facing * weapon.getOffset();
+        double centerY = getPlayerCenterY();
+        double halfWidth = weapon.getHitBoxWidth() / 2;
+        double halfHeight = weapon.getHitBoxHeight() / 2;
+
+        found.clear();
+        enemyHash.queryRadius(centerX, centerY,
+            Math.hypot(halfWidth, halfHeight) + ENEMY_REACH, null, found);
+        for (SimEnemy enemy : found) {
+            if (!enemy.component.dead() && overlaps(centerX - halfWidth, centerY - halfHeight,
+                2 * halfWidth, 2 * halfHeight, enemy.entity.getX(), enemy.entity.getY(),
+                enemy.component.getWidth(), enemy.component.getHeight())) {
+                hit(enemy);
+            }
+        }
+    }
+
+    private void shoot() {
+        double dx = aimX - getPlayerCenterX();
+        double dy = aimY - getPlayerCenterY();
+        double length = Math.hypot(dx, dy);
+        if (length == 0) {
+            dx = facing;
+            length = 1;
+        }
+        double speed = weapon.getProjectileSpeed();
+        projectiles.add(new SimProjectile(getPlayerCenterX(), getPlayerCenterY(),
+            speed * dx / length, speed * dy / length));
+    }
+
+    /*
+        Arrows and spells fly straight and stop at the first enemy or wall they touch,
+        like the pooled projectiles do with the physics world.
+     */
+    private void updateProjectiles() {
+        double half = PROJECTILE_SIZE / 2;
+        for (int i = projectiles.size() - 1; i >= 0; i--) {
+            SimProjectile projectile = projectiles.get(i);
+            projectile.x += projectile.velocityX * TICK;
+            projectile.y += projectile.velocityY * TICK;
+            boolean spent = walkField.isBlocked(tileOf(projectile.x), tileOf(projectile.y));
+
+            found.clear();
+            enemyHash.queryRadius(projectile.x, projectile.y, half + ENEMY_REACH, null, found);
+            for (int j = 0; j < found.size() && !spent; j++) {
+                SimEnemy enemy = found.get(j);
+                if (!enemy.component.dead() && overlaps(projectile.x - half,
+                    projectile.y - half, PROJECTILE_SIZE, PROJECTILE_SIZE,
+                    enemy.entity.getX(), enemy.entity.getY(),
+                    enemy.component.getWidth(), enemy.component.getHeight())) {
+                    hit(enemy);
+                    spent = true;
+                }
+            }
+            if (spent) {
+                projectiles.remove(i);
+            }
+        }
+    }
+
+    private void hit(SimEnemy enemy) {
+        if (Double.isNaN(enemy.firstHitTime)) {
+            enemy.firstHitTime = getTime();
+        }
+        int before = enemy.component.getHealthPoints();
+        playerAttack.onCollisionBegin(swordHitBox, enemy.entity);
+        damageDealt += before - enemy.component.getHealthPoints();
+    }
+    // endregion
+
+    // region Enemies
+    private void updateEnemy(SimEnemy enemy, double px, double py) {
+        EnemyComponent component = enemy.component;
+        double ex = enemy.getCenterX();
+        double ey = enemy.getCenterY();
+        double dist = Math.hypot(px - ex, py - ey);
+        double now = getTime();
+
+        // the ranges and reaction time EnemyComponent.moveToPlayer reads
+        boolean melee = component.getFighterClass().equals("melee");
+        int attackDist = component.getAttackDistance();
+        int moveDist = component.getMoveDistance();
+
+        if (!enemy.windingUp && now >= enemy.nextDecision && !component.dead()) {
+            enemy.nextDecision = now + component.getReactionTime();
+            if (dist < attackDist && now >= enemy.attackReadyAt) {
+                enemy.stop();
+                windUp(enemy, attackDist);
+            } else if (dist < moveDist && (melee || dist >= attackDist)) {
+                steer(enemy, ex, ey, px, py);
+            } else {
+                enemy.stop(); // a ranged enemy in range holds its ground instead of kiting
+            }
+        }
+
+        moveBox(enemy.entity, 0, 0, component.getWidth(), component.getHeight(),
+            enemy.velocityX * TICK, enemy.velocityY * TICK, enemyField);
+        enemyHash.put(enemy, enemy.getCenterX(), enemy.getCenterY());
+    }
+
+    private void steer(SimEnemy enemy, double ex, double ey, double px, double py) {
+        double speed = enemy.component.getSpeed();
+        int step = enemyField.directionAt(tileOf(ex), tileOf(ey));
+        if (step >= 0) {
+            enemy.velocityX = speed * FlowField.stepX(step);
+            enemy.velocityY = speed * FlowField.stepY(step);
+        } else {
+            enemy.velocityX = speed * (px - ex > 0 ? 1 : -1);
+            enemy.velocityY = speed * (py - ey > 0 ? 1 : -1);
+        }
+    }
+
+    private void windUp(SimEnemy enemy, int attackDist) {
+        EnemyComponent component = enemy.component;
+        enemy.windingUp = true;
+        GameScheduler.get().after(enemy.entity, component.getAttackDuration() / 1000.0, () -> {
+            enemy.windingUp = false;
+            enemy.attackReadyAt = getTime() + component.getAttackBreaktime() / 1000.0;
+            double dx = getPlayerCenterX() - enemy.getCenterX();
+            double dy = getPlayerCenterY() - enemy.getCenterY();
+            double dist = Math.hypot(dx, dy);
+            if (!component.getFighterClass().equals("melee")) {
+                // rangedAttack: a fireball aimed where the player stands now
+                double speed = GameConstants.Enemy.FIREBALL_SPEED / Math.max(dist, 1);
+                fireballs.add(new SimProjectile(enemy.getCenterX(), enemy.getCenterY(),
+                    dx * speed, dy * speed));
+            } else if (dist < attackDist) {
+                enemyAttack.onCollisionBegin(null, player);
+            }
+        });
+    }
+
+    /*
+        Enemy fireballs stop at a wall or at the player, who takes the hit unless
+        still invulnerable from the last one.
+     */
+    private void updateFireballs() {
+        double half = PROJECTILE_SIZE / 2;
+        double boxX = player.getX() + PLAYER_BOX_X;
+        double boxY = player.getY() + PLAYER_BOX_Y;
+        for (int i = fireballs.size() - 1; i >= 0; i--) {
+            SimProjectile fireball = fireballs.get(i);
+            fireball.x += fireball.velocityX * TICK;
+            fireball.y += fireball.velocityY * TICK;
+            if (overlaps(fireball.x - half, fireball.y - half, PROJECTILE_SIZE,
+                PROJECTILE_SIZE, boxX, boxY, PLAYER_BOX_WIDTH, PLAYER_BOX_HEIGHT)) {
+                enemyAttack.onCollisionBegin(null, player);
+                fireballs.remove(i);
+            } else if (walkField.isBlocked(tileOf(fireball.x), tileOf(fireball.y))) {
+                fireballs.remove(i);
+            }
+        }
+    }
+
+    private void touchEnemies() {
+        double boxX = player.getX() + PLAYER_BOX_X;
+        double boxY = player.getY() + PLAYER_BOX_Y;
+        found.clear();
+        enemyHash.queryRadius(getPlayerCenterX(), getPlayerCenterY(),
+            Math.hypot(PLAYER_BOX_WIDTH, PLAYER_BOX_HEIGHT) / 2 + ENEMY_REACH, null, found);
+        for (SimEnemy enemy : found) {
+            if (!overlaps(boxX, boxY, PLAYER_BOX_WIDTH, PLAYER_BOX_HEIGHT,
+                enemy.entity.getX(), enemy.entity.getY(),
+                enemy.component.getWidth(), enemy.component.getHeight())) {
+                continue;
+            }
+            // the handler looks up EnemyComponent, which the boss is registered under
+            // as BossComponent; begin only resets the push-back of massive enemies
+            if (enemy.lastTouchTick != ticks - 1
+                && enemy.entity.hasComponent(EnemyComponent.class)) {
+                contact.onCollisionBegin(player, enemy.entity);
+            }
+            enemy.lastTouchTick = ticks;
+            contact.onCollision(player, enemy.entity);
+        }
+    }
+
+    private void removeDead() {
+        for (int i = enemies.size() - 1; i >= 0; i--) {
+            SimEnemy enemy = enemies.get(i);
+            if (!enemy.component.dead()) {
+                continue;
+            }
+            enemies.remove(i);
+            enemyEntities.remove(enemy.entity);
+            enemyHash.remove(enemy);
+            GameScheduler.get().cancelAll(enemy.entity);
+            kills++;
+            if (!Double.isNaN(enemy.firstHitTime)) {
+                timeToKillSum += getTime() - enemy.firstHitTime;
+                timeToKillCount++;
+            }
+            if (enemy.roomId >= 0) {
+                room.setEntityData(enemy.roomId, "isAlive", 0);
+            }
+            if (enemy.component.getType().equals("finalboss")) {
+                bossKilled = true;
+            }
+        }
+    }
+    // endregion
+
+    // region Rooms
+    private void enterRoom(Room next, String spawnPosition) {
+        for (SimEnemy enemy : enemies) {
+            GameScheduler.get().cancelAll(enemy.entity);
+        }
+        enemies.clear();
+        enemyEntities.clear();
+        enemyHash.clear();
+        projectiles.clear();
+        fireballs.clear();
+
+        room = next;
+        layout = layouts.computeIfAbsent(GameMap.levelOf(room.getRoomType()), RoomLayout::load);
+        enemyField = layout.buildFlowField(true);
+        walkField = layout.buildFlowField(false);
+        for (RoomLayout.RoomObject object : layout.getObjects()) {
+            spawnEnemy(object);
+        }
+        if (!room.visited()) {
+            room.setVisited(true);
+        }
+
+        RoomLayout.RoomObject spawn = layout.getSpawnPoint(spawnPosition);
+        if (spawn != null) {
+            player.setPosition(spawn.getX(), spawn.getY());
+        } else {
+            player.setPosition(layout.getWidth() / 2.0, layout.getHeight() / 2.0);
+        }
+        roomsEntered++;
+    }
+
+    /*
+        Mirrors the enemy part of GameMap.loadRoom: the elite roll comes first and elites
+        are not tracked by the room, then enemies killed on an earlier visit stay dead.
+     */
+    private void spawnEnemy(RoomLayout.RoomObject object) {
+        EnemyComponent component;
+        int roomId = object.getId();
+        switch (object.getType()) {
+        case "minion":
+        case "forestMinion":
+        case "miniBoss":
+        case "finalBoss":
+            break;
+        default:
+            return;
+        }
+
+        boolean elite = MainApp.getRandom().nextInt(101) < GameConstants.Enemy.ELITE_CHANCE;
+        if (elite) {
+            component = CreatureFactory.newMinionComponent(
+                pick(normalMinions, "zombie_40x40.png"));
+            roomId = -1;
+        } else {
+            if (room.visited() && room.getEntityData(roomId, "isAlive") == 0) {
+                return;
+            }
+            room.setEntityData(roomId, "isAlive", 1);
+            switch (object.getType()) {
+            case "forestMinion":
+                component = CreatureFactory.newForestMinionComponent(
+                    pick(forestMinions, "Ent_57x57.png"));
+                break;
+            case "miniBoss":
+                component = CreatureFactory.newMiniBossComponent(
+                    pick(miniBosses, "big_demon_96x108.png"));
+                break;
+            case "finalBoss":
+                component = CreatureFactory.newFinalBossComponent();
+                break;
+            default:
+                component = CreatureFactory.newMinionComponent(
+                    pick(normalMinions, "zombie_40x40.png"));
+            }
+        }
+        // drops spawn entities through FXGL, the run only counts kills
+        component.setDieBehavior(new DoNothing());
+
+        Entity entity = new Entity();
+        entity.setPosition(object.getX(), object.getY());
+        entity.getBoundingBoxComponent().addHitBox(new HitBox(
+            BoundingShape.box(component.getWidth(), component.getHeight())));
+        entity.addComponent(component);
+        if (elite) {
+            CreatureFactory.makeElite(component);
+        }
+        SimEnemy enemy = new SimEnemy(entity, component, roomId);
+        enemies.add(enemy);
+        enemyEntities.add(entity);
+        enemyHash.put(enemy, enemy.getCenterX(), enemy.getCenterY());
+    }
+
+    private void useDoors() {
+        double reach = GameConstants.Sim.DOOR_REACH;
+        double boxX = player.getX() + PLAYER_BOX_X - reach;
+        double boxY = player.getY() + PLAYER_BOX_Y - reach;
+        for (RoomLayout.RoomObject door : layout.getObjects("door")) {
+            if (!overlaps(boxX, boxY, PLAYER_BOX_WIDTH + 2 * reach,
+                PLAYER_BOX_HEIGHT + 2 * reach,
+                door.getX(), door.getY(), door.getWidth(), door.getHeight())) {
+                continue;
+            }
+            String direction = door.getProperty("direction");
+            Room next = direction == null ? null : neighbour(room, direction);
+            if (canEnter(next)) {
+                enterRoom(next, opposite(direction));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Same rules as PlayerDoorCollisionHandler: clear the room before exploring, and
+     * visit enough challenge rooms before the boss.
+     *
+     * @param next room behind a door, may be null
+     * @return true if the player may walk into it now
+     */
+    public boolean canEnter(Room next) {
+        if (next == null || (!next.visited() && !enemies.isEmpty() && !room.enemiesCleared())) {
+            return false;
+        }
+        return next != gameMap.getBossRoom() || gameMap.countVisited("challengeRoom")
+            >= GameConstants.Map.CHALLENGE_ROOMS_BEFORE_BOSS;
+    }
+
+    /**
+     * @param from      a room
+     * @param direction "north", "east", "south" or "west"
+     * @return the neighbour in that direction, or null
+     */
+    public static Room neighbour(Room from, String direction) {
+        switch (direction) {
+        case "north":
+            return from.getNorthRoom();
+        case "east":
+            return from.getEastRoom();
+        case "south":
+            return from.getSouthRoom();
+        case "west":
+            return from.getWestRoom();
+        default:
+            return null;
+        }
+    }
+
+    private static String opposite(String direction) {
+        switch (direction) {
+        case "north":
+            return "south";
+        case "east":
+            return "west";
+        case "south":
+            return "north";
+        default:
+            return "east";
+        }
+    }
+    // endregion
+
+    // region Geometry
+    private static void moveBox(Entity entity, double offsetX, double offsetY,
+                                double width, double height, double dx, double dy,
+                                FlowField grid) {
+        // one axis at a time, so bodies slide along walls instead of sticking
+        if (dx != 0 && !blocked(grid, entity.getX() + offsetX + dx, entity.getY() + offsetY,
+            width, height)) {
+            entity.translateX(dx);
+        }
+        if (dy != 0 && !blocked(grid, entity.getX() + offsetX, entity.getY() + offsetY + dy,
+            width, height)) {
+            entity.translateY(dy);
+        }
+    }
+
+    private static boolean blocked(FlowField grid, double x, double y,
+                                   double width, double height) {
+        int maxColumn = tileOf(x + width);
+        int maxRow = tileOf(y + height);
+        for (int row = tileOf(y); row <= maxRow; row++) {
+            for (int column = tileOf(x); column <= maxColumn; column++) {
+                if (grid.isBlocked(column, row)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean overlaps(double ax, double ay, double aw, double ah,
+                                    double bx, double by, double bw, double bh) {
+        return ax < bx + bw && bx < ax + aw && ay < by + bh && by < ay + ah;
+    }
+
+    private static int tileOf(double coordinate) {
+        return (int) Math.floor(coordinate / GameConstants.Map.TILE_SIZE);
+    }
+
+    private static double clamp(double value) {
+        return Math.max(-1, Math.min(1, value));
+    }
+
+    private static List<String> sorted(List<String> names) {
+        List<String> copy = names == null ? new ArrayList<>() : new ArrayList<>(names);
+        Collections.sort(copy);
+        return copy;
+    }
+
+    private static String pick(List<String> choices, String fallback) {
+        if (choices == null || choices.isEmpty()) {
+            return fallback;
+        }
+        return choices.get(MainApp.getRandom().nextInt(choices.size()));
+    }
+    // endregion
+
+    public void setMaxTicks(long maxTicks) {
+        this.maxTicks = maxTicks;
+    }
+
+    /**
+     * @param weapon weapon the player fights with, set before boot()
+     */
+    public void setWeapon(SimWeapon weapon) {
+        this.weapon = weapon;
+    }
+
+    public SimWeapon getWeapon() {
+        return weapon;
+    }
+
+    /**
+     * @param difficulty key in config/difficulty.json, set before boot()
+     */
+    public void setDifficulty(String difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public SimResult getResult() {
+        double timeToKill = timeToKillCount == 0 ? Double.NaN : timeToKillSum / timeToKillCount;
+        return new SimResult(seed, outcome, ticks, roomsEntered, gameMap.getRooms().size(),
+            kills, timeToKill, damageDealt,
+            playerComponent.getMaxHealthPoints() - playerComponent.getHealthPoints(),
+            swings, wallNanos);
+    }
+
+    public double getTime() {
+        return GameScheduler.get().getTime();
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public GameMap getGameMap() {
+        return gameMap;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public RoomLayout getLayout() {
+        return layout;
+    }
+
+    public Entity getPlayer() {
+        return player;
+    }
+
+    public PlayerComponent getPlayerComponent() {
+        return playerComponent;
+    }
+
+    public double getPlayerCenterX() {
+        return player.getX() + PLAYER_BOX_X + PLAYER_BOX_WIDTH / 2;
+    }
+
+    public double getPlayerCenterY() {
+        return player.getY() + PLAYER_BOX_Y + PLAYER_BOX_HEIGHT / 2;
+    }
+
+    /**
+     * @return live enemies of the current room, their bounding box is the sprite size
+     */
+    public List<Entity> getEnemies() {
+        return Collections.unmodifiableList(enemyEntities);
+    }
+
+    public boolean isSwinging() {
+        return swinging;
+    }
+
+    /*
+        Enemy state the simulation keeps next to the component.
+     */
+    private static final class SimEnemy {
+        private final Entity entity;
+        private final EnemyComponent component;
+        private final int roomId; // -1 for elites, the room does not track them
+        private double velocityX;
+        private double velocityY;
+        private double nextDecision;
+        private double attackReadyAt;
+        private boolean windingUp;
+        private long lastTouchTick = -2;
+        private double firstHitTime = Double.NaN;
+
+        SimEnemy(Entity entity, EnemyComponent component, int roomId) {
+            this.entity = entity;
+            this.component = component;
+            this.roomId = roomId;
+        }
+
+        double getCenterX() {
+            return entity.getX() + component.getWidth() / 2.0;
+        }
+
+        double getCenterY() {
+            return entity.getY() + component.getHeight() / 2.0;
+        }
+
+        void stop() {
+            velocityX = 0;
+            velocityY = 0;
+        }
+    }
+
+    private static final class SimProjectile {
+        private final double velocityX;
+        private final double velocityY;
+        private double x;
+        private double y;
+
+        SimProjectile(double x, double y, double velocityX, double velocityY) {
+            this.x = x;
+            this.y = y;
+            this.velocityX = velocityX;
+            this.velocityY = velocityY;
+        }
+    }
+}
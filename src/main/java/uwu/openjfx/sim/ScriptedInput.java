@@ -0,0 +1,114 @@
+package uwu.openjfx.sim;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Replays a fixed list of inputs, one step per line:
+ * <pre>
+ * # ticks  actions
+ * 60       move 1 0
+ * 30       attack
+ * 120      move 0 -1 attack
+ * </pre>
+ * Each step holds its actions for the given number of ticks, after the last step
+ * the player stands still. Blank lines and lines starting with # are skipped.
+ */
+public final class ScriptedInput implements SimInput {
+
+    private final List<Step> steps;
+    private int current;
+    private long ticksLeft;
+
+    private ScriptedInput(List<Step> steps) {
+        this.steps = steps;
+        this.ticksLeft = steps.isEmpty() ? 0 : steps.get(0).ticks;
+    }
+
+    /**
+     * @param reader the script
+     * @return input replaying it
+     * @throws IOException              if the script cannot be read
+     * @throws IllegalArgumentException on a malformed line, with its line number
+     */
+    public static ScriptedInput parse(Reader reader) throws IOException {
+        List<Step> steps = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int number = 0;
+        while ((line = lines.readLine()) != null) {
+            number++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                steps.add(parseStep(line.split("\\s+")));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Script line " + number + ": " + line, e);
+            }
+        }
+        return new ScriptedInput(steps);
+    }
+
+    private static Step parseStep(String[] words) {
+        Step step = new Step(Long.parseLong(words[0]));
+        for (int i = 1; i < words.length; i++) {
+            switch (words[i].toLowerCase(Locale.ROOT)) {
+            case "move":
+                step.moveX = Double.parseDouble(words[++i]);
+                step.moveY = Double.parseDouble(words[++i]);
+                break;
+            case "attack":
+                step.attack = true;
+                break;
+            case "idle":
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown action " + words[i]);
+            }
+        }
+        return step;
+    }
+
+    @Override
+    public void decide(HeadlessRuntime sim, SimIntent intent) {
+        while (current < steps.size() && ticksLeft <= 0) {
+            current++;
+            if (current < steps.size()) {
+                ticksLeft = steps.get(current).ticks;
+            }
+        }
+        if (current >= steps.size()) {
+            return;
+        }
+        Step step = steps.get(current);
+        intent.move(step.moveX, step.moveY);
+        if (step.attack) {
+            intent.attack();
+        }
+        ticksLeft--;
+    }
+
+    /**
+     * @return true once every step has been played
+     */
+    public boolean isFinished() {
+        return current >= steps.size() || (current == steps.size() - 1 && ticksLeft <= 0);
+    }
+
+    private static final class Step {
+        private final long ticks;
+        private double moveX;
+        private double moveY;
+        private boolean attack;
+
+        Step(long ticks) {
+            this.ticks = ticks;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package uwu.openjfx.sim;
+
+/**
+ * Source of player input for the headless simulation: a bot, a script or a test.
+ */
+public interface SimInput {
+
+    /**
+     * Called once per tick before anything moves.
+     *
+     * @param sim    the running simulation, read-only use expected
+     * @param intent cleared intent to fill in
+     */
+    void decide(HeadlessRuntime sim, SimIntent intent);
+}
@@ -0,0 +1,71 @@
+package uwu.openjfx.sim;
+
+/**
+ * What the player wants to do this tick, filled in by a SimInput.
+ * It stands in for the keyboard and mouse of the real game.
+ */
+public final class SimIntent {
+
+    private double moveX;
+    private double moveY;
+    private boolean attack;
+    private double aimX;
+    private double aimY;
+    private boolean aiming;
+
+    /**
+     * @param x horizontal direction, -1 (left) to 1 (right)
+     * @param y vertical direction, -1 (up) to 1 (down)
+     */
+    public void move(double x, double y) {
+        moveX = x;
+        moveY = y;
+    }
+
+    public void attack() {
+        attack = true;
+    }
+
+    /**
+     * Points the weapon like the mouse would in the game.
+     *
+     * @param x room x to aim at
+     * @param y room y to aim at
+     */
+    public void aimAt(double x, double y) {
+        aimX = x;
+        aimY = y;
+        aiming = true;
+    }
+
+    void reset() {
+        moveX = 0;
+        moveY = 0;
+        attack = false;
+        aiming = false;
+    }
+
+    public double getMoveX() {
+        return moveX;
+    }
+
+    public double getMoveY() {
+        return moveY;
+    }
+
+    public boolean isAttacking() {
+        return attack;
+    }
+
+    public boolean isAiming() {
+        return aiming;
+    }
+
+    public double getAimX() {
+        return aimX;
+    }
+
+    public double getAimY() {
+        return aimY;
+    }
+}
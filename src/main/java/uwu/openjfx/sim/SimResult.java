@@ -0,0 +1,109 @@
+package uwu.openjfx.sim;
+
+/**
+ * Outcome and counters of one headless run.
+ */
+public final class SimResult {
+
+    public enum Outcome {
+        RUNNING,
+        WON,
+        DIED,
+        TIMED_OUT
+    }
+
+    private final long seed;
+    private final Outcome outcome;
+    private final long ticks;
+    private final int roomsEntered;
+    private final int roomsTotal;
+    private final int enemiesKilled;
+    private final double timeToKill;
+    private final double damageDealt;
+    private final int damageTaken;
+    private final int swings;
+    private final long wallNanos;
+
+    SimResult(long seed, Outcome outcome, long ticks, int roomsEntered, int roomsTotal,
+              int enemiesKilled, double timeToKill, double damageDealt, int damageTaken,
+              int swings, long wallNanos) {
+        this.seed = seed;
+        this.outcome = outcome;
+        this.ticks = ticks;
+        this.roomsEntered = roomsEntered;
+        this.roomsTotal = roomsTotal;
+        this.enemiesKilled = enemiesKilled;
+        this.timeToKill = timeToKill;
+        this.damageDealt = damageDealt;
+        this.damageTaken = damageTaken;
+        this.swings = swings;
+        this.wallNanos = wallNanos;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public double getGameSeconds() {
+        return ticks * HeadlessRuntime.TICK;
+    }
+
+    public int getRoomsEntered() {
+        return roomsEntered;
+    }
+
+    public int getRoomsTotal() {
+        return roomsTotal;
+    }
+
+    public int getEnemiesKilled() {
+        return enemiesKilled;
+    }
+
+    /**
+     * @return mean game seconds from the first hit on an enemy to its death, NaN without kills
+     */
+    public double getTimeToKill() {
+        return timeToKill;
+    }
+
+    public double getDamageDealt() {
+        return damageDealt;
+    }
+
+    public int getDamageTaken() {
+        return damageTaken;
+    }
+
+    public int getSwings() {
+        return swings;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * @return simulated ticks per second of wall-clock time
+     */
+    public double getTicksPerSecond() {
+        return wallNanos == 0 ? 0 : ticks * 1e9 / wallNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "seed=%d outcome=%s ticks=%d (%.1fs) rooms=%d/%d kills=%d ttk=%.2fs dealt=%.0f"
+                + " taken=%d swings=%d speed=%.0f ticks/s",
+            seed, outcome, ticks, getGameSeconds(), roomsEntered, roomsTotal, enemiesKilled,
+            timeToKill, damageDealt, damageTaken, swings, getTicksPerSecond());
+    }
+}
@@ -0,0 +1,132 @@
+package uwu.openjfx.sim;
+
+import uwu.openjfx.weapons.Bow;
+import uwu.openjfx.weapons.Bow0;
+import uwu.openjfx.weapons.Bow1;
+import uwu.openjfx.weapons.Bow2;
+import uwu.openjfx.weapons.GoldenSword0;
+import uwu.openjfx.weapons.GoldenSword1;
+import uwu.openjfx.weapons.GoldenSword2;
+import uwu.openjfx.weapons.HeavySword;
+import uwu.openjfx.weapons.MagicStaff0;
+import uwu.openjfx.weapons.MagicStaff1;
+import uwu.openjfx.weapons.MagicStaff2;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Regular (non-ultimate) attack of each player weapon as the headless simulation plays it.
+ * Damage, charge-up time, hitbox and projectile speed are read from the weapon classes,
+ * which build sprites in their constructors and so cannot be created without the JavaFX
+ * toolkit; weapons that take their damage from config/weapons.json read it there.
+ * <p>
+ * Bow2, MagicStaff0 and MagicStaff1 attach an ExplosionAtDistComponent to every shot, but
+ * only the ultimate one explodes, so regular shots deal their hit damage alone.
+ */
+public enum SimWeapon {
+    GOLDEN_SWORD_0("golden_sword_0", GoldenSword0::getAttackDamage,
+        GoldenSword0.ATTACK_DURATION, GoldenSword0.HIT_BOX_WIDTH, GoldenSword0.HIT_BOX_HEIGHT,
+        GoldenSword0.SWORD_OFFSET),
+    GOLDEN_SWORD_1("golden_sword_1", GoldenSword1::getAttackDamage,
+        GoldenSword1.ATTACK_DURATION, GoldenSword1.HIT_BOX_WIDTH, GoldenSword1.HIT_BOX_HEIGHT,
+        GoldenSword1.SWORD_OFFSET),
+    GOLDEN_SWORD_2("golden_sword_2", GoldenSword2::getAttackDamage,
+        GoldenSword2.ATTACK_DURATION, GoldenSword2.HIT_BOX_WIDTH, GoldenSword2.HIT_BOX_HEIGHT,
+        GoldenSword2.SWORD_OFFSET),
+    HEAVY_SWORD("heavy_sword", HeavySword::getAttackDamage,
+        HeavySword.ATTACK_DURATION, HeavySword.HIT_BOX_WIDTH, HeavySword.HIT_BOX_HEIGHT,
+        HeavySword.SWORD_OFFSET),
+    BOW_0("bow_0", () -> Bow0.ATTACK_DAMAGE, Bow0.ATTACK_DURATION, Bow.PROJECTILE_SPEED),
+    BOW_1("bow_1", () -> Bow1.ATTACK_DAMAGE, Bow1.ATTACK_DURATION, Bow.PROJECTILE_SPEED),
+    BOW_2("bow_2", Bow2::getAttackDamage, Bow2.ATTACK_DURATION, Bow.PROJECTILE_SPEED),
+    MAGIC_STAFF_0("magic_staff_0", () -> MagicStaff0.ATTACK_DAMAGE,
+        MagicStaff0.ATTACK_DURATION, MagicStaff0.PROJECTILE_SPEED),
+    MAGIC_STAFF_1("magic_staff_1", () -> MagicStaff1.ATTACK_DAMAGE,
+        MagicStaff1.ATTACK_DURATION, MagicStaff1.PROJECTILE_SPEED),
+    MAGIC_STAFF_2("magic_staff_2", () -> MagicStaff2.ATTACK_DAMAGE,
+        MagicStaff2.ATTACK_DURATION, MagicStaff2.PROJECTILE_SPEED);
+
+    // arrows and spells fly until they hit something, the bot only shoots this close
+    private static final double RANGED_REACH = 300;
+
+    private final String configKey;
+    private final DoubleSupplier damage;
+    private final int chargeUpMillis;
+    private final boolean melee;
+    private final double hitBoxWidth;
+    private final double hitBoxHeight;
+    private final double offset;
+    private final double projectileSpeed;
+
+    SimWeapon(String configKey, DoubleSupplier damage, int chargeUpMillis,
+              double hitBoxWidth, double hitBoxHeight, double offset) {
+        this.configKey = configKey;
+        this.damage = damage;
+        this.chargeUpMillis = chargeUpMillis;
+        this.melee = true;
+        this.hitBoxWidth = hitBoxWidth;
+        this.hitBoxHeight = hitBoxHeight;
+        this.offset = offset;
+        this.projectileSpeed = 0;
+    }
+
+    SimWeapon(String configKey, DoubleSupplier damage, int chargeUpMillis,
+              double projectileSpeed) {
+        this.configKey = configKey;
+        this.damage = damage;
+        this.chargeUpMillis = chargeUpMillis;
+        this.melee = false;
+        this.hitBoxWidth = 0;
+        this.hitBoxHeight = 0;
+        this.offset = 0;
+        this.projectileSpeed = projectileSpeed;
+    }
+
+    /**
+     * @return key of the weapon in config/weapons.json
+     */
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    public double getDamage() {
+        return damage.getAsDouble();
+    }
+
+    public double getChargeUpSeconds() {
+        return chargeUpMillis / 1000.0;
+    }
+
+    public boolean isMelee() {
+        return melee;
+    }
+
+    public double getHitBoxWidth() {
+        return hitBoxWidth;
+    }
+
+    public double getHitBoxHeight() {
+        return hitBoxHeight;
+    }
+
+    /**
+     * @return distance from the player's center to the center of the slash
+     */
+    public double getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return speed of an arrow or spell, 0 for melee weapons
+     */
+    public double getProjectileSpeed() {
+        return projectileSpeed;
+    }
+
+    /**
+     * @return how far from the player's center an enemy can be hit
+     */
+    public double getReach() {
+        return melee ? offset + hitBoxWidth / 2 : RANGED_REACH;
+    }
+}
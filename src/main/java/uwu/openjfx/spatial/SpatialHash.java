@@ -0,0 +1,268 @@
+package uwu.openjfx.spatial;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Uniform grid over room coordinates.
+ * Items are bucketed by the cell their point falls into, so a query only looks at
+ * the cells its circle overlaps and its cost depends on the local density instead
+ * of the number of entities in the room. Moving an item inside its cell only
+ * updates the stored point, the buckets change only when a cell border is crossed.
+ * Not thread-safe, it is updated from the game loop.
+ *
+ * @param <T> item type, compared by equals/hashCode (identity for entities)
+ */
+public final class SpatialHash<T> {
+
+    private final double cellSize;
+    private final Map<Long, List<Slot<T>>> cells = new HashMap<>();
+    private final Map<T, Slot<T>> slots = new HashMap<>();
+
+    public SpatialHash(double cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("cellSize must be positive");
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Inserts the item or moves it to a new point.
+     *
+     * @param item the item
+     * @param x    x in room coordinates
+     * @param y    y in room coordinates
+     */
+    public void put(T item, double x, double y) {
+        long cell = cellKey(cellOf(x), cellOf(y));
+        Slot<T> slot = slots.get(item);
+        if (slot == null) {
+            slot = new Slot<>(item);
+            slots.put(item, slot);
+            bucket(cell).add(slot);
+        } else if (slot.cell != cell) {
+            unbucket(slot);
+            bucket(cell).add(slot);
+        }
+        slot.x = x;
+        slot.y = y;
+        slot.cell = cell;
+    }
+
+    /**
+     * @param item the item
+     * @return true if the item was in the grid
+     */
+    public boolean remove(T item) {
+        Slot<T> slot = slots.remove(item);
+        if (slot == null) {
+            return false;
+        }
+        unbucket(slot);
+        return true;
+    }
+
+    public boolean contains(T item) {
+        return slots.containsKey(item);
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    public int getCellCount() {
+        return cells.size();
+    }
+
+    public void clear() {
+        cells.clear();
+        slots.clear();
+    }
+
+    /**
+     * Collects every matching item whose point is within the radius.
+     *
+     * @param x      center x
+     * @param y      center y
+     * @param radius search radius
+     * @param filter item filter, may be null
+     * @param out    receives the items, in no particular order
+     * @return number of items added to out
+     */
+    public int queryRadius(double x, double y, double radius, Predicate<? super T> filter,
+                           List<? super T> out) {
+        int found = 0;
+        double r2 = radius * radius;
+        int minX = cellOf(x - radius);
+        int maxX = cellOf(x + radius);
+        int minY = cellOf(y - radius);
+        int maxY = cellOf(y + radius);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                List<Slot<T>> bucket = cells.get(cellKey(cx, cy));
+                if (bucket == null) {
+                    continue;
+                }
+                for (Slot<T> slot : bucket) {
+                    if (slot.distanceSq(x, y) <= r2
+                        && (filter == null || filter.test(slot.item))) {
+                        out.add(slot.item);
+                        found++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Counts matching items within the radius without collecting them.
+     *
+     * @param x      center x
+     * @param y      center y
+     * @param radius search radius
+     * @param filter item filter, may be null
+     * @return number of items
+     */
+    public int countWithin(double x, double y, double radius, Predicate<? super T> filter) {
+        int count = 0;
+        double r2 = radius * radius;
+        int minX = cellOf(x - radius);
+        int maxX = cellOf(x + radius);
+        int minY = cellOf(y - radius);
+        int maxY = cellOf(y + radius);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                List<Slot<T>> bucket = cells.get(cellKey(cx, cy));
+                if (bucket == null) {
+                    continue;
+                }
+                for (Slot<T> slot : bucket) {
+                    if (slot.distanceSq(x, y) <= r2
+                        && (filter == null || filter.test(slot.item))) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Up to k matching items closest to the point, nearest first.
+     * Cells are visited in growing square rings and the search stops as soon as
+     * no unvisited cell can hold anything closer than the k-th candidate.
+     *
+     * @param x         center x
+     * @param y         center y
+     * @param k         maximum number of items
+     * @param maxRadius items further than this are ignored
+     * @param filter    item filter, may be null
+     * @return nearest items, closest first
+     */
+    public List<T> nearest(double x, double y, int k, double maxRadius,
+                           Predicate<? super T> filter) {
+        List<T> result = new ArrayList<>();
+        if (k <= 0 || slots.isEmpty()) {
+            return result;
+        }
+        double maxR2 = maxRadius * maxRadius;
+        // max-heap on distance, the worst of the current k best is on top
+        PriorityQueue<Candidate<T>> best = new PriorityQueue<>(k + 1,
+            Comparator.comparingDouble((Candidate<T> c) -> c.distanceSq).reversed());
+
+        int centerX = cellOf(x);
+        int centerY = cellOf(y);
+        int maxRing = (int) Math.ceil(maxRadius / cellSize) + 1;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int cx = centerX - ring; cx <= centerX + ring; cx++) {
+                boolean edgeColumn = cx == centerX - ring || cx == centerX + ring;
+                int step = edgeColumn ? 1 : 2 * ring;
+                for (int cy = centerY - ring; cy <= centerY + ring; cy += Math.max(1, step)) {
+                    List<Slot<T>> bucket = cells.get(cellKey(cx, cy));
+                    if (bucket == null) {
+                        continue;
+                    }
+                    for (Slot<T> slot : bucket) {
+                        double d2 = slot.distanceSq(x, y);
+                        if (d2 > maxR2 || (filter != null && !filter.test(slot.item))) {
+                            continue;
+                        }
+                        if (best.size() < k) {
+                            best.add(new Candidate<>(slot.item, d2));
+                        } else if (d2 < best.peek().distanceSq) {
+                            best.poll();
+                            best.add(new Candidate<>(slot.item, d2));
+                        }
+                    }
+                }
+            }
+            // anything in ring + 1 is at least ring * cellSize away from the point
+            double reach = ring * cellSize;
+            if (best.size() == k && best.peek().distanceSq <= reach * reach) {
+                break;
+            }
+        }
+
+        while (!best.isEmpty()) {
+            result.add(best.poll().item);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private int cellOf(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long cellKey(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+
+    private List<Slot<T>> bucket(long cell) {
+        return cells.computeIfAbsent(cell, k -> new ArrayList<>(4));
+    }
+
+    private void unbucket(Slot<T> slot) {
+        List<Slot<T>> bucket = cells.get(slot.cell);
+        if (bucket != null) {
+            bucket.remove(slot);
+            if (bucket.isEmpty()) {
+                cells.remove(slot.cell);
+            }
+        }
+    }
+
+    private static final class Slot<T> {
+        private final T item;
+        private double x;
+        private double y;
+        private long cell;
+
+        Slot(T item) {
+            this.item = item;
+        }
+
+        double distanceSq(double px, double py) {
+            double dx = x - px;
+            double dy = y - py;
+            return dx * dx + dy * dy;
+        }
+    }
+
+    private static final class Candidate<T> {
+        private final T item;
+        private final double distanceSq;
+
+        Candidate(T item, double distanceSq) {
+            this.item = item;
+            this.distanceSq = distanceSq;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package uwu.openjfx.spatial;
+
+import com.almasb.fxgl.dsl.FXGL;
+import com.almasb.fxgl.entity.Entity;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import javafx.beans.InvalidationListener;
+import uwu.openjfx.core.GameConstants;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spatial index of the enemies in the current room.
+ * EnemyComponent registers its entity when added and unregisters it when removed;
+ * while tracked, the entity's x/y properties keep its cell up to date, so nothing
+ * has to be rebuilt per frame. Points are the centers of the bounding boxes,
+ * the same point EnemyComponent measures the player distance from.
+ */
+public final class SpatialIndex {
+
+    private static final SpatialIndex INSTANCE = new SpatialIndex();
+
+    private final SpatialHash<Entity> enemies =
+        new SpatialHash<>(GameConstants.Spatial.CELL_SIZE);
+    private final Map<Entity, InvalidationListener> listeners = new HashMap<>();
+    private Entity player;
+
+    private SpatialIndex() {
+    }
+
+    @SuppressFBWarnings(value = "MS_EXPOSE_REP", justification = "SpatialIndex is a process-wide singleton")
+    public static SpatialIndex get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts following the enemy's position.
+     *
+     * @param enemy entity with an EnemyComponent
+     */
+    public void trackEnemy(Entity enemy) {
+        if (listeners.containsKey(enemy)) {
+            return;
+        }
+        InvalidationListener listener = obs -> move(enemy);
+        listeners.put(enemy, listener);
+        enemy.xProperty().addListener(listener);
+        enemy.yProperty().addListener(listener);
+        move(enemy);
+    }
+
+    public void untrackEnemy(Entity enemy) {
+        InvalidationListener listener = listeners.remove(enemy);
+        if (listener != null) {
+            enemy.xProperty().removeListener(listener);
+            enemy.yProperty().removeListener(listener);
+        }
+        enemies.remove(enemy);
+    }
+
+    /**
+     * Forgets every tracked enemy. Called before a new room is loaded.
+     */
+    public void clear() {
+        for (Entity enemy : new ArrayList<>(listeners.keySet())) {
+            untrackEnemy(enemy);
+        }
+        enemies.clear();
+    }
+
+    /**
+     * The player entity, looked up in the world vars once and then cached
+     * until it leaves the world (new game).
+     *
+     * @return the player entity
+     */
+    public Entity getPlayer() {
+        if (player == null || !player.isActive()) {
+            player = FXGL.geto("player");
+        }
+        return player;
+    }
+
+    /**
+     * @param x      center x
+     * @param y      center y
+     * @param radius search radius
+     * @return enemies whose center is within the radius
+     */
+    public List<Entity> enemiesWithin(double x, double y, double radius) {
+        List<Entity> result = new ArrayList<>();
+        enemies.queryRadius(x, y, radius, null, result);
+        return result;
+    }
+
+    public int countEnemiesWithin(double x, double y, double radius) {
+        return enemies.countWithin(x, y, radius, null);
+    }
+
+    /**
+     * @param self   the asking enemy, not counted
+     * @param radius search radius
+     * @return number of other enemies within the radius of self
+     */
+    public int countAlliesWithin(Entity self, double radius) {
+        return enemies.countWithin(centerX(self), centerY(self), radius, e -> e != self);
+    }
+
+    /**
+     * @param self      the asking enemy, not returned
+     * @param k         maximum number of allies
+     * @param maxRadius search radius
+     * @return up to k other enemies, closest first
+     */
+    public List<Entity> nearestAllies(Entity self, int k, double maxRadius) {
+        return enemies.nearest(centerX(self), centerY(self), k, maxRadius, e -> e != self);
+    }
+
+    public int getTrackedCount() {
+        return enemies.size();
+    }
+
+    /**
+     * Short summary for DevTools and logs.
+     *
+     * @return human readable counters
+     */
+    public String getStats() {
+        return String.format("enemies=%d cells=%d cellSize=%.0f",
+            enemies.size(), enemies.getCellCount(), GameConstants.Spatial.CELL_SIZE);
+    }
+
+    private void move(Entity enemy) {
+        enemies.put(enemy, centerX(enemy), centerY(enemy));
+    }
+
+    private static double centerX(Entity entity) {
+        return entity.getX() + entity.getWidth() / 2;
+    }
+
+    private static double centerY(Entity entity) {
+        return entity.getY() + entity.getHeight() / 2;
+    }
+}
@@ -0,0 +1,143 @@
+package uwu.openjfx.time;
+
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.EntityWorldListener;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import uwu.openjfx.core.GameConstants;
+
+/**
+ * Game-time scheduler shared by all gameplay code.
+ * It is ticked from MainApp.onUpdate, so tasks freeze with the game (pause menu,
+ * dialogs) and run on the FX thread like the rest of the game logic.
+ * Registered as a world listener: when an entity leaves the world every task it
+ * owns is cancelled, so timers can no longer outlive the enemy that started them.
+ */
+public final class GameScheduler implements EntityWorldListener {
+
+    private static final GameScheduler INSTANCE = new GameScheduler();
+    // свой планировщик у потоков параллельных headless-прогонов
+    private static final ThreadLocal<GameScheduler> THREAD_SCHEDULER = new ThreadLocal<>();
+
+    private final TimerWheel wheel = new TimerWheel(GameConstants.Timing.UPDATE_INTERVAL,
+        GameConstants.Timing.SCHEDULER_SLOT_BITS, GameConstants.Timing.SCHEDULER_LEVELS);
+
+    private GameScheduler() {
+    }
+
+    @SuppressFBWarnings(value = "MS_EXPOSE_REP", justification = "GameScheduler is a process-wide singleton")
+    public static GameScheduler get() {
+        GameScheduler own = THREAD_SCHEDULER.get();
+        return own != null ? own : INSTANCE;
+    }
+
+    /**
+     * Gives the calling thread a scheduler of its own until {@link #unbindThread()}.
+     * Used by headless runs on worker threads, see GameEnvironment.bindThread.
+     *
+     * @return the thread's scheduler, created on the first call
+     */
+    public static GameScheduler bindThread() {
+        GameScheduler own = THREAD_SCHEDULER.get();
+        if (own == null) {
+            own = new GameScheduler();
+            THREAD_SCHEDULER.set(own);
+        }
+        return own;
+    }
+
+    /**
+     * Returns the calling thread to the game's scheduler.
+     */
+    public static void unbindThread() {
+        THREAD_SCHEDULER.remove();
+    }
+
+    /**
+     * Runs the task once after the given game time.
+     *
+     * @param owner   entity (or other object) the task belongs to
+     * @param seconds delay in game seconds
+     * @param task    the task
+     * @return handle to cancel the task
+     */
+    public TimerHandle after(Object owner, double seconds, Runnable task) {
+        return wheel.schedule(owner, seconds, task);
+    }
+
+    /**
+     * Runs the task every period of game time until cancelled or the owner is removed.
+     *
+     * @param owner   entity (or other object) the task belongs to
+     * @param seconds period in game seconds
+     * @param task    the task
+     * @return handle to cancel the task
+     */
+    public TimerHandle every(Object owner, double seconds, Runnable task) {
+        return wheel.scheduleAtInterval(owner, seconds, task);
+    }
+
+    /**
+     * Cancels the previous task (if any) and schedules a new one-shot task.
+     * Handy for timers that restart, such as stuns.
+     *
+     * @param previous handle returned by an earlier call, may be null
+     * @param owner    owner of the task
+     * @param seconds  delay in game seconds
+     * @param task     the task
+     * @return handle of the new task
+     */
+    public TimerHandle restart(TimerHandle previous, Object owner, double seconds, Runnable task) {
+        if (previous != null) {
+            previous.cancel();
+        }
+        return wheel.schedule(owner, seconds, task);
+    }
+
+    public int cancelAll(Object owner) {
+        return wheel.cancelAll(owner);
+    }
+
+    /**
+     * Drops every pending task, e.g. before a new headless run.
+     */
+    public void clear() {
+        wheel.clear();
+    }
+
+    public boolean hasPending(Object owner) {
+        return wheel.hasPending(owner);
+    }
+
+    /**
+     * @param tpf game seconds since the previous frame
+     */
+    public void update(double tpf) {
+        wheel.advance(tpf);
+    }
+
+    /**
+     * @return game seconds elapsed since start, stops while the game is paused
+     */
+    public double getTime() {
+        return wheel.getTime();
+    }
+
+    @Override
+    public void onEntityAdded(Entity entity) {
+    }
+
+    @Override
+    public void onEntityRemoved(Entity entity) {
+        wheel.cancelAll(entity);
+    }
+
+    /**
+     * Short summary of the scheduler counters for DevTools and logs.
+     *
+     * @return human readable counters
+     */
+    public String getStats() {
+        return String.format("pending=%d owners=%d fired=%d tick=%d",
+            wheel.getPending(), wheel.getOwnerCount(), wheel.getFired(), wheel.getCurrentTick());
+    }
+}
@@ -0,0 +1,51 @@
+package uwu.openjfx.time;
+
+/**
+ * Handle of a task scheduled on a {@link TimerWheel}.
+ * It doubles as the wheel's list node, so cancelling does not search anything.
+ */
+public final class TimerHandle {
+
+    private final TimerWheel wheel;
+    final Object owner;
+    final Runnable task;
+    final long period;
+
+    long expires;
+    int level = -1;
+    int slot;
+    TimerHandle prev;
+    TimerHandle next;
+    private boolean done;
+
+    TimerHandle(TimerWheel wheel, Object owner, Runnable task, long period) {
+        this.wheel = wheel;
+        this.owner = owner;
+        this.task = task;
+        this.period = period;
+    }
+
+    /**
+     * Cancels the task. Does nothing if it already ran or was cancelled.
+     */
+    public void cancel() {
+        if (!done) {
+            wheel.cancel(this);
+        }
+    }
+
+    /**
+     * @return true while the task is waiting to run (again, for intervals)
+     */
+    public boolean isPending() {
+        return !done;
+    }
+
+    boolean isDone() {
+        return done;
+    }
+
+    void markDone() {
+        done = true;
+    }
+}
@@ -0,0 +1,276 @@
+package uwu.openjfx.time;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timer wheel counted in fixed game ticks.
+ * Level 0 has one slot per tick, every next level covers the whole previous level
+ * with one slot. Scheduling and cancelling are O(1), advancing costs one slot per
+ * tick plus an occasional cascade of a higher-level slot into the lower levels.
+ * Tasks may be owned by any object (usually an Entity) so that everything an
+ * entity started can be cancelled at once when it leaves the world.
+ * The wheel is not thread-safe, it is meant to be driven by the game loop.
+ */
+public final class TimerWheel {
+
+    // tpf and the tick length are both ~1/60, rounding must not drop a tick
+    private static final double EPSILON = 1e-9;
+
+    private final double tickSeconds;
+    private final int slotBits;
+    private final int slotMask;
+    private final long maxTicks;
+    private final TimerHandle[][] slots;
+    private final Map<Object, Set<TimerHandle>> owned = new HashMap<>();
+
+    private long currentTick;
+    private double accumulator;
+    private int pending;
+    private long fired;
+
+    /**
+     * @param tickSeconds length of one tick in game seconds
+     * @param slotBits    log2 of the slot count per level
+     * @param levels      number of levels, the wheel spans 2^(slotBits * levels) ticks
+     */
+    public TimerWheel(double tickSeconds, int slotBits, int levels) {
+        if (tickSeconds <= 0 || slotBits <= 0 || levels <= 0 || slotBits * levels > 62) {
+            throw new IllegalArgumentException("Invalid timer wheel geometry");
+        }
+        this.tickSeconds = tickSeconds;
+        this.slotBits = slotBits;
+        this.slotMask = (1 << slotBits) - 1;
+        this.maxTicks = (1L << (slotBits * levels)) - 1;
+        this.slots = new TimerHandle[levels][1 << slotBits];
+    }
+
+    /**
+     * Runs the task once after the given delay.
+     *
+     * @param owner        owner of the task, may be null
+     * @param delaySeconds delay in game seconds
+     * @param task         the task
+     * @return handle to cancel the task
+     */
+    public TimerHandle schedule(Object owner, double delaySeconds, Runnable task) {
+        return add(new TimerHandle(this, owner, task, 0), toTicks(delaySeconds));
+    }
+
+    /**
+     * Runs the task every period, the first time one period from now.
+     *
+     * @param owner         owner of the task, may be null
+     * @param periodSeconds period in game seconds
+     * @param task          the task
+     * @return handle to cancel the task
+     */
+    public TimerHandle scheduleAtInterval(Object owner, double periodSeconds, Runnable task) {
+        long period = toTicks(periodSeconds);
+        return add(new TimerHandle(this, owner, task, period), period);
+    }
+
+    /**
+     * Advances game time and runs every task that became due, in tick order.
+     *
+     * @param seconds elapsed game seconds
+     */
+    public void advance(double seconds) {
+        accumulator += seconds;
+        while (accumulator >= tickSeconds - EPSILON) {
+            accumulator -= tickSeconds;
+            tick();
+        }
+    }
+
+    /**
+     * Cancels every pending task of the owner.
+     *
+     * @param owner the owner
+     * @return number of cancelled tasks
+     */
+    public int cancelAll(Object owner) {
+        Set<TimerHandle> handles = owner == null ? null : owned.remove(owner);
+        if (handles == null) {
+            return 0;
+        }
+        for (TimerHandle handle : handles) {
+            unlink(handle);
+            handle.markDone();
+        }
+        return handles.size();
+    }
+
+    /**
+     * Cancels every pending task.
+     */
+    public void clear() {
+        for (TimerHandle[] level : slots) {
+            for (int i = 0; i < level.length; i++) {
+                for (TimerHandle h = level[i]; h != null; h = h.next) {
+                    h.markDone();
+                }
+                level[i] = null;
+            }
+        }
+        owned.clear();
+        pending = 0;
+    }
+
+    public boolean hasPending(Object owner) {
+        Set<TimerHandle> handles = owned.get(owner);
+        return handles != null && !handles.isEmpty();
+    }
+
+    public int getPending() {
+        return pending;
+    }
+
+    public int getOwnerCount() {
+        return owned.size();
+    }
+
+    public long getFired() {
+        return fired;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * @return game seconds since the wheel was created, in whole ticks
+     */
+    public double getTime() {
+        return currentTick * tickSeconds;
+    }
+
+    void cancel(TimerHandle handle) {
+        unlink(handle);
+        disown(handle);
+        handle.markDone();
+    }
+
+    private long toTicks(double seconds) {
+        long ticks = (long) Math.ceil(seconds / tickSeconds - EPSILON);
+        return Math.max(1, Math.min(ticks, maxTicks));
+    }
+
+    private TimerHandle add(TimerHandle handle, long ticks) {
+        // the tick being processed next is currentTick, so a one-tick delay fires on it
+        handle.expires = currentTick + ticks - 1;
+        link(handle);
+        if (handle.owner != null) {
+            owned.computeIfAbsent(handle.owner, k -> new LinkedHashSet<>()).add(handle);
+        }
+        return handle;
+    }
+
+    private void tick() {
+        int index = (int) (currentTick & slotMask);
+        // when level 0 wraps, pull the next slot of the level above down, and so on
+        for (int level = 1; level < slots.length && index == 0; level++) {
+            index = (int) ((currentTick >>> (slotBits * level)) & slotMask);
+            cascade(level, index);
+        }
+
+        int slot = (int) (currentTick & slotMask);
+        TimerHandle due = slots[0][slot];
+        slots[0][slot] = null;
+        currentTick++;
+        // detach the whole slot first, tasks may cancel or schedule while it runs
+        for (TimerHandle h = due; h != null; h = h.next) {
+            h.level = -1;
+            pending--;
+        }
+
+        while (due != null) {
+            TimerHandle handle = due;
+            due = handle.next;
+            handle.next = null;
+            handle.prev = null;
+            if (handle.isDone()) {
+                continue; // cancelled by a task that ran earlier in this tick
+            }
+
+            if (handle.period > 0) {
+                handle.expires += handle.period;
+                link(handle);
+            } else {
+                disown(handle);
+                handle.markDone();
+            }
+            fired++;
+            handle.task.run();
+        }
+    }
+
+    private void cascade(int level, int index) {
+        TimerHandle handle = slots[level][index];
+        slots[level][index] = null;
+        while (handle != null) {
+            TimerHandle next = handle.next;
+            handle.next = null;
+            handle.prev = null;
+            pending--;
+            link(handle);
+            handle = next;
+        }
+    }
+
+    private void link(TimerHandle handle) {
+        long delta = handle.expires - currentTick;
+        int level = 0;
+        if (delta < 0) {
+            handle.expires = currentTick;
+        } else {
+            while (level < slots.length - 1 && delta >= 1L << (slotBits * (level + 1))) {
+                level++;
+            }
+        }
+        int index = (int) ((handle.expires >>> (slotBits * level)) & slotMask);
+
+        handle.level = level;
+        handle.slot = index;
+        handle.prev = null;
+        handle.next = slots[level][index];
+        if (handle.next != null) {
+            handle.next.prev = handle;
+        }
+        slots[level][index] = handle;
+        pending++;
+    }
+
+    private void unlink(TimerHandle handle) {
+        if (handle.level < 0) {
+            return; // currently firing or already removed
+        }
+        if (handle.prev != null) {
+            handle.prev.next = handle.next;
+        } else {
+            slots[handle.level][handle.slot] = handle.next;
+        }
+        if (handle.next != null) {
+            handle.next.prev = handle.prev;
+        }
+        handle.prev = null;
+        handle.next = null;
+        handle.level = -1;
+        pending--;
+    }
+
+    private void disown(TimerHandle handle) {
+        if (handle.owner == null) {
+            return;
+        }
+        Set<TimerHandle> handles = owned.get(handle.owner);
+        if (handles != null) {
+            handles.remove(handle);
+            if (handles.isEmpty()) {
+                owned.remove(handle.owner);
+            }
+        }
+    }
+}
@@ -1,43 +1,75 @@
 package uwu.openjfx.utils;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import uwu.openjfx.core.GameLogger.Level;
 
 /**
  * Утилитарный класс для логгирования в игре Royal Demons
+ * <p>
+ * Короткая форма uwu.openjfx.core.GameLogger: те же уровень, очередь и файл.
+ * Сообщения параметризуются через {}: аргументы форматируются, только если уровень включён.
  */
 public class GameLogger {
-    
-    private static final Logger logger = LoggerFactory.getLogger(GameLogger.class);
-    private static final Logger gameplayLogger = LoggerFactory.getLogger("GameLogger.Gameplay");
-    private static final Logger systemLogger = LoggerFactory.getLogger("GameLogger.System");
-    private static final Logger errorLogger = LoggerFactory.getLogger("GameLogger.Error");
-    
+
+    private static final String GAME = "Game";
+    private static final String GAMEPLAY = "Gameplay";
+
+    public static boolean isDebugEnabled() {
+        return uwu.openjfx.core.GameLogger.isEnabled(Level.DEBUG);
+    }
+
     public static void info(String message) {
-        logger.info("[Royal Demons] " + message);
+        uwu.openjfx.core.GameLogger.info(GAME, message);
+    }
+
+    public static void info(String message, Object... args) {
+        uwu.openjfx.core.GameLogger.info(GAME, message, args);
     }
-    
+
     public static void debug(String message) {
-        logger.debug("[Royal Demons] " + message);
+        uwu.openjfx.core.GameLogger.debug(GAME, message);
+    }
+
+    public static void debug(String message, Object arg) {
+        uwu.openjfx.core.GameLogger.debug(GAME, message, arg);
+    }
+
+    public static void debug(String message, Object arg1, Object arg2) {
+        uwu.openjfx.core.GameLogger.debug(GAME, message, arg1, arg2);
+    }
+
+    public static void debug(String message, Object... args) {
+        uwu.openjfx.core.GameLogger.debug(GAME, message, args);
     }
-    
+
     public static void warn(String message) {
-        logger.warn("[Royal Demons] " + message);
+        uwu.openjfx.core.GameLogger.warning(GAME, message);
+    }
+
+    public static void warn(String message, Object... args) {
+        uwu.openjfx.core.GameLogger.warning(GAME, message, args);
     }
-    
+
     public static void error(String message) {
-        errorLogger.error("[Royal Demons] " + message);
+        uwu.openjfx.core.GameLogger.error(GAME, message);
     }
-    
+
     public static void error(String message, Throwable throwable) {
-        errorLogger.error("[Royal Demons] " + message, throwable);
+        uwu.openjfx.core.GameLogger.error(GAME, message, throwable);
     }
-    
+
     public static void gameplay(String message) {
-        gameplayLogger.info("[Gameplay] " + message);
+        uwu.openjfx.core.GameLogger.gameplay(GAMEPLAY, message);
+    }
+
+    public static void gameplay(String message, Object... args) {
+        uwu.openjfx.core.GameLogger.gameplay(GAMEPLAY, message, args);
     }
-    
+
     public static void system(String message) {
-        systemLogger.info("[System] " + message);
+        uwu.openjfx.core.GameLogger.system(message);
+    }
+
+    public static void system(String message, Object... args) {
+        uwu.openjfx.core.GameLogger.system(message, args);
     }
 }
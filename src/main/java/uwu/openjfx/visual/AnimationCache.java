@@ -0,0 +1,210 @@
+package uwu.openjfx.visual;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import javafx.util.Duration;
+import uwu.openjfx.core.GameConstants;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of sliced sprite sheets, cut from the {@link TextureAtlas} when packed.
+ * Spawning a room of minions or a burst of weapon effects used to rebuild the same
+ * AnimationChannels for every entity. Channels only read their image and frame data,
+ * so one {@link AnimationSet} per (asset, frame size, frames, duration) is shared by
+ * all creature and weapon components.
+ */
+public final class AnimationCache {
+
+    private static final AnimationCache INSTANCE =
+        new AnimationCache(GameConstants.Animation.CACHE_CAPACITY);
+
+    private final int capacity;
+    private final Map<Key, AnimationSet> sets;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    AnimationCache(int capacity) {
+        this.capacity = capacity;
+        this.sets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, AnimationSet> eldest) {
+                if (size() > AnimationCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @SuppressFBWarnings(value = "MS_EXPOSE_REP", justification = "AnimationCache is a process-wide singleton")
+    public static AnimationCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Idle / walk / attack channels of a creature sprite sheet. The first half of the
+     * frames is the idle cycle, the second half the walk cycle, and the attack pose is
+     * the first walking frame.
+     *
+     * @param asset         texture path, e.g. "creatures/boss/wizard_40x70.png"
+     * @param frames        frames per row
+     * @param width         frame width
+     * @param height        frame height
+     * @param attackSeconds duration of the attack pose
+     * @return shared animation set
+     */
+    public AnimationSet creature(String asset, int frames, int width, int height,
+                                 double attackSeconds) {
+        Key key = new Key("creature", asset, frames, width, height, attackSeconds);
+        return lookup(key, () -> {
+            TextureAtlas atlas = TextureAtlas.get();
+            return new AnimationSet(
+                atlas.channel(asset, frames, width, height,
+                    Duration.seconds(0.5), 0, frames / 2 - 1),
+                atlas.channel(asset, frames, width, height,
+                    Duration.seconds(0.5), frames / 2, frames - 1),
+                atlas.channel(asset, frames, width, height,
+                    Duration.seconds(attackSeconds), frames / 2, frames / 2));
+        });
+    }
+
+    /**
+     * Attack / idle channels of a weapon effect (poofs, novas, dizzy effects, bows...).
+     * The attack plays all frames of the row, idle holds the frame after the last one.
+     *
+     * @param weapon         file name under assets/textures/weapons without ".png"
+     * @param fpr            frames per row
+     * @param frameWidth     frame width
+     * @param frameHeight    frame height
+     * @param durationMillis duration of one attack cycle
+     * @return shared animation set
+     */
+    public AnimationSet weapon(String weapon, int fpr, int frameWidth, int frameHeight,
+                               int durationMillis) {
+        Key key = new Key("weapon", weapon, fpr, frameWidth, frameHeight, durationMillis);
+        return lookup(key, () -> {
+            TextureAtlas atlas = TextureAtlas.get();
+            String asset = "weapons/" + weapon + ".png";
+            return new AnimationSet(
+                atlas.channel(asset, fpr, frameWidth, frameHeight,
+                    Duration.millis(durationMillis), fpr, fpr),
+                null,
+                atlas.channel(asset, fpr, frameWidth, frameHeight,
+                    Duration.millis(durationMillis), 0, fpr - 1));
+        });
+    }
+
+    /**
+     * Looping flight animation of an arrow or magic spell.
+     *
+     * @param weapon         file name under assets/textures/weapons without ".png"
+     * @param fpr            frames per row
+     * @param frameWidth     frame width
+     * @param frameHeight    frame height
+     * @param durationMillis duration of one cycle
+     * @return shared animation set, only the attack channel is set
+     */
+    public AnimationSet projectile(String weapon, int fpr, int frameWidth, int frameHeight,
+                                   int durationMillis) {
+        Key key = new Key("projectile", weapon, fpr, frameWidth, frameHeight, durationMillis);
+        return lookup(key, () -> new AnimationSet(null, null,
+            TextureAtlas.get().channel("weapons/" + weapon + ".png", fpr,
+                frameWidth, frameHeight, Duration.millis(durationMillis), 0, fpr - 1)));
+    }
+
+    synchronized AnimationSet lookup(Key key, Supplier<AnimationSet> loader) {
+        AnimationSet set = sets.get(key);
+        if (set != null) {
+            hits++;
+            return set;
+        }
+        misses++;
+        set = loader.get();
+        sets.put(key, set);
+        return set;
+    }
+
+    public synchronized void clear() {
+        sets.clear();
+    }
+
+    public synchronized int size() {
+        return sets.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Short summary of the cache counters for DevTools and logs.
+     *
+     * @return human readable counters
+     */
+    public synchronized String getStats() {
+        return String.format("size=%d/%d hits=%d misses=%d (%.1f%% hit) evictions=%d",
+            sets.size(), capacity, hits, misses, getHitRate() * 100, evictions);
+    }
+
+    /*
+        Identity of a sliced sheet: what it is used for, which asset, how it is sliced
+        and how long one cycle takes.
+     */
+    static final class Key {
+        private final String kind;
+        private final String asset;
+        private final int frames;
+        private final int width;
+        private final int height;
+        private final double duration;
+
+        Key(String kind, String asset, int frames, int width, int height, double duration) {
+            this.kind = kind;
+            this.asset = asset;
+            this.frames = frames;
+            this.width = width;
+            this.height = height;
+            this.duration = duration;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return frames == other.frames
+                && width == other.width
+                && height == other.height
+                && Double.compare(duration, other.duration) == 0
+                && kind.equals(other.kind)
+                && asset.equals(other.asset);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, asset, frames, width, height, duration);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package uwu.openjfx.visual;
+
+import com.almasb.fxgl.texture.AnimationChannel;
+
+/**
+ * Immutable group of animation channels sliced from one sprite sheet.
+ * Creatures use idle/walk/attack, weapon effects use attack/idle and
+ * projectiles only use attack. Unused channels are null.
+ * Instances are shared through {@link AnimationCache}, so they must never be modified.
+ */
+public final class AnimationSet {
+    private final AnimationChannel idle;
+    private final AnimationChannel walk;
+    private final AnimationChannel attack;
+
+    public AnimationSet(AnimationChannel idle, AnimationChannel walk, AnimationChannel attack) {
+        this.idle = idle;
+        this.walk = walk;
+        this.attack = attack;
+    }
+
+    public AnimationChannel getIdle() {
+        return idle;
+    }
+
+    public AnimationChannel getWalk() {
+        return walk;
+    }
+
+    public AnimationChannel getAttack() {
+        return attack;
+    }
+}
@@ -0,0 +1,293 @@
+package uwu.openjfx.visual;
+
+import uwu.openjfx.core.GameConstants;
+
+import javax.imageio.ImageIO;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Build-time texture atlas packer, run by the packTextureAtlas Gradle task. Creature, weapon,
+ * UI and item sprites are packed onto a few pages of at most
+ * {@link GameConstants.Animation#ATLAS_PAGE_SIZE} pixels with simple shelf packing (tallest
+ * first), and an index of {@link AtlasRegion regions} is written next to them for
+ * {@link TextureAtlas}. Frame strips wider than a page are wrapped onto several rows. Sheets
+ * that are byte-for-byte copies share one region; sheets that do not fit a page or cannot be
+ * decoded are left out and keep loading as separate images.
+ * <p>
+ * Usage: {@code AtlasPacker <assets/textures dir> <generated resources dir>}
+ */
+public final class AtlasPacker {
+
+    /* Каталог атласа относительно assets/textures и имена файлов в нём. */
+    static final String DIRECTORY = "atlas/";
+    static final String INDEX_FILE = "atlas.tsv";
+
+    /* Что пакуется: пути относительно assets/textures. */
+    static final String[] PACKED = {"creatures/", "weapons/", "ui/", "items/", "coin_"};
+
+    private AtlasPacker() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: AtlasPacker <textures dir> <output resources dir>");
+            System.exit(2);
+        }
+        Path out = Paths.get(args[1]).resolve("assets/textures/" + DIRECTORY);
+        int pages = pack(Paths.get(args[0]), out, GameConstants.Animation.ATLAS_PAGE_SIZE,
+            GameConstants.Animation.ATLAS_PADDING);
+        System.out.println("Texture atlas: " + pages + " page(s) in " + out);
+    }
+
+    /*
+        Sheet to place: its slicing and the size of its grid once wrapped to the page width.
+     */
+    static final class Sheet {
+        private final String asset;
+        private final int frameWidth;
+        private final int frameHeight;
+        private final int sourceColumns;
+        private final int frames;
+        private final int columns;
+
+        Sheet(String asset, int width, int height, int pageSize) {
+            int[] slice = AtlasRegion.slice(asset, width, height);
+            this.asset = asset;
+            this.frameWidth = slice[0];
+            this.frameHeight = slice[1];
+            this.sourceColumns = slice[2];
+            this.frames = slice[3];
+            this.columns = Math.max(1, Math.min(sourceColumns, pageSize / frameWidth));
+        }
+
+        int gridWidth() {
+            return columns * frameWidth;
+        }
+
+        int gridHeight() {
+            // ячейка после последнего кадра - прозрачная
+            return (frames / columns + 1) * frameHeight;
+        }
+
+        String getAsset() {
+            return asset;
+        }
+    }
+
+    /**
+     * Places the sheets on pages, tallest first, filling each page shelf by shelf.
+     *
+     * @param sheets   sheets to place
+     * @param pageSize page width and height
+     * @param padding  empty pixels between regions
+     * @return regions of the sheets that fit a page, in placement order
+     */
+    static List<AtlasRegion> layout(List<Sheet> sheets, int pageSize, int padding) {
+        List<Sheet> order = new ArrayList<>(sheets);
+        order.sort(Comparator.comparingInt(Sheet::gridHeight).reversed()
+            .thenComparing(Comparator.comparingInt(Sheet::gridWidth).reversed())
+            .thenComparing(Sheet::getAsset));
+
+        List<AtlasRegion> regions = new ArrayList<>();
+        int page = 0;
+        int shelfX = 0;
+        int shelfY = 0;
+        int shelfHeight = 0;
+        for (Sheet sheet : order) {
+            int width = sheet.gridWidth();
+            int height = sheet.gridHeight();
+            if (width > pageSize || height > pageSize) {
+                continue;
+            }
+            if (shelfX + width > pageSize) {
+                shelfY += shelfHeight + padding;
+                shelfX = 0;
+                shelfHeight = 0;
+            }
+            if (shelfY + height > pageSize) {
+                page++;
+                shelfX = 0;
+                shelfY = 0;
+                shelfHeight = 0;
+            }
+            regions.add(new AtlasRegion(sheet.asset, page, shelfX, shelfY, sheet.frameWidth,
+                sheet.frameHeight, sheet.columns, sheet.frames, sheet.sourceColumns));
+            shelfX += width + padding;
+            shelfHeight = Math.max(shelfHeight, height);
+        }
+        return regions;
+    }
+
+    /**
+     * Packs every sprite under the packed folders and writes the pages and the index.
+     *
+     * @param textures assets/textures directory
+     * @param out      atlas directory, its old pages are removed
+     * @param pageSize page width and height
+     * @param padding  empty pixels between regions
+     * @return number of pages written
+     * @throws IOException if a page or the index cannot be written
+     */
+    static int pack(Path textures, Path out, int pageSize, int padding) throws IOException {
+        Map<String, BufferedImage> images = new HashMap<>();
+        Map<String, String> firstCopy = new HashMap<>();
+        Map<String, String> copies = new HashMap<>();
+        List<Sheet> sheets = new ArrayList<>();
+        for (Path file : listSprites(textures)) {
+            String asset = textures.relativize(file).toString().replace('\\', '/');
+            byte[] bytes = Files.readAllBytes(file);
+            BufferedImage image;
+            try {
+                image = ImageIO.read(file.toFile());
+            } catch (IOException e) {
+                image = null;
+            }
+            if (image == null) {
+                System.out.println("Not packed (cannot decode): " + asset);
+                continue;
+            }
+            Sheet sheet = new Sheet(asset, image.getWidth(), image.getHeight(), pageSize);
+            String original = firstCopy.putIfAbsent(contentKey(bytes, sheet), asset);
+            if (original != null) {
+                copies.put(asset, original);
+                continue;
+            }
+            images.put(asset, image);
+            sheets.add(sheet);
+        }
+
+        List<AtlasRegion> regions = layout(sheets, pageSize, padding);
+        Map<String, AtlasRegion> byAsset = new HashMap<>();
+        for (AtlasRegion region : regions) {
+            byAsset.put(region.getAsset(), region);
+        }
+        for (Sheet sheet : sheets) {
+            if (!byAsset.containsKey(sheet.asset)) {
+                System.out.println("Not packed (larger than a page): " + sheet.asset);
+            }
+        }
+        for (Map.Entry<String, String> copy : copies.entrySet()) {
+            AtlasRegion original = byAsset.get(copy.getValue());
+            if (original != null) {
+                regions.add(original.copyFor(copy.getKey()));
+            }
+        }
+
+        clean(out);
+        int pages = regions.stream().mapToInt(AtlasRegion::getPage).max().orElse(-1) + 1;
+        for (int page = 0; page < pages; page++) {
+            writePage(out.resolve(pageName(page)), page, regions, images);
+        }
+        writeIndex(out.resolve(INDEX_FILE), regions);
+        return pages;
+    }
+
+    private static List<Path> listSprites(Path textures) throws IOException {
+        try (Stream<Path> files = Files.walk(textures)) {
+            return files.filter(Files::isRegularFile)
+                .filter(file -> file.getFileName().toString().endsWith(".png"))
+                .filter(file -> isPacked(textures.relativize(file).toString().replace('\\', '/')))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    static String pageName(int page) {
+        return "page-" + page + ".png";
+    }
+
+    static boolean isPacked(String asset) {
+        for (String prefix : PACKED) {
+            if (asset.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /* Одинаковые байты и одинаковая нарезка - один регион на обе копии. */
+    private static String contentKey(byte[] bytes, Sheet sheet) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue() + ":" + bytes.length + ":" + sheet.frameWidth + "x"
+            + sheet.frameHeight;
+    }
+
+    private static void clean(Path out) throws IOException {
+        Files.createDirectories(out);
+        try (DirectoryStream<Path> old = Files.newDirectoryStream(out)) {
+            for (Path file : old) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static void writePage(Path file, int page, List<AtlasRegion> regions,
+                                  Map<String, BufferedImage> images) throws IOException {
+        int width = 1;
+        int height = 1;
+        for (AtlasRegion region : regions) {
+            if (region.getPage() == page) {
+                width = Math.max(width,
+                    region.getX() + region.getColumns() * region.getFrameWidth());
+                height = Math.max(height,
+                    region.getY() + region.getRows() * region.getFrameHeight());
+            }
+        }
+        BufferedImage canvas = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = canvas.createGraphics();
+        try {
+            graphics.setComposite(AlphaComposite.Src);
+            for (AtlasRegion region : regions) {
+                BufferedImage image = images.get(region.getAsset());
+                // копии уже нарисованы под именем оригинала
+                if (region.getPage() != page || image == null) {
+                    continue;
+                }
+                int frameWidth = region.getFrameWidth();
+                int frameHeight = region.getFrameHeight();
+                for (int frame = 0; frame < region.getFrames(); frame++) {
+                    int sx = frame % region.getSourceColumns() * frameWidth;
+                    int sy = frame / region.getSourceColumns() * frameHeight;
+                    int dx = region.frameX(frame);
+                    int dy = region.frameY(frame);
+                    graphics.drawImage(image, dx, dy, dx + frameWidth, dy + frameHeight,
+                        sx, sy, sx + frameWidth, sy + frameHeight, null);
+                }
+            }
+        } finally {
+            graphics.dispose();
+        }
+        ImageIO.write(canvas, "png", file.toFile());
+    }
+
+    private static void writeIndex(Path file, List<AtlasRegion> regions) throws IOException {
+        List<AtlasRegion> sorted = new ArrayList<>(regions);
+        sorted.sort(Comparator.comparing(AtlasRegion::getAsset));
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# asset\tpage\tx\ty\tframeWidth\tframeHeight\tcolumns\tframes"
+                + "\tsourceColumns\n");
+            for (AtlasRegion region : sorted) {
+                writer.write(region.toLine());
+                writer.write('\n');
+            }
+        }
+    }
+}
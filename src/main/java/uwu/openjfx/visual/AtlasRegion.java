@@ -0,0 +1,186 @@
+package uwu.openjfx.visual;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Where one sprite sheet sits in the texture atlas. The sheet's frames are stored as a grid of
+ * {@link #getColumns()} columns starting at (x, y) on the page, in the order AnimationChannel
+ * numbers them (left to right, then top to bottom). Wide strips are wrapped onto several rows
+ * to fit the page, so the grid may differ from the source sheet's. The cell right after the
+ * last frame is always transparent: channels that show "one frame past the end" (the idle pose
+ * of weapon effects) get nothing drawn, as with the standalone image.
+ * <p>
+ * Immutable; one line of the atlas index per region.
+ */
+public final class AtlasRegion {
+
+    private static final Pattern FRAME_SIZE = Pattern.compile("_(\\d+)x(\\d+)");
+
+    private final String asset;
+    private final int page;
+    private final int x;
+    private final int y;
+    private final int frameWidth;
+    private final int frameHeight;
+    private final int columns;
+    private final int frames;
+    private final int sourceColumns;
+
+    /**
+     * @param asset         texture path, e.g. "creatures/minions/normal/goblin_40x40.png"
+     * @param page          atlas page
+     * @param x             left of the grid on the page
+     * @param y             top of the grid on the page
+     * @param frameWidth    frame width
+     * @param frameHeight   frame height
+     * @param columns       frames per row in the atlas
+     * @param frames        frames of the sheet
+     * @param sourceColumns frames per row in the source sheet
+     */
+    public AtlasRegion(String asset, int page, int x, int y, int frameWidth, int frameHeight,
+                       int columns, int frames, int sourceColumns) {
+        this.asset = asset;
+        this.page = page;
+        this.x = x;
+        this.y = y;
+        this.frameWidth = frameWidth;
+        this.frameHeight = frameHeight;
+        this.columns = columns;
+        this.frames = frames;
+        this.sourceColumns = sourceColumns;
+    }
+
+    /**
+     * Slices a sheet the way the game does: by the {@code _WxH} frame size in its name, or as
+     * a single frame when the name has none or the size does not divide the image.
+     *
+     * @param asset  texture path
+     * @param width  image width
+     * @param height image height
+     * @return {frameWidth, frameHeight, sourceColumns, frames}
+     */
+    static int[] slice(String asset, int width, int height) {
+        Matcher matcher = FRAME_SIZE.matcher(asset.substring(asset.lastIndexOf('/') + 1));
+        if (matcher.find()) {
+            int frameWidth = Integer.parseInt(matcher.group(1));
+            int frameHeight = Integer.parseInt(matcher.group(2));
+            if (frameWidth > 0 && frameHeight > 0
+                && width % frameWidth == 0 && height % frameHeight == 0) {
+                int sourceColumns = width / frameWidth;
+                return new int[] {frameWidth, frameHeight, sourceColumns,
+                    sourceColumns * (height / frameHeight)};
+            }
+        }
+        return new int[] {width, height, 1, 1};
+    }
+
+    /**
+     * @param framesPerRow frames per row the caller slices with
+     * @param width        frame width the caller slices with
+     * @param height       frame height the caller slices with
+     * @return true if the caller's frame numbers mean the same frames as in the source sheet
+     */
+    public boolean matches(int framesPerRow, int width, int height) {
+        return framesPerRow == sourceColumns && width == frameWidth && height == frameHeight;
+    }
+
+    /**
+     * @param frame frame number; numbers past the last frame give the transparent cell
+     * @return left of the frame on the page
+     */
+    public int frameX(int frame) {
+        return x + cell(frame) % columns * frameWidth;
+    }
+
+    /**
+     * @param frame frame number; numbers past the last frame give the transparent cell
+     * @return top of the frame on the page
+     */
+    public int frameY(int frame) {
+        return y + cell(frame) / columns * frameHeight;
+    }
+
+    private int cell(int frame) {
+        return frame >= 0 && frame < frames ? frame : frames;
+    }
+
+    /**
+     * @return rows of the grid, the transparent cell included
+     */
+    public int getRows() {
+        return frames / columns + 1;
+    }
+
+    public String getAsset() {
+        return asset;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getFrameWidth() {
+        return frameWidth;
+    }
+
+    public int getFrameHeight() {
+        return frameHeight;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getFrames() {
+        return frames;
+    }
+
+    public int getSourceColumns() {
+        return sourceColumns;
+    }
+
+    /**
+     * @param otherAsset asset with identical pixels (the same sheet copied to two folders)
+     * @return the same grid under the other asset's name
+     */
+    AtlasRegion copyFor(String otherAsset) {
+        return new AtlasRegion(otherAsset, page, x, y, frameWidth, frameHeight, columns, frames,
+            sourceColumns);
+    }
+
+    String toLine() {
+        return String.join("\t", asset, Integer.toString(page), Integer.toString(x),
+            Integer.toString(y), Integer.toString(frameWidth), Integer.toString(frameHeight),
+            Integer.toString(columns), Integer.toString(frames), Integer.toString(sourceColumns));
+    }
+
+    /**
+     * @param line line of the atlas index
+     * @return the region
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    static AtlasRegion parse(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != 9) {
+            throw new IllegalArgumentException("expected 9 fields, got " + fields.length);
+        }
+        int[] values = new int[8];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Integer.parseInt(fields[i + 1]);
+        }
+        if (values[4] <= 0 || values[5] <= 0 || values[6] < 1) {
+            throw new IllegalArgumentException("bad frame size or grid: " + line);
+        }
+        return new AtlasRegion(fields[0], values[0], values[1], values[2], values[3], values[4],
+            values[5], values[6], values[7]);
+    }
+}
@@ -0,0 +1,179 @@
+package uwu.openjfx.visual;
+
+import com.almasb.fxgl.dsl.FXGL;
+import com.almasb.fxgl.texture.AnimationChannel;
+import com.almasb.fxgl.texture.FrameData;
+import com.almasb.fxgl.texture.Texture;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.util.Duration;
+import kotlin.Pair;
+import uwu.openjfx.utils.GameLogger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runtime side of the texture atlas written by {@link AtlasPacker}. Creature, weapon, UI and
+ * item sprites are drawn as sub-regions of a few shared page images, so a busy room decodes
+ * and uploads a handful of textures instead of one per sprite sheet. Assets that are not in
+ * the atlas (or an atlas that was not built) fall back to loading the image on its own.
+ * <p>
+ * Asset names are the usual texture paths under assets/textures, e.g.
+ * "creatures/minions/normal/goblin_40x40.png". FX thread only.
+ */
+public final class TextureAtlas {
+
+    private static final String INDEX_RESOURCE =
+        "assets/textures/" + AtlasPacker.DIRECTORY + AtlasPacker.INDEX_FILE;
+
+    private static final TextureAtlas INSTANCE = new TextureAtlas(load());
+
+    private final Map<String, AtlasRegion> regions;
+    private final Image[] pages;
+    private long hits;
+    private long misses;
+
+    TextureAtlas(Map<String, AtlasRegion> regions) {
+        this.regions = regions;
+        int pageCount = 0;
+        for (AtlasRegion region : regions.values()) {
+            pageCount = Math.max(pageCount, region.getPage() + 1);
+        }
+        this.pages = new Image[pageCount];
+    }
+
+    @SuppressFBWarnings(value = "MS_EXPOSE_REP", justification = "TextureAtlas is a process-wide singleton")
+    public static TextureAtlas get() {
+        return INSTANCE;
+    }
+
+    private static Map<String, AtlasRegion> load() {
+        try (InputStream in = TextureAtlas.class.getClassLoader()
+            .getResourceAsStream(INDEX_RESOURCE)) {
+            if (in == null) {
+                GameLogger.warn("Texture atlas not built, sprites load one by one");
+                return Collections.emptyMap();
+            }
+            return readIndex(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException e) {
+            GameLogger.warn("Texture atlas index unreadable: {}", e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * @param reader atlas index; lines starting with # are comments
+     * @return regions by asset
+     * @throws IOException if reading fails
+     */
+    static Map<String, AtlasRegion> readIndex(Reader reader) throws IOException {
+        Map<String, AtlasRegion> regions = new HashMap<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                AtlasRegion region = AtlasRegion.parse(line);
+                regions.put(region.getAsset(), region);
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * @param asset texture path
+     * @return the asset's region, or null if it is not in the atlas
+     */
+    public AtlasRegion find(String asset) {
+        return regions.get(asset);
+    }
+
+    /**
+     * Whole image of an asset, e.g. a HUD or inventory icon.
+     *
+     * @param asset texture path
+     * @return a view of the atlas page, or the standalone texture if the asset is not packed
+     *         or its frames were re-wrapped
+     */
+    public Texture texture(String asset) {
+        AtlasRegion region = regions.get(asset);
+        if (region == null || region.getColumns() != region.getSourceColumns()) {
+            misses++;
+            return FXGL.texture(asset);
+        }
+        hits++;
+        int width = region.getColumns() * region.getFrameWidth();
+        int height = region.getFrames() / region.getColumns() * region.getFrameHeight();
+        Texture texture = new Texture(page(region));
+        texture.setViewport(new Rectangle2D(region.getX(), region.getY(), width, height));
+        texture.setFitWidth(width);
+        texture.setFitHeight(height);
+        return texture;
+    }
+
+    /**
+     * Same frames as {@code new AnimationChannel(FXGL.image(asset), ...)}, taken from the
+     * atlas page when the asset is packed with the same slicing.
+     *
+     * @param asset        texture path
+     * @param framesPerRow frames per row of the sheet
+     * @param frameWidth   frame width
+     * @param frameHeight  frame height
+     * @param duration     duration of the channel
+     * @param startFrame   first frame
+     * @param endFrame     last frame, inclusive
+     * @return animation channel
+     */
+    public AnimationChannel channel(String asset, int framesPerRow, int frameWidth,
+                                    int frameHeight, Duration duration, int startFrame,
+                                    int endFrame) {
+        AtlasRegion region = regions.get(asset);
+        if (region == null || !region.matches(framesPerRow, frameWidth, frameHeight)) {
+            misses++;
+            return new AnimationChannel(FXGL.image(asset), framesPerRow, frameWidth,
+                frameHeight, duration, startFrame, endFrame);
+        }
+        hits++;
+        List<Pair<Integer, FrameData>> frames = new ArrayList<>(endFrame - startFrame + 1);
+        for (int frame = startFrame; frame <= endFrame; frame++) {
+            frames.add(new Pair<>(frame, new FrameData(region.frameX(frame),
+                region.frameY(frame), frameWidth, frameHeight)));
+        }
+        return new AnimationChannel(page(region), duration, frames);
+    }
+
+    /* Страница декодируется один раз, при первом спрайте с неё. */
+    private Image page(AtlasRegion region) {
+        int index = region.getPage();
+        if (pages[index] == null) {
+            pages[index] = FXGL.image(AtlasPacker.DIRECTORY + AtlasPacker.pageName(index));
+        }
+        return pages[index];
+    }
+
+    public int getRegionCount() {
+        return regions.size();
+    }
+
+    /**
+     * @return counters for DevTools: regions, pages decoded so far, atlas hits and fallbacks
+     */
+    public String getStats() {
+        int decoded = 0;
+        for (Image page : pages) {
+            decoded += page != null ? 1 : 0;
+        }
+        return String.format("regions=%d pages=%d/%d hits=%d fallbacks=%d",
+            regions.size(), decoded, pages.length, hits, misses);
+    }
+}
@@ -7,6 +7,7 @@ import com.almasb.fxgl.entity.SpawnData;
 import javafx.geometry.Point2D;
 import javafx.scene.image.Image;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import uwu.openjfx.pool.ProjectilePool;
 
 import static com.almasb.fxgl.dsl.FXGL.spawn;
 
@@ -32,6 +33,7 @@ public abstract class Bow implements Weapon, AngleBehavior {
     protected static final double playerHitBoxWidth = PLAYER_HIT_BOX_WIDTH;
     @SuppressFBWarnings(value = "SS_SHOULD_BE_STATIC", justification = "Constants shared across Bow hierarchy.")
     protected static final double playerHitBoxHeight = PLAYER_HIT_BOX_HEIGHT;
+    public static final int PROJECTILE_SPEED = 300; // speed of a regular arrow
     protected Vec2 dir; // the direction with respect to mouse-pressed location
 
     protected boolean ultimateActivated;
@@ -121,7 +123,7 @@ public abstract class Bow implements Weapon, AngleBehavior {
         centerX = ((double) (leftOffset + (frameWidth - rightOffset)) / 2);
         centerY = ((double) (topBottomOffset + (frameHeight - topBottomOffset)) / 2);
 
-        speed = 300; // speed at which magic spell goes
+        speed = PROJECTILE_SPEED; // speed at which magic spell goes
         /*
             Instantiate a brand new arrow that will hold the
             corresponding dimensions, components, and speed. It will temporarily
@@ -130,7 +132,7 @@ public abstract class Bow implements Weapon, AngleBehavior {
          */
         FXGL.play("skills/arrow.wav");
         if (!ultimateActivated) {
-            Entity rangedHitBox = spawn("rangedArrowHitBox",
+            Entity rangedHitBox = ProjectilePool.get().spawn("rangedArrowHitBox",
                 new SpawnData(
                     player.getX(), player.getY()).
                     put("dir", dir.toPoint2D()).
@@ -237,7 +239,7 @@ public abstract class Bow implements Weapon, AngleBehavior {
             angle += angleIncrementer;
         }
         for (Vec2 vec : angles) {
-            Entity rangedHitBox = spawn("rangedArrowHitBox",
+            Entity rangedHitBox = ProjectilePool.get().spawn("rangedArrowHitBox",
                 new SpawnData(
                     player.getX(), player.getY()).
                     put("dir", vec.toPoint2D()).
@@ -5,14 +5,17 @@ import javafx.scene.image.Image;
     This class is responsible for creating the first level Bow.
  */
 public class Bow0 extends Bow implements Weapon, AngleBehavior {
+    public static final double ATTACK_DAMAGE = 60;
+    public static final int ATTACK_DURATION = 900; // charge-up time of attacking in milliseconds
+
     public Bow0() {
         super(new Image(
             "assets/textures/ui/weapons/bow0_ui.png"),
             "bow0_arrow",
-            60,
+            ATTACK_DAMAGE,
             "bow0_charge_44x43",
             "bow0_charge_44x43",
-            900, 1000);
+            ATTACK_DURATION, 1000);
         this.name = "Archer's Bow";
         this.description
             = "An Archer's Bow may not offer the most stability, but slow and good aim leads "
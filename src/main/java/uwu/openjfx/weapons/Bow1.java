@@ -5,14 +5,17 @@ import javafx.scene.image.Image;
     This class is responsible for creating the second level Bow.
  */
 public class Bow1 extends Bow implements Weapon, AngleBehavior {
+    public static final double ATTACK_DAMAGE = 75;
+    public static final int ATTACK_DURATION = 750; // charge-up time of attacking in milliseconds
+
     public Bow1() {
         super(new Image(
             "assets/textures/ui/weapons/bow1_ui.png"),
             "bow1_arrow",
-            75,
+            ATTACK_DAMAGE,
             "bow1_charge_44x43",
             "bow1_charge_44x43",
-            750, 850);
+            ATTACK_DURATION, 850);
         this.name = "Huntsman's Bow";
         this.description
             = "A Huntsman's Bow offers decent stability, allowing for quicker aim and stronger "
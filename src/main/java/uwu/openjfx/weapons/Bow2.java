@@ -8,21 +8,23 @@ import javafx.scene.image.Image;
 import uwu.openjfx.core.GameEnvironment;
 import uwu.openjfx.components.AttackDamageComponent;
 import uwu.openjfx.components.ExplosionAtDistComponent;
+import uwu.openjfx.pool.ProjectilePool;
 
-import static com.almasb.fxgl.dsl.FXGL.spawn;
 
 /*
     This class is responsible for creating the third level Bow.
  */
 public class Bow2 extends Bow implements Weapon, AngleBehavior {
+    public static final int ATTACK_DURATION = 650; // charge-up time of attacking in milliseconds
+
     public Bow2() {
         super(new Image(
             "assets/textures/ui/weapons/bow2_ui.png"),
             "bow2_arrow",
-            GameEnvironment.get().getWeaponBalanceService().getAttackDamage("bow_2", 70),
+            getAttackDamage(),
             "bow2_charge_44x43",
             "bow2_ult_44x43",
-            650, 800);
+            ATTACK_DURATION, 800);
         this.name = "Marksman's Bow";
         this.description
             = "A Marksman's Bow offers the highest stability, allowing for rapid aim and punishing "
@@ -48,10 +50,10 @@ public class Bow2 extends Bow implements Weapon, AngleBehavior {
         // the center of the NEW and MODIFIED hitbox
         double centerX = ((double) (leftOffset + (frameWidth - rightOffset)) / 2);
         double centerY = ((double) (topBottomOffset + (frameHeight - topBottomOffset)) / 2);
-        double attackDamage = GameEnvironment.get().getWeaponBalanceService().getAttackDamage("bow_2", 70);
+        double attackDamage = getAttackDamage();
         String arrow = !ultimateActivated ? "bow2_arrow" : "bombArrow";
 
-        int speed = !ultimateActivated ? 300 : 400; // speed at which magic spell goes
+        int speed = !ultimateActivated ? PROJECTILE_SPEED : 400; // speed of the arrow
         /*
             Instantiate a brand new arrow that will hold the
             corresponding dimensions, components, and speed. It will temporarily
@@ -59,7 +61,7 @@ public class Bow2 extends Bow implements Weapon, AngleBehavior {
             its modified hitbox done in CreatureFactory.
          */
         FXGL.play("skills/arrow.wav");
-        Entity rangedHitBox = spawn("rangedArrowHitBox",
+        Entity rangedHitBox = ProjectilePool.get().spawn("rangedArrowHitBox",
             new SpawnData(
                 player.getX(), player.getY()).
                 put("dir", dir.toPoint2D()).
@@ -102,6 +104,10 @@ public class Bow2 extends Bow implements Weapon, AngleBehavior {
         rangedHitBox.setZIndex(5);
     }
 
+    public static double getAttackDamage() {
+        return GameEnvironment.get().getWeaponBalanceService().getAttackDamage("bow_2", 70);
+    }
+
     @Override
     public boolean equals(Object obj) {
         return obj instanceof Bow2;
@@ -9,6 +9,7 @@ import javafx.scene.image.Image;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import uwu.openjfx.core.GameEnvironment;
 import uwu.openjfx.utils.EntityCleanup;
+import uwu.openjfx.pool.ProjectilePool;
 
 import static com.almasb.fxgl.dsl.FXGL.spawn;
 
@@ -21,6 +22,10 @@ import static com.almasb.fxgl.dsl.FXGL.spawn;
 public class GoldenSword0 implements Weapon {
     private boolean ultimateActivated;
     private static final double ATTACK_DAMAGE = GameEnvironment.get().getWeaponBalanceService().getAttackDamage("golden_sword_0", 50);
+    public static final int HIT_BOX_WIDTH = 70; // width of the hitbox
+    public static final int HIT_BOX_HEIGHT = 75; // height of the hitbox
+    public static final double SWORD_OFFSET = 22; // distance from player the hitbox should spawn
+    public static final int ATTACK_DURATION = 450; // charge-up time of attacking in milliseconds
 
     @Override
     public boolean equals(Object obj) {
@@ -73,9 +78,9 @@ public class GoldenSword0 implements Weapon {
 
     @Override
     public void attack(Entity player, double mouseCurrX, double mouseCurrY) {
-        int hitBoxWidth = 70; // width of the hitbox
-        int hitBoxHeight = 75; // height of the hitbox
-        double swordOffset = 22; // distance from player the hitbox should spawn
+        int hitBoxWidth = HIT_BOX_WIDTH;
+        int hitBoxHeight = HIT_BOX_HEIGHT;
+        double swordOffset = SWORD_OFFSET;
         String attSound = ultimateActivated ? "skills/arrow.wav" : "skills/sword_basic.wav";
         FXGL.play(attSound);
 
@@ -135,7 +140,7 @@ public class GoldenSword0 implements Weapon {
             angle += angleIncrementer;
         }
         for (Vec2 vec : angles) {
-            Entity rangedHitBox = spawn("rangedArrowHitBox",
+            Entity rangedHitBox = ProjectilePool.get().spawn("rangedArrowHitBox",
                 new SpawnData(
                     player.getX(), player.getY()).
                     put("dir", vec.toPoint2D()).
@@ -175,9 +180,13 @@ public class GoldenSword0 implements Weapon {
         }
     }
 
+    public static double getAttackDamage() {
+        return ATTACK_DAMAGE;
+    }
+
     @Override
     public int getDuration(boolean ultimateActivated) {
-        int attackDuration = 450; // charge-up time of attacking in milliseconds
+        int attackDuration = ATTACK_DURATION;
         int ultimateChargeDuration = 500; // charge-up time of attacking in milliseconds
         this.ultimateActivated = ultimateActivated;
         return ultimateActivated ? ultimateChargeDuration : attackDuration;
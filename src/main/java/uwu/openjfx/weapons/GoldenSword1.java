@@ -18,6 +18,10 @@ import static com.almasb.fxgl.dsl.FXGL.spawn;
     will be handled in the WeaponAnimationComponent class.
  */
 public class GoldenSword1 implements Weapon {
+    public static final int HIT_BOX_WIDTH = 82; // width of the regular hitbox
+    public static final int HIT_BOX_HEIGHT = 130; // height of the regular hitbox
+    public static final double SWORD_OFFSET = 22; // distance from player the hitbox should spawn
+    public static final int ATTACK_DURATION = 750; // charge-up time of attacking in milliseconds
     private boolean ultimateActivated;
 
     @Override
@@ -53,10 +57,10 @@ public class GoldenSword1 implements Weapon {
 
     @Override
     public void attack(Entity player, double mouseCurrX, double mouseCurrY) {
-        int hitBoxWidth = !ultimateActivated ? 82 : 175; // width of the hitbox
-        int hitBoxHeight = !ultimateActivated ? 130 : 175; // height of the hitbox
-        double swordOffset = !ultimateActivated ? 22 : 0; // distance from player hitbox spawns
-        double attackDamage = GameEnvironment.get().getWeaponBalanceService().getAttackDamage("golden_sword_1", 70);
+        int hitBoxWidth = !ultimateActivated ? HIT_BOX_WIDTH : 175; // width of the hitbox
+        int hitBoxHeight = !ultimateActivated ? HIT_BOX_HEIGHT : 175; // height of the hitbox
+        double swordOffset = !ultimateActivated ? SWORD_OFFSET : 0; // distance from player
+        double attackDamage = getAttackDamage();
         String attSound = ultimateActivated ? "skills/sword_ulti.wav" : "skills/sword_basic.wav";
         FXGL.play(attSound);
 
@@ -73,9 +77,14 @@ public class GoldenSword1 implements Weapon {
         EntityCleanup.removeNextFrame(meleeHitBox);
     }
 
+    public static double getAttackDamage() {
+        return GameEnvironment.get().getWeaponBalanceService()
+            .getAttackDamage("golden_sword_1", 70);
+    }
+
     @Override
     public int getDuration(boolean ultimateActivated) {
-        int attackDuration = 750; // charge-up time of attacking in milliseconds
+        int attackDuration = ATTACK_DURATION;
         int ultimateChargeDuration = 1000; // charge-up time of attacking in milliseconds
         this.ultimateActivated = ultimateActivated;
         return ultimateActivated ? ultimateChargeDuration : attackDuration;
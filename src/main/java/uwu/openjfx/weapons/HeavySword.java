@@ -13,6 +13,10 @@ import static com.almasb.fxgl.dsl.FXGL.spawn;
 public class HeavySword implements Weapon {
     private boolean ultimateActivated;
     private static final double ATTACK_DAMAGE = GameEnvironment.get().getWeaponBalanceService().getAttackDamage("heavy_sword", 80);
+    public static final int HIT_BOX_WIDTH = 80; // width of the hitbox
+    public static final int HIT_BOX_HEIGHT = 90; // height of the hitbox
+    public static final double SWORD_OFFSET = 25; // distance from player the hitbox should spawn
+    public static final int ATTACK_DURATION = 800; // charge-up time of attacking in milliseconds
 
     @Override
     public boolean equals(Object obj) {
@@ -50,9 +54,9 @@ public class HeavySword implements Weapon {
 
     @Override
     public void attack(Entity player, double mouseCurrX, double mouseCurrY) {
-        int hitBoxWidth = 80;
-        int hitBoxHeight = 90;
-        double swordOffset = 25;
+        int hitBoxWidth = HIT_BOX_WIDTH;
+        int hitBoxHeight = HIT_BOX_HEIGHT;
+        double swordOffset = SWORD_OFFSET;
         String attSound = "skills/sword_basic.wav";
         FXGL.play(attSound);
 
@@ -68,9 +72,13 @@ public class HeavySword implements Weapon {
         EntityCleanup.removeNextFrame(meleeHitBox);
     }
 
+    public static double getAttackDamage() {
+        return ATTACK_DAMAGE;
+    }
+
     @Override
     public int getDuration(boolean ultimateActivated) {
-        int attackDuration = 800;
+        int attackDuration = ATTACK_DURATION;
         this.ultimateActivated = ultimateActivated;
         return attackDuration;
     }
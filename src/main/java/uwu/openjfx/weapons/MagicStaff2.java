@@ -11,6 +11,7 @@ import uwu.openjfx.core.GameEnvironment;
 import javafx.util.Duration;
 import uwu.openjfx.RoyalType;
 import uwu.openjfx.components.PlayerComponent;
+import uwu.openjfx.pool.ProjectilePool;
 
 import static com.almasb.fxgl.dsl.FXGL.spawn;
 
@@ -24,6 +25,9 @@ import static com.almasb.fxgl.dsl.FXGL.spawn;
  */
 @SuppressFBWarnings(value = "SS_SHOULD_BE_STATIC", justification = "Per-instance constants kept for readability and potential subclass overrides.")
 public class MagicStaff2 implements Weapon, AngleBehavior {
+    public static final double ATTACK_DAMAGE = 80; // damage of a regular spell
+    public static final int ATTACK_DURATION = 800; // charge-up time of attacking in milliseconds
+    public static final int PROJECTILE_SPEED = 300; // speed of a regular spell
     private final double playerHitBoxOffsetX = 3; // player's hitbox own offset from top left
     private final double playerHitBoxOffsetY = 15; // player's hitbox own offset from top left
     private final double playerHitBoxWidth = 35; // width of player's hitbox from 3 to 38
@@ -89,8 +93,8 @@ public class MagicStaff2 implements Weapon, AngleBehavior {
         }
 
         if (!ultimateActivated) {
-            int speed = 300; // speed at which magic spell goes
-            double attackDamage = 80;
+            int speed = PROJECTILE_SPEED; // speed at which magic spell goes
+            double attackDamage = ATTACK_DAMAGE;
 
             /*
                 Instantiate a brand new magic spell that will hold the
@@ -99,7 +103,7 @@ public class MagicStaff2 implements Weapon, AngleBehavior {
                 its modified hitbox done in CreatureFactory.
              */
 
-            Entity rangedHitBox = spawn("rangedMagicHitBox",
+            Entity rangedHitBox = ProjectilePool.get().spawn("rangedMagicHitBox",
                 new SpawnData(
                     player.getX(), player.getY()).
                     put("dir", dir.toPoint2D()).
@@ -216,7 +220,7 @@ public class MagicStaff2 implements Weapon, AngleBehavior {
 
     @Override
     public int getDuration(boolean ultimateActivated) {
-        int attackDuration = 800; // charge-up time of attacking in milliseconds
+        int attackDuration = ATTACK_DURATION;
         int ultimateChargeDuration = 350; // charge-up time of attacking in milliseconds
         this.ultimateActivated = ultimateActivated;
         return ultimateActivated ? ultimateChargeDuration : attackDuration;
@@ -1,4 +1,8 @@
+import com.almasb.fxgl.dsl.components.ProjectileComponent;
 import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.GameWorld;
+import com.almasb.fxgl.entity.components.CollidableComponent;
+import javafx.geometry.Point2D;
 import com.almasb.fxgl.test.RunWithFX;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.RepeatedTest;
@@ -12,6 +16,8 @@ import uwu.openjfx.components.AttackDamageComponent;
 import uwu.openjfx.components.BossComponent;
 import uwu.openjfx.components.EnemyComponent;
 import uwu.openjfx.components.PlayerComponent;
+import uwu.openjfx.components.PooledProjectileComponent;
+import uwu.openjfx.pool.ProjectilePool;
 
 @ExtendWith(RunWithFX.class)
 public class TestPlayerAttackEnemyCollisionHandler {
@@ -247,4 +253,35 @@ public class TestPlayerAttackEnemyCollisionHandler {
 
         assert PlayerComponent.getMonstersKilled() > currentKills;
     }
-}
\ No newline at end of file
+
+    // пул: снаряд паркуется только после того, как нанёс урон
+    @Test
+    void testPooledArrowDealsDamageBeforeParking() {
+        int origHealth = 5;
+        Entity monster = new Entity();
+        EnemyComponent enemyComponent = new EnemyComponent(
+                origHealth, "", 10, 20);
+        monster.addComponent(enemyComponent);
+        enemyComponent.setBlockProbability(0);
+        enemyComponent.setArmorStat(1);
+
+        // так снаряд выглядит после ProjectilePool.spawn вне тестового режима
+        Entity arrow = new Entity();
+        arrow.addComponent(new ProjectileComponent(new Point2D(1, 0), 0));
+        arrow.addComponent(new AttackDamageComponent(false, 3));
+        arrow.addComponent(new CollidableComponent(true));
+        arrow.addComponent(new PooledProjectileComponent(
+                "rangedArrowHitBox|test|PLAYERATTACK", 10, ProjectilePool.get().getEpoch()));
+        new GameWorld().addEntity(arrow);
+
+        long recycled = ProjectilePool.get().getRecycled();
+        PlayerAttackEnemyCollisionHandler handler = new PlayerAttackEnemyCollisionHandler();
+        handler.onCollisionBegin(arrow, monster);
+
+        assert enemyComponent.getHealthPoints() < origHealth;
+        assert ProjectilePool.get().getRecycled() == recycled + 1;
+        assert arrow.getComponent(ProjectileComponent.class).isPaused();
+        assert !arrow.getComponent(PooledProjectileComponent.class).isInFlight();
+        ProjectilePool.get().clear();
+    }
+}
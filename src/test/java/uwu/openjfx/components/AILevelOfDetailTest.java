@@ -0,0 +1,67 @@
+package uwu.openjfx.components;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для AILevelOfDetail
+ */
+class AILevelOfDetailTest {
+
+    private static AILevelOfDetail newLod() {
+        return new AILevelOfDetail(300, 600, 400, 2, 8);
+    }
+
+    @Test
+    void testTiersByDistanceAndViewport() {
+        AILevelOfDetail lod = newLod();
+
+        assertEquals(AILevelOfDetail.Tier.FULL, lod.tierOf(100, 100, Math.hypot(100, 100)));
+        assertEquals(AILevelOfDetail.Tier.REDUCED, lod.tierOf(500, 0, 500));
+        assertEquals(AILevelOfDetail.Tier.DORMANT, lod.tierOf(0, -450, 450));
+        assertEquals(AILevelOfDetail.Tier.DORMANT, lod.tierOf(700, 0, 700));
+    }
+
+    @Test
+    void testBucketsSpreadWorkEvenly() {
+        AILevelOfDetail lod = newLod();
+        int enemies = 80;
+        int[] buckets = new int[enemies];
+        for (int i = 0; i < enemies; i++) {
+            buckets[i] = lod.nextBucket();
+        }
+
+        int[] runsPerEnemy = new int[enemies];
+        for (int frame = 0; frame < 16; frame++) {
+            lod.beginFrame();
+            int dormantRuns = 0;
+            for (int i = 0; i < enemies; i++) {
+                if (lod.isDue(AILevelOfDetail.Tier.DORMANT, buckets[i])) {
+                    dormantRuns++;
+                    runsPerEnemy[i]++;
+                }
+            }
+            // 80 спящих врагов на 8 корзин: ровно 10 в каждом кадре
+            assertEquals(enemies / 8, dormantRuns);
+        }
+        for (int runs : runsPerEnemy) {
+            assertEquals(2, runs);
+        }
+    }
+
+    @Test
+    void testFullTierAlwaysRunsAndCountersRollOver() {
+        AILevelOfDetail lod = newLod();
+        lod.beginFrame();
+        assertTrue(lod.isDue(AILevelOfDetail.Tier.FULL, 3));
+        lod.countUpdate(AILevelOfDetail.Tier.FULL);
+        // первый кадр: корзина 1 думает, корзина 0 пропускает
+        assertTrue(lod.isDue(AILevelOfDetail.Tier.REDUCED, 1));
+        assertFalse(lod.isDue(AILevelOfDetail.Tier.REDUCED, 0));
+
+        lod.beginFrame();
+        assertEquals(1, lod.getLastCount(AILevelOfDetail.Tier.FULL));
+        assertEquals(1, lod.getLastSkipped());
+    }
+}
@@ -0,0 +1,74 @@
+package uwu.openjfx.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для AssetManifest
+ */
+class AssetManifestTest {
+
+    private static final String MANIFEST = String.join("\n",
+        "# path\ttype\tbytes\twidth\theight",
+        "assets/levels/tmx/bossRoom.tmx\ttmx\t5120\t0\t0",
+        "assets/textures/creatures/minions/normal/goblin_40x40.png\tpng\t778\t40\t40",
+        "assets/textures/creatures/minions/normal/imp_40x40.png\tpng\t650\t40\t40",
+        "");
+
+    @Test
+    void testLookupByPath() throws IOException {
+        AssetManifest manifest = AssetManifest.read(new StringReader(MANIFEST));
+        assertTrue(manifest.isLoaded());
+        assertEquals(3, manifest.size());
+
+        AssetManifest.Asset goblin =
+            manifest.get("assets/textures/creatures/minions/normal/goblin_40x40.png");
+        assertNotNull(goblin);
+        assertEquals("goblin_40x40.png", goblin.getName());
+        assertEquals("png", goblin.getType());
+        assertEquals(778, goblin.getBytes());
+        assertEquals(40, goblin.getWidth());
+        assertEquals(40, goblin.getHeight());
+        assertTrue(goblin.hasSize());
+
+        // у уровней нет суффикса _WxH
+        assertFalse(manifest.get("assets/levels/tmx/bossRoom.tmx").hasSize());
+        assertNull(manifest.get("assets/levels/tmx/missing.tmx"));
+    }
+
+    @Test
+    void testListDirectory() throws IOException {
+        AssetManifest manifest = AssetManifest.read(new StringReader(MANIFEST));
+        List<String> normal = manifest.list("assets/textures/creatures/minions/normal");
+        assertEquals(List.of("goblin_40x40.png", "imp_40x40.png"), normal);
+        assertThrows(UnsupportedOperationException.class, () -> normal.add("x.png"));
+
+        // только файлы прямо в каталоге
+        assertTrue(manifest.list("assets/textures/creatures").isEmpty());
+        assertTrue(manifest.list("assets/nothing").isEmpty());
+    }
+
+    @Test
+    void testMalformedLineIsRejected() {
+        IOException e = assertThrows(IOException.class,
+            () -> AssetManifest.read(new StringReader("assets/a.png\tpng\t12\n")));
+        assertTrue(e.getMessage().contains("line 1"), e.getMessage());
+    }
+
+    @Test
+    void testGeneratedManifestIsOnClasspath() {
+        // собирается задачей generateAssetManifest перед processResources
+        AssetManifest manifest = AssetManifest.load(getClass().getClassLoader());
+        assertTrue(manifest.isLoaded());
+        assertTrue(manifest.list("assets/textures/ui/inventory").contains("bow0.png"));
+        AssetManifest.Asset goblin =
+            manifest.get("assets/textures/creatures/minions/normal/goblin_40x40.png");
+        assertNotNull(goblin);
+        assertEquals(40, goblin.getWidth());
+    }
+}
@@ -0,0 +1,132 @@
+package uwu.openjfx.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для AsyncLogWriter
+ */
+class AsyncLogWriterTest {
+
+    private final StringWriter file = new StringWriter();
+    private final ByteArrayOutputStream consoleBytes = new ByteArrayOutputStream();
+    private final PrintStream console = new PrintStream(consoleBytes, true, StandardCharsets.UTF_8);
+
+    private String console() {
+        return consoleBytes.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testParametersAreFormattedOnDrain() {
+        AsyncLogWriter writer = new AsyncLogWriter(64, 10, file, console, GameLogger.Level.INFO);
+        writer.log(GameLogger.Level.INFO, "Map", "Room {} has {} doors", new Object[] {"(0, 1)", 3},
+            null);
+        writer.log(GameLogger.Level.DEBUG, "Map", "debug only in file", null, null);
+        writer.close(5000);
+
+        String log = file.toString();
+        assertTrue(log.contains("[INFO] [Map] Room (0, 1) has 3 doors"), log);
+        assertTrue(log.contains("[DEBUG] [Map] debug only in file"), log);
+        // в консоль - начиная с INFO
+        assertTrue(console().contains("Room (0, 1) has 3 doors"), console());
+        assertFalse(console().contains("debug only"), console());
+    }
+
+    @Test
+    void testMessageFormatting() {
+        StringBuilder out = new StringBuilder();
+        AsyncLogWriter.appendMessage("{} + {} = {}", new Object[] {1, 2}, out);
+        assertEquals("1 + 2 = {}", out.toString());
+
+        out.setLength(0);
+        AsyncLogWriter.appendMessage("no placeholders", new Object[] {1}, out);
+        assertEquals("no placeholders", out.toString());
+
+        out.setLength(0);
+        AsyncLogWriter.appendMessage("value {}", new Object[] {null}, out);
+        assertEquals("value null", out.toString());
+    }
+
+    @Test
+    void testThrowableIsWritten() {
+        AsyncLogWriter writer = new AsyncLogWriter(64, 10, file, console, GameLogger.Level.INFO);
+        writer.log(GameLogger.Level.ERROR, "Save", "failed", null,
+            new IllegalStateException("disk full"));
+        writer.close(5000);
+
+        assertTrue(file.toString().contains("IllegalStateException: disk full"), file.toString());
+    }
+
+    @Test
+    void testFullRingDropsAndCounts() throws InterruptedException {
+        Object gate = new Object();
+        boolean[] open = {false};
+        // toString() первого события держит поток записи, пока кольцо не переполнится
+        Object blocker = new Object() {
+            @Override
+            public String toString() {
+                synchronized (gate) {
+                    while (!open[0]) {
+                        try {
+                            gate.wait();
+                        } catch (InterruptedException e) {
+                            return "interrupted";
+                        }
+                    }
+                }
+                return "blocker";
+            }
+        };
+        AsyncLogWriter writer = new AsyncLogWriter(4, 10, file, console, GameLogger.Level.INFO);
+        assertTrue(writer.log(GameLogger.Level.DEBUG, "T", "{}", new Object[] {blocker}, null));
+        Thread.sleep(100);
+
+        int accepted = 0;
+        for (int i = 0; i < 20; i++) {
+            if (writer.log(GameLogger.Level.DEBUG, "T", "m" + i, null, null)) {
+                accepted++;
+            }
+        }
+        // слот первого события занят, пока оно форматируется
+        assertEquals(3, accepted);
+        assertEquals(17, writer.getDropped());
+
+        // WARNING ждёт места не дольше порога, затем тоже отбрасывается
+        long start = System.nanoTime();
+        assertFalse(writer.log(GameLogger.Level.WARNING, "T", "late", null, null));
+        assertTrue(System.nanoTime() - start >= 10_000_000L);
+        assertEquals(18, writer.getDropped());
+
+        synchronized (gate) {
+            open[0] = true;
+            gate.notifyAll();
+        }
+        writer.close(5000);
+        assertTrue(file.toString().contains("blocker"));
+        assertTrue(file.toString().contains("m2"));
+        assertTrue(writer.getStats().contains("dropped=18"), writer.getStats());
+    }
+
+    @Test
+    void testBrokenToStringDoesNotStopDrain() {
+        Object broken = new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("boom");
+            }
+        };
+        AsyncLogWriter writer = new AsyncLogWriter(64, 10, file, console, GameLogger.Level.INFO);
+        writer.log(GameLogger.Level.INFO, "T", "bad {}", new Object[] {broken}, null);
+        writer.log(GameLogger.Level.INFO, "T", "still here", null, null);
+        writer.close(5000);
+
+        assertTrue(file.toString().contains("format failed"), file.toString());
+        assertTrue(file.toString().contains("still here"), file.toString());
+    }
+}
@@ -0,0 +1,103 @@
+package uwu.openjfx.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для DurableFile
+ */
+class DurableFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static byte[] readAll(Path file) throws IOException {
+        try (InputStream in = DurableFile.read(file)) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        Path file = tempDir.resolve("data.bin");
+        byte[] payload = "hello".getBytes(StandardCharsets.UTF_8);
+        DurableFile.write(file, out -> out.write(payload));
+
+        assertTrue(DurableFile.isComplete(file));
+        assertArrayEquals(payload, readAll(file));
+        // временный файл не остаётся рядом
+        assertFalse(Files.exists(tempDir.resolve("data.bin.tmp")));
+    }
+
+    @Test
+    void testLargeContentGrowsBuffer() throws IOException {
+        Path file = tempDir.resolve("large.bin");
+        byte[] payload = new byte[300_000];
+        new Random(7).nextBytes(payload);
+        DurableFile.write(file, out -> {
+            // по байту и кусками, через границу начального буфера
+            out.write(payload[0]);
+            out.write(payload, 1, payload.length - 1);
+        });
+        assertArrayEquals(payload, readAll(file));
+
+        // буфер из пула после большой записи не несёт старых данных
+        DurableFile.write(file, out -> out.write(new byte[] {1, 2, 3}));
+        assertArrayEquals(new byte[] {1, 2, 3}, readAll(file));
+    }
+
+    @Test
+    void testTornFileIsDetected() throws IOException {
+        Path file = tempDir.resolve("torn.bin");
+        DurableFile.write(file, out -> out.write(new byte[100]));
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertFalse(DurableFile.isComplete(file));
+        assertFalse(DurableFile.isComplete(tempDir.resolve("missing.bin")));
+    }
+
+    @Test
+    void testCorruptionIsDetected() throws IOException {
+        Path file = tempDir.resolve("flipped.bin");
+        DurableFile.write(file, out -> out.write(new byte[100]));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[50] ^= 1;
+        Files.write(file, bytes);
+
+        // размер и трейлер целы, повреждение находит только CRC32C
+        assertTrue(DurableFile.isComplete(file));
+        assertThrows(IOException.class, () -> readAll(file));
+    }
+
+    @Test
+    void testFileWithoutTrailerIsReadAsIs() throws IOException {
+        Path file = tempDir.resolve("legacy.json");
+        byte[] json = "[{\"playerName\":\"old\"}]".getBytes(StandardCharsets.UTF_8);
+        Files.write(file, json);
+
+        assertFalse(DurableFile.isComplete(file));
+        assertArrayEquals(json, readAll(file));
+    }
+
+    @Test
+    void testFailedWriteKeepsTarget() throws IOException {
+        Path file = tempDir.resolve("kept.bin");
+        DurableFile.write(file, out -> out.write(42));
+        assertThrows(IOException.class, () -> DurableFile.write(file, out -> {
+            out.write(1);
+            throw new IOException("serializer failed");
+        }));
+        assertArrayEquals(new byte[] {42}, readAll(file));
+    }
+}
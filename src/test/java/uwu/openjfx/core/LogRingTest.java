@@ -0,0 +1,120 @@
+package uwu.openjfx.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для LogRing
+ */
+class LogRingTest {
+
+    private static void put(LogRing ring, String message) {
+        LogRing.Event event = ring.claim();
+        assertNotNull(event);
+        event.message = message;
+        ring.publish(event);
+    }
+
+    private static String take(LogRing ring) {
+        LogRing.Event event = ring.peek();
+        if (event == null) {
+            return null;
+        }
+        String message = event.message;
+        ring.release(event);
+        return message;
+    }
+
+    @Test
+    void testFifoAndFull() {
+        LogRing ring = new LogRing(4);
+        assertEquals(4, ring.capacity());
+        for (int i = 0; i < 4; i++) {
+            put(ring, "m" + i);
+        }
+        // кольцо полно: захват не ждёт, а сразу отказывает
+        assertNull(ring.claim());
+
+        assertEquals("m0", take(ring));
+        put(ring, "m4");
+        for (int i = 1; i <= 4; i++) {
+            assertEquals("m" + i, take(ring));
+        }
+        assertNull(take(ring));
+    }
+
+    @Test
+    void testUnpublishedSlotBlocksConsumer() {
+        LogRing ring = new LogRing(4);
+        LogRing.Event first = ring.claim();
+        put(ring, "second");
+
+        // второе событие готово, но порядок держит первое
+        assertNull(ring.peek());
+        first.message = "first";
+        ring.publish(first);
+        assertEquals("first", take(ring));
+        assertEquals("second", take(ring));
+    }
+
+    @Test
+    void testCapacityIsPowerOfTwo() {
+        assertEquals(8, new LogRing(5).capacity());
+        assertEquals(8192, new LogRing(8192).capacity());
+    }
+
+    @Test
+    void testManyProducersLoseNothing() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        LogRing ring = new LogRing(256);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String name = "p" + p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    LogRing.Event event;
+                    while ((event = ring.claim()) == null) {
+                        Thread.onSpinWait();
+                    }
+                    event.category = name;
+                    event.args = new Object[] {i};
+                    ring.publish(event);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        int[] next = new int[producers];
+        int received = 0;
+        while (received < producers * perProducer) {
+            LogRing.Event event = ring.peek();
+            if (event == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            // от каждого производителя - по порядку и без пропусков
+            int producer = event.category.charAt(1) - '0';
+            assertEquals(next[producer]++, (int) (Integer) event.args[0]);
+            ring.release(event);
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(ring.peek());
+    }
+}
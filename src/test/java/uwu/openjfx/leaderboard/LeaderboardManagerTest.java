@@ -0,0 +1,122 @@
+package uwu.openjfx.leaderboard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для LeaderboardManager
+ */
+class LeaderboardManagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testUpdateMovesPlayer() {
+        LeaderboardManager board = new LeaderboardManager(tempDir, 10);
+        board.updatePlayerEntry("a", 100, 1, 10);
+        board.updatePlayerEntry("b", 200, 1, 10);
+        board.updatePlayerEntry("c", 300, 1, 10);
+        assertEquals(3, board.getPlayerPosition("a"));
+
+        // обновление сразу меняет место, без пересортировки всей таблицы
+        board.updatePlayerEntry("a", 500, 2, 20);
+        assertEquals(1, board.getPlayerPosition("a"));
+        assertEquals(3, board.getPlayerPosition("b"));
+        assertEquals(500, board.getPlayerEntry("a").orElseThrow().getMaxGold());
+        assertEquals(3, board.getSize());
+        assertEquals(1000L, board.getStatistics().get("totalGoldAllPlayers"));
+    }
+
+    @Test
+    void testOneEntryPerPlayer() {
+        LeaderboardManager board = new LeaderboardManager(tempDir, 10);
+        board.addEntry("a", 100, 1, 10);
+        board.addEntry("a", 50, 1, 10);
+        assertEquals(1, board.getSize());
+        assertEquals(100, board.getPlayerEntry("a").orElseThrow().getMaxGold());
+
+        board.addEntry("a", 150, 2, 10);
+        assertEquals(1, board.getSize());
+        assertEquals(150, board.getPlayerEntry("a").orElseThrow().getMaxGold());
+    }
+
+    @Test
+    void testWorstEntriesAreEvicted() {
+        LeaderboardManager board = new LeaderboardManager(tempDir, 3);
+        for (int i = 1; i <= 5; i++) {
+            board.addEntry("p" + i, i * 10, 1, 10);
+        }
+
+        assertEquals(3, board.getSize());
+        assertEquals(-1, board.getPlayerPosition("p1"));
+        assertFalse(board.getPlayerEntry("p2").isPresent());
+        assertEquals(List.of("p5", "p4", "p3"),
+            board.getTopEntries(10).stream().map(LeaderboardEntry::getPlayerName).toList());
+        assertEquals(120L, board.getStatistics().get("totalGoldAllPlayers"));
+    }
+
+    @Test
+    void testTiesKeepFirstAchiever() {
+        LeaderboardManager board = new LeaderboardManager(tempDir, 10);
+        board.addEntry("first", 100, 1, 10);
+        board.addEntry("second", 100, 1, 10);
+
+        assertEquals(1, board.getPlayerPosition("first"));
+        assertEquals(2, board.getPlayerPosition("second"));
+    }
+
+    @Test
+    void testReturnedEntriesAreCopies() {
+        LeaderboardManager board = new LeaderboardManager(tempDir, 10);
+        board.addEntry("a", 100, 1, 10);
+        board.addEntry("b", 200, 1, 10);
+
+        // запись таблицы - ключ дерева, правка снаружи сломала бы порядок
+        board.getPlayerEntry("a").orElseThrow().setMaxGold(1000);
+        board.getTopEntries(1).get(0).setMaxGold(0);
+        board.getAllEntries().forEach(entry -> entry.setPlayerName("x"));
+
+        assertEquals(100, board.getPlayerEntry("a").orElseThrow().getMaxGold());
+        assertEquals(200, board.getPlayerEntry("b").orElseThrow().getMaxGold());
+        assertEquals(1, board.getPlayerPosition("b"));
+        assertEquals(List.of("b", "a"),
+            board.getAllEntries().stream().map(LeaderboardEntry::getPlayerName).toList());
+    }
+
+    @Test
+    void testReloadKeepsOrder() throws IOException {
+        LeaderboardManager board = new LeaderboardManager(tempDir, 10);
+        board.addEntry("a", 100, 1, 10);
+        board.addEntry("b", 300, 1, 10);
+        board.addEntry("c", 200, 1, 10);
+        // запись отложена до конца интервала, saveLeaderboard дописывает сразу
+        board.saveLeaderboard();
+
+        LeaderboardManager reloaded = new LeaderboardManager(tempDir, 10);
+        assertEquals(board.getAllEntries(), reloaded.getAllEntries());
+        assertEquals(2, reloaded.getPlayerPosition("c"));
+    }
+
+    @Test
+    void testLegacyDuplicatesCollapse() throws IOException {
+        // старые таблицы могли хранить игрока несколько раз и без сортировки
+        List<LeaderboardEntry> legacy = List.of(
+            new LeaderboardEntry("a", 50, 1, 10),
+            new LeaderboardEntry("b", 70, 1, 10),
+            new LeaderboardEntry("a", 90, 1, 10));
+        new ObjectMapper().writeValue(tempDir.resolve("leaderboard.json").toFile(), legacy);
+
+        LeaderboardManager board = new LeaderboardManager(tempDir, 10);
+        assertEquals(2, board.getSize());
+        assertEquals(1, board.getPlayerPosition("a"));
+        assertEquals(90, board.getPlayerEntry("a").orElseThrow().getMaxGold());
+    }
+}
@@ -0,0 +1,107 @@
+package uwu.openjfx.leaderboard;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uwu.openjfx.core.DurableFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для LeaderboardWriter
+ */
+class LeaderboardWriterTest {
+
+    private static final long HOUR = 3_600_000;
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicReference<String> content = new AtomicReference<>("a");
+    private final AtomicInteger serialized = new AtomicInteger();
+
+    private LeaderboardWriter writer(long interval) {
+        return new LeaderboardWriter(tempDir.resolve("board.json"), interval, Thread::new, () -> {
+            serialized.incrementAndGet();
+            return content.get().getBytes(StandardCharsets.UTF_8);
+        });
+    }
+
+    private String onDisk() throws IOException {
+        try (InputStream in = DurableFile.read(tempDir.resolve("board.json"))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void testChangesCoalesceUntilFlush() throws IOException {
+        LeaderboardWriter writer = writer(HOUR);
+        // первая запись идёт сразу, следующие ждут конца интервала
+        writer.changed();
+        assertTrue(writer.flush(5000));
+        for (int i = 0; i < 100; i++) {
+            content.set("v" + i);
+            writer.changed();
+        }
+        assertEquals("a", onDisk());
+
+        assertTrue(writer.flush(5000));
+        assertEquals("v99", onDisk());
+        assertEquals(2, serialized.get());
+        assertTrue(writer.getStats().contains("flushes=2"), writer.getStats());
+        assertTrue(writer.getStats().contains("coalesced=99"), writer.getStats());
+        assertTrue(writer.close(5000));
+    }
+
+    @Test
+    void testSameContentIsNotWritten() throws IOException {
+        LeaderboardWriter writer = writer(0);
+        writer.changed();
+        assertTrue(writer.flush(5000));
+        writer.changed();
+        assertTrue(writer.flush(5000));
+
+        assertEquals("a", onDisk());
+        assertTrue(writer.getStats().contains("flushes=1"), writer.getStats());
+        assertTrue(writer.getStats().contains("unchanged=1"), writer.getStats());
+        assertTrue(writer.getStats().contains("bytes=1 "), writer.getStats());
+        assertTrue(writer.close(5000));
+    }
+
+    @Test
+    void testCloseWritesPendingChanges() throws IOException {
+        LeaderboardWriter writer = writer(HOUR);
+        writer.changed();
+        assertTrue(writer.flush(5000));
+        content.set("last");
+        writer.changed();
+
+        assertTrue(writer.close(5000));
+        assertEquals("last", onDisk());
+    }
+
+    @Test
+    void testFailedWriteIsRetried() throws IOException {
+        AtomicInteger attempts = new AtomicInteger();
+        LeaderboardWriter writer = new LeaderboardWriter(tempDir.resolve("board.json"), 10,
+            Thread::new, () -> {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new IOException("disk full");
+                }
+                return "ok".getBytes(StandardCharsets.UTF_8);
+            });
+        writer.changed();
+
+        // первая попытка падает, следующая через интервал проходит
+        assertTrue(writer.flush(5000));
+        assertEquals("ok", onDisk());
+        assertTrue(writer.getStats().contains("failures=1"), writer.getStats());
+        assertTrue(writer.close(5000));
+    }
+}
@@ -0,0 +1,82 @@
+package uwu.openjfx.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для RankedTree
+ */
+class RankedTreeTest {
+
+    @Test
+    void testMatchesSortedList() {
+        RankedTree<Integer> tree = new RankedTree<>(Comparator.naturalOrder());
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(7);
+
+        // случайные вставки и удаления сверяем с отсортированным списком
+        for (int step = 0; step < 5_000; step++) {
+            int value = random.nextInt(2_000);
+            int at = Collections.binarySearch(expected, value);
+            if (at >= 0) {
+                assertTrue(tree.remove(value));
+                expected.remove(at);
+            } else {
+                tree.add(value);
+                expected.add(-at - 1, value);
+            }
+        }
+
+        assertEquals(expected.size(), tree.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), tree.get(i));
+            assertEquals(i, tree.rankOf(expected.get(i)));
+        }
+        assertEquals(expected, tree.head(Integer.MAX_VALUE));
+        assertEquals(expected.subList(0, 10), tree.head(10));
+    }
+
+    @Test
+    void testMissingElements() {
+        RankedTree<Integer> tree = new RankedTree<>(Comparator.naturalOrder());
+        tree.add(1);
+        tree.add(3);
+
+        assertEquals(-1, tree.rankOf(2));
+        assertFalse(tree.remove(2));
+        assertEquals(2, tree.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(2));
+        assertTrue(tree.head(0).isEmpty());
+    }
+
+    @Test
+    void testDuplicateIsRejected() {
+        RankedTree<Integer> tree = new RankedTree<>(Comparator.naturalOrder());
+        tree.add(1);
+        tree.add(2);
+
+        assertThrows(IllegalArgumentException.class, () -> tree.add(1));
+        // дерево не пострадало
+        assertEquals(List.of(1, 2), tree.head(5));
+    }
+
+    @Test
+    void testLargeTreeStaysShallow() {
+        RankedTree<Integer> tree = new RankedTree<>(Comparator.naturalOrder());
+        // вставка по порядку: худший случай для несбалансированного дерева
+        for (int i = 0; i < 200_000; i++) {
+            tree.add(i);
+        }
+
+        assertEquals(200_000, tree.size());
+        assertEquals(123_456, tree.rankOf(123_456));
+        assertEquals(199_999, tree.get(199_999));
+    }
+}
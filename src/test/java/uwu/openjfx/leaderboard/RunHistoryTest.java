@@ -0,0 +1,157 @@
+package uwu.openjfx.leaderboard;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для RunHistory
+ */
+class RunHistoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static RunRecord run(String player, int gold, String difficulty) {
+        return new RunRecord(player, gold, 3, 600, difficulty, "GoldenSword0", 42, 1_700_000_000L);
+    }
+
+    @Test
+    void testTotalsAreKeptOnAppend() {
+        RunHistory history = new RunHistory(tempDir);
+        history.record(run("a", 100, "easy"));
+        history.record(run("b", 300, "easy"));
+        history.record(run("a", 50, "hard"));
+
+        assertEquals(3, history.getRunCount());
+        assertEquals(450, history.getTotalGold());
+        assertEquals(300, history.getBestGold());
+        Map<String, Double> averages = history.getAverageGoldByDifficulty();
+        assertEquals(200.0, averages.get("easy"));
+        assertEquals(50.0, averages.get("hard"));
+    }
+
+    @Test
+    void testBestRunOfPlayer() {
+        RunHistory history = new RunHistory(tempDir);
+        history.record(run("a", 100, "easy"));
+        history.record(new RunRecord("a", 250, 7, 1200, "hard", "Bow2", 99, 1_700_000_500L));
+        history.record(run("b", 900, "easy"));
+        history.record(run("a", 250, "easy"));
+
+        RunRecord best = history.getBestRun("a").orElseThrow();
+        // из равных по монетам - первый
+        assertEquals(250, best.getGold());
+        assertEquals(7, best.getPlayerLevel());
+        assertEquals(1200, best.getPlayTimeSeconds());
+        assertEquals("hard", best.getDifficulty());
+        assertEquals("Bow2", best.getWeapon());
+        assertEquals(99, best.getSeed());
+        assertEquals(1_700_000_500L, best.getFinishedAt());
+        assertFalse(history.getBestRun("nobody").isPresent());
+    }
+
+    @Test
+    void testPercentiles() {
+        RunHistory history = new RunHistory(tempDir);
+        for (int i = 1; i <= 100; i++) {
+            history.record(run("p" + i, i * 10, i % 2 == 0 ? "easy" : "hard"));
+        }
+
+        assertEquals(500, history.getGoldPercentile(null, 0.5).getAsInt());
+        assertEquals(900, history.getGoldPercentile(null, 0.9).getAsInt());
+        assertEquals(10, history.getGoldPercentile(null, 0).getAsInt());
+        assertEquals(1000, history.getGoldPercentile(null, 1).getAsInt());
+        // только чётные: 20, 40, ..., 1000
+        assertEquals(500, history.getGoldPercentile("easy", 0.5).getAsInt());
+        assertFalse(history.getGoldPercentile("nightmare", 0.5).isPresent());
+        assertThrows(IllegalArgumentException.class, () -> history.getGoldPercentile(null, 2));
+    }
+
+    @Test
+    void testReopenRebuildsTotals() {
+        RunHistory history = new RunHistory(tempDir);
+        for (int i = 0; i < 1000; i++) {
+            history.record(run("p" + (i % 37), i, i % 3 == 0 ? "hard" : "normal"));
+        }
+
+        RunHistory reopened = new RunHistory(tempDir);
+        assertEquals(history.getStats(), reopened.getStats());
+        assertEquals(history.getAverageGoldByDifficulty(), reopened.getAverageGoldByDifficulty());
+        assertEquals(history.getBestRun("p5").orElseThrow().getGold(),
+            reopened.getBestRun("p5").orElseThrow().getGold());
+    }
+
+    @Test
+    void testTornTailIsCutOff() throws IOException {
+        RunHistory history = new RunHistory(tempDir);
+        history.record(run("a", 100, "easy"));
+        history.record(run("b", 200, "easy"));
+        Path runs = tempDir.resolve(RunHistory.RUNS_FILE);
+        long intact = Files.size(runs);
+
+        // ползаписи от прерванного дописывания
+        try (OutputStream out = Files.newOutputStream(runs, StandardOpenOption.APPEND)) {
+            out.write(new byte[RunHistory.RECORD / 2]);
+        }
+        RunHistory reopened = new RunHistory(tempDir);
+        assertEquals(2, reopened.getRunCount());
+        assertEquals(intact, Files.size(runs));
+
+        // следующая запись встаёт на место обрезанной
+        reopened.record(run("c", 300, "hard"));
+        assertEquals(3, new RunHistory(tempDir).getRunCount());
+        assertEquals(600, new RunHistory(tempDir).getTotalGold());
+    }
+
+    @Test
+    void testCorruptRecordIsSkipped() throws IOException {
+        RunHistory history = new RunHistory(tempDir);
+        history.record(run("a", 100, "easy"));
+        history.record(run("b", 200, "easy"));
+        history.record(run("c", 300, "easy"));
+        Path runs = tempDir.resolve(RunHistory.RUNS_FILE);
+        byte[] bytes = Files.readAllBytes(runs);
+        // монеты второй записи: заголовок 8 байт, монеты по смещению 20
+        bytes[8 + RunHistory.RECORD + 20] ^= 1;
+        Files.write(runs, bytes);
+
+        RunHistory reopened = new RunHistory(tempDir);
+        assertEquals(2, reopened.getRunCount());
+        assertEquals(400, reopened.getTotalGold());
+        assertFalse(reopened.getBestRun("b").isPresent());
+        assertEquals(300, reopened.getGoldPercentile(null, 1).getAsInt());
+        assertEquals(bytes.length, Files.size(runs));
+
+        // новая запись дописывается после битой, а не поверх целой
+        reopened.record(run("d", 400, "easy"));
+        RunHistory again = new RunHistory(tempDir);
+        assertEquals(3, again.getRunCount());
+        assertEquals(800, again.getTotalGold());
+        assertEquals(300, again.getBestRun("c").orElseThrow().getGold());
+    }
+
+    @Test
+    void testUnknownHeaderIsNotOverwritten() throws IOException {
+        RunHistory history = new RunHistory(tempDir);
+        history.record(run("a", 100, "easy"));
+        Path runs = tempDir.resolve(RunHistory.RUNS_FILE);
+        byte[] bytes = Files.readAllBytes(runs);
+        // версия из будущего
+        bytes[7] = 9;
+        Files.write(runs, bytes);
+
+        RunHistory reopened = new RunHistory(tempDir);
+        assertEquals(0, reopened.getRunCount());
+        assertFalse(reopened.record(run("b", 200, "easy")));
+        assertArrayEquals(bytes, Files.readAllBytes(runs));
+    }
+}
@@ -0,0 +1,83 @@
+package uwu.openjfx.map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для FlowField
+ */
+class FlowFieldTest {
+
+    /*
+        Строки карты: '#' - стена, '.' - проход
+     */
+    private static FlowField fieldOf(String... map) {
+        int columns = map[0].length();
+        boolean[] blocked = new boolean[columns * map.length];
+        for (int y = 0; y < map.length; y++) {
+            for (int x = 0; x < columns; x++) {
+                blocked[y * columns + x] = map[y].charAt(x) == '#';
+            }
+        }
+        return new FlowField(columns, map.length, blocked);
+    }
+
+    @Test
+    void testPathGoesAroundWall() {
+        FlowField field = fieldOf(
+            ".....",
+            ".###.",
+            ".....");
+        field.setTarget(2, 2);
+
+        // прямо вниз нельзя, враг обходит стену по краю
+        assertTrue(field.costAt(2, 0) > 20);
+        int x = 2;
+        int y = 0;
+        for (int steps = 0; steps < 10 && field.directionAt(x, y) >= 0; steps++) {
+            int dir = field.directionAt(x, y);
+            x += FlowField.stepX(dir);
+            y += FlowField.stepY(dir);
+            assertFalse(field.isBlocked(x, y));
+        }
+        assertEquals(2, x);
+        assertEquals(2, y);
+    }
+
+    @Test
+    void testRecomputesOnlyWhenTargetChangesTile() {
+        FlowField field = fieldOf("....", "....");
+        assertTrue(field.setTarget(0, 0));
+        assertFalse(field.setTarget(0, 0));
+        assertTrue(field.setTarget(3, 1));
+        assertEquals(2, field.getRecomputes());
+        assertEquals(0, field.costAt(3, 1));
+        assertEquals(-1, field.directionAt(3, 1));
+    }
+
+    @Test
+    void testEnclosedTileIsUnreachable() {
+        FlowField field = fieldOf(
+            "#####",
+            "#.#..",
+            "#####");
+        field.setTarget(4, 1);
+
+        assertEquals(FlowField.UNREACHABLE, field.costAt(1, 1));
+        assertEquals(-1, field.directionAt(1, 1));
+        assertEquals(10, field.costAt(3, 1));
+    }
+
+    @Test
+    void testNoDiagonalCornerCutting() {
+        FlowField field = fieldOf(
+            "..",
+            "#.");
+        field.setTarget(1, 1);
+
+        // диагональ из (0,0) в (1,1) задевает угол стены
+        assertEquals(20, field.costAt(0, 0));
+        assertEquals(0, field.directionAt(0, 0));
+    }
+}
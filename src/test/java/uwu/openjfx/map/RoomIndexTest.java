@@ -0,0 +1,100 @@
+package uwu.openjfx.map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uwu.openjfx.MainApp;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для RoomIndex
+ */
+class RoomIndexTest {
+
+    @BeforeEach
+    void init() {
+        MainApp.setIsTesting(true);
+    }
+
+    @Test
+    void testKeyPacking() {
+        int[] values = {0, 1, -1, 999, -999, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for (int x : values) {
+            for (int y : values) {
+                long key = RoomIndex.key(x, y);
+                assertEquals(x, RoomIndex.x(key));
+                assertEquals(y, RoomIndex.y(key));
+            }
+        }
+        // (0, -1) и (-1, 0) не должны совпасть
+        assertNotEquals(RoomIndex.key(0, -1), RoomIndex.key(-1, 0));
+    }
+
+    @Test
+    void testGetAndContains() {
+        RoomIndex index = new RoomIndex();
+        Room room = new Room(new Coordinate(-2, 3));
+        index.put(room);
+        assertSame(room, index.get(-2, 3));
+        assertTrue(index.contains(-2, 3));
+        assertNull(index.get(3, -2));
+        assertFalse(index.contains(-2, 2));
+    }
+
+    @Test
+    void testManyRoomsKeepInsertionOrder() {
+        RoomIndex index = new RoomIndex();
+        for (int x = -30; x < 30; x++) {
+            for (int y = -30; y < 30; y++) {
+                index.put(new Room(new Coordinate(x, y)));
+            }
+        }
+        assertEquals(3600, index.size());
+        for (int i = 0; i < index.size(); i++) {
+            Coordinate coordinate = index.roomAt(i).getCoordinate();
+            assertEquals(i / 60 - 30, coordinate.getX());
+            assertEquals(i % 60 - 30, coordinate.getY());
+            assertSame(index.roomAt(i), index.get(coordinate.getX(), coordinate.getY()));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> index.roomAt(3600));
+    }
+
+    @Test
+    void testPutReplacesRoom() {
+        RoomIndex index = new RoomIndex();
+        index.put(new Room(new Coordinate(1, 1)));
+        Room replacement = new Room(new Coordinate(1, 1));
+        index.put(replacement);
+        assertEquals(1, index.size());
+        assertSame(replacement, index.get(1, 1));
+    }
+
+    @Test
+    void testMapView() {
+        RoomIndex index = new RoomIndex();
+        Room first = new Room(new Coordinate(0, 0));
+        Room second = new Room(new Coordinate(0, 1));
+        index.put(first);
+        index.put(second);
+
+        Map<Coordinate, Room> map = index.asMap();
+        assertEquals(2, map.size());
+        assertSame(second, map.get(new Coordinate(0, 1)));
+        assertTrue(map.containsKey(new Coordinate(0, 0)));
+        assertFalse(map.containsKey("(0, 0)"));
+
+        Iterator<Map.Entry<Coordinate, Room>> entries = map.entrySet().iterator();
+        assertSame(first, entries.next().getValue());
+        assertEquals(new Coordinate(0, 1), entries.next().getKey());
+        assertFalse(entries.hasNext());
+        assertThrows(UnsupportedOperationException.class,
+            () -> map.put(new Coordinate(5, 5), first));
+
+        // вид живой: новые комнаты видны сразу
+        index.put(new Room(new Coordinate(1, 0)));
+        assertEquals(3, map.values().size());
+    }
+}
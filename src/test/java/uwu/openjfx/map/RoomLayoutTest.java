@@ -0,0 +1,214 @@
+package uwu.openjfx.map;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для RoomLayout
+ */
+class RoomLayoutTest {
+
+    private static final String LEVEL = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<map width=\"4\" height=\"3\" tilewidth=\"32\" tileheight=\"32\">\n"
+        + " <objectgroup name=\"door&amp;spawn\">\n"
+        + "  <object id=\"1\" type=\"door\" x=\"96\" y=\"32\" width=\"32\" height=\"32\">\n"
+        + "   <properties><property name=\"direction\" value=\"east\"/></properties>\n"
+        + "  </object>\n"
+        + "  <object id=\"2\" type=\"point\" x=\"70\" y=\"40\">\n"
+        + "   <properties><property name=\"position\" value=\"east\"/></properties>\n"
+        + "  </object>\n"
+        + "  <object id=\"3\" type=\"minion\" x=\"10\" y=\"10\"/>\n"
+        + " </objectgroup>\n"
+        + " <objectgroup name=\"walls\">\n"
+        + "  <object id=\"4\" type=\"wall\" x=\"0\" y=\"0\" width=\"128\" height=\"32\"/>\n"
+        + " </objectgroup>\n"
+        + "</map>\n";
+
+    private static final String TILED = "<map width=\"3\" height=\"2\" tilewidth=\"32\""
+        + " tileheight=\"32\">\n"
+        + " <tileset firstgid=\"1\" tilewidth=\"32\" tileheight=\"32\" columns=\"4\">\n"
+        + "  <image source=\"floor.png\" width=\"128\" height=\"64\"/>\n"
+        + " </tileset>\n"
+        + " <tileset firstgid=\"9\" tilewidth=\"32\" tileheight=\"32\" columns=\"2\">\n"
+        + "  <image source=\"walls.png\" width=\"64\" height=\"64\"/>\n"
+        + " </tileset>\n"
+        + " <layer name=\"Floor\" width=\"3\" height=\"2\">\n"
+        + "  <data encoding=\"csv\">\n1,2,0,\n6,9,12\n</data>\n"
+        + " </layer>\n"
+        + " <objectgroup name=\"Trap\">\n"
+        + "  <object id=\"5\" name=\"spikes\" type=\"trap-tile\" x=\"0\" y=\"0\""
+        + " rotation=\"90\">\n"
+        + "   <properties>\n"
+        + "    <property name=\"groupId\" type=\"int\" value=\"2\"/>\n"
+        + "    <property name=\"isWeapon\" type=\"bool\" value=\"true\"/>\n"
+        + "    <property name=\"action\" value=\"remove\"/>\n"
+        + "   </properties>\n"
+        + "  </object>\n"
+        + " </objectgroup>\n"
+        + " <layer name=\"Wall\" width=\"3\" height=\"2\" opacity=\"0.5\" visible=\"0\">\n"
+        + "  <data encoding=\"csv\">0,0,0,0,0,10</data>\n"
+        + " </layer>\n"
+        + "</map>\n";
+
+    private static RoomLayout parse() throws IOException {
+        return parse(LEVEL);
+    }
+
+    private static RoomLayout parse(String level) throws IOException {
+        InputStream in = new ByteArrayInputStream(level.getBytes(StandardCharsets.UTF_8));
+        return RoomLayout.parse("test", in);
+    }
+
+    @Test
+    void testSizeInPixels() throws IOException {
+        RoomLayout layout = parse();
+        assertEquals(128, layout.getWidth());
+        assertEquals(96, layout.getHeight());
+        assertEquals(4, layout.getObjects().size());
+    }
+
+    @Test
+    void testObjectsByType() throws IOException {
+        RoomLayout layout = parse();
+        assertEquals(1, layout.getObjects("minion").size());
+        assertTrue(layout.getObjects("door").get(0).isDoor());
+        assertEquals("east", layout.getObjects("door").get(0).getProperty("direction"));
+        assertTrue(layout.getObjects("wall").get(0).isWall());
+    }
+
+    @Test
+    void testSpawnPoint() throws IOException {
+        RoomLayout layout = parse();
+        assertEquals(70, layout.getSpawnPoint("east").getX());
+        assertNull(layout.getSpawnPoint("north"));
+    }
+
+    @Test
+    void testFlowFieldBlocksWallsAndDoors() throws IOException {
+        RoomLayout layout = parse();
+        FlowField open = layout.buildFlowField(false);
+        FlowField closed = layout.buildFlowField(true);
+        // верхний ряд - стена
+        assertTrue(open.isBlocked(1, 0));
+        assertFalse(open.isBlocked(3, 1));
+        assertTrue(closed.isBlocked(3, 1));
+    }
+
+    @Test
+    void testLoadGameLevel() {
+        RoomLayout layout = RoomLayout.load("small_room_1");
+        assertEquals(4, layout.getObjects("door").size());
+        assertNotNull(layout.getSpawnPoint("west"));
+    }
+
+    @Test
+    void testTileLayers() throws IOException {
+        RoomLayout layout = parse(TILED);
+        assertEquals(96, layout.getWidth());
+        assertEquals(32, layout.getTileWidth());
+        assertEquals(2, layout.getTileLayers().size());
+
+        RoomLayout.TileLayer floor = layout.getTileLayers().get(0);
+        assertEquals("Floor", floor.getName());
+        assertEquals(2, floor.getGid(1, 0));
+        assertEquals(0, floor.getGid(2, 0));
+        assertEquals(12, floor.getGid(2, 1));
+        assertTrue(floor.isVisible());
+
+        RoomLayout.TileLayer wall = layout.getTileLayers().get(1);
+        assertEquals(0.5, wall.getOpacity());
+        assertFalse(wall.isVisible());
+    }
+
+    @Test
+    void testTilesetOfGid() throws IOException {
+        RoomLayout layout = parse(TILED);
+        RoomLayout.Tileset floor = layout.tilesetOf(6);
+        assertEquals("floor.png", floor.getImage());
+        // шестой тайл - второй во втором ряду
+        assertEquals(32, floor.tileX(6));
+        assertEquals(32, floor.tileY(6));
+
+        RoomLayout.Tileset walls = layout.tilesetOf(12);
+        assertEquals("walls.png", walls.getImage());
+        assertEquals(32, walls.tileX(12));
+        assertEquals(32, walls.tileY(12));
+    }
+
+    @Test
+    void testTypedProperties() throws IOException {
+        RoomLayout.RoomObject trap = parse(TILED).getObjects("trap-tile").get(0);
+        assertEquals("spikes", trap.getName());
+        assertEquals(2, trap.getValue("groupId"));
+        assertEquals(Boolean.TRUE, trap.getValue("isWeapon"));
+        assertEquals("remove", trap.getValue("action"));
+        assertNull(trap.getValue("missing"));
+        assertFalse(trap.isTileObject());
+    }
+
+    @Test
+    void testFxglObjectReading() throws IOException {
+        // float - Float, а тип из class, как у TMXLevelLoader
+        RoomLayout layout = parse(LEVEL.replace("type=\"minion\"", "class=\"minion\"")
+            .replace("value=\"east\"/></properties>\n  </object>\n  <object id=\"3\"",
+                "value=\"east\"/><property name=\"speed\" type=\"float\" value=\"1.5\"/>"
+                + "</properties>\n  </object>\n  <object id=\"3\""));
+        assertEquals(1, layout.getObjects("minion").size());
+        assertEquals(1.5f, layout.getSpawnPoint("east").getValue("speed"));
+        // текст и цвет шаблоны не переносят, такой уровень загрузит FXGL
+        assertThrows(IOException.class, () -> parse(LEVEL.replace(
+            "type=\"minion\" x=\"10\" y=\"10\"/>", "x=\"10\" y=\"10\"><text>hi</text></object>")));
+        assertThrows(IOException.class, () -> parse(LEVEL.replace("name=\"position\"",
+            "name=\"position\" type=\"color\"")));
+    }
+
+    @Test
+    void testRotation() throws IOException {
+        assertEquals(90, parse(TILED).getObjects("trap-tile").get(0).getRotation());
+        // без атрибута объект не повёрнут
+        assertEquals(0, parse().getObjects("wall").get(0).getRotation());
+    }
+
+    @Test
+    void testUnsupportedTileData() {
+        // base64 и отражённые тайлы шаблоны не рисуют
+        assertThrows(IOException.class, () -> parse(TILED.replace("\"csv\">\n1,2",
+            "\"base64\">\n1,2")));
+        assertThrows(IOException.class, () -> parse(TILED.replace("0,0,0,0,0,10",
+            "0,0,0,0,0,2147483658")));
+        assertThrows(IOException.class, () -> parse(TILED.replace("1,2,0,", "1,2,")));
+    }
+
+    @Test
+    void testEveryGameLevelHasTiles() throws IOException {
+        for (String level : new String[] {"initialRoom", "small_room_1", "small_room_2",
+            "4_door_1", "4_door_2", "60_60_4_door", "bossRoom", "challengeRoom",
+            "finalWinRoom", "weaponsShowcaseRoom"}) {
+            RoomLayout layout = RoomLayout.load(level);
+            assertFalse(layout.getTileLayers().isEmpty(), level);
+            for (RoomLayout.TileLayer layer : layout.getTileLayers()) {
+                for (int row = 0; row < layer.getRows(); row++) {
+                    for (int column = 0; column < layer.getColumns(); column++) {
+                        int gid = layer.getGid(column, row);
+                        assertTrue(gid == 0 || layout.tilesetOf(gid) != null, level);
+                    }
+                }
+            }
+            for (RoomLayout.Tileset tileset : layout.getTilesets()) {
+                assertNotNull(RoomLayout.class.getResource(RoomLayout.LEVEL_DIRECTORY
+                    + tileset.getImage()), tileset.getImage());
+            }
+        }
+    }
+
+    @Test
+    void testMissingLevel() {
+        assertThrows(IllegalArgumentException.class, () -> RoomLayout.load("no_such_room"));
+    }
+}
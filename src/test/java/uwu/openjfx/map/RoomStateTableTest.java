@@ -0,0 +1,67 @@
+package uwu.openjfx.map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для RoomStateTable
+ */
+class RoomStateTableTest {
+
+    @Test
+    void testUnsetPropertyIsZero() {
+        RoomStateTable table = new RoomStateTable();
+        assertEquals(0, table.get(7, "isAlive"));
+        table.set(7, "triggered", 1);
+        assertEquals(0, table.get(7, "isAlive"));
+        assertFalse(table.has(7, "isAlive"));
+        assertTrue(table.has(7, "triggered"));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void testAliveCountFollowsFlags() {
+        RoomStateTable table = new RoomStateTable();
+        for (int id = 1; id <= 10; id++) {
+            table.set(id, "isAlive", 1);
+        }
+        // призванные миньоны с id от 5000
+        table.set(5000, "isAlive", 1);
+        assertEquals(11, table.countNonZero("isAlive"));
+
+        table.set(3, "isAlive", 0);
+        table.set(3, "isAlive", 0);
+        table.set(5000, "isAlive", 0);
+        assertEquals(9, table.countNonZero("isAlive"));
+        assertEquals(0, table.countNonZero("picked"));
+    }
+
+    @Test
+    void testManyIdsKeepTheirValues() {
+        RoomStateTable table = new RoomStateTable();
+        for (int id = -50; id < 1000; id += 3) {
+            table.set(id, "isAlive", id % 2 == 0 ? 1 : 0);
+        }
+        for (int id = -50; id < 1000; id += 3) {
+            assertEquals(id % 2 == 0 ? 1 : 0, table.get(id, "isAlive"), "id " + id);
+            assertEquals(0, table.get(id + 1, "isAlive"));
+        }
+        assertEquals(350, table.size());
+    }
+
+    @Test
+    void testCounterWidensColumn() {
+        RoomStateTable table = new RoomStateTable();
+        table.set(1, "hits", 1);
+        table.set(2, "hits", 0);
+        table.set(40, "hits", 1);
+        table.set(2, "hits", 12);
+        table.set(90, "hits", -3);
+        assertEquals(1, table.get(1, "hits"));
+        assertEquals(12, table.get(2, "hits"));
+        assertEquals(1, table.get(40, "hits"));
+        assertEquals(-3, table.get(90, "hits"));
+        assertEquals(4, table.countNonZero("hits"));
+    }
+}
@@ -0,0 +1,104 @@
+package uwu.openjfx.profiling;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для FlightRecording и событий JFR игры
+ */
+class FlightRecordingTest {
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        FlightRecording.stop();
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        RecordedEvent found = null;
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name)) {
+                assertNull(found, "more than one " + name);
+                found = event;
+            }
+        }
+        assertNotNull(found, name);
+        return found;
+    }
+
+    @Test
+    void testEventFieldsAreRecorded() throws IOException {
+        Path file = tempDir.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(RoomLoadEvent.class);
+            recording.enable(SaveEvent.class);
+            recording.enable(SpawnBatchEvent.class);
+            recording.start();
+
+            RoomLoadEvent room = new RoomLoadEvent();
+            room.begin();
+            room.record("small_room_1", "(0, 1)", 42, true);
+            SaveEvent save = new SaveEvent();
+            save.begin();
+            save.record(SaveEvent.AUTOSAVE, "autosave.journal", 512, true);
+            // пустую пачку не пишем
+            new SpawnBatchEvent().record("summon", "minion", 0);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent room = only(events, "uwu.openjfx.RoomLoad");
+        assertEquals("small_room_1", room.getString("roomType"));
+        assertEquals("(0, 1)", room.getString("coordinate"));
+        assertEquals(42, room.getInt("entityCount"));
+        assertTrue(room.getBoolean("firstVisit"));
+
+        RecordedEvent save = only(events, "uwu.openjfx.Save");
+        assertEquals("autosave", save.getString("operation"));
+        assertEquals(512, save.getLong("bytes"));
+        assertTrue(save.getBoolean("succeeded"));
+
+        assertTrue(events.stream().noneMatch(
+            e -> e.getEventType().getName().equals("uwu.openjfx.SpawnBatch")));
+    }
+
+    @Test
+    void testDumpWritesRingBuffer() throws IOException {
+        assertNull(FlightRecording.dump());
+
+        FlightRecording.start(tempDir, Duration.ofMinutes(1), 16L * 1024 * 1024);
+        assertTrue(FlightRecording.isRunning());
+        new ModuleInitEvent().record("CoreModule", "1.0", true);
+
+        Path dump = FlightRecording.dump();
+        assertNotNull(dump);
+        assertEquals(tempDir, dump.getParent());
+        assertTrue(Files.size(dump) > 0);
+        RecordedEvent module = only(RecordingFile.readAllEvents(dump), "uwu.openjfx.ModuleInit");
+        assertEquals("CoreModule", module.getString("module"));
+
+        FlightRecording.stop();
+        assertFalse(FlightRecording.isRunning());
+    }
+
+    @Test
+    void testStartIfRequestedWithoutFlag() {
+        assertFalse(FlightRecording.startIfRequested(new String[] {"QuickTest"}));
+    }
+}
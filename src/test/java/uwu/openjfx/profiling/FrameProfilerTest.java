@@ -0,0 +1,104 @@
+package uwu.openjfx.profiling;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для FrameProfiler
+ */
+class FrameProfilerTest {
+
+    private static final long MS = 1_000_000L;
+    // 0 у FrameProfiler значит "нет отметки", поэтому часы тестов идут не с нуля
+    private static final long T0 = 1000 * MS;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSectionsAreSummedPerFrame() {
+        FrameProfiler profiler = new FrameProfiler(true, 0);
+        profiler.beginFrame(T0);
+        // три врага по 1 мс и одна комната в первом кадре
+        profiler.add(FrameProfiler.Section.AI, MS);
+        profiler.add(FrameProfiler.Section.AI, MS);
+        profiler.add(FrameProfiler.Section.AI, MS);
+        profiler.add(FrameProfiler.Section.ROOM_LOAD, 40 * MS);
+        profiler.beginFrame(T0 + 16 * MS);
+        profiler.add(FrameProfiler.Section.AI, 2 * MS);
+        profiler.beginFrame(T0 + 33 * MS);
+
+        LatencyHistogram ai = profiler.snapshot(FrameProfiler.Section.AI);
+        assertEquals(2, ai.getCount());
+        assertEquals(3 * MS, ai.getMax());
+        assertEquals(4, profiler.getCalls(FrameProfiler.Section.AI));
+        assertEquals(1, profiler.snapshot(FrameProfiler.Section.ROOM_LOAD).getCount());
+        // кадры без вызовов секции не попадают в её гистограмму
+        assertEquals(0, profiler.snapshot(FrameProfiler.Section.HUD).getCount());
+
+        LatencyHistogram frame = profiler.snapshot(FrameProfiler.Section.FRAME);
+        assertEquals(2, frame.getCount());
+        assertEquals(17 * MS, frame.getMax());
+    }
+
+    @Test
+    void testPausesAreNotFrames() {
+        FrameProfiler profiler = new FrameProfiler(true, 0);
+        profiler.beginFrame(T0);
+        profiler.beginFrame(T0 + 16 * MS);
+        profiler.beginFrame(T0 + 16 * MS + FrameProfiler.MAX_FRAME_GAP_NANOS + 1);
+        profiler.beginFrame(T0 + 32 * MS + FrameProfiler.MAX_FRAME_GAP_NANOS + 1);
+
+        assertEquals(2, profiler.snapshot(FrameProfiler.Section.FRAME).getCount());
+        assertTrue(profiler.getStats().contains("gaps=1"), profiler.getStats());
+    }
+
+    @Test
+    void testDisabledRecordsNothing() {
+        FrameProfiler profiler = new FrameProfiler(false, 0);
+        long started = profiler.start();
+        assertEquals(0, started);
+        profiler.stop(FrameProfiler.Section.AI, started);
+        profiler.beginFrame();
+        profiler.beginFrame();
+        assertEquals(0, profiler.getCalls(FrameProfiler.Section.AI));
+        assertEquals(0, profiler.snapshot(FrameProfiler.Section.FRAME).getCount());
+
+        profiler.setEnabled(true);
+        started = profiler.start();
+        assertNotEquals(0, started);
+        profiler.stop(FrameProfiler.Section.TIMERS, started);
+        profiler.beginFrame();
+        assertEquals(1, profiler.getCalls(FrameProfiler.Section.TIMERS));
+    }
+
+    @Test
+    void testReportAndDump() throws IOException {
+        FrameProfiler profiler = new FrameProfiler(true, 0);
+        profiler.beginFrame(T0);
+        profiler.add(FrameProfiler.Section.COLLISION, 2 * MS);
+        profiler.beginFrame(T0 + 16 * MS);
+
+        String report = profiler.report();
+        for (FrameProfiler.Section section : FrameProfiler.Section.values()) {
+            assertTrue(report.contains(section.getTitle()), report);
+        }
+        assertTrue(report.contains("p99 ms"), report);
+
+        Path file = tempDir.resolve("frame-profile.txt");
+        profiler.dump(file);
+        String dumped = Files.readString(file);
+        assertTrue(dumped.contains("Collision"), dumped);
+        assertTrue(dumped.contains("2.000"), dumped);
+
+        profiler.reset();
+        assertEquals(0, profiler.snapshot(FrameProfiler.Section.COLLISION).getCount());
+        assertEquals(0, profiler.getCalls(FrameProfiler.Section.FRAME));
+    }
+}
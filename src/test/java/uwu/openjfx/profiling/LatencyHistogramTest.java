@@ -0,0 +1,80 @@
+package uwu.openjfx.profiling;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для LatencyHistogram
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketsCoverTheRangeWithoutGaps() {
+        // каждая корзина начинается сразу за предыдущей
+        for (int i = 1; i <= LatencyHistogram.indexOf(LatencyHistogram.MAX_VALUE); i++) {
+            long low = LatencyHistogram.highestValueOf(i - 1) + 1;
+            assertEquals(i, LatencyHistogram.indexOf(low));
+            assertEquals(i, LatencyHistogram.indexOf(LatencyHistogram.highestValueOf(i)));
+        }
+        assertEquals(LatencyHistogram.MAX_VALUE,
+            LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(LatencyHistogram.MAX_VALUE)));
+    }
+
+    @Test
+    void testRelativeErrorIsBounded() {
+        for (long value = 1; value < LatencyHistogram.MAX_VALUE; value = value * 3 + 7) {
+            long highest = LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(value));
+            assertTrue(highest >= value);
+            assertTrue(highest - value <= value / LatencyHistogram.SUB_BUCKETS, "value " + value);
+        }
+    }
+
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // 1..1000 микросекунд
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_500, histogram.getMean(), 0.001);
+        assertNear(500_000, histogram.getValueAtQuantile(0.50));
+        assertNear(950_000, histogram.getValueAtQuantile(0.95));
+        assertNear(990_000, histogram.getValueAtQuantile(0.99));
+        assertEquals(1_000_000, histogram.getValueAtQuantile(1.0));
+        assertNear(1000, histogram.getValueAtQuantile(0.0));
+    }
+
+    @Test
+    void testOutOfRangeValuesAreClamped() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.getValueAtQuantile(0.5));
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.getMax());
+    }
+
+    @Test
+    void testCopyAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+        histogram.record(4200);
+        LatencyHistogram copy = new LatencyHistogram();
+        histogram.copyInto(copy);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtQuantile(0.99));
+        assertEquals(2, copy.getCount());
+        assertEquals(42, copy.getValueAtQuantile(0.5));
+        assertEquals(4200, copy.getMax());
+    }
+
+    private static void assertNear(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / LatencyHistogram.SUB_BUCKETS,
+            "expected ~" + expected + " but was " + actual);
+    }
+}
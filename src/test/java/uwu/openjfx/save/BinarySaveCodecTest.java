@@ -0,0 +1,197 @@
+package uwu.openjfx.save;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для BinarySaveCodec
+ */
+class BinarySaveCodecTest {
+
+    private final BinarySaveCodec codec = new BinarySaveCodec();
+
+    static GameSaveData save(int rooms) {
+        GameSaveData data = new GameSaveData();
+        data.setSaveTime(LocalDateTime.of(2024, 3, 15, 18, 42, 7, 123_000_000));
+        data.setPlayTime(5400);
+        data.setPlayerLevel(12);
+        data.setPlayerExperience(3456);
+        data.setPlayerHealth(14);
+        data.setPlayerMaxHealth(20);
+        data.setPlayerPosition(new GameSaveData.Position(480.5, -320.25));
+        data.setCurrentRoomId("3,-2");
+        data.setDifficulty("hard");
+        data.setGold(98765);
+        for (int i = 0; i < rooms; i++) {
+            GameSaveData.RoomState room = new GameSaveData.RoomState();
+            room.setVisited(true);
+            room.setCleared(i % 3 != 0);
+            for (int enemy = 0; enemy < 6; enemy++) {
+                room.getEnemiesDefeated().put("enemy" + enemy, enemy % 2 == 0);
+            }
+            room.getItemsCollected().put("chest", i % 4 == 0);
+            data.getVisitedRooms().put((i % 10) + "," + (i / 10 - 5), room);
+        }
+        data.getInventory().getItems().put("key", 2);
+        data.getInventory().getPotions().put("health", -1);
+        data.getInventory().setCurrentWeapon("golden_sword_1");
+        data.getWeaponsUnlocked().put("bow_0", true);
+        data.getAchievements().put("first_blood", false);
+        data.getGameFlags().put("bossSeen", true);
+        data.getGameFlags().put("deaths", 3);
+        data.getGameFlags().put("bestTime", 812.5);
+        data.getGameFlags().put("seed", 1L << 40);
+        data.getGameFlags().put("path", Arrays.asList("0,0", "1,0", null));
+        return data;
+    }
+
+    private byte[] encode(GameSaveData data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.write(data, out);
+        return out.toByteArray();
+    }
+
+    private GameSaveData decode(byte[] bytes) throws IOException {
+        return codec.read(new ByteArrayInputStream(bytes));
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        GameSaveData data = save(100);
+        GameSaveData copy = decode(encode(data));
+
+        assertEquals(data.getVersion(), copy.getVersion());
+        assertEquals(data.getSaveTime(), copy.getSaveTime());
+        assertEquals(5400, copy.getPlayTime());
+        assertEquals(12, copy.getPlayerLevel());
+        assertEquals(3456, copy.getPlayerExperience());
+        assertEquals(14, copy.getPlayerHealth());
+        assertEquals(20, copy.getPlayerMaxHealth());
+        assertEquals(480.5, copy.getPlayerPosition().getX());
+        assertEquals(-320.25, copy.getPlayerPosition().getY());
+        assertEquals("3,-2", copy.getCurrentRoomId());
+        assertEquals("hard", copy.getDifficulty());
+        assertEquals(98765, copy.getGold());
+
+        assertEquals(100, copy.getVisitedRooms().size());
+        for (Map.Entry<String, GameSaveData.RoomState> entry : data.getVisitedRooms().entrySet()) {
+            GameSaveData.RoomState room = copy.getVisitedRooms().get(entry.getKey());
+            assertNotNull(room, entry.getKey());
+            assertEquals(entry.getValue().isCleared(), room.isCleared());
+            assertEquals(entry.getValue().isVisited(), room.isVisited());
+            assertEquals(entry.getValue().getEnemiesDefeated(), room.getEnemiesDefeated());
+            assertEquals(entry.getValue().getItemsCollected(), room.getItemsCollected());
+        }
+
+        assertEquals(data.getInventory().getItems(), copy.getInventory().getItems());
+        assertEquals(data.getInventory().getPotions(), copy.getInventory().getPotions());
+        assertEquals("golden_sword_1", copy.getInventory().getCurrentWeapon());
+        assertEquals(data.getWeaponsUnlocked(), copy.getWeaponsUnlocked());
+        assertEquals(data.getAchievements(), copy.getAchievements());
+        assertEquals(data.getGameFlags(), copy.getGameFlags());
+    }
+
+    @Test
+    void testNullsSurvive() throws IOException {
+        GameSaveData data = new GameSaveData();
+        data.setDifficulty(null);
+        data.getInventory().getItems().put("broken", null);
+        data.getAchievements().put("unknown", null);
+        GameSaveData copy = decode(encode(data));
+
+        assertNull(copy.getSaveTime());
+        assertNull(copy.getPlayerPosition());
+        assertNull(copy.getCurrentRoomId());
+        // null-сложность чинит миграция только для JSON, бинарный формат хранит как есть
+        assertNull(copy.getDifficulty());
+        assertTrue(copy.getInventory().getItems().containsKey("broken"));
+        assertNull(copy.getInventory().getItems().get("broken"));
+        assertTrue(copy.getAchievements().containsKey("unknown"));
+    }
+
+    @Test
+    void testSmallerThanJson() throws IOException {
+        GameSaveData data = save(100);
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        new JsonSaveCodec().write(data, json);
+
+        int binary = encode(data).length;
+        // 100 комнат: строки хранятся один раз, числа варинтами
+        assertTrue(binary * 5 <= json.size(),
+            "binary " + binary + " bytes, json " + json.size() + " bytes");
+    }
+
+    @Test
+    void testJsonExportReadsBack() throws IOException {
+        GameSaveData data = save(3);
+        JsonSaveCodec json = new JsonSaveCodec();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        json.write(data, out);
+        GameSaveData copy = json.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(data.getSaveTime(), copy.getSaveTime());
+        assertEquals(3, copy.getVisitedRooms().size());
+    }
+
+    @Test
+    void testLegacyJsonIsMigrated() throws IOException {
+        String legacy = "{\"version\":\"1.0\",\"playerLevel\":4,\"visitedRooms\":null,"
+            + "\"inventory\":{\"items\":null},\"difficulty\":null,\"gameFlags\":null}";
+        GameSaveData data = new JsonSaveCodec().read(
+            new ByteArrayInputStream(legacy.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(4, data.getPlayerLevel());
+        assertNotNull(data.getVisitedRooms());
+        assertNotNull(data.getInventory().getItems());
+        assertNotNull(data.getInventory().getPotions());
+        assertNotNull(data.getGameFlags());
+        assertEquals("normal", data.getDifficulty());
+    }
+
+    @Test
+    void testUnknownSectionsAreSkipped() throws IOException {
+        // одна секция из будущей версии: id 99, смещение 0, длина 3
+        byte[] bytes = {'R', 'D', 'S', 'V', 1, 1, 99, 0, 3, 7, 7, 7};
+        GameSaveData data = decode(bytes);
+        assertEquals(1, data.getPlayerLevel());
+        assertEquals("normal", data.getDifficulty());
+        assertTrue(data.getVisitedRooms().isEmpty());
+    }
+
+    @Test
+    void testSectionOutsideFileIsRejected() {
+        // секция игрока длиной 50 байт в файле с тремя байтами тела
+        byte[] bytes = {'R', 'D', 'S', 'V', 1, 1, 2, 0, 50, 7, 7, 7};
+        assertThrows(IOException.class, () -> decode(bytes));
+    }
+
+    @Test
+    void testNewerSchemaIsRejected() throws IOException {
+        byte[] bytes = encode(save(1));
+        bytes[4] = (byte) (SaveMigrator.CURRENT_SCHEMA + 1);
+        IOException error = assertThrows(IOException.class, () -> decode(bytes));
+        assertTrue(error.getMessage().contains("newer"));
+    }
+
+    @Test
+    void testGarbageIsRejected() {
+        assertThrows(IOException.class, () -> decode(new byte[] {'{', '}'}));
+        assertThrows(IOException.class, () -> decode(new byte[] {'R', 'D', 'S', 'V', 1, 1}));
+    }
+
+    @Test
+    void testZigzag() {
+        for (long value : new long[] {0, 1, -1, 63, -64, Integer.MAX_VALUE, Long.MIN_VALUE}) {
+            assertEquals(value, BinarySaveCodec.unzigzag(BinarySaveCodec.zigzag(value)));
+        }
+        assertEquals(1, BinarySaveCodec.zigzag(-1));
+        assertEquals(2, BinarySaveCodec.zigzag(1));
+    }
+}
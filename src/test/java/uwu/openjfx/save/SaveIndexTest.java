@@ -0,0 +1,114 @@
+package uwu.openjfx.save;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uwu.openjfx.core.DurableFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для SaveIndex
+ */
+class SaveIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final BinarySaveCodec codec = new BinarySaveCodec();
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private SaveIndex index() {
+        return new SaveIndex(tempDir.resolve(SaveIndex.FILE_NAME));
+    }
+
+    private GameSaveData read(File file) throws IOException {
+        reads.incrementAndGet();
+        try (InputStream in = DurableFile.read(file.toPath())) {
+            return codec.read(in);
+        }
+    }
+
+    private Path save(String name, int level) throws IOException {
+        GameSaveData data = BinarySaveCodecTest.save(10);
+        data.setPlayerLevel(level);
+        Path file = tempDir.resolve(name);
+        DurableFile.write(file, out -> codec.write(data, out));
+        return file;
+    }
+
+    private File[] saves() {
+        return tempDir.toFile().listFiles((dir, name) -> name.endsWith(BinarySaveCodec.EXTENSION));
+    }
+
+    @Test
+    void testSavesAreReadOnce() throws IOException {
+        save("a.sav", 1);
+        save("b.sav", 2);
+
+        SaveSlotInfo[] slots = index().list(saves(), this::read);
+        assertEquals(2, reads.get());
+        assertEquals(2, slots.length);
+
+        // новый экземпляр читает только индекс
+        slots = index().list(saves(), this::read);
+        assertEquals(2, reads.get());
+        for (SaveSlotInfo slot : slots) {
+            assertEquals(slot.getFilename().equals("a.sav") ? 1 : 2, slot.getPlayerLevel());
+            assertEquals(BinarySaveCodecTest.save(0).getSaveTime(), slot.getSaveTime());
+            assertFalse(slot.isCorrupted());
+        }
+    }
+
+    @Test
+    void testPutAndRemoveKeepIndexCurrent() throws IOException {
+        SaveIndex index = index();
+        Path file = save("a.sav", 3);
+        GameSaveData data = read(file.toFile());
+        index.put(file, data);
+        reads.set(0);
+
+        assertEquals(3, index().list(saves(), this::read)[0].getPlayerLevel());
+        assertEquals(0, reads.get());
+
+        Files.delete(file);
+        index.remove("a.sav");
+        assertEquals(0, index().list(saves(), this::read).length);
+    }
+
+    @Test
+    void testChangedFileIsReindexed() throws IOException {
+        save("a.sav", 1);
+        index().list(saves(), this::read);
+
+        // другой процесс переписал сохранение мимо индекса
+        save("a.sav", 5);
+        SaveSlotInfo[] slots = index().list(saves(), this::read);
+        assertEquals(2, reads.get());
+        assertEquals(5, slots[0].getPlayerLevel());
+    }
+
+    @Test
+    void testBrokenSaveIsRememberedAsCorrupted() throws IOException {
+        Files.write(tempDir.resolve("broken.sav"), new byte[] {1, 2, 3});
+        assertTrue(index().list(saves(), this::read)[0].isCorrupted());
+        assertTrue(index().list(saves(), this::read)[0].isCorrupted());
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    void testDamagedIndexIsRebuilt() throws IOException {
+        save("a.sav", 4);
+        index().list(saves(), this::read);
+        Files.write(tempDir.resolve(SaveIndex.FILE_NAME), new byte[] {9, 9, 9, 9});
+
+        assertEquals(4, index().list(saves(), this::read)[0].getPlayerLevel());
+        assertEquals(2, reads.get());
+    }
+}
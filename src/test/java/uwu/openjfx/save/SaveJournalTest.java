@@ -0,0 +1,185 @@
+package uwu.openjfx.save;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uwu.openjfx.core.GameConstants;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для SaveJournal
+ */
+class SaveJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SaveJournal journal() {
+        return new SaveJournal(tempDir.resolve("autosave" + SaveJournal.EXTENSION),
+            new BinarySaveCodec());
+    }
+
+    @Test
+    void testDeltaHoldsOnlyChanges() throws IOException {
+        SaveJournal journal = journal();
+        GameSaveData data = BinarySaveCodecTest.save(100);
+        int snapshot = journal.append(data);
+
+        data.setGold(data.getGold() + 5);
+        int goldOnly = journal.append(data);
+        // одна секция игрока, без комнат и таблицы строк всех комнат
+        assertTrue(goldOnly * 10 < snapshot, goldOnly + " vs " + snapshot);
+
+        data.getVisitedRooms().get("3,-5").setCleared(true);
+        data.getVisitedRooms().get("3,-5").getEnemiesDefeated().put("enemy1", true);
+        int oneRoom = journal.append(data);
+        assertTrue(oneRoom * 10 < snapshot, oneRoom + " vs " + snapshot);
+
+        assertEquals(0, journal.append(data));
+    }
+
+    @Test
+    void testSaveTimeAloneIsNoDelta() throws IOException {
+        SaveJournal journal = journal();
+        GameSaveData data = BinarySaveCodecTest.save(10);
+        journal.append(data);
+
+        // каждое автосохранение ставит своё время, сама по себе это не изменение
+        data.setSaveTime(data.getSaveTime().plusMinutes(5));
+        assertEquals(0, journal.append(data));
+
+        data.setGold(1);
+        assertTrue(journal.append(data) > 0);
+        assertEquals(data.getSaveTime(), journal().load().getSaveTime());
+    }
+
+    @Test
+    void testMapOrderIsNoDelta() throws IOException {
+        SaveJournal journal = journal();
+        GameSaveData data = BinarySaveCodecTest.save(30);
+        journal.append(data);
+
+        // те же комнаты и флаги, но HashMap разложил их иначе
+        Map<String, GameSaveData.RoomState> rooms = new HashMap<>(1024);
+        List<String> keys = new ArrayList<>(data.getVisitedRooms().keySet());
+        Collections.reverse(keys);
+        for (String key : keys) {
+            GameSaveData.RoomState room = data.getVisitedRooms().get(key);
+            Map<String, Boolean> enemies = new HashMap<>(64);
+            enemies.putAll(room.getEnemiesDefeated());
+            room.setEnemiesDefeated(enemies);
+            rooms.put(key, room);
+        }
+        data.setVisitedRooms(rooms);
+        data.setGameFlags(new HashMap<>(data.getGameFlags()));
+        assertEquals(0, journal.append(data));
+    }
+
+    @Test
+    void testReplayRestoresLatestState() throws IOException {
+        SaveJournal journal = journal();
+        GameSaveData data = BinarySaveCodecTest.save(20);
+        journal.append(data);
+        data.setGold(7);
+        journal.append(data);
+        data.getVisitedRooms().remove("0,-5");
+        data.getVisitedRooms().get("1,-5").setCleared(true);
+        data.getInventory().getItems().put("key", 9);
+        journal.append(data);
+
+        GameSaveData copy = journal().load();
+        assertNotNull(copy);
+        assertEquals(7, copy.getGold());
+        assertEquals(19, copy.getVisitedRooms().size());
+        assertFalse(copy.getVisitedRooms().containsKey("0,-5"));
+        assertTrue(copy.getVisitedRooms().get("1,-5").isCleared());
+        assertEquals(9, copy.getInventory().getItems().get("key"));
+        assertEquals(data.getGameFlags(), copy.getGameFlags());
+    }
+
+    @Test
+    void testTornRecordLosesOnlyThatDelta() throws IOException {
+        SaveJournal journal = journal();
+        GameSaveData data = BinarySaveCodecTest.save(10);
+        journal.append(data);
+        data.setGold(100);
+        journal.append(data);
+        data.setGold(200);
+        journal.append(data);
+
+        // падение посреди записи: обрезаем последнюю дельту
+        Path file = journal.getFile();
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        SaveJournal reopened = journal();
+        GameSaveData copy = reopened.load();
+        assertEquals(100, copy.getGold());
+        assertEquals(10, copy.getVisitedRooms().size());
+
+        // хвост отрезан, новые дельты ложатся за последней целой записью
+        copy.setGold(300);
+        assertTrue(reopened.append(copy) > 0);
+        assertEquals(300, journal().load().getGold());
+    }
+
+    @Test
+    void testCorruptedRecordIsDropped() throws IOException {
+        SaveJournal journal = journal();
+        GameSaveData data = BinarySaveCodecTest.save(5);
+        journal.append(data);
+        long snapshotEnd = Files.size(journal.getFile());
+        data.setGold(1);
+        journal.append(data);
+
+        byte[] bytes = Files.readAllBytes(journal.getFile());
+        bytes[bytes.length - 1] ^= 0x55;
+        Files.write(journal.getFile(), bytes);
+
+        assertEquals(BinarySaveCodecTest.save(5).getGold(), journal().load().getGold());
+        assertEquals(snapshotEnd, Files.size(journal.getFile()));
+    }
+
+    @Test
+    void testCompaction() throws IOException {
+        SaveJournal journal = journal();
+        GameSaveData data = BinarySaveCodecTest.save(50);
+        journal.append(data);
+        long snapshot = Files.size(journal.getFile());
+        for (int i = 0; i < GameConstants.Save.JOURNAL_COMPACT_RECORDS * 2; i++) {
+            data.setGold(i);
+            journal.append(data);
+        }
+        // журнал не растёт бесконечно
+        assertTrue(Files.size(journal.getFile())
+            <= snapshot * (GameConstants.Save.JOURNAL_COMPACT_RATIO + 1));
+        assertEquals(GameConstants.Save.JOURNAL_COMPACT_RECORDS * 2 - 1,
+            journal().load().getGold());
+    }
+
+    @Test
+    void testMissingOrForeignFile() throws IOException {
+        SaveJournal journal = journal();
+        assertNull(journal.load());
+        try (OutputStream out = Files.newOutputStream(journal.getFile(),
+                StandardOpenOption.CREATE)) {
+            out.write(new byte[] {'{', '}'});
+        }
+        assertNull(journal.load());
+        // запись после чужого файла начинает журнал заново
+        journal.append(BinarySaveCodecTest.save(1));
+        assertNotNull(journal().load());
+    }
+}
@@ -0,0 +1,100 @@
+package uwu.openjfx.save;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для SaveWriter
+ */
+class SaveWriterTest {
+
+    private static SaveSnapshot snapshot(int health) {
+        return new SaveSnapshot(health, 20, 0, 0, 0);
+    }
+
+    @Test
+    void testBurstCoalescesIntoLatestSnapshot() throws Exception {
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> writes = new CopyOnWriteArrayList<>();
+        SaveWriter writer = new SaveWriter(4, Thread::new, (slot, snapshot) -> {
+            busy.countDown();
+            release.await();
+            writes.add(slot + ":" + snapshot.toSaveData().getPlayerHealth());
+            return true;
+        });
+
+        // первая запись занимает поток, остальные ждут в очереди
+        CompletableFuture<Boolean> first = writer.submit("quick", snapshot(1));
+        assertTrue(busy.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> a = writer.submit("auto", snapshot(2));
+        CompletableFuture<Boolean> b = writer.submit("auto", snapshot(3));
+        CompletableFuture<Boolean> c = writer.submit("auto", snapshot(4));
+        release.countDown();
+
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(a.get(5, TimeUnit.SECONDS));
+        assertTrue(b.get(5, TimeUnit.SECONDS));
+        assertTrue(c.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("quick:1", "auto:4"), writes);
+        writer.close();
+        assertTrue(writer.awaitTermination(5000));
+    }
+
+    @Test
+    void testFullQueueRejectsWithoutBlocking() throws Exception {
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SaveWriter writer = new SaveWriter(1, Thread::new, (slot, snapshot) -> {
+            busy.countDown();
+            release.await();
+            return true;
+        });
+        writer.submit("running", snapshot(1));
+        assertTrue(busy.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> waiting = writer.submit("waiting", snapshot(2));
+        CompletableFuture<Boolean> rejected = writer.submit("other", snapshot(3));
+
+        assertFalse(rejected.get(1, TimeUnit.SECONDS));
+        release.countDown();
+        assertTrue(waiting.get(5, TimeUnit.SECONDS));
+        writer.close();
+    }
+
+    @Test
+    void testFailedWriteCompletesWithFalse() throws Exception {
+        SaveWriter writer = new SaveWriter(2, Thread::new, (slot, snapshot) -> {
+            throw new IllegalStateException("disk full");
+        });
+        assertFalse(writer.submit("auto", snapshot(1)).get(5, TimeUnit.SECONDS));
+        // поток пережил ошибку и пишет дальше
+        assertFalse(writer.submit("auto", snapshot(2)).get(5, TimeUnit.SECONDS));
+        writer.close();
+    }
+
+    @Test
+    void testCloseWritesQueuedSnapshots() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> writes = new CopyOnWriteArrayList<>();
+        SaveWriter writer = new SaveWriter(4, Thread::new, (slot, snapshot) -> {
+            release.await();
+            writes.add(slot);
+            return true;
+        });
+        writer.submit("a", snapshot(1));
+        writer.submit("b", snapshot(1));
+        writer.close();
+        assertFalse(writer.submit("c", snapshot(1)).get(1, TimeUnit.SECONDS));
+        release.countDown();
+
+        assertTrue(writer.awaitTermination(5000));
+        assertEquals(List.of("a", "b"), writes);
+    }
+}
@@ -0,0 +1,45 @@
+package uwu.openjfx.sim;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для BalanceCell
+ */
+class BalanceCellTest {
+
+    private static SimResult result(SimResult.Outcome outcome, double timeToKill, double dealt) {
+        return new SimResult(1, outcome, 600, 3, 10, 4, timeToKill, dealt, 2, 20, 1000);
+    }
+
+    @Test
+    void testWinRate() {
+        BalanceCell cell = new BalanceCell("normal", SimWeapon.GOLDEN_SWORD_0);
+        assertEquals(0, cell.getWinRate());
+        cell.add(result(SimResult.Outcome.WON, 1, 100));
+        cell.add(result(SimResult.Outcome.DIED, 2, 50));
+        cell.add(result(SimResult.Outcome.TIMED_OUT, 3, 10));
+        cell.add(result(SimResult.Outcome.WON, 4, 70));
+        assertEquals(0.5, cell.getWinRate(), 1e-9);
+    }
+
+    @Test
+    void testRunsWithoutKillsAreLeftOut() {
+        BalanceCell cell = new BalanceCell("hard", SimWeapon.BOW_0);
+        cell.add(result(SimResult.Outcome.DIED, Double.NaN, 0));
+        cell.add(result(SimResult.Outcome.WON, 2.5, 300));
+        assertArrayEquals(new double[] {2.5}, cell.getTimesToKill());
+        assertArrayEquals(new double[] {0, 300}, cell.getDamageDealt());
+    }
+
+    @Test
+    void testPercentile() {
+        double[] sorted = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        assertEquals(1, BalanceCell.percentile(sorted, 0.1));
+        assertEquals(5, BalanceCell.percentile(sorted, 0.5));
+        assertEquals(9, BalanceCell.percentile(sorted, 0.9));
+        assertEquals(10, BalanceCell.percentile(sorted, 1));
+        assertTrue(Double.isNaN(BalanceCell.percentile(new double[0], 0.5)));
+    }
+}
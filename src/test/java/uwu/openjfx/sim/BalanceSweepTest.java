@@ -0,0 +1,63 @@
+package uwu.openjfx.sim;
+
+import org.junit.jupiter.api.Test;
+import uwu.openjfx.components.PlayerComponent;
+import uwu.openjfx.components.PlayerState;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для BalanceSweep
+ */
+class BalanceSweepTest {
+
+    private static List<BalanceCell> sweep(int threads) {
+        return new BalanceSweep(List.of("normal"),
+            List.of(SimWeapon.GOLDEN_SWORD_0, SimWeapon.BOW_0), 3, 5, 6, 60L * 60)
+            .run(threads);
+    }
+
+    @Test
+    void testThreadCountDoesNotChangeResults() {
+        List<BalanceCell> single = sweep(1);
+        List<BalanceCell> parallel = sweep(3);
+
+        assertEquals(single.size(), parallel.size());
+        for (int i = 0; i < single.size(); i++) {
+            List<SimResult> expected = single.get(i).getResults();
+            List<SimResult> actual = parallel.get(i).getResults();
+            assertEquals(expected.size(), actual.size());
+            for (int run = 0; run < expected.size(); run++) {
+                SimResult a = expected.get(run);
+                SimResult b = actual.get(run);
+                assertEquals(a.getSeed(), b.getSeed());
+                assertEquals(a.getOutcome(), b.getOutcome());
+                assertEquals(a.getTicks(), b.getTicks());
+                assertEquals(a.getEnemiesKilled(), b.getEnemiesKilled());
+                assertEquals(a.getDamageDealt(), b.getDamageDealt());
+                assertEquals(a.getDamageTaken(), b.getDamageTaken());
+            }
+        }
+    }
+
+    @Test
+    void testSweepLeavesGameStateAlone() {
+        PlayerState game = PlayerComponent.state();
+        game.resetAllGameData();
+        game.setGold(42);
+        game.addToMonstersKilled();
+        game.getBossHealth().set(500);
+
+        // прогоны сбрасывают и считают своё состояние, а не состояние игры
+        sweep(2);
+
+        assertSame(game, PlayerComponent.state());
+        assertEquals(42, game.getGold());
+        assertEquals(1, game.getMonstersKilled());
+        assertEquals(0, game.getDamageDealt());
+        assertEquals(500, game.getBossHealth().get());
+        game.resetAllGameData();
+    }
+}
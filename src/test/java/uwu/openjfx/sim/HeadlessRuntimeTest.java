@@ -0,0 +1,53 @@
+package uwu.openjfx.sim;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для HeadlessRuntime
+ */
+class HeadlessRuntimeTest {
+
+    // 2 минуты игрового времени хватает, чтобы зайти в несколько комнат
+    private static final long TICKS = 60L * 60 * 2;
+
+    private static SimResult runOnce(long seed) {
+        HeadlessRuntime sim = new HeadlessRuntime(seed, 6, new BotInput());
+        sim.setMaxTicks(TICKS);
+        sim.boot();
+        return sim.run();
+    }
+
+    @Test
+    void testSameSeedSameRun() {
+        SimResult first = runOnce(7);
+        SimResult second = runOnce(7);
+
+        assertNotEquals(SimResult.Outcome.RUNNING, first.getOutcome());
+        assertEquals(first.getOutcome(), second.getOutcome());
+        assertEquals(first.getTicks(), second.getTicks());
+        assertEquals(first.getRoomsEntered(), second.getRoomsEntered());
+        assertEquals(first.getRoomsTotal(), second.getRoomsTotal());
+        assertEquals(first.getEnemiesKilled(), second.getEnemiesKilled());
+        assertEquals(first.getDamageDealt(), second.getDamageDealt());
+        assertEquals(first.getDamageTaken(), second.getDamageTaken());
+        assertEquals(first.getSwings(), second.getSwings());
+        // время до убийства считается по часам планировщика, а не по стене
+        assertEquals(first.getTimeToKill(), second.getTimeToKill());
+    }
+
+    @Test
+    void testRunStopsAtMaxTicks() {
+        HeadlessRuntime sim = new HeadlessRuntime(11, 6, new BotInput());
+        sim.setMaxTicks(120);
+        sim.boot();
+        SimResult result = sim.run(50);
+        assertEquals(50, result.getTicks());
+        assertEquals(SimResult.Outcome.RUNNING, result.getOutcome());
+
+        result = sim.run();
+        assertTrue(result.getTicks() <= 120);
+        assertNotEquals(SimResult.Outcome.RUNNING, result.getOutcome());
+    }
+}
@@ -0,0 +1,76 @@
+package uwu.openjfx.spatial;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для SpatialHash
+ */
+class SpatialHashTest {
+
+    @Test
+    void testRadiusQueryFindsItemsAcrossCells() {
+        SpatialHash<String> hash = new SpatialHash<>(32);
+        hash.put("near", 10, 10);
+        hash.put("border", 40, 0);
+        hash.put("far", 200, 200);
+
+        List<String> found = new ArrayList<>();
+        hash.queryRadius(0, 0, 45, null, found);
+
+        assertEquals(2, found.size());
+        assertTrue(found.contains("near"));
+        assertTrue(found.contains("border"));
+        assertEquals(1, hash.countWithin(0, 0, 45, s -> !s.equals("near")));
+    }
+
+    @Test
+    void testMoveAndRemoveUpdateBuckets() {
+        SpatialHash<String> hash = new SpatialHash<>(32);
+        hash.put("imp", 0, 0);
+        hash.put("imp", 300, 300);
+
+        assertEquals(0, hash.countWithin(0, 0, 50, null));
+        assertEquals(1, hash.countWithin(300, 300, 1, null));
+        assertEquals(1, hash.getCellCount());
+
+        assertTrue(hash.remove("imp"));
+        assertFalse(hash.contains("imp"));
+        assertEquals(0, hash.getCellCount());
+    }
+
+    @Test
+    void testNearestMatchesBruteForce() {
+        SpatialHash<Integer> hash = new SpatialHash<>(64);
+        Random random = new Random(42);
+        double[][] points = new double[300][2];
+        for (int i = 0; i < points.length; i++) {
+            points[i][0] = random.nextDouble() * 2000 - 1000;
+            points[i][1] = random.nextDouble() * 2000 - 1000;
+            hash.put(i, points[i][0], points[i][1]);
+        }
+
+        for (int query = 0; query < 50; query++) {
+            double x = random.nextDouble() * 2000 - 1000;
+            double y = random.nextDouble() * 2000 - 1000;
+            List<Integer> nearest = hash.nearest(x, y, 5, 400, i -> i % 3 != 0);
+
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < points.length; i++) {
+                if (i % 3 != 0 && Math.hypot(points[i][0] - x, points[i][1] - y) <= 400) {
+                    expected.add(i);
+                }
+            }
+            expected.sort((a, b) -> Double.compare(
+                Math.hypot(points[a][0] - x, points[a][1] - y),
+                Math.hypot(points[b][0] - x, points[b][1] - y)));
+
+            assertEquals(expected.subList(0, Math.min(5, expected.size())), nearest);
+        }
+    }
+}
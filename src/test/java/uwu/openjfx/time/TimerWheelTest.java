@@ -0,0 +1,105 @@
+package uwu.openjfx.time;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для TimerWheel
+ */
+class TimerWheelTest {
+
+    private static final double TICK = 0.01;
+
+    @Test
+    void testOneShotFiresAfterDelay() {
+        TimerWheel wheel = new TimerWheel(TICK, 2, 3);
+        int[] runs = {0};
+        TimerHandle handle = wheel.schedule(null, 0.05, () -> runs[0]++);
+
+        wheel.advance(0.04);
+        assertEquals(0, runs[0]);
+        assertTrue(handle.isPending());
+
+        wheel.advance(0.01);
+        assertEquals(1, runs[0]);
+        assertFalse(handle.isPending());
+        assertEquals(0, wheel.getPending());
+    }
+
+    @Test
+    void testLongDelaysCascadeInOrder() {
+        // 4 слота на уровень: задержки ниже попадают на уровни 0, 1 и 2
+        TimerWheel wheel = new TimerWheel(TICK, 2, 3);
+        List<Integer> order = new ArrayList<>();
+        int[] delays = {37, 3, 17, 60, 4, 16};
+        for (int ticks : delays) {
+            wheel.schedule(null, ticks * TICK, () -> order.add(ticks));
+        }
+
+        List<Integer> firedAt = new ArrayList<>();
+        for (int tick = 1; tick <= 63; tick++) {
+            int before = order.size();
+            wheel.advance(TICK);
+            for (int i = before; i < order.size(); i++) {
+                firedAt.add(tick);
+            }
+        }
+
+        assertEquals(List.of(3, 4, 16, 17, 37, 60), order);
+        assertEquals(order, firedAt);
+    }
+
+    @Test
+    void testIntervalRepeatsUntilCancelled() {
+        TimerWheel wheel = new TimerWheel(TICK, 2, 3);
+        int[] runs = {0};
+        TimerHandle handle = wheel.scheduleAtInterval(null, 0.03, () -> runs[0]++);
+
+        wheel.advance(0.095);
+        assertEquals(3, runs[0]);
+
+        handle.cancel();
+        wheel.advance(1);
+        assertEquals(3, runs[0]);
+        assertEquals(0, wheel.getPending());
+    }
+
+    @Test
+    void testCancelAllDropsOnlyOwnersTasks() {
+        TimerWheel wheel = new TimerWheel(TICK, 2, 3);
+        Object enemy = new Object();
+        Object other = new Object();
+        int[] runs = {0, 0};
+        wheel.schedule(enemy, 0.02, () -> runs[0]++);
+        wheel.scheduleAtInterval(enemy, 0.5, () -> runs[0]++);
+        wheel.schedule(other, 0.02, () -> runs[1]++);
+
+        assertTrue(wheel.hasPending(enemy));
+        assertEquals(2, wheel.cancelAll(enemy));
+        assertFalse(wheel.hasPending(enemy));
+
+        wheel.advance(1);
+        assertEquals(0, runs[0]);
+        assertEquals(1, runs[1]);
+        assertEquals(0, wheel.getOwnerCount());
+    }
+
+    @Test
+    void testTaskCanCancelTaskDueInSameTick() {
+        TimerWheel wheel = new TimerWheel(TICK, 2, 3);
+        int[] runs = {0};
+        TimerHandle[] second = new TimerHandle[1];
+        second[0] = wheel.schedule(null, 0.02, () -> runs[0]++);
+        // обработчики одного слота идут в обратном порядке вставки
+        TimerHandle first = wheel.schedule(null, 0.02, () -> second[0].cancel());
+
+        wheel.advance(0.02);
+        assertFalse(first.isPending());
+        assertEquals(0, runs[0]);
+        assertEquals(0, wheel.getPending());
+    }
+}
@@ -0,0 +1,57 @@
+package uwu.openjfx.visual;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для AnimationCache
+ */
+class AnimationCacheTest {
+
+    private static AnimationCache.Key key(String asset) {
+        return new AnimationCache.Key("creature", asset, 8, 16, 28, 0.5);
+    }
+
+    @Test
+    void testSameKeyReturnsSharedSet() {
+        AnimationCache cache = new AnimationCache(4);
+        AnimationSet first = cache.lookup(key("imp.png"), () -> new AnimationSet(null, null, null));
+        AnimationSet second = cache.lookup(key("imp.png"), () -> new AnimationSet(null, null, null));
+
+        assertSame(first, second);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void testDifferentSlicingIsDifferentKey() {
+        AnimationCache cache = new AnimationCache(4);
+        AnimationSet slow = cache.lookup(new AnimationCache.Key("weapon", "poof", 5, 32, 32, 1000),
+            () -> new AnimationSet(null, null, null));
+        AnimationSet fast = cache.lookup(new AnimationCache.Key("weapon", "poof", 5, 32, 32, 500),
+            () -> new AnimationSet(null, null, null));
+
+        assertNotSame(slow, fast);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() {
+        AnimationCache cache = new AnimationCache(2);
+        AnimationSet a = cache.lookup(key("a"), () -> new AnimationSet(null, null, null));
+        cache.lookup(key("b"), () -> new AnimationSet(null, null, null));
+        // touch "a" so that "b" becomes the eldest entry
+        cache.lookup(key("a"), () -> new AnimationSet(null, null, null));
+        cache.lookup(key("c"), () -> new AnimationSet(null, null, null));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertSame(a, cache.lookup(key("a"), () -> new AnimationSet(null, null, null)));
+
+        long missesBefore = cache.getMisses();
+        cache.lookup(key("b"), () -> new AnimationSet(null, null, null));
+        assertEquals(missesBefore + 1, cache.getMisses());
+    }
+}
@@ -0,0 +1,153 @@
+package uwu.openjfx.visual;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для AtlasPacker и AtlasRegion
+ */
+class AtlasPackerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSliceByFileName() {
+        assertArrayEquals(new int[] {64, 64, 60, 60},
+            AtlasRegion.slice("weapons/fireball_64x64.png", 3840, 64));
+        assertArrayEquals(new int[] {36, 45, 4, 8},
+            AtlasRegion.slice("creatures/minions/normal/masked_orc_36x45.png", 144, 90));
+        // без суффикса или с размером, который не делит картинку, - один кадр
+        assertArrayEquals(new int[] {32, 32, 1, 1},
+            AtlasRegion.slice("ui/inventory/bow0.png", 32, 32));
+        assertArrayEquals(new int[] {50, 40, 1, 1},
+            AtlasRegion.slice("items/odd_16x16.png", 50, 40));
+    }
+
+    @Test
+    void testWideStripIsWrapped() {
+        List<AtlasPacker.Sheet> sheets = new ArrayList<>();
+        sheets.add(new AtlasPacker.Sheet("weapons/fireball_64x64.png", 3840, 64, 2048));
+        AtlasRegion region = AtlasPacker.layout(sheets, 2048, 2).get(0);
+
+        assertEquals(32, region.getColumns());
+        assertEquals(60, region.getSourceColumns());
+        assertEquals(2, region.getRows());
+        assertEquals(31 * 64, region.frameX(31));
+        assertEquals(0, region.frameY(31));
+        assertEquals(0, region.frameX(32));
+        assertEquals(64, region.frameY(32));
+        assertTrue(region.matches(60, 64, 64));
+        assertFalse(region.matches(30, 64, 64));
+
+        // кадр за последним - прозрачная ячейка
+        assertEquals(28 * 64, region.frameX(60));
+        assertEquals(64, region.frameY(60));
+        assertEquals(region.frameX(60), region.frameX(61));
+    }
+
+    @Test
+    void testLayoutKeepsRegionsApartAndOnPage() {
+        Random random = new Random(42);
+        List<AtlasPacker.Sheet> sheets = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            int frame = 8 + random.nextInt(32);
+            int frames = 1 + random.nextInt(12);
+            sheets.add(new AtlasPacker.Sheet("creatures/s" + i + "_" + frame + "x" + frame
+                + ".png", frame * frames, frame, 256));
+        }
+        // шире страницы: не пакуется
+        sheets.add(new AtlasPacker.Sheet("weapons/huge.png", 300, 300, 256));
+
+        List<AtlasRegion> regions = AtlasPacker.layout(sheets, 256, 2);
+        assertEquals(300, regions.size());
+        assertTrue(regions.stream().noneMatch(r -> r.getAsset().equals("weapons/huge.png")));
+        assertTrue(regions.get(regions.size() - 1).getPage() > 0);
+
+        for (int i = 0; i < regions.size(); i++) {
+            AtlasRegion a = regions.get(i);
+            assertTrue(right(a) <= 256 && bottom(a) <= 256, a.getAsset());
+            for (int j = i + 1; j < regions.size(); j++) {
+                AtlasRegion b = regions.get(j);
+                boolean apart = a.getPage() != b.getPage()
+                    || right(a) + 2 <= b.getX() || right(b) + 2 <= a.getX()
+                    || bottom(a) + 2 <= b.getY() || bottom(b) + 2 <= a.getY();
+                assertTrue(apart, a.getAsset() + " overlaps " + b.getAsset());
+            }
+        }
+    }
+
+    private static int right(AtlasRegion region) {
+        return region.getX() + region.getColumns() * region.getFrameWidth();
+    }
+
+    private static int bottom(AtlasRegion region) {
+        return region.getY() + region.getRows() * region.getFrameHeight();
+    }
+
+    @Test
+    void testPackWritesPagesAndIndex() throws IOException {
+        Path textures = tempDir.resolve("textures");
+        // два кадра 2x2: красный и синий
+        BufferedImage sheet = new BufferedImage(4, 2, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < 2; y++) {
+            sheet.setRGB(0, y, 0xFFFF0000);
+            sheet.setRGB(1, y, 0xFFFF0000);
+            sheet.setRGB(2, y, 0xFF0000FF);
+            sheet.setRGB(3, y, 0xFF0000FF);
+        }
+        write(textures.resolve("creatures/imp_2x2.png"), sheet);
+        // копия того же листа в другой папке
+        Files.createDirectories(textures.resolve("weapons"));
+        Files.copy(textures.resolve("creatures/imp_2x2.png"),
+            textures.resolve("weapons/imp_2x2.png"));
+        write(textures.resolve("ui/big.png"), new BufferedImage(40, 40,
+            BufferedImage.TYPE_INT_ARGB));
+        write(textures.resolve("background/wall.png"), sheet);
+        Files.write(textures.resolve("ui/broken.png"),
+            "not a png".getBytes(StandardCharsets.UTF_8));
+
+        Path out = tempDir.resolve("atlas");
+        Files.createDirectories(out);
+        Files.write(out.resolve("page-7.png"), new byte[] {1});
+        assertEquals(1, AtlasPacker.pack(textures, out, 32, 1));
+        assertFalse(Files.exists(out.resolve("page-7.png")));
+
+        Map<String, AtlasRegion> regions = new HashMap<>();
+        for (String line : Files.readAllLines(out.resolve(AtlasPacker.INDEX_FILE))) {
+            if (!line.startsWith("#")) {
+                AtlasRegion region = AtlasRegion.parse(line);
+                regions.put(region.getAsset(), region);
+            }
+        }
+        assertEquals(2, regions.size());
+        AtlasRegion imp = regions.get("creatures/imp_2x2.png");
+        AtlasRegion copy = regions.get("weapons/imp_2x2.png");
+        assertEquals(imp.getX(), copy.getX());
+        assertEquals(imp.getY(), copy.getY());
+
+        BufferedImage page = ImageIO.read(out.resolve(AtlasPacker.pageName(0)).toFile());
+        assertEquals(0xFFFF0000, page.getRGB(imp.frameX(0) + 1, imp.frameY(0) + 1));
+        assertEquals(0xFF0000FF, page.getRGB(imp.frameX(1), imp.frameY(1)));
+        assertEquals(0, page.getRGB(imp.frameX(2), imp.frameY(2)) >>> 24);
+    }
+
+    private static void write(Path file, BufferedImage image) throws IOException {
+        Files.createDirectories(file.getParent());
+        ImageIO.write(image, "png", file.toFile());
+    }
+}